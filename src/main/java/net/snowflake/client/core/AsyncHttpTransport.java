@@ -0,0 +1,160 @@
+package net.snowflake.client.core;
+
+import static net.snowflake.client.jdbc.SnowflakeUtil.systemGetProperty;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import net.snowflake.client.jdbc.SnowflakeUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Bounded executor running HTTP requests for callers that must not block, e.g. the status polling
+ * of asynchronous queries.
+ *
+ * <p>This is not a non-blocking HTTP client: each request is executed with the blocking Apache
+ * HttpClient 4 used by the rest of the driver, and holds one of the I/O threads while it is on the
+ * wire. What it saves are the threads of the callers and the threads that would otherwise sleep
+ * during the backoff between two attempts, which is waited for by a timer thread instead. The
+ * number of I/O threads can be set with the {@value #ASYNC_HTTP_THREADS_PROPERTY} system property.
+ *
+ * <p>Only a bounded number of tasks wait for a thread in each pool. Further requests are rejected
+ * and their futures fail, instead of queuing without bound behind a slow server.
+ *
+ * <p>Calls that may block for longer, e.g. a request renewing the session when a status request
+ * failed, run on a separate {@link #getBlockingExecutor() blocking executor} so that they don't
+ * hold the I/O threads.
+ */
+@SnowflakeJdbcInternalApi
+public class AsyncHttpTransport {
+  private static final AsyncHttpTransport singleton = new AsyncHttpTransport();
+
+  private static final SFLogger logger = SFLoggerFactory.getLogger(AsyncHttpTransport.class);
+
+  public static final String ASYNC_HTTP_THREADS_PROPERTY = "net.snowflake.jdbc.async_http_threads";
+
+  private static final int DEFAULT_IO_THREADS = 8;
+
+  private static final int BLOCKING_THREADS = 4;
+
+  private static final int MAX_QUEUED_TASKS = 1024;
+
+  // Threads executing the requests, created on first use
+  private ThreadPoolExecutor ioThreads = null;
+
+  // Timer waiting for the backoff before the retries
+  private ScheduledThreadPoolExecutor timer = null;
+
+  // Threads running the blocking fallbacks of the requests, created on first use
+  private ThreadPoolExecutor blockingThreads = null;
+
+  // Method to get the transport instance
+  public static AsyncHttpTransport getInstance() {
+    return singleton;
+  }
+
+  /** private constructor so that no one can try to create one */
+  private AsyncHttpTransport() {}
+
+  /**
+   * Run a task on the I/O threads.
+   *
+   * @param task task executing a request
+   * @param onRejected called if the task can't be accepted
+   */
+  public void execute(Runnable task, Consumer<RuntimeException> onRejected) {
+    try {
+      getIoThreads().execute(task);
+    } catch (RejectedExecutionException ex) {
+      onRejected.accept(ex);
+    }
+  }
+
+  /**
+   * Run a task on the I/O threads after a delay.
+   *
+   * @param task task executing a request
+   * @param delayInMillis delay in milliseconds
+   * @param onRejected called if the task can't be accepted
+   */
+  public void schedule(Runnable task, long delayInMillis, Consumer<RuntimeException> onRejected) {
+    getIoThreads();
+    try {
+      timer.schedule(() -> execute(task, onRejected), delayInMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException ex) {
+      onRejected.accept(ex);
+    }
+  }
+
+  /**
+   * Get the executor running blocking calls completing a request, so that they don't hold the I/O
+   * threads.
+   *
+   * @return executor with a bounded number of daemon threads and a bounded queue, rejecting tasks
+   *     with a {@link RejectedExecutionException} when it is full
+   */
+  public synchronized Executor getBlockingExecutor() {
+    if (blockingThreads == null) {
+      logger.debug("create async http blocking thread pool", false);
+      blockingThreads =
+          new ThreadPoolExecutor(
+              BLOCKING_THREADS,
+              BLOCKING_THREADS,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(MAX_QUEUED_TASKS),
+              SnowflakeUtil.createDaemonThreadFactory("async-http-blocking-"));
+      blockingThreads.allowCoreThreadTimeOut(true);
+    }
+    return blockingThreads;
+  }
+
+  /**
+   * @return number of I/O threads currently executing a request
+   */
+  public int getActiveCount() {
+    ThreadPoolExecutor ioThreads;
+    synchronized (this) {
+      ioThreads = this.ioThreads;
+    }
+    return ioThreads == null ? 0 : ioThreads.getActiveCount();
+  }
+
+  /**
+   * Create the thread pools if it is the first time. They use daemon threads so that they will not
+   * block JVM from exiting.
+   */
+  private synchronized ThreadPoolExecutor getIoThreads() {
+    if (ioThreads == null) {
+      int threads = DEFAULT_IO_THREADS;
+      String threadsProperty = systemGetProperty(ASYNC_HTTP_THREADS_PROPERTY);
+      if (threadsProperty != null) {
+        try {
+          threads = Math.max(1, Integer.parseInt(threadsProperty));
+        } catch (NumberFormatException ex) {
+          logger.warn("Invalid value of {}: {}", ASYNC_HTTP_THREADS_PROPERTY, threadsProperty);
+        }
+      }
+      logger.debug("create async http thread pool with {} threads", threads);
+      ThreadPoolExecutor ioThreads =
+          new ThreadPoolExecutor(
+              threads,
+              threads,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(MAX_QUEUED_TASKS),
+              SnowflakeUtil.createDaemonThreadFactory("async-http-"));
+      ioThreads.allowCoreThreadTimeOut(true);
+      timer =
+          new ScheduledThreadPoolExecutor(
+              1, SnowflakeUtil.createDaemonThreadFactory("async-http-timer-"));
+      this.ioThreads = ioThreads;
+    }
+    return ioThreads;
+  }
+}
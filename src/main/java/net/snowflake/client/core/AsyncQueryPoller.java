@@ -0,0 +1,368 @@
+package net.snowflake.client.core;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.snowflake.client.jdbc.QueryStatusV2;
+import net.snowflake.client.jdbc.SnowflakeUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Tracks the status of the asynchronous queries of the driver without blocking a thread per query.
+ *
+ * <p>Queries are tracked per session. In each round all the queries of a session which are due for
+ * a check are checked together with {@link SFBaseSession#getQueryStatusesV2Async(Collection)},
+ * scheduled from a small shared pool of daemon threads. Every query has its own check interval,
+ * growing with the same backoff pattern as {@link net.snowflake.client.jdbc.SFAsyncResultSet} while
+ * its status does not change and reset when it does. Queries due shortly after the first one are
+ * checked in the same round so that their checks are coalesced. A round failing to get the
+ * statuses, e.g. because of a network error, is retried with the same backoff, and the queries are
+ * only failed after several rounds failed in a row.
+ */
+@SnowflakeJdbcInternalApi
+public class AsyncQueryPoller {
+  private static final AsyncQueryPoller singleton = new AsyncQueryPoller();
+
+  private static final SFLogger logger = SFLoggerFactory.getLogger(AsyncQueryPoller.class);
+
+  private static final int POLLER_THREADS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  // Sleep between checks in multiples of 500 ms, the last value is repeated
+  private static final int[] RETRY_PATTERN = {1, 1, 2, 3, 4, 8, 10};
+
+  private static final long RETRY_UNIT_IN_MILLIS = 500;
+
+  // Queries due within this window are checked in the same round
+  private static final long BATCH_WINDOW_IN_MILLIS = 250;
+
+  // Give up after about 2 minutes without any information about the query
+  private static final int NO_DATA_MAX_RETRIES = 30;
+
+  // Give up after this many rounds in a row failing to get the status of the query
+  private static final int ERROR_MAX_RETRIES = 3;
+
+  // Scheduler running the status checks, created on first use
+  private ScheduledThreadPoolExecutor scheduler = null;
+
+  // Tracked queries of each session
+  private final Map<SFBaseSession, SessionQueries> sessions = new ConcurrentHashMap<>();
+
+  private final AtomicLong checkCount = new AtomicLong();
+
+  // Method to get the poller instance
+  public static AsyncQueryPoller getInstance() {
+    return singleton;
+  }
+
+  /** private constructor so that no one can try to create one */
+  private AsyncQueryPoller() {}
+
+  /**
+   * Wait for an asynchronous query to finish.
+   *
+   * @param session session the query was submitted in
+   * @param queryID query ID
+   * @return future completed with the final status of the query once it is no longer running, or
+   *     completed exceptionally if the status can't be retrieved
+   */
+  public CompletableFuture<QueryStatusV2> watch(SFBaseSession session, String queryID) {
+    CompletableFuture<QueryStatusV2> future = new CompletableFuture<>();
+    track(session, queryID, null, future);
+    return future;
+  }
+
+  /**
+   * Get notified of the status changes of an asynchronous query until it finishes.
+   *
+   * @param session session the query was submitted in
+   * @param queryID query ID
+   * @param listener listener called from a poller thread
+   */
+  public void addListener(SFBaseSession session, String queryID, QueryStatusListener listener) {
+    track(session, queryID, listener, null);
+  }
+
+  /**
+   * @return number of queries currently tracked
+   */
+  public int getTrackedQueryCount() {
+    int count = 0;
+    for (SessionQueries sessionQueries : sessions.values()) {
+      count += sessionQueries.size();
+    }
+    return count;
+  }
+
+  /**
+   * @return total number of rounds of status checks, each one using a single call to {@link
+   *     SFBaseSession#getQueryStatusesV2Async(Collection)}
+   */
+  public long getCheckCount() {
+    return checkCount.get();
+  }
+
+  private void track(
+      SFBaseSession session,
+      String queryID,
+      QueryStatusListener listener,
+      CompletableFuture<QueryStatusV2> future) {
+    // the queries of a session are retired once none is left, in which case new ones are created
+    while (!sessions.computeIfAbsent(session, SessionQueries::new).add(queryID, listener, future)) {
+      Thread.yield();
+    }
+  }
+
+  private synchronized ScheduledThreadPoolExecutor getScheduler() {
+    if (scheduler == null) {
+      logger.debug("create async query poller thread pool", false);
+      scheduler =
+          new ScheduledThreadPoolExecutor(
+              POLLER_THREADS, SnowflakeUtil.createDaemonThreadFactory("async-query-poller-"));
+      scheduler.setRemoveOnCancelPolicy(true);
+    }
+    return scheduler;
+  }
+
+  /** State of a tracked query, guarded by the lock of its {@link SessionQueries} */
+  private static class TrackedQuery {
+    private final String queryID;
+    private final List<QueryStatusListener> listeners = new ArrayList<>();
+    private final List<CompletableFuture<QueryStatusV2>> futures = new ArrayList<>();
+    private QueryStatusV2 lastStatus = null;
+    private long dueAt = 0;
+    private int retry = 0;
+    private int noDataRetry = 0;
+    private int errorRetry = 0;
+
+    private TrackedQuery(String queryID) {
+      this.queryID = queryID;
+    }
+
+    private boolean isAbandoned() {
+      return listeners.isEmpty() && futures.stream().allMatch(CompletableFuture::isDone);
+    }
+
+    private void backoff(long now) {
+      dueAt = now + RETRY_UNIT_IN_MILLIS * RETRY_PATTERN[retry];
+      if (retry < RETRY_PATTERN.length - 1) {
+        retry++;
+      }
+    }
+  }
+
+  /** Queries tracked for one session, checked together from a single scheduled task */
+  private class SessionQueries implements Runnable {
+    private final SFBaseSession session;
+    private final Map<String, TrackedQuery> queries = new LinkedHashMap<>();
+    private ScheduledFuture<?> nextCheck = null;
+    private long nextCheckAt = Long.MAX_VALUE;
+    private boolean checking = false;
+    private boolean retired = false;
+
+    private SessionQueries(SFBaseSession session) {
+      this.session = session;
+    }
+
+    private synchronized int size() {
+      return queries.size();
+    }
+
+    private synchronized boolean add(
+        String queryID, QueryStatusListener listener, CompletableFuture<QueryStatusV2> future) {
+      if (retired) {
+        return false;
+      }
+      TrackedQuery query = queries.computeIfAbsent(queryID, TrackedQuery::new);
+      if (listener != null) {
+        query.listeners.add(listener);
+      }
+      if (future != null) {
+        query.futures.add(future);
+      }
+      scheduleCheck();
+      return true;
+    }
+
+    /** Schedule the next round for the earliest due query, must hold the lock */
+    private void scheduleCheck() {
+      if (checking || queries.isEmpty()) {
+        // rescheduled at the end of the running round
+        return;
+      }
+      long dueAt = Long.MAX_VALUE;
+      for (TrackedQuery query : queries.values()) {
+        dueAt = Math.min(dueAt, query.dueAt);
+      }
+      if (nextCheck != null) {
+        if (nextCheckAt <= dueAt) {
+          return;
+        }
+        nextCheck.cancel(false);
+      }
+      nextCheckAt = dueAt;
+      nextCheck =
+          getScheduler()
+              .schedule(
+                  this, Math.max(0, dueAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void run() {
+      List<String> dueQueryIDs = new ArrayList<>();
+      synchronized (this) {
+        nextCheck = null;
+        nextCheckAt = Long.MAX_VALUE;
+        checking = true;
+        long limit = System.currentTimeMillis() + BATCH_WINDOW_IN_MILLIS;
+        queries.values().removeIf(TrackedQuery::isAbandoned);
+        for (TrackedQuery query : queries.values()) {
+          if (query.dueAt <= limit) {
+            dueQueryIDs.add(query.queryID);
+          }
+        }
+      }
+
+      if (dueQueryIDs.isEmpty()) {
+        completeRound(dueQueryIDs, null, null);
+        return;
+      }
+      checkCount.incrementAndGet();
+      CompletableFuture<Map<String, QueryStatusV2>> statuses;
+      try {
+        statuses = session.getQueryStatusesV2Async(dueQueryIDs);
+      } catch (RuntimeException ex) {
+        statuses = new CompletableFuture<>();
+        statuses.completeExceptionally(ex);
+      }
+      // the status requests don't hold a poller thread while they are in flight
+      statuses.whenComplete(
+          (result, ex) -> {
+            Throwable error =
+                ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (error != null) {
+              logger.debug(
+                  "Failed to get status of queries {}: {}", dueQueryIDs, error.getMessage());
+            }
+            completeRound(dueQueryIDs, result, error);
+          });
+    }
+
+    private void completeRound(
+        List<String> dueQueryIDs, Map<String, QueryStatusV2> statuses, Throwable error) {
+      List<Runnable> notifications = new ArrayList<>();
+      synchronized (this) {
+        long now = System.currentTimeMillis();
+        for (String queryID : dueQueryIDs) {
+          TrackedQuery query = queries.get(queryID);
+          if (error != null) {
+            // the error may be transient, e.g. a network failure, so the query is checked again
+            if (++query.errorRetry >= ERROR_MAX_RETRIES) {
+              queries.remove(queryID);
+              notifications.add(failAll(query, error));
+            } else {
+              query.backoff(now);
+            }
+          } else if (update(
+              query, statuses == null ? null : statuses.get(queryID), now, notifications)) {
+            queries.remove(queryID);
+          }
+        }
+        checking = false;
+        if (queries.isEmpty()) {
+          retired = true;
+          sessions.remove(session, this);
+        } else {
+          scheduleCheck();
+        }
+      }
+      notifications.forEach(Runnable::run);
+    }
+
+    /**
+     * Apply a new status to a query, must hold the lock.
+     *
+     * @return true if the query is no longer tracked
+     */
+    private boolean update(
+        TrackedQuery query, QueryStatusV2 status, long now, List<Runnable> notifications) {
+      query.errorRetry = 0;
+      if (status == null || status.isEmpty() || status.getStatus() == QueryStatus.NO_DATA) {
+        if (++query.noDataRetry >= NO_DATA_MAX_RETRIES) {
+          notifications.add(
+              failAll(
+                  query,
+                  new SQLException(
+                      "Cannot retrieve data on the status of this query. No information returned"
+                          + " from server for queryID="
+                          + query.queryID
+                          + ".")));
+          return true;
+        }
+        query.backoff(now);
+        return false;
+      }
+
+      boolean changed =
+          query.lastStatus == null || query.lastStatus.getStatus() != status.getStatus();
+      query.lastStatus = status;
+      if (changed) {
+        List<QueryStatusListener> listeners = new ArrayList<>(query.listeners);
+        notifications.add(() -> notifyListeners(listeners, query.queryID, status));
+      }
+      if (!status.isStillRunning()) {
+        List<CompletableFuture<QueryStatusV2>> futures = new ArrayList<>(query.futures);
+        notifications.add(() -> futures.forEach(future -> future.complete(status)));
+        return true;
+      }
+      if (changed) {
+        // the query is making progress, check it again soon
+        query.retry = 0;
+      }
+      query.backoff(now);
+      return false;
+    }
+
+    private Runnable failAll(TrackedQuery query, Throwable error) {
+      List<QueryStatusListener> listeners = new ArrayList<>(query.listeners);
+      List<CompletableFuture<QueryStatusV2>> futures = new ArrayList<>(query.futures);
+      return () -> {
+        notifyListeners(listeners, query.queryID, error);
+        futures.forEach(future -> future.completeExceptionally(error));
+      };
+    }
+  }
+
+  private static void notifyListeners(
+      List<QueryStatusListener> listeners, String queryID, QueryStatusV2 status) {
+    for (QueryStatusListener listener : listeners) {
+      try {
+        listener.onStatusChange(queryID, status);
+      } catch (RuntimeException ex) {
+        logger.debug("Query status listener failed for query {}: {}", queryID, ex.getMessage());
+      }
+    }
+  }
+
+  private static void notifyListeners(
+      List<QueryStatusListener> listeners, String queryID, Throwable error) {
+    for (QueryStatusListener listener : listeners) {
+      try {
+        listener.onError(queryID, error);
+      } catch (RuntimeException ex) {
+        logger.debug("Query status listener failed for query {}: {}", queryID, ex.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package net.snowflake.client.core;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Least Recently Used cache of the statement metadata returned by describe. A separate cache for
+ * each session in the driver, disabled unless a size is set, so that preparing the same SQL text
+ * again doesn't need another round trip to the server.
+ *
+ * <p>The metadata is cached per SQL text and the database, schema, role and warehouse the statement
+ * was described in. The whole cache is cleared when a statement which may change the metadata of
+ * the cached statements, e.g. DDL or ALTER SESSION, is executed in the session. DDL executed by
+ * other sessions isn't seen, so the cache should only be enabled when the described objects don't
+ * change while the session is open.
+ */
+public class DescribeCache {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(DescribeCache.class);
+
+  /** Metadata of a described statement */
+  static class Entry {
+    private final SFPreparedStatementMetaData metaData;
+    private final String queryId;
+
+    Entry(SFPreparedStatementMetaData metaData, String queryId) {
+      this.metaData = metaData;
+      this.queryId = queryId;
+    }
+
+    /**
+     * @return copy of the cached metadata, which the caller may modify
+     */
+    SFPreparedStatementMetaData getMetaData() {
+      return metaData.copy();
+    }
+
+    /**
+     * @return query id of the describe which returned the metadata
+     */
+    String getQueryId() {
+      return queryId;
+    }
+  }
+
+  private final Map<List<String>, Entry> cache;
+
+  private long hitCount = 0;
+
+  private long missCount = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity Maximum number of statements in the cache.
+   */
+  public DescribeCache(int capacity) {
+    this.cache =
+        new LinkedHashMap<List<String>, Entry>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<List<String>, Entry> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  private static List<String> getKey(String sql, SFBaseSession session) {
+    return Arrays.asList(
+        sql, session.getDatabase(), session.getSchema(), session.getRole(), session.getWarehouse());
+  }
+
+  /**
+   * Get the metadata of a statement described in the current context of the session.
+   *
+   * @param sql statement
+   * @param session session the statement is prepared in
+   * @return cached entry or null if the statement is not in the cache
+   */
+  synchronized Entry get(String sql, SFBaseSession session) {
+    Entry entry = cache.get(getKey(sql, session));
+    if (entry != null) {
+      hitCount++;
+    } else {
+      missCount++;
+    }
+    return entry;
+  }
+
+  /**
+   * Cache the metadata of a statement described in the current context of the session.
+   *
+   * @param sql statement
+   * @param session session the statement is prepared in
+   * @param metaData metadata returned by describe, which is copied
+   * @param queryId query id of the describe
+   */
+  synchronized void put(
+      String sql, SFBaseSession session, SFPreparedStatementMetaData metaData, String queryId) {
+    if (metaData.isValidMetaData()) {
+      cache.put(getKey(sql, session), new Entry(metaData.copy(), queryId));
+    }
+  }
+
+  /**
+   * Clear the cache if the executed statement may change the metadata of the cached statements.
+   *
+   * @param statementType type of the executed statement
+   */
+  void invalidate(SFStatementType statementType) {
+    if (changesStatementMetadata(statementType)) {
+      logger.debug("Clearing describe cache after {} statement", statementType);
+      clearCache();
+    }
+  }
+
+  /**
+   * @param statementType type of the executed statement
+   * @return true if the statement may change the metadata of the statements prepared in the session
+   */
+  static boolean changesStatementMetadata(SFStatementType statementType) {
+    switch (statementType) {
+      case UNKNOWN:
+      case DDL:
+      case SCL:
+      case ALTER_SESSION:
+      case USE:
+      case USE_DATABASE:
+      case USE_SCHEMA:
+      case USE_WAREHOUSE:
+        return true;
+
+      default:
+        return false;
+    }
+  }
+
+  /** Remove all the statements from the cache. */
+  public synchronized void clearCache() {
+    cache.clear();
+  }
+
+  public synchronized int getSize() {
+    return cache.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+}
@@ -6,8 +6,8 @@ import java.util.WeakHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import net.snowflake.client.jdbc.SnowflakeUtil;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 
@@ -96,16 +96,7 @@ public class HeartbeatBackground implements Runnable {
       logger.debug("create heartbeat thread pool", false);
       this.scheduler =
           Executors.newScheduledThreadPool(
-              1,
-              new ThreadFactory() {
-                @Override
-                public Thread newThread(Runnable runnable) {
-                  Thread thread = Executors.defaultThreadFactory().newThread(runnable);
-                  thread.setName("heartbeat (" + thread.getId() + ")");
-                  thread.setDaemon(true);
-                  return thread;
-                }
-              });
+              1, SnowflakeUtil.createDaemonThreadFactory("heartbeat-"));
     }
 
     // schedule a heartbeat task if none exists
@@ -16,13 +16,22 @@ import java.io.StringWriter;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
@@ -33,6 +42,7 @@ import net.snowflake.client.jdbc.RestRequest;
 import net.snowflake.client.jdbc.RetryContextManager;
 import net.snowflake.client.jdbc.SnowflakeDriver;
 import net.snowflake.client.jdbc.SnowflakeSQLException;
+import net.snowflake.client.jdbc.SnowflakeUtil;
 import net.snowflake.client.jdbc.cloud.storage.S3HttpUtil;
 import net.snowflake.client.log.ArgSupplier;
 import net.snowflake.client.log.SFLogger;
@@ -40,6 +50,7 @@ import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.client.log.SFLoggerUtil;
 import net.snowflake.client.util.SecretDetector;
 import net.snowflake.client.util.Stopwatch;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
@@ -48,14 +59,18 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultRedirectStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLInitializationException;
@@ -71,6 +86,9 @@ public class HttpUtil {
   static final int DEFAULT_TTL = 60; // secs
   static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = 5; // secs
   static final int DEFAULT_DOWNLOADED_CONDITION_TIMEOUT = 3600; // secs
+  private static final int WARM_UP_THREADS = 4;
+  // warm up only takes free slots of the pool, it never waits for a connection used by a request
+  private static final long WARM_UP_LEASE_TIMEOUT_IN_MS = 10;
 
   public static final String JDBC_TTL = "net.snowflake.jdbc.ttl";
   public static final String JDBC_MAX_CONNECTIONS_PROPERTY = "net.snowflake.jdbc.max_connections";
@@ -79,6 +97,9 @@ public class HttpUtil {
   private static Duration connectionTimeout;
   private static Duration socketTimeout;
 
+  // Threads opening the connections warmed up ahead of the requests, created on first use
+  private static ThreadPoolExecutor warmUpThreads = null;
+
   /**
    * The unique httpClient shared by all connections. This will benefit long-lived clients. Key =
    * proxy host + proxy port + nonProxyHosts, Value = Map of [OCSPMode, HttpClient]
@@ -98,8 +119,19 @@ public class HttpUtil {
   static Map<HttpClientSettingsKey, SnowflakeMutableProxyRoutePlanner> httpClientRoutePlanner =
       new ConcurrentHashMap<>();
 
-  /** Handle on the static connection manager, to gather statistics mainly */
-  private static PoolingHttpClientConnectionManager connectionManager = null;
+  /**
+   * Connection pools of the HTTP clients, to gather statistics mainly. Each client has its own
+   * pool, so the clients built for different keys don't share their connections and limits.
+   */
+  private static final Map<CloseableHttpClient, SFPoolingConnectionManager> connectionManagers =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * Number of connections per route needed by the parallel downloads and transfers of each key, see
+   * {@link #ensureMaxConnectionsPerRoute(HttpClientSettingsKey, int)}
+   */
+  private static final Map<HttpClientSettingsKey, Integer> requiredConnectionsPerRoute =
+      new ConcurrentHashMap<>();
 
   /** default request configuration, to be copied on individual requests. */
   private static RequestConfig DefaultRequestConfig = null;
@@ -111,6 +143,9 @@ public class HttpUtil {
     httpClient.clear();
     httpClientWithoutDecompression.clear();
     httpClientRoutePlanner.clear();
+    connectionManagers.clear();
+    requiredConnectionsPerRoute.clear();
+    SFSSLConnectionSocketFactory.clearSharedSSLContexts();
   }
 
   @SnowflakeJdbcInternalApi
@@ -144,15 +179,198 @@ public class HttpUtil {
   }
 
   public static void closeExpiredAndIdleConnections() {
-    if (connectionManager != null) {
+    for (SFPoolingConnectionManager connectionManager : getConnectionManagers()) {
       synchronized (connectionManager) {
-        logger.debug("Connection pool stats: {}", connectionManager.getTotalStats());
+        logger.debug("Connection pool stats: {}", connectionManager);
         connectionManager.closeExpiredConnections();
         connectionManager.closeIdleConnections(DEFAULT_IDLE_CONNECTION_TIMEOUT, TimeUnit.SECONDS);
       }
     }
   }
 
+  /**
+   * @return connection pools of all the HTTP clients currently in use
+   */
+  @SnowflakeJdbcInternalApi
+  public static List<SFPoolingConnectionManager> getConnectionManagers() {
+    synchronized (connectionManagers) {
+      return new ArrayList<>(connectionManagers.values());
+    }
+  }
+
+  /**
+   * @param key key the HTTP clients were built with
+   * @return connection pools of the HTTP clients built for the key, with and without decompression
+   */
+  @SnowflakeJdbcInternalApi
+  public static List<SFPoolingConnectionManager> getConnectionManagers(HttpClientSettingsKey key) {
+    List<SFPoolingConnectionManager> managers = new ArrayList<>();
+    for (SFPoolingConnectionManager connectionManager : getConnectionManagers()) {
+      if (key != null && key.equals(connectionManager.getKey())) {
+        managers.add(connectionManager);
+      }
+    }
+    return managers;
+  }
+
+  /**
+   * Make sure the connection pools of a key allow at least the given number of connections to the
+   * same host, so that parallel chunk downloads and file transfers don't wait for each other to
+   * release their connections. The limit per route is only raised, up to the maximum number of
+   * connections of the pool.
+   *
+   * @param key key of the HTTP clients
+   * @param connections number of connections used in parallel
+   */
+  @SnowflakeJdbcInternalApi
+  public static void ensureMaxConnectionsPerRoute(HttpClientSettingsKey key, int connections) {
+    if (key == null || connections <= 0) {
+      return;
+    }
+    int required = requiredConnectionsPerRoute.merge(key, connections, Math::max);
+    for (SFPoolingConnectionManager connectionManager : getConnectionManagers(key)) {
+      applyRequiredConnectionsPerRoute(connectionManager, required);
+    }
+  }
+
+  /**
+   * Open connections to a host ahead of the requests and put them back in the pool of the HTTP
+   * client, so that the requests don't all pay for DNS resolution, TCP and TLS handshakes and the
+   * OCSP checks of the certificates at the same time. The first connection is opened alone so that
+   * the others resume its TLS session and find its OCSP responses in the cache. Connections are not
+   * warmed up through a proxy.
+   *
+   * <p>Warming up is best-effort: it runs on its own threads, doesn't wait for connections of the
+   * pool used by requests, and requests don't need to wait for it to complete.
+   *
+   * @param httpClient HTTP client which will send the requests
+   * @param key key the HTTP client was built with
+   * @param url URL of one of the requests
+   * @param connections number of connections to open
+   * @return future completed once the connections are back in the pool, or completed exceptionally
+   *     if they could not be opened
+   */
+  @SnowflakeJdbcInternalApi
+  public static CompletableFuture<Void> warmUpConnections(
+      CloseableHttpClient httpClient, HttpClientSettingsKey key, String url, int connections) {
+    SFPoolingConnectionManager connectionManager = connectionManagers.get(httpClient);
+    if (connectionManager == null || connections <= 0 || (key != null && key.usesProxy())) {
+      return CompletableFuture.completedFuture(null);
+    }
+    HttpRoute route;
+    try {
+      URI uri = new URI(url);
+      HttpHost target = new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme());
+      route =
+          new HttpRoute(
+              new HttpHost(
+                  target.getHostName(),
+                  DefaultSchemePortResolver.INSTANCE.resolve(target),
+                  target.getSchemeName()),
+              null,
+              "https".equalsIgnoreCase(target.getSchemeName()));
+    } catch (URISyntaxException | UnsupportedSchemeException | RuntimeException ex) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(ex);
+      return future;
+    }
+    logger.debug("Warming up {} connections to {}", connections, route.getTargetHost());
+
+    // connections are kept leased until all of them are open, otherwise the same one is reused
+    List<HttpClientConnection> opened = Collections.synchronizedList(new ArrayList<>());
+    CompletableFuture<Void> warmUp =
+        openConnection(connectionManager, route, opened)
+            .thenCompose(
+                ignored -> {
+                  CompletableFuture<?>[] others = new CompletableFuture<?>[connections - 1];
+                  for (int i = 0; i < others.length; i++) {
+                    others[i] = openConnection(connectionManager, route, opened);
+                  }
+                  return CompletableFuture.allOf(others);
+                });
+    return warmUp.whenComplete(
+        (ignored, ex) -> {
+          synchronized (opened) {
+            for (HttpClientConnection connection : opened) {
+              connectionManager.releaseConnection(
+                  connection, null, DEFAULT_IDLE_CONNECTION_TIMEOUT, TimeUnit.SECONDS);
+            }
+          }
+          logger.debug(
+              "Warmed up {} connections to {}, pool: {}",
+              opened.size(),
+              route.getTargetHost(),
+              connectionManager);
+        });
+  }
+
+  private static CompletableFuture<Void> openConnection(
+      SFPoolingConnectionManager connectionManager,
+      HttpRoute route,
+      List<HttpClientConnection> opened) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    Runnable open =
+        () -> {
+          int connectTimeout = (int) getConnectionTimeout().toMillis();
+          try {
+            HttpClientConnection connection =
+                connectionManager
+                    .requestConnection(route, null)
+                    .get(WARM_UP_LEASE_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+            opened.add(connection);
+            if (!connection.isOpen()) {
+              HttpClientContext context = HttpClientContext.create();
+              connectionManager.connect(connection, route, connectTimeout, context);
+              connectionManager.routeComplete(connection, route, context);
+            }
+            future.complete(null);
+          } catch (Exception ex) {
+            logger.debug(
+                "Failed to warm up connection to {}: {}", route.getTargetHost(), ex.getMessage());
+            future.completeExceptionally(ex);
+          }
+        };
+    try {
+      getWarmUpThreads().execute(open);
+    } catch (RejectedExecutionException ex) {
+      future.completeExceptionally(ex);
+    }
+    return future;
+  }
+
+  /**
+   * Create the threads warming up connections if it is the first time. They are daemon threads so
+   * that they will not block JVM from exiting.
+   */
+  private static synchronized ThreadPoolExecutor getWarmUpThreads() {
+    if (warmUpThreads == null) {
+      warmUpThreads =
+          new ThreadPoolExecutor(
+              WARM_UP_THREADS,
+              WARM_UP_THREADS,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              SnowflakeUtil.createDaemonThreadFactory("connection-warm-up-"));
+      warmUpThreads.allowCoreThreadTimeOut(true);
+    }
+    return warmUpThreads;
+  }
+
+  private static void applyRequiredConnectionsPerRoute(
+      PoolingHttpClientConnectionManager connectionManager, int required) {
+    synchronized (connectionManager) {
+      int maxPerRoute = Math.min(required, connectionManager.getMaxTotal());
+      if (connectionManager.getDefaultMaxPerRoute() < maxPerRoute) {
+        logger.debug(
+            "Raising max connections per route in connection pooling manager from {} to {}",
+            connectionManager.getDefaultMaxPerRoute(),
+            maxPerRoute);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+      }
+    }
+  }
+
   /**
    * A static function to set S3 proxy params when there is a valid session
    *
@@ -327,51 +545,31 @@ public class HttpUtil {
       initDefaultRequestConfig(connectTimeout, socketTimeout);
     }
 
-    TrustManager[] trustManagers = null;
-    if (key != null && key.getOcspMode() != OCSPMode.DISABLE_OCSP_CHECKS) {
-      // A custom TrustManager is required only if disableOCSPChecks is disabled,
-      // which is by default in the production. disableOCSPChecks can be enabled
-      // 1) OCSP service is down for reasons, 2) PowerMock test that doesn't
-      // care OCSP checks.
-      // OCSP FailOpen is ON by default
-      try {
-        if (ocspCacheFile == null) {
-          logger.debug("Instantiating trust manager with default ocsp cache file");
-        } else {
-          logger.debug("Instantiating trust manager with ocsp cache file: {}", ocspCacheFile);
-        }
-        TrustManager[] tm = {new SFTrustManager(key, ocspCacheFile)};
-        trustManagers = tm;
-      } catch (Exception | Error err) {
-        // dump error stack
-        StringWriter errors = new StringWriter();
-        err.printStackTrace(new PrintWriter(errors));
-        logger.error(errors.toString(), true);
-        throw new RuntimeException(err); // rethrow the exception
-      }
-    } else if (key != null) {
-      logger.debug(
-          "Omitting trust manager instantiation as OCSP mode is set to {}", key.getOcspMode());
-    } else {
-      logger.debug("Omitting trust manager instantiation as configuration is not provided");
-    }
     try {
       logger.debug(
           "Registering https connection socket factory with socks proxy disabled: {} and http "
               + "connection socket factory",
           socksProxyDisabled);
 
+      // the clients of a key share their SSL context so that they can resume each other's TLS
+      // sessions, a custom OCSP cache file gets its own trust manager
+      SFSSLConnectionSocketFactory sslConnectionSocketFactory =
+          key != null && ocspCacheFile == null
+              ? new SFSSLConnectionSocketFactory(
+                  SFSSLConnectionSocketFactory.getSharedSSLContext(
+                      key, () -> createTrustManagers(key, null)),
+                  socksProxyDisabled)
+              : new SFSSLConnectionSocketFactory(
+                  createTrustManagers(key, ocspCacheFile), socksProxyDisabled);
       Registry<ConnectionSocketFactory> registry =
           RegistryBuilder.<ConnectionSocketFactory>create()
-              .register(
-                  "https", new SFSSLConnectionSocketFactory(trustManagers, socksProxyDisabled))
+              .register("https", sslConnectionSocketFactory)
               .register("http", new SFConnectionSocketFactory())
               .build();
 
       // Build a connection manager with enough connections
-      connectionManager =
-          new PoolingHttpClientConnectionManager(
-              registry, null, null, null, timeToLive, TimeUnit.SECONDS);
+      SFPoolingConnectionManager connectionManager =
+          new SFPoolingConnectionManager(key, registry, timeToLive, TimeUnit.SECONDS);
       int maxConnections =
           SystemUtil.convertSystemPropertyToIntValue(
               JDBC_MAX_CONNECTIONS_PROPERTY, DEFAULT_MAX_CONNECTIONS);
@@ -384,6 +582,9 @@ public class HttpUtil {
           maxConnectionsPerRoute);
       connectionManager.setMaxTotal(maxConnections);
       connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+      if (key != null && requiredConnectionsPerRoute.containsKey(key)) {
+        applyRequiredConnectionsPerRoute(connectionManager, requiredConnectionsPerRoute.get(key));
+      }
 
       logger.debug("Disabling cookie management for http client");
       String userAgentSuffix = key != null ? key.getUserAgentSuffix() : "";
@@ -442,12 +643,45 @@ public class HttpUtil {
         httpClientBuilder.addInterceptorLast(
             new HeaderCustomizerHttpRequestInterceptor(httpHeadersCustomizers));
       }
-      return httpClientBuilder.build();
+      CloseableHttpClient httpClient = httpClientBuilder.build();
+      connectionManagers.put(httpClient, connectionManager);
+      return httpClient;
     } catch (NoSuchAlgorithmException | KeyManagementException ex) {
       throw new SSLInitializationException(ex.getMessage(), ex);
     }
   }
 
+  private static TrustManager[] createTrustManagers(
+      @Nullable HttpClientSettingsKey key, File ocspCacheFile) {
+    if (key != null && key.getOcspMode() != OCSPMode.DISABLE_OCSP_CHECKS) {
+      // A custom TrustManager is required only if disableOCSPChecks is disabled,
+      // which is by default in the production. disableOCSPChecks can be enabled
+      // 1) OCSP service is down for reasons, 2) PowerMock test that doesn't
+      // care OCSP checks.
+      // OCSP FailOpen is ON by default
+      try {
+        if (ocspCacheFile == null) {
+          logger.debug("Instantiating trust manager with default ocsp cache file");
+        } else {
+          logger.debug("Instantiating trust manager with ocsp cache file: {}", ocspCacheFile);
+        }
+        return new TrustManager[] {new SFTrustManager(key, ocspCacheFile)};
+      } catch (Exception | Error err) {
+        // dump error stack
+        StringWriter errors = new StringWriter();
+        err.printStackTrace(new PrintWriter(errors));
+        logger.error(errors.toString(), true);
+        throw new RuntimeException(err); // rethrow the exception
+      }
+    } else if (key != null) {
+      logger.debug(
+          "Omitting trust manager instantiation as OCSP mode is set to {}", key.getOcspMode());
+    } else {
+      logger.debug("Omitting trust manager instantiation as configuration is not provided");
+    }
+    return null;
+  }
+
   private static void initDefaultRequestConfig(long connectTimeout, long socketTimeout) {
     RequestConfig.Builder builder =
         RequestConfig.custom()
@@ -635,12 +869,14 @@ public class HttpUtil {
   }
 
   /**
-   * Accessor for the HTTP client singleton.
+   * Accessor for the statistics of the connection pool of an HTTP client.
    *
+   * @param httpClient HTTP client
    * @return HTTP Client stats in string representation
    */
-  private static String getHttpClientStats() {
-    return connectionManager == null ? "" : connectionManager.getTotalStats().toString();
+  private static String getHttpClientStats(CloseableHttpClient httpClient) {
+    SFPoolingConnectionManager connectionManager = connectionManagers.get(httpClient);
+    return connectionManager == null ? "" : connectionManager.toString();
   }
 
   /**
@@ -889,6 +1125,59 @@ public class HttpUtil {
         sfSession);
   }
 
+  /**
+   * Executes an HTTP request for Snowflake without blocking the calling thread. The request is sent
+   * with the same HTTP client, retries and backoff as {@link
+   * #executeGeneralRequest(HttpRequestBase, int, int, int, int, HttpClientSettingsKey,
+   * RetryContextManager, SFBaseSession)}, but runs on the threads of the {@link
+   * AsyncHttpTransport}.
+   *
+   * @param httpRequest HttpRequestBase
+   * @param retryTimeout retry timeout
+   * @param authTimeout authenticator specific timeout
+   * @param socketTimeout socket timeout (in ms)
+   * @param retryCount max retry count for the request - if it is set to 0, it will be ignored and
+   *     only retryTimeout will determine when to end the retries
+   * @param ocspAndProxyAndGzipKey OCSP mode and proxy settings for httpclient
+   * @param sfSession the session associated with the request
+   * @return future completed with the response, or completed exceptionally with a
+   *     SnowflakeSQLException
+   */
+  @SnowflakeJdbcInternalApi
+  public static CompletableFuture<String> executeGeneralRequestAsync(
+      HttpRequestBase httpRequest,
+      int retryTimeout,
+      int authTimeout,
+      int socketTimeout,
+      int retryCount,
+      HttpClientSettingsKey ocspAndProxyAndGzipKey,
+      SFBaseSession sfSession) {
+    logger.debug("Executing general request asynchronously");
+    String requestInfoScrubbed = SecretDetector.maskSASToken(httpRequest.toString());
+    HttpExecutingContext context =
+        buildSimpleRequestContext(
+            httpRequest,
+            requestInfoScrubbed,
+            retryTimeout,
+            authTimeout,
+            socketTimeout,
+            retryCount,
+            0, // no inject socket timeout
+            null, // no canceling
+            false, // with cookie
+            false, // no retry parameter
+            true, // include request GUID
+            false, // no retry on HTTP 403
+            sfSession);
+    return RestRequest.executeWithRetriesAsync(
+            getHttpClient(ocspAndProxyAndGzipKey, null),
+            httpRequest,
+            context,
+            new ExecTimeTelemetryData(),
+            null)
+        .thenApply(HttpResponseContextDto::getUnpackedCloseableHttpResponse);
+  }
+
   /**
    * Executes an HTTP request for Snowflake
    *
@@ -1210,29 +1499,28 @@ public class HttpUtil {
     String responseText = "";
 
     logger.debug(
-        "Pool: {} Executing: {}", (ArgSupplier) HttpUtil::getHttpClientStats, requestInfoScrubbed);
+        "Pool: {} Executing: {}",
+        (ArgSupplier) () -> getHttpClientStats(httpClient),
+        requestInfoScrubbed);
 
     CloseableHttpResponse response = null;
     Stopwatch stopwatch = null;
 
-    String requestIdStr = URLUtil.getRequestIdLogStr(httpRequest.getURI());
     HttpExecutingContext context =
-        HttpExecutingContextBuilder.forSimpleRequest(requestIdStr, requestInfoScrubbed)
-            .retryTimeout(retryTimeout)
-            .authTimeout(authTimeout)
-            .origSocketTimeout(socketTimeout)
-            .maxRetries(maxRetries)
-            .injectSocketTimeout(injectSocketTimeout)
-            .canceling(canceling)
-            .withoutCookies(withoutCookies)
-            .includeRetryParameters(includeRetryParameters)
-            .includeRequestGuid(includeRequestGuid)
-            .retryHTTP403(retryOnHTTP403)
-            .unpackResponse(true)
-            .noRetry(false)
-            .loginRequest(SessionUtil.isNewRetryStrategyRequest(httpRequest))
-            .withSfSession(sfSession)
-            .build();
+        buildSimpleRequestContext(
+            httpRequest,
+            requestInfoScrubbed,
+            retryTimeout,
+            authTimeout,
+            socketTimeout,
+            maxRetries,
+            injectSocketTimeout,
+            canceling,
+            withoutCookies,
+            includeRetryParameters,
+            includeRequestGuid,
+            retryOnHTTP403,
+            sfSession);
     responseText =
         RestRequest.executeWithRetries(
                 httpClient, httpRequest, context, execTimeData, retryContextManager)
@@ -1240,13 +1528,46 @@ public class HttpUtil {
 
     logger.debug(
         "Pool: {} Request returned for: {} took {} ms",
-        (ArgSupplier) HttpUtil::getHttpClientStats,
+        (ArgSupplier) () -> getHttpClientStats(httpClient),
         requestInfoScrubbed,
         stopwatch == null ? "n/a" : stopwatch.elapsedMillis());
 
     return responseText;
   }
 
+  private static HttpExecutingContext buildSimpleRequestContext(
+      HttpRequestBase httpRequest,
+      String requestInfoScrubbed,
+      int retryTimeout,
+      int authTimeout,
+      int socketTimeout,
+      int maxRetries,
+      int injectSocketTimeout,
+      AtomicBoolean canceling,
+      boolean withoutCookies,
+      boolean includeRetryParameters,
+      boolean includeRequestGuid,
+      boolean retryOnHTTP403,
+      SFBaseSession sfSession) {
+    String requestIdStr = URLUtil.getRequestIdLogStr(httpRequest.getURI());
+    return HttpExecutingContextBuilder.forSimpleRequest(requestIdStr, requestInfoScrubbed)
+        .retryTimeout(retryTimeout)
+        .authTimeout(authTimeout)
+        .origSocketTimeout(socketTimeout)
+        .maxRetries(maxRetries)
+        .injectSocketTimeout(injectSocketTimeout)
+        .canceling(canceling)
+        .withoutCookies(withoutCookies)
+        .includeRetryParameters(includeRetryParameters)
+        .includeRequestGuid(includeRequestGuid)
+        .retryHTTP403(retryOnHTTP403)
+        .unpackResponse(true)
+        .noRetry(false)
+        .loginRequest(SessionUtil.isNewRetryStrategyRequest(httpRequest))
+        .withSfSession(sfSession)
+        .build();
+  }
+
   // This is a workaround for JDK-7036144.
   //
   // The GZIPInputStream prematurely closes its input if a) it finds
@@ -0,0 +1,94 @@
+package net.snowflake.client.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Request entity serializing an object to JSON while the request is sent, compressed with gzip if
+ * requested, so that neither the JSON nor the compressed JSON of a large query is held in memory.
+ *
+ * <p>The entity is serialized again on each retry of the request, so the object must not change
+ * until the request completes. Its length isn't known in advance, so it is sent in chunks.
+ */
+class JsonRequestEntity extends AbstractHttpEntity {
+  private static final int GZIP_BUFFER_SIZE = 8192;
+
+  private final ObjectMapper mapper;
+
+  private final Object value;
+
+  private final boolean compressed;
+
+  private final ExecTimeTelemetryData execTimeData;
+
+  /**
+   * @param mapper mapper serializing the object
+   * @param value object to serialize
+   * @param compressed whether to compress the JSON with gzip
+   * @param execTimeData telemetry the time spent writing the compressed JSON is recorded in, or
+   *     null
+   */
+  JsonRequestEntity(
+      ObjectMapper mapper, Object value, boolean compressed, ExecTimeTelemetryData execTimeData) {
+    this.mapper = mapper;
+    this.value = value;
+    this.compressed = compressed;
+    this.execTimeData = execTimeData;
+    setContentType(ContentType.APPLICATION_JSON.getMimeType());
+    setChunked(true);
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return true;
+  }
+
+  @Override
+  public long getContentLength() {
+    return -1;
+  }
+
+  @Override
+  public InputStream getContent() throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    writeTo(content);
+    return new ByteArrayInputStream(content.toByteArray());
+  }
+
+  @Override
+  public void writeTo(OutputStream outStream) throws IOException {
+    if (compressed && execTimeData != null) {
+      execTimeData.setGzipStart();
+    }
+    GZIPOutputStream gzipStream =
+        compressed ? new GZIPOutputStream(outStream, GZIP_BUFFER_SIZE) : null;
+    // the output stream of the request is closed by the HTTP client
+    try (JsonGenerator generator =
+        mapper
+            .getFactory()
+            .createGenerator(gzipStream != null ? gzipStream : outStream)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      mapper.writeValue(generator, value);
+    }
+    if (gzipStream != null) {
+      gzipStream.finish();
+      if (execTimeData != null) {
+        execTimeData.setGzipEnd();
+      }
+    }
+    outStream.flush();
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return false;
+  }
+}
@@ -0,0 +1,192 @@
+package net.snowflake.client.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Least Recently Used cache of the results of the SHOW commands run by DatabaseMetaData. A separate
+ * cache for each session in the driver, disabled unless a time to live is set.
+ *
+ * <p>The results are cached per command text, which is built from the catalog, schema and pattern
+ * arguments of the DatabaseMetaData call, and the database, schema and role the command ran in.
+ * Results older than the time to live are not returned. The whole cache is cleared when DDL is
+ * executed in the session, since the objects shown may have changed.
+ */
+public class MetadataCache {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(MetadataCache.class);
+
+  static final int DEFAULT_CAPACITY = 100;
+
+  // number of schemas whose columns are prefetched by DatabaseMetaData.getColumns
+  static final int PREFETCH_CAPACITY = 16;
+
+  /** Rows and column information of a cached result */
+  public static class Entry {
+    private final List<String> columnNames;
+    private final List<String> columnTypeNames;
+    private final List<Integer> columnTypes;
+    private final Object[][] rows;
+    private final String queryId;
+    private final long cachedAtNanos = System.nanoTime();
+
+    // rows grouped by the value of their first column, built on first use
+    private Map<String, Object[][]> rowsByFirstColumn;
+
+    public Entry(
+        List<String> columnNames,
+        List<String> columnTypeNames,
+        List<Integer> columnTypes,
+        Object[][] rows,
+        String queryId) {
+      this.columnNames = columnNames;
+      this.columnTypeNames = columnTypeNames;
+      this.columnTypes = columnTypes;
+      this.rows = rows;
+      this.queryId = queryId;
+    }
+
+    public List<String> getColumnNames() {
+      return columnNames;
+    }
+
+    public List<String> getColumnTypeNames() {
+      return columnTypeNames;
+    }
+
+    public List<Integer> getColumnTypes() {
+      return columnTypes;
+    }
+
+    /**
+     * @return rows of the result, which must not be modified
+     */
+    public Object[][] getRows() {
+      return rows;
+    }
+
+    /**
+     * Get the rows with a value in the first column, e.g. the columns of a table in the result of
+     * SHOW COLUMNS, without scanning the whole result.
+     *
+     * @param value value of the first column
+     * @return rows in the order of the result, empty if there is none
+     */
+    public synchronized Object[][] getRowsWithFirstColumn(String value) {
+      if (rowsByFirstColumn == null) {
+        Map<String, List<Object[]>> groups = new HashMap<>();
+        for (Object[] row : rows) {
+          groups.computeIfAbsent(String.valueOf(row[0]), k -> new ArrayList<>()).add(row);
+        }
+        rowsByFirstColumn = new HashMap<>();
+        for (Map.Entry<String, List<Object[]>> group : groups.entrySet()) {
+          rowsByFirstColumn.put(group.getKey(), group.getValue().toArray(new Object[0][]));
+        }
+      }
+      return rowsByFirstColumn.getOrDefault(value, new Object[0][]);
+    }
+
+    /**
+     * @return query id of the command which returned the result
+     */
+    public String getQueryId() {
+      return queryId;
+    }
+  }
+
+  private final long ttlInNanos;
+
+  private final Map<List<String>, Entry> cache;
+
+  private long hitCount = 0;
+
+  private long missCount = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity Maximum number of results in the cache.
+   * @param ttlInMillis Time to live of the results in milliseconds.
+   */
+  public MetadataCache(int capacity, long ttlInMillis) {
+    this.ttlInNanos = ttlInMillis * 1000000L;
+    this.cache =
+        new LinkedHashMap<List<String>, Entry>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<List<String>, Entry> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  private static List<String> getKey(String command, SFBaseSession session) {
+    return Arrays.asList(command, session.getDatabase(), session.getSchema(), session.getRole());
+  }
+
+  /**
+   * Get the result of a command run in the current context of the session.
+   *
+   * @param command SHOW command
+   * @param session session the command is run in
+   * @return cached result or null if the result is not in the cache or expired
+   */
+  public synchronized Entry get(String command, SFBaseSession session) {
+    List<String> key = getKey(command, session);
+    Entry entry = cache.get(key);
+    if (entry != null && System.nanoTime() - entry.cachedAtNanos >= ttlInNanos) {
+      cache.remove(key);
+      entry = null;
+    }
+    if (entry != null) {
+      hitCount++;
+    } else {
+      missCount++;
+    }
+    return entry;
+  }
+
+  /**
+   * Cache the result of a command run in the current context of the session.
+   *
+   * @param command SHOW command
+   * @param session session the command is run in
+   * @param entry result of the command
+   */
+  public synchronized void put(String command, SFBaseSession session, Entry entry) {
+    cache.put(getKey(command, session), entry);
+  }
+
+  /**
+   * Clear the cache if the executed statement may change the objects shown by the cached results.
+   *
+   * @param statementType type of the executed statement
+   */
+  void invalidate(SFStatementType statementType) {
+    if (statementType == SFStatementType.DDL || statementType == SFStatementType.UNKNOWN) {
+      logger.debug("Clearing metadata cache after {} statement", statementType);
+      clearCache();
+    }
+  }
+
+  /** Remove all the results from the cache. */
+  public synchronized void clearCache() {
+    cache.clear();
+  }
+
+  public synchronized int getSize() {
+    return cache.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+}
@@ -0,0 +1,96 @@
+package net.snowflake.client.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializer of the body of a query request, writing the same JSON as the bean serialization of
+ * {@link QueryExecDTO} without introspecting it. The values of the binds, which make up most of the
+ * body of a large query, are written directly from their strings or lists of strings.
+ */
+class QueryExecDTOSerializer extends StdSerializer<QueryExecDTO> {
+  private static final long serialVersionUID = 1L;
+
+  QueryExecDTOSerializer() {
+    super(QueryExecDTO.class);
+  }
+
+  @Override
+  @SuppressWarnings("deprecation")
+  public void serialize(QueryExecDTO dto, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    gen.writeStartObject();
+    gen.writeStringField("sqlText", dto.getSqlText());
+    if (dto.getSequenceId() == null) {
+      gen.writeNullField("sequenceId");
+    } else {
+      gen.writeNumberField("sequenceId", dto.getSequenceId());
+    }
+    gen.writeFieldName("bindings");
+    writeBindings(dto.getBindings(), gen, provider);
+    gen.writeStringField("bindStage", dto.getBindStage());
+    gen.writeBooleanField("describeOnly", dto.isDescribeOnly());
+    gen.writeFieldName("parameters");
+    provider.defaultSerializeValue(dto.getParameters(), gen);
+    gen.writeFieldName("queryContextDTO");
+    provider.defaultSerializeValue(dto.getqueryContextDTO(), gen);
+    gen.writeStringField("describedJobId", dto.getDescribedJobId());
+    gen.writeNumberField("querySubmissionTime", dto.getQuerySubmissionTime());
+    gen.writeBooleanField("isInternal", dto.getIsInternal());
+    gen.writeBooleanField("asyncExec", dto.getAsyncExec());
+    gen.writeEndObject();
+  }
+
+  private static void writeBindings(
+      Map<String, ParameterBindingDTO> bindings, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    if (bindings == null) {
+      gen.writeNull();
+      return;
+    }
+    gen.writeStartObject();
+    for (Map.Entry<String, ParameterBindingDTO> binding : bindings.entrySet()) {
+      gen.writeFieldName(binding.getKey());
+      ParameterBindingDTO dto = binding.getValue();
+      if (dto == null) {
+        gen.writeNull();
+        continue;
+      }
+      gen.writeStartObject();
+      gen.writeStringField("type", dto.getType());
+      gen.writeStringField("fmt", dto.getFmt());
+      gen.writeFieldName("schema");
+      provider.defaultSerializeValue(dto.getSchema(), gen);
+      gen.writeFieldName("value");
+      writeValue(dto.getValue(), gen, provider);
+      gen.writeEndObject();
+    }
+    gen.writeEndObject();
+  }
+
+  private static void writeValue(Object value, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    if (value instanceof String) {
+      gen.writeString((String) value);
+    } else if (value instanceof List) {
+      List<?> values = (List<?>) value;
+      gen.writeStartArray(values, values.size());
+      for (Object element : values) {
+        if (element == null) {
+          gen.writeNull();
+        } else if (element instanceof String) {
+          gen.writeString((String) element);
+        } else {
+          provider.defaultSerializeValue(element, gen);
+        }
+      }
+      gen.writeEndArray();
+    } else {
+      provider.defaultSerializeValue(value, gen);
+    }
+  }
+}
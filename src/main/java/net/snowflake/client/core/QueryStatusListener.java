@@ -0,0 +1,26 @@
+package net.snowflake.client.core;
+
+import net.snowflake.client.jdbc.QueryStatusV2;
+
+/** Listener notified by the {@link AsyncQueryPoller} when the status of a query changes. */
+@SnowflakeJdbcInternalApi
+@FunctionalInterface
+public interface QueryStatusListener {
+  /**
+   * Called from a poller thread each time a different status is observed, the last call is made
+   * with the final status once the query is no longer running.
+   *
+   * @param queryID query ID
+   * @param status new status of the query
+   */
+  void onStatusChange(String queryID, QueryStatusV2 status);
+
+  /**
+   * Called from a poller thread when the status of the query can no longer be retrieved, after
+   * which the listener is not called anymore.
+   *
+   * @param queryID query ID
+   * @param error error raised by the last attempt to get the status
+   */
+  default void onError(String queryID, Throwable error) {}
+}
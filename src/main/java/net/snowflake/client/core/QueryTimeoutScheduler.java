@@ -0,0 +1,189 @@
+package net.snowflake.client.core;
+
+import java.sql.SQLException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.snowflake.client.jdbc.SnowflakeUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Enforces the client side query timeouts of all the statements of the driver.
+ *
+ * <p>All statements share one timer thread instead of creating a scheduler per execution. Timeouts
+ * are cancelled when the query completes and cancelled timeouts are removed from the timer queue
+ * right away. When a timeout fires, the cancel request is sent from a separate pool of at most
+ * {@link #MAX_CANCEL_WORKERS} worker threads so that a slow cancel does not delay the other
+ * timeouts. Cancel requests wait in the queue of the pool while all workers are busy.
+ */
+@SnowflakeJdbcInternalApi
+public class QueryTimeoutScheduler {
+  private static final QueryTimeoutScheduler singleton = new QueryTimeoutScheduler();
+
+  private static final SFLogger logger = SFLoggerFactory.getLogger(QueryTimeoutScheduler.class);
+
+  // maximum number of cancel requests sent concurrently
+  static final int MAX_CANCEL_WORKERS = 4;
+
+  // time after which an idle cancel worker exits
+  private static final long CANCEL_WORKER_KEEP_ALIVE_SECONDS = 60;
+
+  // Timer handling the scheduled timeouts, created on first use
+  private volatile ScheduledThreadPoolExecutor timer = null;
+
+  // Workers sending the cancel requests of the timeouts that fired
+  private ThreadPoolExecutor cancelWorkers = null;
+
+  private final AtomicLong scheduledCount = new AtomicLong();
+  private final AtomicLong firedCount = new AtomicLong();
+  private final AtomicLong cancelledCount = new AtomicLong();
+
+  // Method to get the scheduler instance
+  public static QueryTimeoutScheduler getInstance() {
+    return singleton;
+  }
+
+  /** private constructor so that no one can try to create one */
+  private QueryTimeoutScheduler() {}
+
+  /**
+   * Schedule a timeout for a statement. The statement is canceled with {@link
+   * CancellationReason#TIMEOUT} unless the returned timeout is cancelled first.
+   *
+   * @param statement statement to cancel when the timeout is reached
+   * @param timeoutInSeconds query timeout in seconds
+   * @return timeout which must be cancelled once the query completes
+   */
+  public Timeout schedule(SFStatement statement, int timeoutInSeconds) {
+    scheduledCount.incrementAndGet();
+    Timeout timeout = new Timeout(statement);
+    timeout.future =
+        getTimer()
+            .schedule(
+                () -> {
+                  firedCount.incrementAndGet();
+                  cancelWorkers.execute(timeout::cancelStatement);
+                },
+                timeoutInSeconds,
+                TimeUnit.SECONDS);
+    return timeout;
+  }
+
+  /**
+   * Cancel a timeout scheduled by {@link #schedule(SFStatement, int)}. A cancel request of the
+   * timeout which is waiting for a worker is dropped, and one being sent is waited for, so that it
+   * cannot cancel a later query of the statement.
+   *
+   * @param timeout timeout returned when it was scheduled, may be null
+   */
+  public void cancel(Timeout timeout) {
+    if (timeout != null && timeout.defuse()) {
+      cancelledCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * @return number of timeouts waiting to fire
+   */
+  public int getPendingTimeoutCount() {
+    ScheduledThreadPoolExecutor timer = this.timer;
+    return timer == null ? 0 : timer.getQueue().size();
+  }
+
+  /**
+   * @return total number of timeouts scheduled
+   */
+  public long getScheduledTimeoutCount() {
+    return scheduledCount.get();
+  }
+
+  /**
+   * @return total number of timeouts which fired and canceled their statement
+   */
+  public long getFiredTimeoutCount() {
+    return firedCount.get();
+  }
+
+  /**
+   * @return total number of timeouts cancelled because the query completed in time
+   */
+  public long getCancelledTimeoutCount() {
+    return cancelledCount.get();
+  }
+
+  /**
+   * Create the timer and the cancel workers if it is the first time. They use daemon threads so
+   * that they will not block JVM from exiting.
+   */
+  private ScheduledThreadPoolExecutor getTimer() {
+    ScheduledThreadPoolExecutor timer = this.timer;
+    if (timer == null) {
+      synchronized (this) {
+        timer = this.timer;
+        if (timer == null) {
+          logger.debug("create query timeout thread pool", false);
+          timer =
+              new ScheduledThreadPoolExecutor(
+                  1, SnowflakeUtil.createDaemonThreadFactory("query-timeout-"));
+          timer.setRemoveOnCancelPolicy(true);
+          cancelWorkers =
+              new ThreadPoolExecutor(
+                  MAX_CANCEL_WORKERS,
+                  MAX_CANCEL_WORKERS,
+                  CANCEL_WORKER_KEEP_ALIVE_SECONDS,
+                  TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<>(),
+                  SnowflakeUtil.createDaemonThreadFactory("query-timeout-cancel-"));
+          cancelWorkers.allowCoreThreadTimeOut(true);
+          // published after the cancel workers, which are read once the timer is seen
+          this.timer = timer;
+        }
+      }
+    }
+    return timer;
+  }
+
+  /** Timeout of a query execution, cancelled once the query completes. */
+  public static final class Timeout {
+    private final SFStatement statement;
+
+    private volatile ScheduledFuture<?> future;
+
+    // set once the query completed, guarded by this
+    private boolean defused = false;
+
+    private Timeout(SFStatement statement) {
+      this.statement = statement;
+    }
+
+    /**
+     * @return true if the timeout was cancelled before it fired
+     */
+    public boolean isCancelled() {
+      return future.isCancelled();
+    }
+
+    private synchronized void cancelStatement() {
+      if (defused) {
+        return;
+      }
+      try {
+        statement.cancel(CancellationReason.TIMEOUT);
+      } catch (SFException | SQLException | RuntimeException ex) {
+        logger.debug("Failed to cancel statement after query timeout: {}", ex.getMessage());
+      }
+    }
+
+    private boolean defuse() {
+      boolean cancelled = future.cancel(false);
+      synchronized (this) {
+        defused = true;
+      }
+      return cancelled;
+    }
+  }
+}
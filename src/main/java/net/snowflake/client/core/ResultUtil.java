@@ -243,7 +243,7 @@ public class ResultUtil {
    */
   public static String getSFTimeAsString(
       SFTime sft, int scale, SnowflakeDateTimeFormat timeFormatter) {
-    return timeFormatter.format(sft, scale);
+    return SFDateTimeFastFormatter.format(timeFormatter, sft, scale);
   }
 
   /**
@@ -296,7 +296,8 @@ public class ResultUtil {
     try {
       Timestamp adjustedTimestamp = ResultUtil.adjustTimestamp(sfTS.getTimestamp());
 
-      return formatter.format(adjustedTimestamp, sfTS.getTimeZone(), scale);
+      return SFDateTimeFastFormatter.format(
+          formatter, adjustedTimestamp, sfTS.getTimeZone(), scale);
     } catch (SFTimestamp.TimestampOperationNotAvailableException e) {
       // this timestamp doesn't fit into a Java timestamp, and therefore we
       // can't format it (for now). Just print it out as seconds since epoch.
@@ -317,7 +318,7 @@ public class ResultUtil {
    * @return date in string
    */
   public static String getDateAsString(Date date, SnowflakeDateTimeFormat dateFormatter) {
-    return dateFormatter.format(date, TimeZone.getDefault());
+    return SFDateTimeFastFormatter.format(dateFormatter, date, TimeZone.getDefault());
   }
 
   /**
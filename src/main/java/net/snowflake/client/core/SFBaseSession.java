@@ -7,10 +7,12 @@ import static net.snowflake.client.jdbc.SnowflakeUtil.systemGetProperty;
 import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.snowflake.client.jdbc.ErrorCode;
@@ -80,6 +82,14 @@ public abstract class SFBaseSession {
   // The server can read array binds from a stage instead of query payload.
   // When there as many bind values as this threshold, we should upload them to a stage.
   private int arrayBindStageThreshold = 0;
+  // Array bind batches with more rows than this are executed in sub-batches of this size, with the
+  // binds of the next sub-batch uploaded while the previous one is executed. 0 to disable.
+  // Sub-batches are separate statements, so the batch isn't atomic under auto-commit.
+  private int arrayBindBatchChunkSize = 0;
+  // Rows of batches of single-row INSERT statements that can't use array binds are executed in
+  // multi-row INSERT statements of up to this many rows, and a failed statement is executed again
+  // row by row to report which rows failed. 0 to disable.
+  private int batchInsertRewriteSize = 0;
   private boolean storeTemporaryCredential;
   private String serviceName;
   private boolean sfSQLMode;
@@ -933,6 +943,11 @@ public abstract class SFBaseSession {
     return autoCommit.get();
   }
 
+  /** Beginning of the statement sent by the connection to change the auto-commit mode */
+  @SnowflakeJdbcInternalApi
+  public static final String SET_AUTO_COMMIT_STATEMENT =
+      "alter session /* JDBC:SnowflakeConnectionV1.setAutoCommit*/ set autocommit=";
+
   /**
    * Sets value of autoCommit field
    *
@@ -1029,6 +1044,22 @@ public abstract class SFBaseSession {
     this.arrayBindStageThreshold = arrayBindStageThreshold;
   }
 
+  public int getArrayBindBatchChunkSize() {
+    return arrayBindBatchChunkSize;
+  }
+
+  public void setArrayBindBatchChunkSize(int arrayBindBatchChunkSize) {
+    this.arrayBindBatchChunkSize = arrayBindBatchChunkSize;
+  }
+
+  public int getBatchInsertRewriteSize() {
+    return batchInsertRewriteSize;
+  }
+
+  public void setBatchInsertRewriteSize(int batchInsertRewriteSize) {
+    this.batchInsertRewriteSize = batchInsertRewriteSize;
+  }
+
   public boolean getStoreTemporaryCredential() {
     return storeTemporaryCredential;
   }
@@ -1256,6 +1287,43 @@ public abstract class SFBaseSession {
    */
   public abstract QueryStatusV2 getQueryStatusV2(String queryID) throws SQLException;
 
+  /**
+   * Get the status of several queries at once. Sessions able to retrieve the status of many queries
+   * in fewer server calls should override this method, by default each query is checked with {@link
+   * #getQueryStatusV2(String)}.
+   *
+   * @param queryIDs query IDs of the queries whose status is being investigated
+   * @return map from query ID to the status of the query
+   * @throws SQLException if error encountered
+   */
+  public Map<String, QueryStatusV2> getQueryStatusesV2(Collection<String> queryIDs)
+      throws SQLException {
+    Map<String, QueryStatusV2> statuses = new HashMap<>();
+    for (String queryID : queryIDs) {
+      statuses.put(queryID, getQueryStatusV2(queryID));
+    }
+    return statuses;
+  }
+
+  /**
+   * Get the status of several queries at once without blocking the calling thread. Sessions able to
+   * retrieve the statuses asynchronously should override this method, by default {@link
+   * #getQueryStatusesV2(Collection)} is called before returning.
+   *
+   * @param queryIDs query IDs of the queries whose status is being investigated
+   * @return future completed with a map from query ID to the status of the query
+   */
+  public CompletableFuture<Map<String, QueryStatusV2>> getQueryStatusesV2Async(
+      Collection<String> queryIDs) {
+    CompletableFuture<Map<String, QueryStatusV2>> future = new CompletableFuture<>();
+    try {
+      future.complete(getQueryStatusesV2(queryIDs));
+    } catch (SQLException | RuntimeException ex) {
+      future.completeExceptionally(ex);
+    }
+    return future;
+  }
+
   /**
    * Validates the connection properties used by this session, and returns a list of missing
    * properties.
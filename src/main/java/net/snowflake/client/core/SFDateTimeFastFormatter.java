@@ -0,0 +1,473 @@
+package net.snowflake.client.core;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.text.DateFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+import net.snowflake.common.core.SFTime;
+import net.snowflake.common.core.SnowflakeDateTimeFormat;
+
+/**
+ * Allocation-light formatter for the common DATE/TIME/TIMESTAMP output formats.
+ *
+ * <p>{@link SnowflakeDateTimeFormat} delegates to {@link java.text.SimpleDateFormat} and creates a
+ * new one for every value when the format contains fractional seconds. This class compiles the
+ * supported subset of SQL format elements (YYYY, MM, MON, DD, DY, HH24, MI, SS, FF[0-9], TZHTZM,
+ * TZH:TZM, quoted text and punctuation) once per format string and writes digits directly into a
+ * per-thread char buffer. Formats outside this subset, values outside the proleptic Gregorian range
+ * 1583-9999 and a changed default locale fall back to {@link SnowflakeDateTimeFormat}, so the
+ * output is always identical to the slow path.
+ */
+@SnowflakeJdbcInternalApi
+public class SFDateTimeFastFormatter {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(SFDateTimeFastFormatter.class);
+
+  private static final int MAX_CACHED_FORMATS = 256;
+
+  private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+  // 1583-01-01T00:00:00Z, safely after the Julian to Gregorian cutover of GregorianCalendar
+  private static final long MIN_SUPPORTED_MILLIS = -12212553600000L;
+
+  // 9999-12-31T23:59:59.999Z
+  private static final long MAX_SUPPORTED_MILLIS = 253402300799999L;
+
+  private static final long MILLIS_IN_DAY = 86400000L;
+
+  private static final int BUFFER_SIZE = 128;
+
+  private static final ThreadLocal<char[]> buffer =
+      ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+  // Marker for formats that can't be compiled, so they are not retried for every value
+  private static final SFDateTimeFastFormatter UNSUPPORTED =
+      new SFDateTimeFastFormatter(new int[0], new String[0], new int[0], 0, null, null, null);
+
+  // compiled formats, including the unsupported ones; cleared when it grows too big since sessions
+  // rarely use more than a handful of formats
+  private static final Map<String, SFDateTimeFastFormatter> cache = new ConcurrentHashMap<>();
+
+  private static final int YEAR4 = 0;
+  private static final int MONTH2 = 1;
+  private static final int MONTH_ABBREV = 2;
+  private static final int DAY2 = 3;
+  private static final int DAY_OF_WEEK_ABBREV = 4;
+  private static final int HOUR24 = 5;
+  private static final int MINUTE2 = 6;
+  private static final int SECOND2 = 7;
+  private static final int FRACTION = 8;
+  private static final int FRACTION_WITH_DOT = 9;
+  private static final int TZ_HHMM = 10;
+  private static final int TZ_HH_MM = 11;
+  private static final int LITERAL = 12;
+
+  private final int[] elements;
+  // literal text for LITERAL elements
+  private final String[] literals;
+  // fixed number of digits for FRACTION elements, or -1 to use the column scale
+  private final int[] fractionLengths;
+  private final int maxLength;
+  private final Locale locale;
+  private final String[] shortWeekdays;
+  private final String[] shortMonths;
+
+  private SFDateTimeFastFormatter(
+      int[] elements,
+      String[] literals,
+      int[] fractionLengths,
+      int maxLength,
+      Locale locale,
+      String[] shortWeekdays,
+      String[] shortMonths) {
+    this.elements = elements;
+    this.literals = literals;
+    this.fractionLengths = fractionLengths;
+    this.maxLength = maxLength;
+    this.locale = locale;
+    this.shortWeekdays = shortWeekdays;
+    this.shortMonths = shortMonths;
+  }
+
+  /**
+   * Format a timestamp, using the fast path when possible.
+   *
+   * @param formatter the formatter derived from the session output format
+   * @param ts timestamp to format
+   * @param tz time zone in which the timestamp is displayed
+   * @param scale number of fractional digits for FF without an explicit length
+   * @return the formatted timestamp, identical to {@link SnowflakeDateTimeFormat#format(Timestamp,
+   *     TimeZone, int)}
+   */
+  public static String format(
+      SnowflakeDateTimeFormat formatter, Timestamp ts, TimeZone tz, int scale) {
+    SFDateTimeFastFormatter fast = forFormat(formatter.getSqlFormat());
+    if (fast != null) {
+      String result = fast.format(ts.getTime(), ts.getNanos(), tz, scale);
+      if (result != null) {
+        return result;
+      }
+    }
+    return formatter.format(ts, tz, scale);
+  }
+
+  /**
+   * Format a date, using the fast path when possible.
+   *
+   * @param formatter the formatter derived from the session output format
+   * @param date date to format
+   * @param tz time zone in which the date is displayed
+   * @return the formatted date, identical to {@link SnowflakeDateTimeFormat#format(java.util.Date,
+   *     TimeZone)}
+   */
+  public static String format(SnowflakeDateTimeFormat formatter, java.util.Date date, TimeZone tz) {
+    SFDateTimeFastFormatter fast = forFormat(formatter.getSqlFormat());
+    if (fast != null) {
+      String result = fast.format(date.getTime(), 0, tz, 0);
+      if (result != null) {
+        return result;
+      }
+    }
+    return formatter.format(date, tz);
+  }
+
+  /**
+   * Format a time of day, using the fast path when possible.
+   *
+   * @param formatter the formatter derived from the session output format
+   * @param time time to format
+   * @param scale number of fractional digits for FF without an explicit length
+   * @return the formatted time, identical to {@link SnowflakeDateTimeFormat#format(SFTime, int)}
+   */
+  public static String format(SnowflakeDateTimeFormat formatter, SFTime time, int scale) {
+    SFDateTimeFastFormatter fast = forFormat(formatter.getSqlFormat());
+    if (fast != null) {
+      String result =
+          fast.format(time.getFractionalSeconds(3), time.getNanosecondsWithinSecond(), GMT, scale);
+      if (result != null) {
+        return result;
+      }
+    }
+    return formatter.format(time, scale);
+  }
+
+  /**
+   * Look up the compiled formatter for a SQL format, compiling it on first use.
+   *
+   * @param sqlFormat SQL format string, e.g. YYYY-MM-DD HH24:MI:SS.FF3
+   * @return compiled formatter or null if the format is not supported by the fast path
+   */
+  static SFDateTimeFastFormatter forFormat(String sqlFormat) {
+    if (sqlFormat == null) {
+      return null;
+    }
+    SFDateTimeFastFormatter fast = cache.get(sqlFormat);
+    if (fast == null) {
+      fast = compile(sqlFormat);
+      if (cache.size() >= MAX_CACHED_FORMATS) {
+        cache.clear();
+      }
+      cache.put(sqlFormat, fast);
+    }
+    return fast == UNSUPPORTED ? null : fast;
+  }
+
+  private static SFDateTimeFastFormatter compile(String sqlFormat) {
+    List<Integer> elementList = new ArrayList<>();
+    List<String> literalList = new ArrayList<>();
+    List<Integer> fractionLengthList = new ArrayList<>();
+    int nameElements = 0;
+    int maxLength = 0;
+
+    String upper = sqlFormat.toUpperCase();
+    int pos = 0;
+    while (pos < upper.length()) {
+      char c = upper.charAt(pos);
+      if (upper.startsWith("YYYY", pos)) {
+        elementList.add(YEAR4);
+        literalList.add(null);
+        maxLength += 4;
+        pos += 4;
+      } else if (upper.startsWith("MON", pos)) {
+        elementList.add(MONTH_ABBREV);
+        literalList.add(null);
+        nameElements++;
+        pos += 3;
+      } else if (upper.startsWith("MM", pos)) {
+        elementList.add(MONTH2);
+        literalList.add(null);
+        maxLength += 2;
+        pos += 2;
+      } else if (upper.startsWith("MI", pos)) {
+        elementList.add(MINUTE2);
+        literalList.add(null);
+        maxLength += 2;
+        pos += 2;
+      } else if (upper.startsWith("DD", pos)) {
+        elementList.add(DAY2);
+        literalList.add(null);
+        maxLength += 2;
+        pos += 2;
+      } else if (upper.startsWith("DY", pos)) {
+        elementList.add(DAY_OF_WEEK_ABBREV);
+        literalList.add(null);
+        nameElements++;
+        pos += 2;
+      } else if (upper.startsWith("HH24", pos)) {
+        elementList.add(HOUR24);
+        literalList.add(null);
+        maxLength += 2;
+        pos += 4;
+      } else if (upper.startsWith("SS", pos)) {
+        elementList.add(SECOND2);
+        literalList.add(null);
+        maxLength += 2;
+        pos += 2;
+      } else if (upper.startsWith(".FF", pos) || upper.startsWith("FF", pos)) {
+        boolean withDot = c == '.';
+        pos += withDot ? 3 : 2;
+        int length = -1;
+        if (pos < upper.length() && Character.isDigit(upper.charAt(pos))) {
+          length = upper.charAt(pos) - '0';
+          pos++;
+        }
+        elementList.add(withDot ? FRACTION_WITH_DOT : FRACTION);
+        literalList.add(null);
+        fractionLengthList.add(length);
+        maxLength += 10;
+      } else if (upper.startsWith("TZH:TZM", pos)) {
+        elementList.add(TZ_HH_MM);
+        literalList.add(null);
+        maxLength += 6;
+        pos += 7;
+      } else if (upper.startsWith("TZHTZM", pos)) {
+        elementList.add(TZ_HHMM);
+        literalList.add(null);
+        maxLength += 5;
+        pos += 6;
+      } else if (c == '"') {
+        int end = sqlFormat.indexOf('"', pos + 1);
+        if (end < 0) {
+          return UNSUPPORTED;
+        }
+        String text = sqlFormat.substring(pos + 1, end);
+        elementList.add(LITERAL);
+        literalList.add(text);
+        maxLength += text.length();
+        pos = end + 1;
+      } else if (c == '-' || c == ':' || c == ' ' || c == ',' || c == '/' || c == '.') {
+        elementList.add(LITERAL);
+        literalList.add(String.valueOf(c));
+        maxLength += 1;
+        pos++;
+      } else {
+        logger.debug("Format {} is not supported by the fast formatter", sqlFormat);
+        return UNSUPPORTED;
+      }
+    }
+
+    int[] elements = new int[elementList.size()];
+    int[] fractionLengths = new int[elementList.size()];
+    int fractionIndex = 0;
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = elementList.get(i);
+      if (elements[i] == FRACTION || elements[i] == FRACTION_WITH_DOT) {
+        fractionLengths[i] = fractionLengthList.get(fractionIndex++);
+      }
+    }
+
+    Locale locale = null;
+    String[] shortWeekdays = null;
+    String[] shortMonths = null;
+    if (nameElements > 0) {
+      locale = Locale.getDefault(Locale.Category.FORMAT);
+      DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+      shortWeekdays = symbols.getShortWeekdays();
+      shortMonths = symbols.getShortMonths();
+      int longestName = 0;
+      for (String name : shortWeekdays) {
+        longestName = Math.max(longestName, name.length());
+      }
+      for (String name : shortMonths) {
+        longestName = Math.max(longestName, name.length());
+      }
+      maxLength += nameElements * longestName;
+    }
+
+    SFDateTimeFastFormatter fast =
+        new SFDateTimeFastFormatter(
+            elements,
+            literalList.toArray(new String[0]),
+            fractionLengths,
+            maxLength,
+            locale,
+            shortWeekdays,
+            shortMonths);
+    return fast.matchesReference(sqlFormat) ? fast : UNSUPPORTED;
+  }
+
+  /**
+   * Compare the output of the compiled formatter with {@link SnowflakeDateTimeFormat} on a set of
+   * sample values, so that any difference in interpretation disables the fast path for the format.
+   */
+  private boolean matchesReference(String sqlFormat) {
+    try {
+      SnowflakeDateTimeFormat reference = SnowflakeDateTimeFormat.fromSqlFormat(sqlFormat);
+      long[] samples = {0L, 981173106007L, 1700000000123L, 1694563199999L, 4102444800000L};
+      TimeZone[] zones = {
+        GMT, TimeZone.getTimeZone("America/Los_Angeles"), TimeZone.getTimeZone("Asia/Kolkata")
+      };
+      int[] scales = {0, 3, 9};
+      for (long millis : samples) {
+        Timestamp ts = new Timestamp(millis);
+        ts.setNanos((int) (millis % 1000) * 1000000 + 456789);
+        for (TimeZone zone : zones) {
+          for (int scale : scales) {
+            String expected = reference.format(ts, zone, scale);
+            if (!expected.equals(format(ts.getTime(), ts.getNanos(), zone, scale))) {
+              logger.debug(
+                  "Fast formatter output differs for format {}, using SnowflakeDateTimeFormat",
+                  sqlFormat);
+              return false;
+            }
+          }
+        }
+        Time time = new Time(millis % MILLIS_IN_DAY);
+        if (!reference.format(time, GMT).equals(format(time.getTime(), 0, GMT, 0))) {
+          return false;
+        }
+      }
+      return true;
+    } catch (RuntimeException ex) {
+      logger.debug("Format {} could not be verified: {}", sqlFormat, ex.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Format a point in time.
+   *
+   * @param millis milliseconds since epoch
+   * @param nanos nanoseconds within the second
+   * @param tz time zone in which the value is displayed
+   * @param scale number of fractional digits for FF without an explicit length
+   * @return the formatted value or null if the value must be formatted by the slow path
+   */
+  String format(long millis, int nanos, TimeZone tz, int scale) {
+    if (millis < MIN_SUPPORTED_MILLIS || millis > MAX_SUPPORTED_MILLIS) {
+      return null;
+    }
+    if (locale != null && !locale.equals(Locale.getDefault(Locale.Category.FORMAT))) {
+      return null;
+    }
+
+    int offsetMillis = tz.getOffset(millis);
+    long localMillis = millis + offsetMillis;
+    long epochDay = Math.floorDiv(localMillis, MILLIS_IN_DAY);
+    int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_IN_DAY);
+
+    // civil-from-days, proleptic Gregorian
+    long z = epochDay + 719468;
+    long era = Math.floorDiv(z, 146097);
+    int doe = (int) (z - era * 146097);
+    int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    int mp = (5 * doy + 2) / 153;
+    int day = doy - (153 * mp + 2) / 5 + 1;
+    int month = mp < 10 ? mp + 3 : mp - 9;
+    long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+    if (year < 1583 || year > 9999) {
+      return null;
+    }
+
+    int hour = millisOfDay / 3600000;
+    int minute = (millisOfDay / 60000) % 60;
+    int second = (millisOfDay / 1000) % 60;
+
+    char[] buf = maxLength <= BUFFER_SIZE ? buffer.get() : new char[maxLength];
+    int len = 0;
+    for (int i = 0; i < elements.length; i++) {
+      switch (elements[i]) {
+        case YEAR4:
+          len = writeDigits(buf, len, (int) year, 4);
+          break;
+        case MONTH2:
+          len = writeDigits(buf, len, month, 2);
+          break;
+        case MONTH_ABBREV:
+          len = writeText(buf, len, shortMonths[month - 1]);
+          break;
+        case DAY2:
+          len = writeDigits(buf, len, day, 2);
+          break;
+        case DAY_OF_WEEK_ABBREV:
+          // 1970-01-01 was a Thursday; Calendar.SUNDAY is 1
+          len = writeText(buf, len, shortWeekdays[(int) Math.floorMod(epochDay + 4, 7L) + 1]);
+          break;
+        case HOUR24:
+          len = writeDigits(buf, len, hour, 2);
+          break;
+        case MINUTE2:
+          len = writeDigits(buf, len, minute, 2);
+          break;
+        case SECOND2:
+          len = writeDigits(buf, len, second, 2);
+          break;
+        case FRACTION_WITH_DOT:
+          buf[len++] = '.';
+          // fall through
+        case FRACTION:
+          int fixedLength = fractionLengths[i];
+          int digits = Math.min(fixedLength >= 0 ? fixedLength : scale, 9);
+          int divisor = 100000000;
+          for (int d = 0; d < digits; d++) {
+            buf[len++] = (char) ('0' + (nanos / divisor) % 10);
+            divisor /= 10;
+          }
+          break;
+        case TZ_HHMM:
+        case TZ_HH_MM:
+          if (offsetMillis == 0) {
+            buf[len++] = 'Z';
+          } else {
+            int offsetMinutes = offsetMillis / 60000;
+            if (offsetMinutes < 0) {
+              buf[len++] = '-';
+              offsetMinutes = -offsetMinutes;
+            } else {
+              buf[len++] = '+';
+            }
+            len = writeDigits(buf, len, offsetMinutes / 60, 2);
+            if (elements[i] == TZ_HH_MM) {
+              buf[len++] = ':';
+            }
+            len = writeDigits(buf, len, offsetMinutes % 60, 2);
+          }
+          break;
+        default:
+          len = writeText(buf, len, literals[i]);
+          break;
+      }
+    }
+    return new String(buf, 0, len);
+  }
+
+  private static int writeDigits(char[] buf, int pos, int value, int width) {
+    for (int i = pos + width - 1; i >= pos; i--) {
+      buf[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return pos + width;
+  }
+
+  private static int writeText(char[] buf, int pos, String text) {
+    text.getChars(0, text.length(), buf, pos);
+    return pos + text.length();
+  }
+}
@@ -5,6 +5,7 @@ import java.net.URL;
 import java.security.PrivateKey;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import net.snowflake.client.core.auth.wif.WorkloadIdentityAttestation;
 import net.snowflake.client.jdbc.ErrorCode;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -73,6 +74,9 @@ public class SFLoginInput {
 
   private Duration browserResponseTimeout;
 
+  // client environment collected in the background while the login is prepared
+  private CompletableFuture<Map<String, Object>> clientEnvironment;
+
   // Additional headers to add for Snowsight.
   Map<String, String> additionalHttpHeadersForSnowsight;
 
@@ -90,6 +94,15 @@ public class SFLoginInput {
     return this;
   }
 
+  CompletableFuture<Map<String, Object>> getClientEnvironment() {
+    return clientEnvironment;
+  }
+
+  SFLoginInput setClientEnvironment(CompletableFuture<Map<String, Object>> clientEnvironment) {
+    this.clientEnvironment = clientEnvironment;
+    return this;
+  }
+
   public String getServerUrl() {
     return serverUrl;
   }
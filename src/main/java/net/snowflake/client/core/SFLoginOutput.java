@@ -8,6 +8,7 @@ public class SFLoginOutput {
   private String sessionToken;
   private String masterToken;
   private long masterTokenValidityInSeconds;
+  private long sessionTokenValidityInSeconds;
   private String idToken;
   private String mfaToken;
   private String oauthAccessToken;
@@ -151,4 +152,13 @@ public class SFLoginOutput {
   long getMasterTokenValidityInSeconds() {
     return masterTokenValidityInSeconds;
   }
+
+  long getSessionTokenValidityInSeconds() {
+    return sessionTokenValidityInSeconds;
+  }
+
+  SFLoginOutput setSessionTokenValidityInSeconds(long sessionTokenValidityInSeconds) {
+    this.sessionTokenValidityInSeconds = sessionTokenValidityInSeconds;
+    return this;
+  }
 }
@@ -0,0 +1,120 @@
+package net.snowflake.client.core;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * Connection pool of the HTTP clients built for one {@link HttpClientSettingsKey}.
+ *
+ * <p>On top of the pool statistics, it measures how long requests wait to lease a connection from
+ * the pool, which shows whether the limits of the pool are too low for the workload.
+ */
+@SnowflakeJdbcInternalApi
+public class SFPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+  private final HttpClientSettingsKey key;
+
+  private final AtomicLong leaseCount = new AtomicLong();
+  private final AtomicLong leaseTimeoutCount = new AtomicLong();
+  private final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+  private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+  SFPoolingConnectionManager(
+      HttpClientSettingsKey key,
+      Registry<ConnectionSocketFactory> registry,
+      long timeToLive,
+      TimeUnit timeUnit) {
+    super(registry, null, null, null, timeToLive, timeUnit);
+    this.key = key;
+  }
+
+  /**
+   * @return key of the HTTP clients using this pool, may be null
+   */
+  public HttpClientSettingsKey getKey() {
+    return key;
+  }
+
+  @Override
+  public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+    ConnectionRequest request = super.requestConnection(route, state);
+    return new ConnectionRequest() {
+      @Override
+      public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+          throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+        long start = System.nanoTime();
+        try {
+          HttpClientConnection connection = request.get(timeout, timeUnit);
+          recordLease(System.nanoTime() - start);
+          return connection;
+        } catch (ConnectionPoolTimeoutException ex) {
+          leaseTimeoutCount.incrementAndGet();
+          recordLease(System.nanoTime() - start);
+          throw ex;
+        }
+      }
+
+      @Override
+      public boolean cancel() {
+        return request.cancel();
+      }
+    };
+  }
+
+  private void recordLease(long waitNanos) {
+    leaseCount.incrementAndGet();
+    totalLeaseWaitNanos.addAndGet(waitNanos);
+    maxLeaseWaitNanos.accumulateAndGet(waitNanos, Math::max);
+  }
+
+  /**
+   * @return total number of connections leased from this pool
+   */
+  public long getLeaseCount() {
+    return leaseCount.get();
+  }
+
+  /**
+   * @return number of requests which timed out waiting for a connection
+   */
+  public long getLeaseTimeoutCount() {
+    return leaseTimeoutCount.get();
+  }
+
+  /**
+   * @return total time spent waiting for a connection, in milliseconds
+   */
+  public long getTotalLeaseWaitTimeInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.get());
+  }
+
+  /**
+   * @return longest time spent waiting for a connection, in milliseconds
+   */
+  public long getMaxLeaseWaitTimeInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return getTotalStats()
+        + "[leases: "
+        + getLeaseCount()
+        + "; lease timeouts: "
+        + getLeaseTimeoutCount()
+        + "; lease wait total: "
+        + getTotalLeaseWaitTimeInMillis()
+        + " ms; lease wait max: "
+        + getMaxLeaseWaitTimeInMillis()
+        + " ms; max per route: "
+        + getDefaultMaxPerRoute()
+        + "]";
+  }
+}
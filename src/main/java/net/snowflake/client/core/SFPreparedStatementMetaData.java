@@ -96,6 +96,19 @@ public class SFPreparedStatementMetaData {
     return this.statementType;
   }
 
+  /**
+   * @return copy of this metadata, whose setters don't change this one
+   */
+  SFPreparedStatementMetaData copy() {
+    return new SFPreparedStatementMetaData(
+        resultSetMetaData,
+        statementType,
+        numberOfBinds,
+        arrayBindSupported,
+        metaDataOfBinds == null ? null : new ArrayList<>(metaDataOfBinds),
+        isValidMetaData);
+  }
+
   /**
    * Generates an empty/invalid metadata for placeholder.
    *
@@ -8,6 +8,9 @@ import java.net.Socket;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLServerSocketFactory;
 import javax.net.ssl.TrustManager;
@@ -24,18 +27,61 @@ public class SFSSLConnectionSocketFactory extends SSLConnectionSocketFactory {
 
   private static final String SSL_VERSION = "TLSv1.2";
 
+  /**
+   * SSL contexts shared by the factories created for the same HTTP client settings. The client
+   * session cache belongs to the SSL context, so factories sharing it can resume each other's TLS
+   * sessions with an abbreviated handshake.
+   */
+  private static final Map<HttpClientSettingsKey, SSLContext> sharedSSLContexts =
+      new ConcurrentHashMap<>();
+
   private final boolean socksProxyDisabled;
 
   public SFSSLConnectionSocketFactory(TrustManager[] trustManagers, boolean socksProxyDisabled)
       throws NoSuchAlgorithmException, KeyManagementException {
+    this(initSSLContext(trustManagers), socksProxyDisabled);
+  }
+
+  SFSSLConnectionSocketFactory(SSLContext sslContext, boolean socksProxyDisabled) {
     super(
-        initSSLContext(trustManagers),
+        sslContext,
         new String[] {SSL_VERSION},
         decideCipherSuites(),
         SSLConnectionSocketFactory.getDefaultHostnameVerifier());
     this.socksProxyDisabled = socksProxyDisabled;
   }
 
+  /**
+   * Get the SSL context shared by the factories created for the given settings. Sessions are only
+   * resumed between factories validating certificates the same way, since the certificates are not
+   * checked again on resumption.
+   *
+   * @param key HTTP client settings, including the OCSP mode
+   * @param trustManagers trust managers used if the context is not created yet
+   * @return shared SSL context
+   * @throws NoSuchAlgorithmException if the SSL version is not supported
+   * @throws KeyManagementException if the SSL context can't be initialized
+   */
+  static SSLContext getSharedSSLContext(
+      HttpClientSettingsKey key, Supplier<TrustManager[]> trustManagers)
+      throws NoSuchAlgorithmException, KeyManagementException {
+    SSLContext sslContext = sharedSSLContexts.get(key);
+    if (sslContext == null) {
+      synchronized (sharedSSLContexts) {
+        sslContext = sharedSSLContexts.get(key);
+        if (sslContext == null) {
+          sslContext = initSSLContext(trustManagers.get());
+          sharedSSLContexts.put(key, sslContext);
+        }
+      }
+    }
+    return sslContext;
+  }
+
+  static void clearSharedSSLContexts() {
+    sharedSSLContexts.clear();
+  }
+
   private static SSLContext initSSLContext(TrustManager[] trustManagers)
       throws NoSuchAlgorithmException, KeyManagementException {
     // enforce using SSL_VERSION
@@ -9,24 +9,32 @@ import static net.snowflake.client.jdbc.SnowflakeUtil.isNullOrEmpty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
 import java.security.PrivateKey;
 import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import net.snowflake.client.config.SFClientConfig;
 import net.snowflake.client.core.auth.AuthenticatorType;
@@ -49,9 +57,11 @@ import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.client.log.SFLoggerUtil;
 import net.snowflake.client.util.Stopwatch;
 import net.snowflake.common.core.SqlState;
+import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
 
 /** Snowflake session implementation */
@@ -78,9 +88,18 @@ public class SFSession extends SFBaseSession {
   // closes
   private Set<String> activeAsyncQueries = ConcurrentHashMap.newKeySet();
   private boolean isClosed = true;
-  private String sessionToken;
-  private String masterToken;
+  private volatile String sessionToken;
+  private volatile String masterToken;
   private long masterTokenValidityInSeconds;
+  // session token replaced by the last renewal, requests still signed with it are re-signed
+  private volatile String previousSessionToken;
+  private volatile long sessionTokenValidityInSeconds = 0;
+  // renewal in progress, awaited by the other threads which need a new session token
+  private final AtomicReference<CompletableFuture<Void>> sessionRenewal = new AtomicReference<>();
+  // renewal scheduled ahead of the expiry of the session token
+  private volatile ScheduledFuture<?> proactiveRenewal;
+  // last time the session was known to be valid, at login or on a successful heartbeat
+  private volatile long lastHeartbeatTimeInMillis = 0;
   private String idToken;
   private String mfaToken;
   private String oauthAccessToken;
@@ -132,6 +151,30 @@ public class SFSession extends SFBaseSession {
   // The cache of query context sent from Cloud Service.
   private QueryContextCache qcc;
 
+  // The cache of statement metadata returned by describe, null if disabled.
+  private DescribeCache describeCache;
+
+  private int describeCacheSize = 0;
+
+  // Incremented when a statement executed in the session may change the metadata of prepared
+  // statements, whether or not the describe cache is enabled.
+  private final AtomicLong statementMetadataGeneration = new AtomicLong();
+
+  // Number of statements executed in the session which may have changed its parameters or variables
+  private final AtomicLong sessionSettingsChangeCount = new AtomicLong();
+
+  // The cache of SHOW results of DatabaseMetaData, null if disabled.
+  private MetadataCache metadataCache;
+
+  private int metadataCacheTtlInSeconds = 0;
+
+  private int metadataCacheSize = MetadataCache.DEFAULT_CAPACITY;
+
+  // The columns of whole schemas fetched by DatabaseMetaData.getColumns, null if disabled.
+  private MetadataCache columnMetadataPrefetchCache;
+
+  private int columnMetadataPrefetchTtlInSeconds = 0;
+
   // Max retries for outgoing http requests.
   private int maxHttpRetries = 7;
 
@@ -206,19 +249,90 @@ public class SFSession extends SFBaseSession {
     activeAsyncQueries.add(queryID);
   }
 
-  private JsonNode getQueryMetadata(String queryID) throws SQLException {
+  private String getQueryMonitorUrl(String queryID) {
     // create the URL to check the query monitoring endpoint
-    String statusUrl = "";
     String sessionUrl = getUrl();
     if (sessionUrl.endsWith("/")) {
-      statusUrl =
-          sessionUrl.substring(0, sessionUrl.length() - 1) + SF_PATH_QUERY_MONITOR + queryID;
+      return sessionUrl.substring(0, sessionUrl.length() - 1) + SF_PATH_QUERY_MONITOR + queryID;
     } else {
-      statusUrl = sessionUrl + SF_PATH_QUERY_MONITOR + queryID;
+      return sessionUrl + SF_PATH_QUERY_MONITOR + queryID;
+    }
+  }
+
+  /**
+   * Get the metadata of a query without blocking the calling thread. If the server returns an
+   * error, e.g. because the session token expired, the request is made again with {@link
+   * #getQueryMetadata(String)} which renews the session when needed. This blocking fallback runs on
+   * the {@link AsyncHttpTransport#getBlockingExecutor() blocking executor} of the transport, so
+   * that it doesn't hold an I/O thread.
+   */
+  private CompletableFuture<JsonNode> getQueryMetadataAsync(String queryID) {
+    HttpClientSettingsKey httpClientKey;
+    try {
+      httpClientKey = getHttpClientKey();
+    } catch (SnowflakeSQLException e) {
+      CompletableFuture<JsonNode> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
     }
+    HttpGet get = new HttpGet(getQueryMonitorUrl(queryID));
+    get.setHeader("Content-type", "application/json");
+    get.setHeader("Authorization", "Snowflake Token=\"" + this.sessionToken + "\"");
+    return HttpUtil.executeGeneralRequestAsync(
+            get,
+            loginTimeout,
+            0,
+            (int) httpClientSocketTimeout.toMillis(),
+            maxHttpRetries,
+            httpClientKey,
+            this)
+        .handle(
+            (response, ex) -> {
+              try {
+                if (ex != null) {
+                  Throwable error =
+                      ex instanceof CompletionException && ex.getCause() != null
+                          ? ex.getCause()
+                          : ex;
+                  Exception cause =
+                      error instanceof Exception ? (Exception) error : new Exception(error);
+                  throw new SnowflakeSQLLoggedException(
+                      queryID,
+                      this,
+                      cause.getMessage(),
+                      "No response or invalid response from GET request. Error: "
+                          + cause.getMessage(),
+                      cause);
+                }
+                JsonNode jsonNode = OBJECT_MAPPER.readTree(response);
+                if (jsonNode.path("success").asBoolean()) {
+                  return jsonNode.path("data").path("queries");
+                }
+                logger.debug("Response: {}", response);
+                return null;
+              } catch (SQLException | IOException e) {
+                throw new CompletionException(e);
+              }
+            })
+        .thenCompose(
+            queries ->
+                queries != null
+                    ? CompletableFuture.completedFuture(queries)
+                    : CompletableFuture.supplyAsync(
+                        () -> {
+                          try {
+                            return getQueryMetadata(queryID);
+                          } catch (SQLException e) {
+                            throw new CompletionException(e);
+                          }
+                        },
+                        AsyncHttpTransport.getInstance().getBlockingExecutor()));
+  }
+
+  private JsonNode getQueryMetadata(String queryID) throws SQLException {
     // Create a new HTTP GET object and set appropriate headers
 
-    HttpGet get = new HttpGet(statusUrl);
+    HttpGet get = new HttpGet(getQueryMonitorUrl(queryID));
     String response = null;
     JsonNode jsonNode = null;
     boolean sessionRenewed;
@@ -352,7 +466,79 @@ public class SFSession extends SFBaseSession {
     if (queryNode.isEmpty()) {
       return QueryStatusV2.empty();
     }
-    JsonNode node = queryNode.get(0);
+    QueryStatusV2 result = toQueryStatusV2(queryNode.get(0));
+    if (!result.isStillRunning()) {
+      activeAsyncQueries.remove(queryID);
+    }
+    return result;
+  }
+
+  /**
+   * Get the status of several queries. Every entry of the returned queries array is used, so a
+   * response describing more than the requested query saves the calls for the other queries.
+   *
+   * @param queryIDs query IDs of the queries whose status is being investigated
+   * @return map from query ID to the status of the query
+   * @throws SQLException if an error is encountered
+   */
+  @Override
+  public Map<String, QueryStatusV2> getQueryStatusesV2(Collection<String> queryIDs)
+      throws SQLException {
+    Map<String, QueryStatusV2> statuses = new HashMap<>();
+    for (String queryID : queryIDs) {
+      if (!statuses.containsKey(queryID)) {
+        putQueryStatuses(queryID, getQueryMetadata(queryID), queryIDs, statuses);
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * Get the status of several queries without blocking the calling thread. The status requests are
+   * sent in parallel on the threads of the {@link AsyncHttpTransport}.
+   *
+   * @param queryIDs query IDs of the queries whose status is being investigated
+   * @return future completed with a map from query ID to the status of the query
+   */
+  @Override
+  public CompletableFuture<Map<String, QueryStatusV2>> getQueryStatusesV2Async(
+      Collection<String> queryIDs) {
+    Map<String, QueryStatusV2> statuses = new ConcurrentHashMap<>();
+    CompletableFuture<?>[] requests =
+        queryIDs.stream()
+            .map(
+                queryID ->
+                    getQueryMetadataAsync(queryID)
+                        .thenAccept(
+                            queryNode -> putQueryStatuses(queryID, queryNode, queryIDs, statuses)))
+            .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(requests).thenApply(ignored -> statuses);
+  }
+
+  /**
+   * Add the statuses from the queries array returned for a query. Every entry of the array is used,
+   * so a response describing more than the requested query saves the calls for the other queries.
+   */
+  private void putQueryStatuses(
+      String queryID,
+      JsonNode queryNode,
+      Collection<String> queryIDs,
+      Map<String, QueryStatusV2> statuses) {
+    logger.debug("Query status: {}", queryNode.asText());
+    for (JsonNode node : queryNode) {
+      QueryStatusV2 result = toQueryStatusV2(node);
+      String id = queryNode.size() == 1 ? queryID : result.getId();
+      if (queryIDs.contains(id)) {
+        statuses.put(id, result);
+        if (!result.isStillRunning()) {
+          activeAsyncQueries.remove(id);
+        }
+      }
+    }
+    statuses.putIfAbsent(queryID, QueryStatusV2.empty());
+  }
+
+  private static QueryStatusV2 toQueryStatusV2(JsonNode node) {
     long endTime = node.path("endTime").asLong(0);
     int errorCode = node.path("errorCode").asInt(0);
     String errorMessage = node.path("errorMessage").asText("No error reported");
@@ -367,26 +553,21 @@ public class SFSession extends SFBaseSession {
     int warehouseId = node.path("warehouseId").asInt(0);
     String warehouseName = node.path("warehouseName").asText(null);
     String warehouseServerType = node.path("warehouseServerType").asText(null);
-    QueryStatusV2 result =
-        new QueryStatusV2(
-            endTime,
-            errorCode,
-            errorMessage,
-            id,
-            name,
-            sessionId,
-            sqlText,
-            startTime,
-            state,
-            totalDuration,
-            warehouseExternalSize,
-            warehouseId,
-            warehouseName,
-            warehouseServerType);
-    if (!result.isStillRunning()) {
-      activeAsyncQueries.remove(queryID);
-    }
-    return result;
+    return new QueryStatusV2(
+        endTime,
+        errorCode,
+        errorMessage,
+        id,
+        name,
+        sessionId,
+        sqlText,
+        startTime,
+        state,
+        totalDuration,
+        warehouseExternalSize,
+        warehouseId,
+        warehouseName,
+        warehouseServerType);
   }
 
   /**
@@ -585,6 +766,42 @@ public class SFSession extends SFBaseSession {
           }
           break;
 
+        case DESCRIBE_CACHE_SIZE:
+          if (propertyValue != null) {
+            describeCacheSize = (Integer) propertyValue;
+          }
+          break;
+
+        case METADATA_CACHE_TTL_IN_SECONDS:
+          if (propertyValue != null) {
+            metadataCacheTtlInSeconds = (Integer) propertyValue;
+          }
+          break;
+
+        case METADATA_CACHE_SIZE:
+          if (propertyValue != null) {
+            metadataCacheSize = (Integer) propertyValue;
+          }
+          break;
+
+        case COLUMN_METADATA_PREFETCH_TTL_IN_SECONDS:
+          if (propertyValue != null) {
+            columnMetadataPrefetchTtlInSeconds = (Integer) propertyValue;
+          }
+          break;
+
+        case ARRAY_BIND_BATCH_CHUNK_SIZE:
+          if (propertyValue != null) {
+            setArrayBindBatchChunkSize((Integer) propertyValue);
+          }
+          break;
+
+        case BATCH_INSERT_REWRITE_SIZE:
+          if (propertyValue != null) {
+            setBatchInsertRewriteSize((Integer) propertyValue);
+          }
+          break;
+
         case OWNER_ONLY_STAGE_FILE_PERMISSIONS_ENABLED:
           if (propertyValue != null) {
             setOwnerOnlyStageFilePermissionsEnabled(getBooleanValue(propertyValue));
@@ -785,6 +1002,9 @@ public class SFSession extends SFBaseSession {
     // OOB telemetry is disabled
     TelemetryService.disableOOBTelemetry();
 
+    // the login steps which don't need the HTTP client run while it is initialized
+    SessionUtil.prepareLogin(loginInput, connectionPropertiesMap, tracingLevel.toString());
+
     // propagate OCSP mode to SFTrustManager. Note OCSP setting is global on JVM.
     HttpUtil.initHttpClient(httpClientSettingsKey, null, httpHeadersCustomizers);
     HttpUtil.setConnectionTimeout(loginInput.getConnectionTimeoutInMillis());
@@ -809,6 +1029,7 @@ public class SFSession extends SFBaseSession {
     httpClientSocketTimeout = loginOutput.getHttpClientSocketTimeout();
     httpClientConnectionTimeout = loginOutput.getHttpClientConnectionTimeout();
     masterTokenValidityInSeconds = loginOutput.getMasterTokenValidityInSeconds();
+    sessionTokenValidityInSeconds = loginOutput.getSessionTokenValidityInSeconds();
     setDatabase(loginOutput.getSessionDatabase());
     setSchema(loginOutput.getSessionSchema());
     setRole(loginOutput.getSessionRole());
@@ -868,8 +1089,32 @@ public class SFSession extends SFBaseSession {
       qcc = null;
     }
 
+    logger.debug("Describe cache size is {}", describeCacheSize);
+    describeCache = describeCacheSize > 0 ? new DescribeCache(describeCacheSize) : null;
+
+    if (metadataCacheTtlInSeconds > 0 && metadataCacheSize > 0) {
+      logger.debug(
+          "Metadata cache size is {}, time to live is {} s",
+          metadataCacheSize,
+          metadataCacheTtlInSeconds);
+      metadataCache =
+          new MetadataCache(
+              metadataCacheSize, TimeUnit.SECONDS.toMillis(metadataCacheTtlInSeconds));
+    } else {
+      metadataCache = null;
+    }
+
+    columnMetadataPrefetchCache =
+        columnMetadataPrefetchTtlInSeconds > 0
+            ? new MetadataCache(
+                MetadataCache.PREFETCH_CAPACITY,
+                TimeUnit.SECONDS.toMillis(columnMetadataPrefetchTtlInSeconds))
+            : null;
+
     // start heartbeat for this session so that the master token will not expire
+    lastHeartbeatTimeInMillis = System.currentTimeMillis();
     startHeartbeatForThisSession();
+    scheduleProactiveRenewal();
     stopwatch.stop();
     logger.debug("Session {} opened in {} ms.", getSessionId(), stopwatch.elapsedMillis());
   }
@@ -923,17 +1168,67 @@ public class SFSession extends SFBaseSession {
   /**
    * A helper function to call global service and renew session.
    *
+   * <p>A single renewal runs at a time. Threads which need a new session token while a renewal is
+   * in progress wait for it to complete instead of renewing the session again, and get its error if
+   * it fails.
+   *
    * @param prevSessionToken the session token that has expired
    * @throws SnowflakeSQLException if failed to renew the session
    * @throws SFException if failed to renew the session
    */
-  synchronized void renewSession(String prevSessionToken)
+  void renewSession(String prevSessionToken) throws SFException, SnowflakeSQLException {
+    while (true) {
+      if (sessionToken != null && !sessionToken.equals(prevSessionToken)) {
+        logger.debug(
+            "Not renewing session {} because session token has not been updated.", getSessionId());
+        return;
+      }
+      CompletableFuture<Void> renewal = new CompletableFuture<>();
+      if (sessionRenewal.compareAndSet(null, renewal)) {
+        try {
+          // the token may have been renewed since it was checked
+          if (sessionToken == null || sessionToken.equals(prevSessionToken)) {
+            renewSessionToken();
+          }
+          renewal.complete(null);
+        } catch (SFException | SnowflakeSQLException | RuntimeException ex) {
+          renewal.completeExceptionally(ex);
+          throw ex;
+        } finally {
+          sessionRenewal.compareAndSet(renewal, null);
+        }
+        return;
+      }
+      CompletableFuture<Void> running = sessionRenewal.get();
+      if (running != null) {
+        awaitSessionRenewal(running);
+        return;
+      }
+    }
+  }
+
+  private void awaitSessionRenewal(CompletableFuture<Void> renewal)
       throws SFException, SnowflakeSQLException {
-    if (sessionToken != null && !sessionToken.equals(prevSessionToken)) {
-      logger.debug(
-          "Not renewing session {} because session token has not been updated.", getSessionId());
-      return;
+    logger.debug("Waiting for the renewal of session {} in progress", getSessionId());
+    try {
+      renewal.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SFException(ex, ErrorCode.INTERRUPTED);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof SFException) {
+        throw (SFException) cause;
+      } else if (cause instanceof SnowflakeSQLException) {
+        throw (SnowflakeSQLException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SFException(cause, ErrorCode.INTERNAL_ERROR, cause.getMessage());
     }
+  }
+
+  private void renewSessionToken() throws SFException, SnowflakeSQLException {
     Stopwatch stopwatch = new Stopwatch();
     stopwatch.start();
 
@@ -956,15 +1251,88 @@ public class SFSession extends SFBaseSession {
         .setOCSPMode(getOCSPMode())
         .setHttpClientSettingsKey(getHttpClientKey());
 
-    SFLoginOutput loginOutput = SessionUtil.renewSession(loginInput, this);
+    SFLoginOutput loginOutput = requestSessionRenewal(loginInput);
 
-    sessionToken = loginOutput.getSessionToken();
+    previousSessionToken = sessionToken;
     masterToken = loginOutput.getMasterToken();
+    sessionToken = loginOutput.getSessionToken();
+    if (loginOutput.getSessionTokenValidityInSeconds() > 0) {
+      sessionTokenValidityInSeconds = loginOutput.getSessionTokenValidityInSeconds();
+    }
+    scheduleProactiveRenewal();
     stopwatch.stop();
     logger.debug(
         "Session {} renewed successfully in {} ms", getSessionId(), stopwatch.elapsedMillis());
   }
 
+  @VisibleForTesting
+  SFLoginOutput requestSessionRenewal(SFLoginInput loginInput)
+      throws SFException, SnowflakeSQLException {
+    return SessionUtil.renewSession(loginInput, this);
+  }
+
+  /**
+   * Schedule the renewal of the session token shortly before it expires, if the validity of the
+   * token is known. The renewal runs a minute or a tenth of the validity ahead, whichever is
+   * longer.
+   */
+  private void scheduleProactiveRenewal() {
+    cancelProactiveRenewal();
+    long validityInMillis = TimeUnit.SECONDS.toMillis(sessionTokenValidityInSeconds);
+    long delayInMillis =
+        validityInMillis - Math.max(TimeUnit.MINUTES.toMillis(1), validityInMillis / 10);
+    if (delayInMillis <= 0) {
+      return;
+    }
+    logger.debug(
+        "Session {} token will be renewed in {} s",
+        getSessionId(),
+        TimeUnit.MILLISECONDS.toSeconds(delayInMillis));
+    proactiveRenewal = SessionRenewalScheduler.getInstance().schedule(this, delayInMillis);
+  }
+
+  private void cancelProactiveRenewal() {
+    ScheduledFuture<?> renewal = proactiveRenewal;
+    if (renewal != null) {
+      renewal.cancel(false);
+      proactiveRenewal = null;
+    }
+  }
+
+  /** Renew the session token before it expires, called from {@link SessionRenewalScheduler} */
+  void renewSessionProactively() {
+    try {
+      renewSession(sessionToken);
+    } catch (SFException | SnowflakeSQLException | RuntimeException ex) {
+      // the session is renewed again when a request finds the token expired
+      logger.debug(
+          "Failed to renew session {} ahead of expiry: {}", getSessionId(), ex.getMessage());
+    }
+  }
+
+  /**
+   * Sign a request again with the current session token if it was signed with the token replaced by
+   * the last renewal, so that requests retried after a renewal don't fail with an expired token.
+   *
+   * @param request HTTP request
+   */
+  @SnowflakeJdbcInternalApi
+  public void resignRequest(HttpRequestBase request) {
+    String previousToken = previousSessionToken;
+    if (previousToken == null) {
+      return;
+    }
+    Header header = request.getFirstHeader(SF_HEADER_AUTHORIZATION);
+    if (header != null && header.getValue().equals(getAuthorizationHeaderValue(previousToken))) {
+      logger.debug("Signing request again with the renewed token of session {}", getSessionId());
+      request.setHeader(SF_HEADER_AUTHORIZATION, getAuthorizationHeaderValue(sessionToken));
+    }
+  }
+
+  private static String getAuthorizationHeaderValue(String token) {
+    return SF_HEADER_SNOWFLAKE_AUTHTYPE + " " + SF_HEADER_TOKEN_TAG + "=\"" + token + "\"";
+  }
+
   /**
    * get session token
    *
@@ -986,6 +1354,7 @@ public class SFSession extends SFBaseSession {
 
     // stop heartbeat for this session
     stopHeartbeatForThisSession();
+    cancelProactiveRenewal();
 
     if (isClosed) {
       logger.debug("Session {} is already closed", getSessionId());
@@ -1012,6 +1381,18 @@ public class SFSession extends SFBaseSession {
       qcc.clearCache();
     }
 
+    if (describeCache != null) {
+      describeCache.clearCache();
+    }
+
+    if (metadataCache != null) {
+      metadataCache.clearCache();
+    }
+
+    if (columnMetadataPrefetchCache != null) {
+      columnMetadataPrefetchCache.clearCache();
+    }
+
     stopwatch.stop();
     logger.debug(
         "Session {} has been successfully closed in {} ms",
@@ -1191,10 +1572,73 @@ public class SFSession extends SFBaseSession {
       }
     } while (retry);
     stopwatch.stop();
+    lastHeartbeatTimeInMillis = System.currentTimeMillis();
     logger.debug(
         "Session {} heartbeat successful in {} ms", getSessionId(), stopwatch.elapsedMillis());
   }
 
+  /**
+   * Last time the session was known to be valid, either when it was opened or on a successful
+   * heartbeat, including the ones sent by {@link HeartbeatBackground} for sessions kept alive.
+   *
+   * @return time in milliseconds since the epoch, 0 if the session was never opened
+   */
+  public long getLastHeartbeatTimeInMillis() {
+    return lastHeartbeatTimeInMillis;
+  }
+
+  /**
+   * @return cache of the statement metadata returned by describe, null if disabled
+   */
+  @SnowflakeJdbcInternalApi
+  public DescribeCache getDescribeCache() {
+    return describeCache;
+  }
+
+  /**
+   * @return generation of the metadata of the statements prepared in the session, which changes
+   *     when DDL, USE or ALTER SESSION statements are executed
+   */
+  @SnowflakeJdbcInternalApi
+  public long getStatementMetadataGeneration() {
+    return statementMetadataGeneration.get();
+  }
+
+  void invalidateStatementMetadata() {
+    statementMetadataGeneration.incrementAndGet();
+  }
+
+  /**
+   * @return number of statements executed in the session which may have changed its parameters or
+   *     variables, e.g. ALTER SESSION or SET, not counting the changes of the auto-commit mode made
+   *     by the connection
+   */
+  @SnowflakeJdbcInternalApi
+  public long getSessionSettingsChangeCount() {
+    return sessionSettingsChangeCount.get();
+  }
+
+  void sessionSettingsChanged() {
+    sessionSettingsChangeCount.incrementAndGet();
+  }
+
+  /**
+   * @return cache of the SHOW results of DatabaseMetaData, null if disabled
+   */
+  @SnowflakeJdbcInternalApi
+  public MetadataCache getMetadataCache() {
+    return metadataCache;
+  }
+
+  /**
+   * @return cache of the columns of whole schemas fetched by DatabaseMetaData.getColumns, null if
+   *     disabled
+   */
+  @SnowflakeJdbcInternalApi
+  public MetadataCache getColumnMetadataPrefetchCache() {
+    return columnMetadataPrefetchCache;
+  }
+
   void injectedDelay() {
 
     AtomicInteger injectedDelay = getInjectedDelay();
@@ -145,7 +145,29 @@ public enum SFSessionProperty {
       "ownerOnlyStageFilePermissionsEnabled", false, Boolean.class),
 
   ENABLE_WILDCARDS_IN_SHOW_METADATA_COMMANDS(
-      "ENABLE_WILDCARDS_IN_SHOW_METADATA_COMMANDS", false, Boolean.class);
+      "ENABLE_WILDCARDS_IN_SHOW_METADATA_COMMANDS", false, Boolean.class),
+
+  // Number of prepared statements whose describe result is cached per session, 0 to disable
+  DESCRIBE_CACHE_SIZE("describeCacheSize", false, Integer.class),
+
+  // Time to live of the SHOW results cached for DatabaseMetaData per session, 0 to disable
+  METADATA_CACHE_TTL_IN_SECONDS("metadataCacheTtlInSeconds", false, Integer.class),
+
+  // Number of SHOW results cached for DatabaseMetaData per session
+  METADATA_CACHE_SIZE("metadataCacheSize", false, Integer.class),
+
+  // Time the columns of a whole schema fetched by DatabaseMetaData.getColumns are used for, 0 to
+  // fetch the columns of each table separately
+  COLUMN_METADATA_PREFETCH_TTL_IN_SECONDS(
+      "columnMetadataPrefetchTtlInSeconds", false, Integer.class),
+
+  // Number of rows of the sub-batches array bind batches above it are executed in, 0 to execute
+  // each batch at once
+  ARRAY_BIND_BATCH_CHUNK_SIZE("arrayBindBatchChunkSize", false, Integer.class),
+
+  // Number of rows of batches of single-row INSERT statements executed at once by a multi-row
+  // INSERT statement when array binds aren't supported, 0 to execute each row separately
+  BATCH_INSERT_REWRITE_SIZE("batchInsertRewriteSize", false, Integer.class);
 
   // property key in string
   private String propertyKey;
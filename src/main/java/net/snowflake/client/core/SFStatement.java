@@ -13,10 +13,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import net.snowflake.client.core.BasicEvent.QueryState;
 import net.snowflake.client.core.bind.BindException;
@@ -70,6 +66,9 @@ public class SFStatement extends SFBaseStatement {
   // list of child result objects for queries called by the current query, if any
   private List<SFChildResult> childResults = null;
 
+  // stage path of the binds of the next execution uploaded by uploadArrayBinds, if any
+  private String preUploadedBindStage = null;
+
   // Three parameters adjusted in conservative memory usage mode
   private int conservativePrefetchThreads;
   private int conservativeResultChunkSize;
@@ -162,18 +161,33 @@ public class SFStatement extends SFBaseStatement {
    */
   @Override
   public SFPreparedStatementMetaData describe(String sql) throws SFException, SQLException {
+    DescribeCache describeCache = session != null ? session.getDescribeCache() : null;
+    if (describeCache != null) {
+      DescribeCache.Entry cachedEntry = describeCache.get(sql, session);
+      if (cachedEntry != null) {
+        logger.debug("Describe result found in cache for query: {}", sql);
+        describeJobUUID = cachedEntry.getQueryId();
+        return cachedEntry.getMetaData();
+      }
+    }
+
     SFBaseResultSet baseResultSet =
         executeQuery(sql, null, true, false, null, new ExecTimeTelemetryData());
 
     describeJobUUID = baseResultSet.getQueryId();
 
-    return new SFPreparedStatementMetaData(
-        baseResultSet.getMetaData(),
-        baseResultSet.getStatementType(),
-        baseResultSet.getNumberOfBinds(),
-        baseResultSet.isArrayBindSupported(),
-        baseResultSet.getMetaDataOfBinds(),
-        true); // valid metadata
+    SFPreparedStatementMetaData metaData =
+        new SFPreparedStatementMetaData(
+            baseResultSet.getMetaData(),
+            baseResultSet.getStatementType(),
+            baseResultSet.getNumberOfBinds(),
+            baseResultSet.isArrayBindSupported(),
+            baseResultSet.getMetaDataOfBinds(),
+            true); // valid metadata
+    if (describeCache != null) {
+      describeCache.put(sql, session, metaData, describeJobUUID);
+    }
+    return metaData;
   }
 
   /**
@@ -239,6 +253,14 @@ public class SFStatement extends SFBaseStatement {
       resultSet = SFResultSetFactory.getResultSet(jsonResult, this, sortResult, execTimeData);
       childResults = ResultUtil.getChildResults(session, requestId, jsonResult);
 
+      // statements changing the session context or the objects invalidate the cached metadata
+      if (!describeOnly) {
+        invalidateCachedMetadata(resultSet.getStatementType(), sql);
+        for (SFChildResult childResult : childResults) {
+          invalidateCachedMetadata(childResult.getType(), sql);
+        }
+      }
+
       // if child results are available, skip over this result set and set the
       // current result to the first child's result.
       // we still construct the first result set for its side effects.
@@ -277,33 +299,141 @@ public class SFStatement extends SFBaseStatement {
     return resultSet;
   }
 
+  private void invalidateCachedMetadata(SFStatementType statementType, String sql) {
+    if (DescribeCache.changesStatementMetadata(statementType)) {
+      session.invalidateStatementMetadata();
+    }
+    if (changesSessionSettings(statementType, sql)) {
+      session.sessionSettingsChanged();
+    }
+    DescribeCache describeCache = session.getDescribeCache();
+    if (describeCache != null) {
+      describeCache.invalidate(statementType);
+    }
+    MetadataCache metadataCache = session.getMetadataCache();
+    if (metadataCache != null) {
+      metadataCache.invalidate(statementType);
+    }
+    MetadataCache columnMetadataPrefetchCache = session.getColumnMetadataPrefetchCache();
+    if (columnMetadataPrefetchCache != null) {
+      columnMetadataPrefetchCache.invalidate(statementType);
+    }
+  }
+
   /**
    * Set a time bomb to cancel the outstanding query when timeout is reached.
    *
-   * @param executor object to execute statement cancel request
+   * @return the scheduled time bomb, to be defused once the query completes
    */
-  private void setTimeBomb(ScheduledExecutorService executor) {
-    class TimeBombTask implements Callable<Void> {
+  private QueryTimeoutScheduler.Timeout setTimeBomb() {
+    return QueryTimeoutScheduler.getInstance().schedule(this, this.queryTimeout);
+  }
 
-      private final SFStatement statement;
+  /**
+   * Upload array binds to a stage ahead of the execution binding them, e.g. while the statement is
+   * executing a previous sub-batch of the same batch.
+   *
+   * @param bindValues map of binding values
+   * @return stage path of the binds, or null if they don't reach the stage threshold or cannot be
+   *     uploaded, in which case they are handled when the statement is executed
+   */
+  @SnowflakeJdbcInternalApi
+  public String uploadArrayBinds(Map<String, ParameterBindingDTO> bindValues) {
+    if (!isArrayBindStageThresholdReached(bindValues)) {
+      return null;
+    }
+    return uploadBindsToStage(bindValues, UUIDUtils.getUUID().toString());
+  }
 
-      private TimeBombTask(SFStatement statement) {
-        this.statement = statement;
-      }
+  /**
+   * Set the stage path of binds uploaded by {@link #uploadArrayBinds(Map)} for the next execution
+   * to use instead of the bind values it is given.
+   *
+   * @param bindStagePath stage path of the binds, or null to upload or attach the bind values
+   */
+  @SnowflakeJdbcInternalApi
+  public void setPreUploadedBindStage(String bindStagePath) {
+    this.preUploadedBindStage = bindStagePath;
+  }
 
-      @Override
-      public Void call() throws SQLException {
-        try {
-          statement.cancel(CancellationReason.TIMEOUT);
-        } catch (SFException ex) {
-          throw new SnowflakeSQLLoggedException(
-              session, ex.getSqlState(), ex.getVendorCode(), ex, ex.getParams());
-        }
-        return null;
-      }
+  private boolean isArrayBindStageThresholdReached(Map<String, ParameterBindingDTO> bindValues) {
+    int numBinds = BindUploader.arrayBindValueCount(bindValues);
+    return 0 < session.getArrayBindStageThreshold()
+        && session.getArrayBindStageThreshold() <= numBinds
+        && BindUploader.isArrayBind(bindValues);
+  }
+
+  /**
+   * Upload array binds to a stage.
+   *
+   * @param bindValues map of binding values
+   * @param stageDir directory of the stage to upload the binds to
+   * @return stage path of the binds, or null if they cannot be uploaded
+   */
+  private String uploadBindsToStage(Map<String, ParameterBindingDTO> bindValues, String stageDir) {
+    try (BindUploader uploader = BindUploader.newInstance(session, stageDir)) {
+      uploader.upload(bindValues);
+      return uploader.getStagePath();
+    } catch (BindException ex) {
+      logger.debug(
+          "Exception encountered trying to upload binds to stage with input stream. Attaching"
+              + " binds in payload instead. ",
+          ex);
+      TelemetryData errorLog = TelemetryUtil.buildJobData(stageDir, ex.type.field, 1);
+      this.session.getTelemetryClient().addLogToBatch(errorLog);
+    } catch (SQLException ex) {
+      logger.debug(
+          "Exception encountered trying to upload binds to stage with input stream. Attaching"
+              + " binds in payload instead. ",
+          ex);
+      TelemetryData errorLog =
+          TelemetryUtil.buildJobData(stageDir, TelemetryField.FAILED_BIND_UPLOAD, 1);
+      this.session.getTelemetryClient().addLogToBatch(errorLog);
     }
+    return null;
+  }
 
-    executor.schedule(new TimeBombTask(this), this.queryTimeout, TimeUnit.SECONDS);
+  /**
+   * @param statementType type of the executed statement
+   * @param sql text of the executed statement
+   * @return true if the statement may have changed parameters or variables of the session
+   */
+  private static boolean changesSessionSettings(SFStatementType statementType, String sql) {
+    switch (statementType) {
+      case ALTER_SESSION:
+        // the auto-commit mode set by the connection is tracked by the session itself
+        return !sql.startsWith(SFBaseSession.SET_AUTO_COMMIT_STATEMENT);
+
+      case SCL:
+      case UNKNOWN:
+        return true;
+
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Upload binds holding values read from streams to a stage. Unlike other binds, they cannot be
+   * attached to the payload instead, so a failure is reported to the caller.
+   *
+   * @param bindValues map of binding values
+   * @param stageDir directory of the stage to upload the binds to
+   * @return stage path of the binds
+   * @throws SnowflakeSQLException if the binds cannot be uploaded, e.g. because a stream cannot be
+   *     read
+   */
+  private String uploadStreamBindsToStage(
+      Map<String, ParameterBindingDTO> bindValues, String stageDir) throws SnowflakeSQLException {
+    try (BindUploader uploader = BindUploader.newInstance(session, stageDir)) {
+      uploader.upload(BindUploader.toSingleRowArrayBind(bindValues));
+      return uploader.getStagePath();
+    } catch (BindException | SQLException ex) {
+      throw new SnowflakeSQLLoggedException(
+          session,
+          SqlState.INTERNAL_ERROR,
+          "Failed to upload the values of stream binds to the stage: " + ex.getMessage());
+    }
   }
 
   /**
@@ -329,7 +459,7 @@ public class SFStatement extends SFBaseStatement {
       boolean asyncExec,
       ExecTimeTelemetryData execTimeData)
       throws SnowflakeSQLException, SFException {
-    ScheduledExecutorService executor = null;
+    QueryTimeoutScheduler.Timeout timeBomb = null;
 
     try {
       synchronized (this) {
@@ -366,29 +496,13 @@ public class SFStatement extends SFBaseStatement {
       execTimeData.setBindStart();
       int numBinds = BindUploader.arrayBindValueCount(bindValues);
       String bindStagePath = null;
-      if (0 < session.getArrayBindStageThreshold()
-          && session.getArrayBindStageThreshold() <= numBinds
-          && !describeOnly
-          && BindUploader.isArrayBind(bindValues)) {
-        try (BindUploader uploader = BindUploader.newInstance(session, requestId)) {
-          uploader.upload(bindValues);
-          bindStagePath = uploader.getStagePath();
-        } catch (BindException ex) {
-          logger.debug(
-              "Exception encountered trying to upload binds to stage with input stream. Attaching"
-                  + " binds in payload instead. ",
-              ex);
-          TelemetryData errorLog = TelemetryUtil.buildJobData(this.requestId, ex.type.field, 1);
-          this.session.getTelemetryClient().addLogToBatch(errorLog);
-        } catch (SQLException ex) {
-          logger.debug(
-              "Exception encountered trying to upload binds to stage with input stream. Attaching"
-                  + " binds in payload instead. ",
-              ex);
-          TelemetryData errorLog =
-              TelemetryUtil.buildJobData(this.requestId, TelemetryField.FAILED_BIND_UPLOAD, 1);
-          this.session.getTelemetryClient().addLogToBatch(errorLog);
-        }
+      if (preUploadedBindStage != null && !describeOnly) {
+        bindStagePath = preUploadedBindStage;
+      } else if (!describeOnly && BindUploader.hasStreamBinds(bindValues)) {
+        // values read from streams are only sent through the stage
+        bindStagePath = uploadStreamBindsToStage(bindValues, requestId);
+      } else if (!describeOnly && isArrayBindStageThresholdReached(bindValues)) {
+        bindStagePath = uploadBindsToStage(bindValues, requestId);
       }
 
       if (session.isConservativeMemoryUsageEnabled()) {
@@ -480,7 +594,7 @@ public class SFStatement extends SFBaseStatement {
         throw new SFException(ErrorCode.QUERY_CANCELED);
       }
 
-      // if timeout is set, start a thread to cancel the request after timeout
+      // if timeout is set, schedule a task to cancel the request after timeout
       // reached.
       if (this.queryTimeout > 0) {
         if (session.getImplicitServerSideQueryTimeout()) {
@@ -488,8 +602,7 @@ public class SFStatement extends SFBaseStatement {
           statementParametersMap.put("STATEMENT_TIMEOUT_IN_SECONDS", this.queryTimeout);
         } else {
           // client side only query timeout
-          executor = Executors.newScheduledThreadPool(1);
-          setTimeBomb(executor);
+          timeBomb = setTimeBomb();
         }
       }
 
@@ -559,9 +672,7 @@ public class SFStatement extends SFBaseStatement {
       isClosed = true;
       throw ex;
     } finally {
-      if (executor != null) {
-        executor.shutdownNow();
-      }
+      QueryTimeoutScheduler.getInstance().cancel(timeBomb);
       // if this query enabled the new SQL format, re-disable it now
       setUseNewSqlFormat(false);
     }
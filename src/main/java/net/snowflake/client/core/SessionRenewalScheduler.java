@@ -0,0 +1,77 @@
+package net.snowflake.client.core;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.snowflake.client.jdbc.SnowflakeUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Renews the session tokens of all the sessions of the driver shortly before they expire, so that
+ * the queries don't have to fail with an expired token first.
+ *
+ * <p>The scheduled renewals only keep weak references to the sessions, so that a session which is
+ * not closed before it goes out of scope is not kept alive by its renewals.
+ */
+@SnowflakeJdbcInternalApi
+public class SessionRenewalScheduler {
+  private static final SessionRenewalScheduler singleton = new SessionRenewalScheduler();
+
+  private static final SFLogger logger = SFLoggerFactory.getLogger(SessionRenewalScheduler.class);
+
+  // Timer running the renewals, created on first use
+  private ScheduledThreadPoolExecutor timer = null;
+
+  private final AtomicLong renewalCount = new AtomicLong();
+
+  // Method to get the scheduler instance
+  public static SessionRenewalScheduler getInstance() {
+    return singleton;
+  }
+
+  /** private constructor so that no one can try to create one */
+  private SessionRenewalScheduler() {}
+
+  /**
+   * Schedule the renewal of the session token of a session.
+   *
+   * @param session session to renew
+   * @param delayInMillis delay before the renewal
+   * @return future which must be cancelled when the session is closed
+   */
+  ScheduledFuture<?> schedule(SFSession session, long delayInMillis) {
+    WeakReference<SFSession> sessionRef = new WeakReference<>(session);
+    return getTimer()
+        .schedule(
+            () -> {
+              SFSession scheduledSession = sessionRef.get();
+              if (scheduledSession != null && !scheduledSession.isClosed()) {
+                renewalCount.incrementAndGet();
+                scheduledSession.renewSessionProactively();
+              }
+            },
+            delayInMillis,
+            TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return total number of renewals run ahead of the expiry of the session tokens
+   */
+  public long getRenewalCount() {
+    return renewalCount.get();
+  }
+
+  private synchronized ScheduledThreadPoolExecutor getTimer() {
+    if (timer == null) {
+      logger.debug("create session renewal thread pool", false);
+      timer =
+          new ScheduledThreadPoolExecutor(
+              1, SnowflakeUtil.createDaemonThreadFactory("session-renewal-"));
+      timer.setRemoveOnCancelPolicy(true);
+    }
+    return timer;
+  }
+}
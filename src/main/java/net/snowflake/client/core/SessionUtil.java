@@ -22,6 +22,9 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.snowflake.client.core.auth.AuthenticatorType;
@@ -73,6 +76,9 @@ import org.jsoup.select.Elements;
 /** Low level session util */
 public class SessionUtil {
   private static final SFLogger logger = SFLoggerFactory.getLogger(SessionUtil.class);
+
+  // Workers running the login steps which overlap with the HTTP client initialization
+  private static ExecutorService loginWorkers = null;
   // Response Field Name
   private static final String SF_QUERY_DATABASE = "databaseName";
   private static final String SF_QUERY_SCHEMA = "schemaName";
@@ -278,6 +284,54 @@ public class SessionUtil {
         : AuthenticatorType.SNOWFLAKE;
   }
 
+  /**
+   * Start the login steps which don't need the HTTP client in the background, so that they overlap
+   * with its initialization and the OCSP cache loading: collecting the client environment, and for
+   * key pair authentication loading the private key and signing the JWT. {@link #openSession} uses
+   * their results, and loads the key itself if it failed in the background.
+   *
+   * @param loginInput login information
+   * @param connectionPropertiesMap connection properties
+   * @param tracingLevel tracing level
+   */
+  static void prepareLogin(
+      SFLoginInput loginInput,
+      Map<SFSessionProperty, Object> connectionPropertiesMap,
+      String tracingLevel) {
+    ExecutorService workers = getLoginWorkers();
+    loginInput.setClientEnvironment(
+        CompletableFuture.supplyAsync(
+            () -> createClientEnvironment(loginInput, connectionPropertiesMap, tracingLevel),
+            workers));
+    if (getAuthenticator(loginInput) == AuthenticatorType.SNOWFLAKE_JWT) {
+      workers.execute(
+          () -> {
+            try {
+              // the JWT is cached and reused by the login
+              new SessionUtilKeyPair(
+                      loginInput.getPrivateKey(),
+                      loginInput.getPrivateKeyFile(),
+                      loginInput.getPrivateKeyBase64(),
+                      loginInput.getPrivateKeyPwd(),
+                      loginInput.getAccountName(),
+                      loginInput.getUserName())
+                  .issueJwtToken();
+            } catch (SFException | RuntimeException ex) {
+              logger.debug("Failed to prepare the JWT before login: {}", ex.getMessage());
+            }
+          });
+    }
+  }
+
+  private static synchronized ExecutorService getLoginWorkers() {
+    if (loginWorkers == null) {
+      logger.debug("create login worker thread pool", false);
+      loginWorkers =
+          Executors.newCachedThreadPool(SnowflakeUtil.createDaemonThreadFactory("login-worker-"));
+    }
+    return loginWorkers;
+  }
+
   /**
    * Open a new session
    *
@@ -382,6 +436,98 @@ public class SessionUtil {
     }
   }
 
+  /**
+   * Collect the client environment sent at login: environment properties like OS version and the
+   * connection parameters, with their sensitive values masked.
+   */
+  private static Map<String, Object> createClientEnvironment(
+      SFLoginInput loginInput,
+      Map<SFSessionProperty, Object> connectionPropertiesMap,
+      String tracingLevel) {
+    // map of client environment parameters, including connection parameters
+    // and environment properties like OS version, etc.
+    Map<String, Object> clientEnv = new HashMap<>();
+
+    clientEnv.put("OS", systemGetProperty("os.name"));
+    clientEnv.put("OS_VERSION", systemGetProperty("os.version"));
+    clientEnv.put("JAVA_VERSION", systemGetProperty("java.version"));
+    clientEnv.put("JAVA_RUNTIME", systemGetProperty("java.runtime.name"));
+    clientEnv.put("JAVA_VM", systemGetProperty("java.vm.name"));
+    clientEnv.put("OCSP_MODE", loginInput.getOCSPMode().name());
+
+    if (loginInput.getApplication() != null) {
+      clientEnv.put("APPLICATION", loginInput.getApplication());
+    } else {
+      // When you add new client environment info, please add new keys to
+      // messages_en_US.src.json so that they can be displayed properly in UI
+      // detect app name
+      String appName = systemGetProperty("sun.java.command");
+      // remove the arguments
+      if (appName != null) {
+        if (appName.indexOf(" ") > 0) {
+          appName = appName.substring(0, appName.indexOf(" "));
+        }
+
+        clientEnv.put("APPLICATION", appName);
+      }
+    }
+
+    // SNOW-20103: track additional client info in session
+    String clientInfoJSONStr;
+    if (connectionPropertiesMap.containsKey(SFSessionProperty.CLIENT_INFO)) {
+      clientInfoJSONStr = (String) connectionPropertiesMap.get(SFSessionProperty.CLIENT_INFO);
+    }
+    // if connection property is not set, check session property
+    else {
+      clientInfoJSONStr = systemGetProperty("snowflake.client.info");
+    }
+    if (clientInfoJSONStr != null) {
+      JsonNode clientInfoJSON = null;
+
+      try {
+        clientInfoJSON = mapper.readTree(clientInfoJSONStr);
+      } catch (Throwable ex) {
+        logger.debug(
+            "failed to process snowflake.client.info property as JSON: {}", clientInfoJSONStr, ex);
+      }
+
+      if (clientInfoJSON != null) {
+        Iterator<Map.Entry<String, JsonNode>> fields = clientInfoJSON.fields();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          clientEnv.put(field.getKey(), field.getValue().asText());
+        }
+      }
+    }
+    /*
+     Add all connection parameters and their values that have been set for this
+     * current session into clientEnv. These are the params set via the Properties map or in the
+     * connection string. Includes username, password, serverUrl, timeout values, etc
+    */
+
+    for (Map.Entry<SFSessionProperty, Object> entry : connectionPropertiesMap.entrySet()) {
+      // exclude client parameters already covered by other runtime parameters that have been
+      // added to clientEnv
+      if (entry.getKey().equals(SFSessionProperty.APP_ID)
+          || entry.getKey().equals(SFSessionProperty.APP_VERSION)) {
+        continue;
+      }
+      String propKey = entry.getKey().getPropertyKey();
+      // mask sensitive values like passwords, tokens, etc
+      String propVal = SecretDetector.maskParameterValue(propKey, entry.getValue().toString());
+      clientEnv.put(propKey, propVal);
+    }
+    // if map does not contain the tracing property, the default is set. Add
+    // this default value to the map.
+    if (!connectionPropertiesMap.containsKey(SFSessionProperty.TRACING)) {
+      clientEnv.put(SFSessionProperty.TRACING.getPropertyKey(), tracingLevel);
+    }
+
+    clientEnv.put("JDBC_JAR_NAME", SnowflakeDriver.getJdbcJarname());
+
+    return clientEnv;
+  }
+
   private static boolean isNativeOAuthOriginalAuthenticator(SFLoginInput loginInput) {
     return AuthenticatorType.OAUTH_AUTHORIZATION_CODE
             .name()
@@ -549,6 +695,7 @@ public class SessionUtil {
     String sessionWarehouse;
     String sessionId;
     long masterTokenValidityInSeconds;
+    long sessionTokenValidityInSeconds;
     String idToken;
     String mfaToken;
     String databaseVersion = null;
@@ -706,88 +853,11 @@ public class SessionUtil {
             loginInput.getWorkloadIdentityAttestation().getProvider());
       }
 
-      // map of client environment parameters, including connection parameters
-      // and environment properties like OS version, etc.
-      Map<String, Object> clientEnv = new HashMap<>();
-
-      clientEnv.put("OS", systemGetProperty("os.name"));
-      clientEnv.put("OS_VERSION", systemGetProperty("os.version"));
-      clientEnv.put("JAVA_VERSION", systemGetProperty("java.version"));
-      clientEnv.put("JAVA_RUNTIME", systemGetProperty("java.runtime.name"));
-      clientEnv.put("JAVA_VM", systemGetProperty("java.vm.name"));
-      clientEnv.put("OCSP_MODE", loginInput.getOCSPMode().name());
-
-      if (loginInput.getApplication() != null) {
-        clientEnv.put("APPLICATION", loginInput.getApplication());
-      } else {
-        // When you add new client environment info, please add new keys to
-        // messages_en_US.src.json so that they can be displayed properly in UI
-        // detect app name
-        String appName = systemGetProperty("sun.java.command");
-        // remove the arguments
-        if (appName != null) {
-          if (appName.indexOf(" ") > 0) {
-            appName = appName.substring(0, appName.indexOf(" "));
-          }
-
-          clientEnv.put("APPLICATION", appName);
-        }
-      }
-
-      // SNOW-20103: track additional client info in session
-      String clientInfoJSONStr;
-      if (connectionPropertiesMap.containsKey(SFSessionProperty.CLIENT_INFO)) {
-        clientInfoJSONStr = (String) connectionPropertiesMap.get(SFSessionProperty.CLIENT_INFO);
-      }
-      // if connection property is not set, check session property
-      else {
-        clientInfoJSONStr = systemGetProperty("snowflake.client.info");
-      }
-      if (clientInfoJSONStr != null) {
-        JsonNode clientInfoJSON = null;
-
-        try {
-          clientInfoJSON = mapper.readTree(clientInfoJSONStr);
-        } catch (Throwable ex) {
-          logger.debug(
-              "failed to process snowflake.client.info property as JSON: {}",
-              clientInfoJSONStr,
-              ex);
-        }
-
-        if (clientInfoJSON != null) {
-          Iterator<Map.Entry<String, JsonNode>> fields = clientInfoJSON.fields();
-          while (fields.hasNext()) {
-            Map.Entry<String, JsonNode> field = fields.next();
-            clientEnv.put(field.getKey(), field.getValue().asText());
-          }
-        }
-      }
-      /*
-       Add all connection parameters and their values that have been set for this
-       * current session into clientEnv. These are the params set via the Properties map or in the
-       * connection string. Includes username, password, serverUrl, timeout values, etc
-      */
-
-      for (Map.Entry<SFSessionProperty, Object> entry : connectionPropertiesMap.entrySet()) {
-        // exclude client parameters already covered by other runtime parameters that have been
-        // added to clientEnv
-        if (entry.getKey().equals(SFSessionProperty.APP_ID)
-            || entry.getKey().equals(SFSessionProperty.APP_VERSION)) {
-          continue;
-        }
-        String propKey = entry.getKey().getPropertyKey();
-        // mask sensitive values like passwords, tokens, etc
-        String propVal = SecretDetector.maskParameterValue(propKey, entry.getValue().toString());
-        clientEnv.put(propKey, propVal);
-      }
-      // if map does not contain the tracing property, the default is set. Add
-      // this default value to the map.
-      if (!connectionPropertiesMap.containsKey(SFSessionProperty.TRACING)) {
-        clientEnv.put(SFSessionProperty.TRACING.getPropertyKey(), tracingLevel);
-      }
-
-      clientEnv.put("JDBC_JAR_NAME", SnowflakeDriver.getJdbcJarname());
+      // collected while the HTTP client was initialized, unless the login was not prepared
+      Map<String, Object> clientEnv =
+          loginInput.getClientEnvironment() != null
+              ? loginInput.getClientEnvironment().join()
+              : createClientEnvironment(loginInput, connectionPropertiesMap, tracingLevel);
 
       data.put(ClientAuthnParameter.CLIENT_ENVIRONMENT.name(), clientEnv);
 
@@ -883,7 +953,7 @@ public class SessionUtil {
                         loginInput.getAccountName(),
                         loginInput.getUserName());
 
-                data.put(ClientAuthnParameter.TOKEN.name(), s.issueJwtToken());
+                data.put(ClientAuthnParameter.TOKEN.name(), s.issueNewJwtToken());
               } else if (authenticatorType == AuthenticatorType.OKTA) {
                 // TODO: there is no retry manager passed here for now - we still raise the
                 // exception to retry in the old way
@@ -1004,6 +1074,7 @@ public class SessionUtil {
       idToken = nullStringAsEmptyString(jsonNode.path("data").path("idToken").asText());
       mfaToken = nullStringAsEmptyString(jsonNode.path("data").path("mfaToken").asText());
       masterTokenValidityInSeconds = jsonNode.path("data").path("masterValidityInSeconds").asLong();
+      sessionTokenValidityInSeconds = jsonNode.path("data").path("validityInSeconds").asLong();
       String serverVersion = jsonNode.path("data").path("serverVersion").asText();
       sessionId = jsonNode.path("data").path("sessionId").asText();
 
@@ -1116,6 +1187,7 @@ public class SessionUtil {
             sessionWarehouse,
             sessionId,
             commonParams);
+    ret.setSessionTokenValidityInSeconds(sessionTokenValidityInSeconds);
 
     if (asBoolean(loginInput.getSessionParameters().get(CLIENT_STORE_TEMPORARY_CREDENTIAL))) {
       if (consentCacheIdToken) {
@@ -1244,6 +1316,7 @@ public class SessionUtil {
     HttpPost postRequest;
     String sessionToken;
     String masterToken;
+    long sessionTokenValidityInSeconds;
 
     try {
       uriBuilder = new URIBuilder(loginInput.getServerUrl());
@@ -1330,6 +1403,7 @@ public class SessionUtil {
       // session token is in the data field of the returned json response
       sessionToken = jsonNode.path("data").path("sessionToken").asText();
       masterToken = jsonNode.path("data").path("masterToken").asText();
+      sessionTokenValidityInSeconds = jsonNode.path("data").path("validityInSecondsST").asLong();
     } catch (IOException ex) {
       logger.error("IOException when renewing session: " + postRequest, ex);
 
@@ -1339,7 +1413,10 @@ public class SessionUtil {
     }
 
     SFLoginOutput loginOutput = new SFLoginOutput();
-    loginOutput.setSessionToken(sessionToken).setMasterToken(masterToken);
+    loginOutput
+        .setSessionToken(sessionToken)
+        .setMasterToken(masterToken)
+        .setSessionTokenValidityInSeconds(sessionTokenValidityInSeconds);
 
     return loginOutput;
   }
@@ -1995,7 +2072,7 @@ public class SessionUtil {
     SessionUtilKeyPair s =
         new SessionUtilKeyPair(
             privateKey, privateKeyFile, privateKeyBase64, privateKeyPwd, accountName, userName);
-    return s.issueJwtToken();
+    return s.issueNewJwtToken();
   }
 
   /**
@@ -29,6 +29,8 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.RSAPublicKeySpec;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.crypto.EncryptedPrivateKeyInfo;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
@@ -72,6 +74,19 @@ class SessionUtilKeyPair {
 
   private static final int JWT_DEFAULT_AUTH_TIMEOUT = 10;
 
+  private static final long JWT_LIFETIME_IN_MILLIS = 60L * 1000;
+
+  // a JWT is reused for other logins while more than half of its lifetime is left
+  private static final long JWT_REUSE_TIME_IN_MILLIS = JWT_LIFETIME_IN_MILLIS / 2;
+
+  private static final int MAX_CACHED_PRIVATE_KEYS = 32;
+
+  // parsed private keys, by digest of their encoded form and password
+  private static final Map<String, PrivateKey> privateKeyCache = new ConcurrentHashMap<>();
+
+  // last JWT signed for each issuer, i.e. each account, user and public key
+  private static final Map<String, CachedJwt> jwtCache = new ConcurrentHashMap<>();
+
   private boolean isBouncyCastleProviderEnabled = false;
 
   SessionUtilKeyPair(
@@ -182,8 +197,41 @@ class SessionUtilKeyPair {
     }
   }
 
+  /** Parse a private key, or get it from the cache if the same one was parsed before */
   private PrivateKey extractPrivateKeyFromBytes(byte[] privateKeyBytes, String privateKeyPwd)
       throws SFException {
+    String cacheKey = getPrivateKeyCacheKey(privateKeyBytes, privateKeyPwd);
+    PrivateKey cachedKey = privateKeyCache.get(cacheKey);
+    if (cachedKey != null) {
+      logger.trace("Using cached private key");
+      return cachedKey;
+    }
+    PrivateKey parsedKey = parsePrivateKeyFromBytes(privateKeyBytes, privateKeyPwd);
+    if (privateKeyCache.size() >= MAX_CACHED_PRIVATE_KEYS) {
+      privateKeyCache.clear();
+    }
+    privateKeyCache.put(cacheKey, parsedKey);
+    return parsedKey;
+  }
+
+  private String getPrivateKeyCacheKey(byte[] privateKeyBytes, String privateKeyPwd)
+      throws SFException {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      md.update(privateKeyBytes);
+      if (privateKeyPwd != null) {
+        md.update((byte) 0);
+        md.update(privateKeyPwd.getBytes(StandardCharsets.UTF_8));
+      }
+      return (isBouncyCastleProviderEnabled ? "bc:" : "jdk:")
+          + Base64.encodeBase64String(md.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new SFException(e, ErrorCode.INTERNAL_ERROR, "Error when calculating key digest");
+    }
+  }
+
+  private PrivateKey parsePrivateKeyFromBytes(byte[] privateKeyBytes, String privateKeyPwd)
+      throws SFException {
     if (isBouncyCastleProviderEnabled) {
       try {
         return extractPrivateKeyWithBouncyCastle(privateKeyBytes, privateKeyPwd);
@@ -216,21 +264,40 @@ class SessionUtilKeyPair {
     return extractPrivateKeyFromBytes(decodedKey, privateKeyPwd);
   }
 
+  /**
+   * Get a JWT for the user, reusing the last one signed for the same account, user and key while
+   * more than half of its lifetime is left.
+   *
+   * @return JWT
+   * @throws SFException if the JWT can't be signed
+   */
   public String issueJwtToken() throws SFException {
+    String iss = getIssuer();
+    CachedJwt cachedJwt = jwtCache.get(iss);
+    if (cachedJwt != null
+        && System.currentTimeMillis() - cachedJwt.issuedAt < JWT_REUSE_TIME_IN_MILLIS) {
+      logger.debug("Reusing JWT issued at {} for {}", cachedJwt.issuedAt / 1000, iss);
+      return cachedJwt.token;
+    }
+    return issueNewJwtToken();
+  }
+
+  /**
+   * Sign a new JWT for the user, for instance when a login timed out with the previous one.
+   *
+   * @return JWT
+   * @throws SFException if the JWT can't be signed
+   */
+  String issueNewJwtToken() throws SFException {
     JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
     String sub = String.format(SUBJECT_FMT, this.accountName, this.userName);
-    String iss =
-        String.format(
-            ISSUER_FMT,
-            this.accountName,
-            this.userName,
-            this.calculatePublicKeyFingerprint(this.publicKey));
+    String iss = getIssuer();
 
     // iat is now
     Date iat = new Date(System.currentTimeMillis());
 
     // expiration is 60 seconds later
-    Date exp = new Date(iat.getTime() + 60L * 1000);
+    Date exp = new Date(iat.getTime() + JWT_LIFETIME_IN_MILLIS);
 
     JWTClaimsSet claimsSet =
         builder.issuer(iss).subject(sub).issueTime(iat).expirationTime(exp).build();
@@ -250,7 +317,28 @@ class SessionUtilKeyPair {
         sub,
         String.valueOf(iat.getTime() / 1000),
         String.valueOf(exp.getTime() / 1000));
-    return signedJWT.serialize();
+    String token = signedJWT.serialize();
+    jwtCache.put(iss, new CachedJwt(token, iat.getTime()));
+    return token;
+  }
+
+  private String getIssuer() throws SFException {
+    return String.format(
+        ISSUER_FMT,
+        this.accountName,
+        this.userName,
+        this.calculatePublicKeyFingerprint(this.publicKey));
+  }
+
+  /** JWT kept for reuse */
+  private static class CachedJwt {
+    private final String token;
+    private final long issuedAt;
+
+    private CachedJwt(String token, long issuedAt) {
+      this.token = token;
+      this.issuedAt = issuedAt;
+    }
   }
 
   private String calculatePublicKeyFingerprint(PublicKey publicKey) throws SFException {
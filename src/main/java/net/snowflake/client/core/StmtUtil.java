@@ -4,14 +4,13 @@ import static net.snowflake.client.jdbc.SnowflakeUtil.isNullOrEmpty;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.ByteArrayOutputStream;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.zip.GZIPOutputStream;
 import net.snowflake.client.core.BasicEvent.QueryState;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeSQLException;
@@ -24,14 +23,16 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 
 /** Statement Util */
 public class StmtUtil {
   static final EventHandler eventHandler = EventUtil.getEventHandlerInstance();
 
-  static final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+  static final ObjectMapper mapper =
+      ObjectMapperFactory.getObjectMapper()
+          .registerModule(
+              new SimpleModule().addSerializer(QueryExecDTO.class, new QueryExecDTOSerializer()));
 
   static final String SF_PATH_QUERY_V1 = "/queries/v1/query-request";
 
@@ -359,26 +360,17 @@ public class StmtUtil {
 
         logger.debug("queryContextDTO: {}", queryContextDTO);
 
-        String json = mapper.writeValueAsString(sqlJsonBody);
-
-        logger.debug("JSON: {}", json);
+        if (logger.isDebugEnabled()) {
+          logger.debug("JSON: {}", mapper.writeValueAsString(sqlJsonBody));
+        }
 
-        ByteArrayEntity input;
-        if (!stmtInput.httpClientSettingsKey.getGzipDisabled()) {
-          execTimeData.setGzipStart();
-          // SNOW-18057: compress the post body in gzip
-          ByteArrayOutputStream baos = new ByteArrayOutputStream();
-          GZIPOutputStream gzos = new GZIPOutputStream(baos);
-          byte[] bytes = json.getBytes("UTF-8");
-          gzos.write(bytes);
-          gzos.finish();
-          input = new ByteArrayEntity(baos.toByteArray());
+        // the body is serialized, and compressed in gzip (SNOW-18057), while it is sent
+        boolean compressed = !stmtInput.httpClientSettingsKey.getGzipDisabled();
+        JsonRequestEntity input =
+            new JsonRequestEntity(mapper, sqlJsonBody, compressed, execTimeData);
+        if (compressed) {
           httpRequest.addHeader("content-encoding", "gzip");
-          execTimeData.setGzipEnd();
-        } else {
-          input = new ByteArrayEntity(json.getBytes("UTF-8"));
         }
-        input.setContentType("application/json");
         httpRequest.setEntity(input);
         httpRequest.addHeader("accept", stmtInput.mediaType);
 
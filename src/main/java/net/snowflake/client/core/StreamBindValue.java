@@ -0,0 +1,288 @@
+package net.snowflake.client.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import net.snowflake.client.jdbc.FileBackedOutputStream;
+
+/**
+ * Value of a bind read from a stream, e.g. set by {@link
+ * java.sql.PreparedStatement#setCharacterStream(int, Reader)}. The value is read from the stream
+ * when the statement is executed, and is written straight to the bind file uploaded to the stage,
+ * so that a large value is never held in memory as a whole.
+ *
+ * <p>While the stream is read, the value is copied to a spool kept in memory up to 1 MB and in a
+ * temporary file beyond, so that the statement can be executed again. The spool is deleted by
+ * {@link #release()}.
+ *
+ * <p>Character streams are bound as text and byte streams as binary values encoded in hex.
+ */
+@SnowflakeJdbcInternalApi
+public class StreamBindValue {
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final int SPOOL_MEMORY_THRESHOLD = 1 << 20;
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private final Reader reader;
+
+  private final InputStream inputStream;
+
+  // number of characters or bytes to read, -1 to read until the end of the stream
+  private final long length;
+
+  private boolean consumed = false;
+
+  // copy of the value read from the stream, the text being encoded in UTF-8
+  private FileBackedOutputStream spool = null;
+
+  private StreamBindValue(Reader reader, InputStream inputStream, long length) {
+    this.reader = reader;
+    this.inputStream = inputStream;
+    this.length = length;
+  }
+
+  /**
+   * @param reader stream of the text
+   * @param length number of characters to read, -1 to read until the end of the stream
+   * @return value of a text bind
+   */
+  public static StreamBindValue ofCharacters(Reader reader, long length) {
+    return new StreamBindValue(reader, null, length);
+  }
+
+  /**
+   * @param inputStream stream of the bytes
+   * @param length number of bytes to read, -1 to read until the end of the stream
+   * @return value of a binary bind
+   */
+  public static StreamBindValue ofBytes(InputStream inputStream, long length) {
+    return new StreamBindValue(null, inputStream, length);
+  }
+
+  /**
+   * @return true if the value is binary
+   */
+  public boolean isBinary() {
+    return inputStream != null;
+  }
+
+  /**
+   * Write the value as a quoted CSV field. The value is read from the spool if the stream was
+   * already read.
+   *
+   * @param out stream of the CSV file, which is not closed
+   * @throws IOException if the value cannot be read or written, or if the stream is shorter than
+   *     its length
+   */
+  public void writeCsvField(OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(nonClosing(out), UTF_8);
+    // quoted even if empty, so that an empty value isn't loaded as null
+    writer.write('"');
+    if (isBinary()) {
+      readBytes((buffer, read) -> writeHex(writer, buffer, read), true);
+    } else {
+      readChars(
+          (buffer, read) -> {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+              if (buffer[i] == '"') {
+                // a double quote is escaped by another one
+                writer.write(buffer, start, i + 1 - start);
+                start = i;
+              }
+            }
+            writer.write(buffer, start, read - start);
+          },
+          true);
+    }
+    writer.write('"');
+    writer.close();
+  }
+
+  /**
+   * Read the whole value, e.g. to bind it in the query request when it cannot be uploaded to the
+   * stage. The value isn't spooled, as the caller keeps the returned string.
+   *
+   * @return the text, or the bytes encoded in hex
+   * @throws IOException if the value cannot be read, or if the stream is shorter than its length
+   */
+  public String readFully() throws IOException {
+    StringWriter writer = new StringWriter();
+    if (isBinary()) {
+      readBytes((buffer, read) -> writeHex(writer, buffer, read), false);
+    } else {
+      readChars((buffer, read) -> writer.write(buffer, 0, read), false);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Delete the spool of the value, after which the value cannot be read again.
+   *
+   * @throws IOException if the temporary file of the spool cannot be deleted
+   */
+  public void release() throws IOException {
+    if (spool != null) {
+      FileBackedOutputStream released = spool;
+      spool = null;
+      released.reset();
+    }
+  }
+
+  private void readBytes(ByteConsumer consumer, boolean spoolValue) throws IOException {
+    if (spool != null) {
+      try (InputStream in = spool.asByteSource().openStream()) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+          consumer.accept(buffer, read);
+        }
+      }
+      return;
+    }
+    startReading();
+    FileBackedOutputStream copy = spoolValue ? newSpool() : null;
+    try {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      long total = 0;
+      int read;
+      while ((read = inputStream.read(buffer, 0, nextReadLength(total))) > 0) {
+        if (copy != null) {
+          copy.write(buffer, 0, read);
+        }
+        consumer.accept(buffer, read);
+        total += read;
+      }
+      checkLength(total, "bytes");
+    } catch (IOException | RuntimeException ex) {
+      discard(copy, ex);
+      throw ex;
+    }
+    keep(copy);
+  }
+
+  private void readChars(CharConsumer consumer, boolean spoolValue) throws IOException {
+    if (spool != null) {
+      try (Reader in = new InputStreamReader(spool.asByteSource().openStream(), UTF_8)) {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+          consumer.accept(buffer, read);
+        }
+      }
+      return;
+    }
+    startReading();
+    FileBackedOutputStream copy = spoolValue ? newSpool() : null;
+    try {
+      Writer copyWriter = copy == null ? null : new OutputStreamWriter(copy, UTF_8);
+      char[] buffer = new char[BUFFER_SIZE];
+      long total = 0;
+      int read;
+      while ((read = reader.read(buffer, 0, nextReadLength(total))) > 0) {
+        if (copyWriter != null) {
+          copyWriter.write(buffer, 0, read);
+        }
+        consumer.accept(buffer, read);
+        total += read;
+      }
+      checkLength(total, "characters");
+      if (copyWriter != null) {
+        copyWriter.close();
+      }
+    } catch (IOException | RuntimeException ex) {
+      discard(copy, ex);
+      throw ex;
+    }
+    keep(copy);
+  }
+
+  private static void writeHex(Writer writer, byte[] buffer, int read) throws IOException {
+    char[] hex = new char[2 * read];
+    for (int i = 0; i < read; i++) {
+      hex[2 * i] = HEX_DIGITS[(buffer[i] >> 4) & 0xF];
+      hex[2 * i + 1] = HEX_DIGITS[buffer[i] & 0xF];
+    }
+    writer.write(hex);
+  }
+
+  private int nextReadLength(long total) {
+    return length < 0 ? BUFFER_SIZE : (int) Math.min(BUFFER_SIZE, length - total);
+  }
+
+  private void checkLength(long total, String unit) throws IOException {
+    if (length >= 0 && total < length) {
+      throw new IOException(
+          String.format(
+              "The stream of the bind value ended after %d of its %d %s", total, length, unit));
+    }
+  }
+
+  private void startReading() throws IOException {
+    if (consumed) {
+      throw new IOException(
+          "The stream of the bind value was already read, set the parameter again to execute the"
+              + " statement");
+    }
+    consumed = true;
+  }
+
+  private static FileBackedOutputStream newSpool() {
+    // the spool file is deleted on release, or when the spool is garbage collected
+    return new FileBackedOutputStream(SPOOL_MEMORY_THRESHOLD, true);
+  }
+
+  private void keep(FileBackedOutputStream copy) throws IOException {
+    if (copy != null) {
+      copy.close();
+      spool = copy;
+    }
+  }
+
+  private static void discard(FileBackedOutputStream copy, Exception cause) {
+    if (copy != null) {
+      try {
+        copy.reset();
+      } catch (IOException ex) {
+        cause.addSuppressed(ex);
+      }
+    }
+  }
+
+  private static OutputStream nonClosing(OutputStream out) {
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return isBinary() ? "<binary stream>" : "<character stream>";
+  }
+
+  private interface ByteConsumer {
+    void accept(byte[] buffer, int read) throws IOException;
+  }
+
+  private interface CharConsumer {
+    void accept(char[] buffer, int read) throws IOException;
+  }
+}
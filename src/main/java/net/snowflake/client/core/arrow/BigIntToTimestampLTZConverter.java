@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.TimeZone;
 import net.snowflake.client.core.DataConversionContext;
 import net.snowflake.client.core.ResultUtil;
+import net.snowflake.client.core.SFDateTimeFastFormatter;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.core.SnowflakeJdbcInternalApi;
 import net.snowflake.client.jdbc.ErrorCode;
@@ -40,9 +41,11 @@ public class BigIntToTimestampLTZConverter extends AbstractArrowVectorConverter
 
     return ts == null
         ? null
-        : context
-            .getTimestampLTZFormatter()
-            .format(ts, context.getTimeZone(), context.getScale(columnIndex));
+        : SFDateTimeFastFormatter.format(
+            context.getTimestampLTZFormatter(),
+            ts,
+            context.getTimeZone(),
+            context.getScale(columnIndex));
   }
 
   @Override
@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.TimeZone;
 import net.snowflake.client.core.DataConversionContext;
 import net.snowflake.client.core.ResultUtil;
+import net.snowflake.client.core.SFDateTimeFastFormatter;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeTimeWithTimezone;
@@ -41,9 +42,11 @@ public class BigIntToTimestampNTZConverter extends AbstractArrowVectorConverter
 
     return ts == null
         ? null
-        : context
-            .getTimestampNTZFormatter()
-            .format(ts, TimeZone.getTimeZone("UTC"), context.getScale(columnIndex));
+        : SFDateTimeFastFormatter.format(
+            context.getTimestampNTZFormatter(),
+            ts,
+            TimeZone.getTimeZone("UTC"),
+            context.getScale(columnIndex));
   }
 
   @Override
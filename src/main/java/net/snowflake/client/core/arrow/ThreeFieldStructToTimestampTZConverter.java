@@ -6,6 +6,7 @@ import java.sql.Timestamp;
 import java.util.TimeZone;
 import net.snowflake.client.core.DataConversionContext;
 import net.snowflake.client.core.ResultUtil;
+import net.snowflake.client.core.SFDateTimeFastFormatter;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeDateWithTimezone;
@@ -57,7 +58,8 @@ public class ThreeFieldStructToTimestampTZConverter extends AbstractArrowVectorC
       Timestamp ts = isNull(index) ? null : getTimestamp(index, TimeZone.getDefault(), true);
       return ts == null
           ? null
-          : context.getTimestampTZFormatter().format(ts, timeZone, context.getScale(columnIndex));
+          : SFDateTimeFastFormatter.format(
+              context.getTimestampTZFormatter(), ts, timeZone, context.getScale(columnIndex));
     } catch (TimestampOperationNotAvailableException e) {
       return e.getSecsSinceEpoch().toPlainString();
     }
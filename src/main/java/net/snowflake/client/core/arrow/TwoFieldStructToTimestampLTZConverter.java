@@ -6,6 +6,7 @@ import java.sql.Timestamp;
 import java.util.TimeZone;
 import net.snowflake.client.core.DataConversionContext;
 import net.snowflake.client.core.ResultUtil;
+import net.snowflake.client.core.SFDateTimeFastFormatter;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeDateWithTimezone;
@@ -52,9 +53,11 @@ public class TwoFieldStructToTimestampLTZConverter extends AbstractArrowVectorCo
 
       return ts == null
           ? null
-          : context
-              .getTimestampLTZFormatter()
-              .format(ts, context.getTimeZone(), context.getScale(columnIndex));
+          : SFDateTimeFastFormatter.format(
+              context.getTimestampLTZFormatter(),
+              ts,
+              context.getTimeZone(),
+              context.getScale(columnIndex));
     } catch (TimestampOperationNotAvailableException e) {
       return e.getSecsSinceEpoch().toPlainString();
     }
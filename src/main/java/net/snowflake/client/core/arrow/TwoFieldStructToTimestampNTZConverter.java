@@ -6,6 +6,7 @@ import java.sql.Timestamp;
 import java.util.TimeZone;
 import net.snowflake.client.core.DataConversionContext;
 import net.snowflake.client.core.ResultUtil;
+import net.snowflake.client.core.SFDateTimeFastFormatter;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeTimeWithTimezone;
@@ -52,9 +53,11 @@ public class TwoFieldStructToTimestampNTZConverter extends AbstractArrowVectorCo
 
       return ts == null
           ? null
-          : context
-              .getTimestampNTZFormatter()
-              .format(ts, TimeZone.getTimeZone("UTC"), context.getScale(columnIndex));
+          : SFDateTimeFastFormatter.format(
+              context.getTimestampNTZFormatter(),
+              ts,
+              TimeZone.getTimeZone("UTC"),
+              context.getScale(columnIndex));
     } catch (TimestampOperationNotAvailableException e) {
       return e.getSecsSinceEpoch().toPlainString();
     }
@@ -6,6 +6,7 @@ import java.sql.Timestamp;
 import java.util.TimeZone;
 import net.snowflake.client.core.DataConversionContext;
 import net.snowflake.client.core.ResultUtil;
+import net.snowflake.client.core.SFDateTimeFastFormatter;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeTimeWithTimezone;
@@ -46,7 +47,8 @@ public class TwoFieldStructToTimestampTZConverter extends AbstractArrowVectorCon
 
     return ts == null
         ? null
-        : context.getTimestampTZFormatter().format(ts, timeZone, context.getScale(columnIndex));
+        : SFDateTimeFastFormatter.format(
+            context.getTimestampTZFormatter(), ts, timeZone, context.getScale(columnIndex));
   }
 
   @Override
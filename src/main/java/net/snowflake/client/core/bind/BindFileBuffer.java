@@ -0,0 +1,136 @@
+package net.snowflake.client.core.bind;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory content of a bind file being uploaded to the stage. The CSV records are written to the
+ * buffer one at a time and compressed on the fly if requested, so that only the compressed file is
+ * held in memory.
+ */
+class BindFileBuffer {
+  // output stream that hands out its content without copying it
+  private static class Output extends ByteArrayOutputStream {
+    Output(int size) {
+      super(size);
+    }
+
+    InputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
+    }
+  }
+
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+
+  private final Output output = new Output(INITIAL_CAPACITY);
+
+  private final OutputStream stream;
+
+  private final boolean compressed;
+
+  // number of bytes written before compression
+  private long size = 0;
+
+  /**
+   * @param compressed whether to compress the content with gzip
+   * @throws BindException if the compression stream cannot be created
+   */
+  BindFileBuffer(boolean compressed) throws BindException {
+    this.compressed = compressed;
+    try {
+      this.stream = compressed ? new GZIPOutputStream(output, INITIAL_CAPACITY) : output;
+    } catch (IOException ex) {
+      throw serializationFailure(ex);
+    }
+  }
+
+  /**
+   * Append a record to the file.
+   *
+   * @param record serialized CSV record
+   * @throws BindException if the record cannot be compressed
+   */
+  void write(byte[] record) throws BindException {
+    write(record, 0, record.length);
+  }
+
+  /**
+   * Append records to the file.
+   *
+   * @param bytes array holding serialized CSV records
+   * @param offset offset of the records in the array
+   * @param length length of the records in bytes
+   * @throws BindException if the records cannot be compressed
+   */
+  void write(byte[] bytes, int offset, int length) throws BindException {
+    try {
+      stream.write(bytes, offset, length);
+      size += length;
+    } catch (IOException ex) {
+      throw serializationFailure(ex);
+    }
+  }
+
+  /**
+   * Get a stream appending to the file, used to copy streamed values into the file without
+   * materializing them. Closing the stream doesn't complete the file.
+   *
+   * @return output stream of the file
+   */
+  OutputStream getOutputStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        stream.write(b);
+        size++;
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        stream.write(b, off, len);
+        size += len;
+      }
+
+      @Override
+      public void close() {
+        // the file is completed by toInputStream()
+      }
+    };
+  }
+
+  /**
+   * @return number of bytes written to the file before compression
+   */
+  long size() {
+    return size;
+  }
+
+  boolean isCompressed() {
+    return compressed;
+  }
+
+  /**
+   * Complete the file. No record can be written afterwards.
+   *
+   * @return stream of the file content
+   * @throws BindException if the compression cannot be completed
+   */
+  InputStream toInputStream() throws BindException {
+    try {
+      stream.close();
+    } catch (IOException ex) {
+      throw serializationFailure(ex);
+    }
+    return output.toInputStream();
+  }
+
+  private static BindException serializationFailure(IOException ex) {
+    return new BindException(
+        String.format("Failure compressing bind data. Message: %s", ex.getMessage()),
+        BindException.Type.SERIALIZATION);
+  }
+}
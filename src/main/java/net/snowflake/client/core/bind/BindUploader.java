@@ -1,41 +1,39 @@
 package net.snowflake.client.core.bind;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 import java.sql.SQLException;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import net.snowflake.client.core.ExecTimeTelemetryData;
 import net.snowflake.client.core.ParameterBindingDTO;
 import net.snowflake.client.core.SFBaseSession;
 import net.snowflake.client.core.SFBaseStatement;
 import net.snowflake.client.core.SFException;
+import net.snowflake.client.core.StreamBindValue;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SFBaseFileTransferAgent;
 import net.snowflake.client.jdbc.SnowflakeSQLLoggedException;
-import net.snowflake.client.jdbc.SnowflakeType;
+import net.snowflake.client.jdbc.SnowflakeUtil;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
-import net.snowflake.client.util.SFPair;
+import net.snowflake.common.core.FileCompressionType;
 import net.snowflake.common.core.SqlState;
 
 public class BindUploader implements Closeable {
   private static final SFLogger logger = SFLoggerFactory.getLogger(BindUploader.class);
 
+  static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 4;
+
   // session of the uploader
   private final SFBaseSession session;
 
@@ -48,23 +46,18 @@ public class BindUploader implements Closeable {
   // size (bytes) of max input stream (10MB default)
   private long inputStreamBufferSize = 1024 * 1024 * 10;
 
-  private int fileCount = 0;
+  // maximum number of bind files uploaded at the same time
+  private int maxConcurrentUploads = DEFAULT_MAX_CONCURRENT_UPLOADS;
 
-  private final DateTimeFormatter timestampFormatter =
-      new DateTimeFormatterBuilder()
-          .append(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS "))
-          .appendOffset("+HH:MM", "Z")
-          .toFormatter();
-  private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-  private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss.SSSSSSSSS");
+  private int fileCount = 0;
 
   private final String createStageSQL;
 
   static class ColumnTypeDataPair {
     public String type;
-    public List<String> data;
+    public List<?> data;
 
-    ColumnTypeDataPair(String type, List<String> data) {
+    ColumnTypeDataPair(String type, List<?> data) {
       this.type = type;
       this.data = data;
     }
@@ -89,77 +82,6 @@ public class BindUploader implements Closeable {
             + ")";
   }
 
-  private synchronized String synchronizedDateFormat(String o) {
-    if (o == null) {
-      return null;
-    }
-    long millis = Long.parseLong(o);
-    Instant instant = Instant.ofEpochMilli(millis);
-    LocalDate localDate = instant.atZone(ZoneOffset.UTC).toLocalDate();
-    return localDate.format(this.dateFormatter);
-  }
-
-  private synchronized String synchronizedTimeFormat(String o) {
-    if (o == null) {
-      return null;
-    }
-    SFPair<Long, Integer> times = getNanosAndSecs(o, false);
-    long sec = times.left;
-    int nano = times.right;
-
-    LocalTime time = Instant.ofEpochSecond(sec, nano).atZone(ZoneOffset.UTC).toLocalTime();
-    return time.format(timeFormatter);
-  }
-
-  private SFPair<Long, Integer> getNanosAndSecs(String o, boolean isNegative) {
-    String inpString = o;
-    if (isNegative) {
-      inpString = o.substring(1);
-    }
-
-    long sec;
-    int nano;
-    if (inpString.length() < 10) {
-      sec = 0;
-      nano = Integer.parseInt(inpString);
-    } else {
-      sec = Long.parseLong(inpString.substring(0, inpString.length() - 9));
-      nano = Integer.parseInt(inpString.substring(inpString.length() - 9));
-    }
-    if (isNegative) {
-      // adjust the timestamp
-      sec = -1 * sec;
-      if (nano > 0) {
-        nano = 1000000000 - nano;
-        sec--;
-      }
-    }
-    return SFPair.of(sec, nano);
-  }
-
-  private synchronized String synchronizedTimestampFormat(String o, String type) {
-    if (o == null) {
-      return null;
-    }
-
-    boolean isNegative = o.length() > 0 && o.charAt(0) == '-';
-    SFPair<Long, Integer> times = getNanosAndSecs(o, isNegative);
-    long sec = times.left;
-    int nano = times.right;
-
-    Instant instant = Instant.ofEpochSecond(sec, nano);
-
-    // For timestamp_ntz, use UTC timezone. For timestamp_ltz, use the local timezone to minimise
-    // the gap.
-    if ("TIMESTAMP_LTZ".equals(type)) {
-      ZonedDateTime zdt = instant.atZone(ZoneId.systemDefault());
-      return zdt.format(timestampFormatter);
-    } else {
-      ZonedDateTime zdt = ZonedDateTime.ofInstant(instant, ZoneOffset.UTC);
-      return zdt.format(timestampFormatter);
-    }
-  }
-
   /**
    * Create a new BindUploader which will upload to the given stage path. Note that no temporary
    * file or directory is created anymore. Instead, streaming uploading is used.
@@ -168,7 +90,7 @@ public class BindUploader implements Closeable {
    * @param stageDir the stage path to upload to
    * @return BindUploader instance
    */
-  public static synchronized BindUploader newInstance(SFBaseSession session, String stageDir) {
+  public static BindUploader newInstance(SFBaseSession session, String stageDir) {
     return new BindUploader(session, stageDir);
   }
 
@@ -188,6 +110,11 @@ public class BindUploader implements Closeable {
    * Upload bind parameters via streaming. This replaces previous function upload function where
    * binds were written to a file which was then uploaded with a PUT statement.
    *
+   * <p>The rows are encoded one at a time into the buffer of the current file, compressed on the
+   * fly if compression is requested. When the buffer is full, the file is uploaded in the
+   * background while the next rows are encoded, so at most {@code maxConcurrentUploads} files are
+   * uploaded at the same time and one more is being filled.
+   *
    * @param bindValues the bind map to upload
    * @param compressData whether or not to compress data
    * @throws BindException if there is an error when uploading bind values
@@ -197,37 +124,137 @@ public class BindUploader implements Closeable {
       throws BindException, SQLException {
     if (!closed) {
       List<ColumnTypeDataPair> columns = getColumnValues(bindValues);
-      List<byte[]> bindingRows = buildRowsAsBytes(columns);
-      int startIndex = 0;
-      int numBytes = 0;
-      int rowNum = 0;
+      int numRows = validateColumns(columns);
       fileCount = 0;
+      createStageIfNeeded();
 
-      while (rowNum < bindingRows.size()) {
-        // create a list of byte arrays
-        while (numBytes < inputStreamBufferSize && rowNum < bindingRows.size()) {
-          numBytes += bindingRows.get(rowNum).length;
-          rowNum++;
+      CsvBindEncoder encoder = new CsvBindEncoder(columns, numRows);
+      ExecutorService executor = null;
+      Semaphore uploadSlots = new Semaphore(maxConcurrentUploads);
+      List<Future<?>> uploads = new ArrayList<>();
+      try {
+        BindFileBuffer buffer = new BindFileBuffer(compressData);
+        for (int rowIdx = 0; rowIdx < numRows; rowIdx++) {
+          encoder.writeRow(buffer, rowIdx);
+
+          if (buffer.size() >= inputStreamBufferSize && rowIdx < numRows - 1) {
+            if (executor == null) {
+              executor =
+                  SnowflakeUtil.createDefaultExecutorService(
+                      "bind-uploader-", maxConcurrentUploads);
+            }
+            // wait until an upload slot is free, so that the number of buffered files is bounded
+            acquireUploadSlot(uploadSlots, uploads);
+            BindFileBuffer fullBuffer = buffer;
+            String fileName = Integer.toString(++fileCount);
+            uploads.add(
+                executor.submit(
+                    () -> {
+                      try {
+                        uploadBuffer(fullBuffer, fileName);
+                      } finally {
+                        uploadSlots.release();
+                      }
+                      return null;
+                    }));
+            buffer = new BindFileBuffer(compressData);
+          }
         }
-        // concatenate all byte arrays into 1 and put into input stream
-        ByteBuffer bb = ByteBuffer.allocate(numBytes);
-        for (int i = startIndex; i < rowNum; i++) {
-          bb.put(bindingRows.get(i));
+
+        // the last file is uploaded by the calling thread while the others are completing
+        uploadBuffer(buffer, Integer.toString(++fileCount));
+        for (Future<?> upload : uploads) {
+          waitForUpload(upload);
         }
-        byte[] finalBytearray = bb.array();
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(finalBytearray)) {
-          // do the upload
-          String fileName = Integer.toString(++fileCount);
-          uploadStreamInternal(inputStream, fileName, compressData);
-          startIndex = rowNum;
-          numBytes = 0;
-        } catch (IOException ex) {
-          throw new BindException(
-              String.format(
-                  "Failure using inputstream to upload bind data. Message: %s", ex.getMessage()),
-              BindException.Type.SERIALIZATION);
+      } finally {
+        if (executor != null) {
+          executor.shutdownNow();
+        }
+      }
+    }
+  }
+
+  /**
+   * Wait for an upload slot, failing fast if one of the uploads in progress has failed.
+   *
+   * @param uploadSlots permits of the concurrent uploads
+   * @param uploads uploads submitted so far
+   * @throws BindException if an upload has failed or the thread is interrupted
+   * @throws SQLException if an upload has failed
+   */
+  private static void acquireUploadSlot(Semaphore uploadSlots, List<Future<?>> uploads)
+      throws BindException, SQLException {
+    try {
+      while (!uploadSlots.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+        for (Future<?> upload : uploads) {
+          if (upload.isDone()) {
+            waitForUpload(upload);
+          }
         }
       }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new BindException("Interrupted while uploading bind data", BindException.Type.UPLOAD);
+    }
+    for (Future<?> upload : uploads) {
+      if (upload.isDone()) {
+        waitForUpload(upload);
+      }
+    }
+  }
+
+  /**
+   * Wait for an upload to complete and rethrow its failure.
+   *
+   * @param upload the upload
+   * @throws BindException if the upload has failed or the thread is interrupted
+   * @throws SQLException if the upload has failed
+   */
+  private static void waitForUpload(Future<?> upload) throws BindException, SQLException {
+    try {
+      upload.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new BindException("Interrupted while uploading bind data", BindException.Type.UPLOAD);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof BindException) {
+        throw (BindException) cause;
+      } else if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new BindException(
+          String.format("Failure uploading bind data. Message: %s", cause.getMessage()),
+          BindException.Type.UPLOAD);
+    }
+  }
+
+  /**
+   * Upload the content of a bind file buffer.
+   *
+   * @param buffer the buffer
+   * @param fileName destination file name, without the compression extension
+   * @throws SQLException if any error occurs
+   * @throws BindException if there is an error when uploading bind values
+   */
+  private void uploadBuffer(BindFileBuffer buffer, String fileName)
+      throws SQLException, BindException {
+    try (InputStream inputStream = buffer.toInputStream()) {
+      if (buffer.isCompressed()) {
+        uploadStreamInternal(
+            inputStream, fileName + FileCompressionType.GZIP.getFileExtension(), true);
+      } else {
+        uploadStreamInternal(inputStream, fileName, false);
+      }
+    } catch (IOException ex) {
+      throw new BindException(
+          String.format(
+              "Failure using inputstream to upload bind data. Message: %s", ex.getMessage()),
+          BindException.Type.SERIALIZATION);
     }
   }
 
@@ -235,23 +262,16 @@ public class BindUploader implements Closeable {
    * Method to put data from a stream at a stage location. The data will be uploaded as one file. No
    * splitting is done in this method. Similar to uploadStreamInternal() in SnowflakeConnectionV1.
    *
-   * <p>Stream size must match the total size of data in the input stream unless compressData
-   * parameter is set to true.
-   *
    * <p>caller is responsible for passing the correct size for the data in the stream and releasing
    * the inputStream after the method is called.
    *
    * @param inputStream input stream from which the data will be uploaded
    * @param destFileName destination file name to use
-   * @param compressData whether compression is requested fore uploading data
+   * @param sourceCompressed whether the data in the stream is compressed with gzip
    * @throws SQLException raises if any error occurs
-   * @throws BindException if there is an error when uploading bind values
    */
   private void uploadStreamInternal(
-      InputStream inputStream, String destFileName, boolean compressData)
-      throws SQLException, BindException {
-
-    createStageIfNeeded();
+      InputStream inputStream, String destFileName, boolean sourceCompressed) throws SQLException {
     String stageName = stagePath;
     logger.debug(
         "upload data from stream: stageName={}" + ", destFileName={}", stageName, destFileName);
@@ -286,21 +306,27 @@ public class BindUploader implements Closeable {
 
     putCommand.append(" overwrite=true");
 
+    if (sourceCompressed) {
+      // the data is compressed already, the file transfer agent must not compress it again
+      putCommand.append(" source_compression=gzip");
+    }
+
     SFBaseFileTransferAgent transferAgent =
         session.getSfConnectionHandler().getFileTransferAgent(putCommand.toString(), stmt);
 
     transferAgent.setDestStagePath(stagePath);
     transferAgent.setSourceStream(inputStream);
     transferAgent.setDestFileNameForStreamSource(destFileName);
-    transferAgent.setCompressSourceFromStream(compressData);
+    transferAgent.setCompressSourceFromStream(false);
     transferAgent.execute();
 
     stmt.close();
   }
 
   /**
-   * Convert bind map to a list of values for each column Perform necessary type casts and invariant
-   * checks
+   * Convert bind map to a list of values for each column. Values are converted to their CSV
+   * representation when the rows are encoded, so that the converted values of all the rows are
+   * never held in memory at once.
    *
    * @param bindValues the bind map to convert
    * @return list of values for each column
@@ -320,45 +346,23 @@ public class BindUploader implements Closeable {
       }
 
       ParameterBindingDTO value = bindValues.get(key);
-      try {
-        String type = value.getType();
-        List<?> list = (List<?>) value.getValue();
-        List<String> convertedList = new ArrayList<>(list.size());
-        if ("TIMESTAMP_LTZ".equals(type) || "TIMESTAMP_NTZ".equals(type)) {
-          for (Object e : list) {
-            convertedList.add(synchronizedTimestampFormat((String) e, type));
-          }
-        } else if ("DATE".equals(type)) {
-          for (Object e : list) {
-            convertedList.add(synchronizedDateFormat((String) e));
-          }
-        } else if ("TIME".equals(type)) {
-          for (Object e : list) {
-            convertedList.add(synchronizedTimeFormat((String) e));
-          }
-        } else {
-          for (Object e : list) {
-            convertedList.add((String) e);
-          }
-        }
-        columns.add(i - 1, new ColumnTypeDataPair(type, convertedList));
-      } catch (ClassCastException ex) {
+      if (!(value.getValue() instanceof List)) {
         throw new BindException(
             "Value in binding DTO could not be cast to a list", BindException.Type.SERIALIZATION);
       }
+      columns.add(i - 1, new ColumnTypeDataPair(value.getType(), (List<?>) value.getValue()));
     }
     return columns;
   }
 
   /**
-   * Transpose a list of columns and their values to a list of rows in bytes instead of strings
+   * Check that the columns have binds and the same number of binds each
    *
-   * @param columns the list of columns to transpose
-   * @return list of rows
+   * @param columns the list of columns
+   * @return number of rows
    * @throws BindException if columns improperly formed
    */
-  private List<byte[]> buildRowsAsBytes(List<ColumnTypeDataPair> columns) throws BindException {
-    List<byte[]> rows = new ArrayList<>();
+  private int validateColumns(List<ColumnTypeDataPair> columns) throws BindException {
     int numColumns = columns.size();
     // columns should have binds
     if (columns.get(0).data.isEmpty()) {
@@ -377,35 +381,7 @@ public class BindUploader implements Closeable {
             BindException.Type.SERIALIZATION);
       }
     }
-
-    for (int rowIdx = 0; rowIdx < numRows; rowIdx++) {
-      String[] row = new String[numColumns];
-      for (int colIdx = 0; colIdx < numColumns; colIdx++) {
-        row[colIdx] = columns.get(colIdx).data.get(rowIdx);
-      }
-      rows.add(createCSVRecord(row));
-    }
-
-    return rows;
-  }
-
-  /**
-   * Serialize row to a csv Duplicated from StreamLoader class
-   *
-   * @param data the row to create a csv record from
-   * @return serialized csv for row
-   */
-  private byte[] createCSVRecord(String[] data) {
-    StringBuilder sb = new StringBuilder(1024);
-
-    for (int i = 0; i < data.length; ++i) {
-      if (i > 0) {
-        sb.append(',');
-      }
-      sb.append(SnowflakeType.escapeForCSV(data[i]));
-    }
-    sb.append('\n');
-    return sb.toString().getBytes(UTF_8);
+    return numRows;
   }
 
   /**
@@ -459,6 +435,16 @@ public class BindUploader implements Closeable {
     this.inputStreamBufferSize = bufferSize;
   }
 
+  /**
+   * Set the maximum number of bind files uploaded at the same time. Each file being uploaded holds
+   * a buffer of up to the input stream buffer size.
+   *
+   * @param maxConcurrentUploads number of files, at least 1
+   */
+  public void setMaxConcurrentUploads(int maxConcurrentUploads) {
+    this.maxConcurrentUploads = Math.max(1, maxConcurrentUploads);
+  }
+
   /**
    * Return the number of files that binding data is split into on internal stage. Used for testing
    * purposes.
@@ -508,4 +494,59 @@ public class BindUploader implements Closeable {
     ParameterBindingDTO bindSample = bindValues.values().iterator().next();
     return bindSample.getValue() instanceof List;
   }
+
+  /**
+   * Return whether the bind map has values read from streams, which are uploaded to the stage as a
+   * single-row array bind
+   *
+   * @param bindValues the bind map
+   * @return whether a value is a {@link StreamBindValue}
+   */
+  public static boolean hasStreamBinds(Map<String, ParameterBindingDTO> bindValues) {
+    if (bindValues == null) {
+      return false;
+    }
+    for (ParameterBindingDTO binding : bindValues.values()) {
+      Object value = binding.getValue();
+      if (value instanceof StreamBindValue
+          || (value instanceof List && hasStreamValue((List<?>) value))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Convert a bind map to an array bind of a single row, so that it can be uploaded to the stage
+   *
+   * @param bindValues the bind map
+   * @return the array bind
+   */
+  public static Map<String, ParameterBindingDTO> toSingleRowArrayBind(
+      Map<String, ParameterBindingDTO> bindValues) {
+    if (isArrayBind(bindValues)) {
+      return bindValues;
+    }
+    Map<String, ParameterBindingDTO> arrayBind = new HashMap<>(bindValues.size());
+    for (Map.Entry<String, ParameterBindingDTO> binding : bindValues.entrySet()) {
+      ParameterBindingDTO value = binding.getValue();
+      arrayBind.put(
+          binding.getKey(),
+          new ParameterBindingDTO(
+              value.getFmt(),
+              value.getType(),
+              Collections.singletonList(value.getValue()),
+              value.getSchema()));
+    }
+    return arrayBind;
+  }
+
+  static boolean hasStreamValue(List<?> values) {
+    for (Object value : values) {
+      if (value instanceof StreamBindValue) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
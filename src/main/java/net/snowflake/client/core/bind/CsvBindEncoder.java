@@ -0,0 +1,380 @@
+package net.snowflake.client.core.bind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import net.snowflake.client.core.StreamBindValue;
+import net.snowflake.client.core.bind.BindUploader.ColumnTypeDataPair;
+import net.snowflake.client.jdbc.SnowflakeType;
+import net.snowflake.client.util.SFPair;
+
+/**
+ * Encoder of array binds into bind files in the CSV format.
+ *
+ * <p>The rows are encoded in chunks of {@link #CHUNK_ROWS} rows. For large binds, the chunks
+ * following the one being written to a file are encoded in parallel in the common fork-join pool,
+ * at most twice as many chunks as the pool has threads. The formatting of the values is stateless
+ * and lock-free: dates, times and timestamps are written digit by digit, and the thread-safe
+ * java.time formatters are only used for the years that need a sign or more than four digits.
+ *
+ * <p>Binds holding {@link StreamBindValue}s are written one row at a time by the calling thread,
+ * the streamed values being copied straight into the file.
+ */
+class CsvBindEncoder {
+  static final int CHUNK_ROWS = 1024;
+
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+      new DateTimeFormatterBuilder()
+          .append(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS "))
+          .appendOffset("+HH:MM", "Z")
+          .toFormatter();
+  private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  /** Encoded rows of a chunk */
+  static final class EncodedRows {
+    private final int firstRow;
+    private final byte[] bytes;
+    // end offset in bytes of each row
+    private final int[] rowEnds;
+
+    EncodedRows(int firstRow, byte[] bytes, int[] rowEnds) {
+      this.firstRow = firstRow;
+      this.bytes = bytes;
+      this.rowEnds = rowEnds;
+    }
+
+    boolean contains(int row) {
+      return row >= firstRow && row < firstRow + rowEnds.length;
+    }
+  }
+
+  private final List<ColumnTypeDataPair> columns;
+
+  private final int numRows;
+
+  // whether some values are read from streams
+  private final boolean hasStreamValues;
+
+  // number of chunks encoded ahead in parallel, 0 to encode the chunks in the calling thread
+  private final int parallelChunks;
+
+  private final Deque<CompletableFuture<EncodedRows>> pendingChunks = new ArrayDeque<>();
+
+  // first row of the next chunk to encode
+  private int nextChunkRow = 0;
+
+  private EncodedRows currentChunk;
+
+  /**
+   * @param columns values of the array bind, which must all have the same number of rows
+   * @param numRows number of rows
+   */
+  CsvBindEncoder(List<ColumnTypeDataPair> columns, int numRows) {
+    this.columns = columns;
+    this.numRows = numRows;
+    this.hasStreamValues =
+        columns.stream().anyMatch(column -> BindUploader.hasStreamValue(column.data));
+    int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    this.parallelChunks =
+        !hasStreamValues && numRows > 2 * CHUNK_ROWS && parallelism > 1 ? 2 * parallelism : 0;
+  }
+
+  /**
+   * Append the CSV record of a row to a bind file. The rows must be written in order.
+   *
+   * @param buffer the file
+   * @param row index of the row
+   * @throws BindException if the row cannot be encoded
+   */
+  void writeRow(BindFileBuffer buffer, int row) throws BindException {
+    if (hasStreamValues) {
+      writeRowWithStreams(buffer, row);
+      return;
+    }
+    EncodedRows chunk = getChunk(row);
+    int index = row - chunk.firstRow;
+    int start = index == 0 ? 0 : chunk.rowEnds[index - 1];
+    buffer.write(chunk.bytes, start, chunk.rowEnds[index] - start);
+  }
+
+  /**
+   * Write a row holding values read from streams directly to the file.
+   *
+   * @param buffer the file
+   * @param row index of the row
+   * @throws BindException if a value cannot be converted or read
+   */
+  private void writeRowWithStreams(BindFileBuffer buffer, int row) throws BindException {
+    OutputStream out = buffer.getOutputStream();
+    try {
+      for (int colIdx = 0; colIdx < columns.size(); colIdx++) {
+        if (colIdx > 0) {
+          out.write(',');
+        }
+        ColumnTypeDataPair column = columns.get(colIdx);
+        Object value = column.data.get(row);
+        if (value instanceof StreamBindValue) {
+          ((StreamBindValue) value).writeCsvField(out);
+        } else {
+          out.write(SnowflakeType.escapeForCSV(convertValue(column, colIdx, row)).getBytes(UTF_8));
+        }
+      }
+      out.write('\n');
+    } catch (IOException ex) {
+      throw new BindException(
+          String.format("Failure reading the stream of a bind value. Message: %s", ex.getMessage()),
+          BindException.Type.SERIALIZATION);
+    }
+  }
+
+  /**
+   * Get the encoded chunk of a row. The rows must be requested in order.
+   *
+   * @param row index of the row
+   * @return the chunk containing the row
+   * @throws BindException if the rows cannot be encoded
+   */
+  private EncodedRows getChunk(int row) throws BindException {
+    while (currentChunk == null || !currentChunk.contains(row)) {
+      if (parallelChunks == 0) {
+        currentChunk =
+            encodeRows(columns, nextChunkRow, Math.min(numRows, nextChunkRow + CHUNK_ROWS));
+        nextChunkRow += currentChunk.rowEnds.length;
+        continue;
+      }
+      while (pendingChunks.size() < parallelChunks && nextChunkRow < numRows) {
+        int fromRow = nextChunkRow;
+        int toRow = Math.min(numRows, fromRow + CHUNK_ROWS);
+        pendingChunks.add(
+            CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    return encodeRows(columns, fromRow, toRow);
+                  } catch (BindException ex) {
+                    throw new CompletionException(ex);
+                  }
+                },
+                ForkJoinPool.commonPool()));
+        nextChunkRow = toRow;
+      }
+      try {
+        currentChunk = pendingChunks.remove().join();
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof BindException) {
+          throw (BindException) ex.getCause();
+        }
+        throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+      }
+    }
+    return currentChunk;
+  }
+
+  /**
+   * Encode a range of rows to CSV records.
+   *
+   * @param columns values of the array bind
+   * @param fromRow index of the first row, inclusive
+   * @param toRow index of the last row, exclusive
+   * @return the encoded rows
+   * @throws BindException if a value is not a string
+   */
+  static EncodedRows encodeRows(List<ColumnTypeDataPair> columns, int fromRow, int toRow)
+      throws BindException {
+    StringBuilder sb = new StringBuilder(1024);
+    byte[] bytes = new byte[(toRow - fromRow) * 64];
+    int[] rowEnds = new int[toRow - fromRow];
+    int byteCount = 0;
+    for (int row = fromRow; row < toRow; row++) {
+      sb.setLength(0);
+      for (int colIdx = 0; colIdx < columns.size(); colIdx++) {
+        if (colIdx > 0) {
+          sb.append(',');
+        }
+        sb.append(SnowflakeType.escapeForCSV(convertValue(columns.get(colIdx), colIdx, row)));
+      }
+      sb.append('\n');
+      byte[] record = sb.toString().getBytes(UTF_8);
+      if (byteCount + record.length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + record.length));
+      }
+      System.arraycopy(record, 0, bytes, byteCount, record.length);
+      byteCount += record.length;
+      rowEnds[row - fromRow] = byteCount;
+    }
+    return new EncodedRows(fromRow, bytes, rowEnds);
+  }
+
+  /**
+   * Convert a bind value to the string written to the CSV file
+   *
+   * @param column the column of the value
+   * @param colIdx index of the column
+   * @param rowIdx index of the row
+   * @return converted value
+   * @throws BindException if the value is not a string
+   */
+  static String convertValue(ColumnTypeDataPair column, int colIdx, int rowIdx)
+      throws BindException {
+    Object element = column.data.get(rowIdx);
+    if (element != null && !(element instanceof String)) {
+      throw new BindException(
+          String.format(
+              "Value of bind %d in row %d is not a String but a %s",
+              colIdx + 1, rowIdx + 1, element.getClass().getName()),
+          BindException.Type.SERIALIZATION);
+    }
+    String value = (String) element;
+    if ("TIMESTAMP_LTZ".equals(column.type) || "TIMESTAMP_NTZ".equals(column.type)) {
+      return formatTimestamp(value, column.type);
+    } else if ("DATE".equals(column.type)) {
+      return formatDate(value);
+    } else if ("TIME".equals(column.type)) {
+      return formatTime(value);
+    }
+    return value;
+  }
+
+  static String formatDate(String o) {
+    if (o == null) {
+      return null;
+    }
+    long millis = Long.parseLong(o);
+    LocalDate localDate = LocalDate.ofEpochDay(Math.floorDiv(millis, 86400000L));
+    if (!hasFourDigitYear(localDate.getYear())) {
+      return localDate.format(DATE_FORMATTER);
+    }
+    StringBuilder sb = new StringBuilder(10);
+    appendDate(sb, localDate);
+    return sb.toString();
+  }
+
+  static String formatTime(String o) {
+    if (o == null) {
+      return null;
+    }
+    SFPair<Long, Integer> times = getNanosAndSecs(o, false);
+    long sec = times.left;
+    int nano = times.right;
+
+    long nanosPerDay = 86400L * 1000000000L;
+    long nanoOfDay = Math.floorMod(Math.floorMod(sec, 86400L) * 1000000000L + nano, nanosPerDay);
+    LocalTime time = LocalTime.ofNanoOfDay(nanoOfDay);
+    StringBuilder sb = new StringBuilder(18);
+    appendTime(sb, time);
+    return sb.toString();
+  }
+
+  static String formatTimestamp(String o, String type) {
+    if (o == null) {
+      return null;
+    }
+
+    boolean isNegative = o.length() > 0 && o.charAt(0) == '-';
+    SFPair<Long, Integer> times = getNanosAndSecs(o, isNegative);
+    long sec = times.left;
+    int nano = times.right;
+
+    // For timestamp_ntz, use UTC timezone. For timestamp_ltz, use the local timezone to minimise
+    // the gap.
+    ZoneId zone = "TIMESTAMP_LTZ".equals(type) ? ZoneId.systemDefault() : ZoneOffset.UTC;
+    Instant instant = Instant.ofEpochSecond(sec, nano);
+    ZoneOffset offset = zone.getRules().getOffset(instant);
+    LocalDateTime dateTime = LocalDateTime.ofEpochSecond(sec, nano, offset);
+    if (!hasFourDigitYear(dateTime.getYear()) || offset.getTotalSeconds() % 60 != 0) {
+      return ZonedDateTime.ofInstant(instant, zone).format(TIMESTAMP_FORMATTER);
+    }
+
+    StringBuilder sb = new StringBuilder(36);
+    appendDate(sb, dateTime.toLocalDate());
+    sb.append(' ');
+    appendTime(sb, dateTime.toLocalTime());
+    sb.append(' ');
+    int offsetSeconds = offset.getTotalSeconds();
+    if (offsetSeconds == 0) {
+      sb.append('Z');
+    } else {
+      sb.append(offsetSeconds < 0 ? '-' : '+');
+      int offsetMinutes = Math.abs(offsetSeconds) / 60;
+      appendDigits(sb, offsetMinutes / 60, 2);
+      sb.append(':');
+      appendDigits(sb, offsetMinutes % 60, 2);
+    }
+    return sb.toString();
+  }
+
+  private static SFPair<Long, Integer> getNanosAndSecs(String o, boolean isNegative) {
+    String inpString = o;
+    if (isNegative) {
+      inpString = o.substring(1);
+    }
+
+    long sec;
+    int nano;
+    if (inpString.length() < 10) {
+      sec = 0;
+      nano = Integer.parseInt(inpString);
+    } else {
+      sec = Long.parseLong(inpString.substring(0, inpString.length() - 9));
+      nano = Integer.parseInt(inpString.substring(inpString.length() - 9));
+    }
+    if (isNegative) {
+      // adjust the timestamp
+      sec = -1 * sec;
+      if (nano > 0) {
+        nano = 1000000000 - nano;
+        sec--;
+      }
+    }
+    return SFPair.of(sec, nano);
+  }
+
+  // the pattern yyyy prints years before year 1 or after year 9999 differently
+  private static boolean hasFourDigitYear(int year) {
+    return year >= 1 && year <= 9999;
+  }
+
+  private static void appendDate(StringBuilder sb, LocalDate date) {
+    appendDigits(sb, date.getYear(), 4);
+    sb.append('-');
+    appendDigits(sb, date.getMonthValue(), 2);
+    sb.append('-');
+    appendDigits(sb, date.getDayOfMonth(), 2);
+  }
+
+  private static void appendTime(StringBuilder sb, LocalTime time) {
+    appendDigits(sb, time.getHour(), 2);
+    sb.append(':');
+    appendDigits(sb, time.getMinute(), 2);
+    sb.append(':');
+    appendDigits(sb, time.getSecond(), 2);
+    sb.append('.');
+    appendDigits(sb, time.getNano(), 9);
+  }
+
+  // append a non-negative value, padded with zeros to the given number of digits
+  private static void appendDigits(StringBuilder sb, int value, int digits) {
+    int end = sb.length() + digits;
+    sb.setLength(end);
+    for (int i = end - 1; i >= end - digits; i--) {
+      sb.setCharAt(i, (char) ('0' + value % 10));
+      value /= 10;
+    }
+  }
+}
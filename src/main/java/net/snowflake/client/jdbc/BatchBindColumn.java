@@ -0,0 +1,223 @@
+package net.snowflake.client.jdbc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import net.snowflake.client.core.ParameterBindingDTO;
+
+/**
+ * Values of a bind variable in a batch of an array bind statement.
+ *
+ * <p>The values are stored in growable primitive columns instead of a String per row: integral
+ * values in a long array, double values in a double array and any other value as UTF-8 bytes in a
+ * single array with the end offset of each value. Null values are tracked in a bitmap. The values
+ * are converted to Strings only when they are read, when the batch is serialized at execution time.
+ *
+ * <p>A column holds a single kind of value. When a value of another kind is added, e.g. a String
+ * after long values, the values added so far are converted to UTF-8 bytes.
+ */
+final class BatchBindColumn extends AbstractList<String> {
+  private enum Kind {
+    // only null values so far
+    NONE,
+    LONG,
+    DOUBLE,
+    BYTES
+  }
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private Kind kind = Kind.NONE;
+
+  private int size = 0;
+
+  private final BitSet nulls = new BitSet();
+
+  private long[] longs;
+
+  private double[] doubles;
+
+  private byte[] bytes;
+
+  // number of bytes used in the bytes array
+  private int byteCount = 0;
+
+  // end offset in the bytes array of each value
+  private int[] offsets;
+
+  /**
+   * Add the value of a binding to the column.
+   *
+   * @param binding binding of the value
+   */
+  void add(ParameterBindingDTO binding) {
+    if (binding instanceof PrimitiveParameterBindingDTO) {
+      PrimitiveParameterBindingDTO primitive = (PrimitiveParameterBindingDTO) binding;
+      if (primitive.isDouble()) {
+        addDouble(primitive.getDoubleValue());
+      } else {
+        addLong(primitive.getLongValue());
+      }
+    } else {
+      add((String) binding.getValue());
+    }
+  }
+
+  void addLong(long value) {
+    if (switchTo(Kind.LONG)) {
+      ensureCapacity();
+      longs[size++] = value;
+    } else {
+      add(String.valueOf(value));
+    }
+  }
+
+  void addDouble(double value) {
+    if (switchTo(Kind.DOUBLE)) {
+      ensureCapacity();
+      doubles[size++] = value;
+    } else {
+      add(String.valueOf(value));
+    }
+  }
+
+  @Override
+  public boolean add(String value) {
+    if (value == null) {
+      ensureCapacity();
+      if (kind == Kind.BYTES) {
+        // the offset of a null value is the end of the previous value
+        offsets[size] = byteCount;
+      }
+      nulls.set(size++);
+      return true;
+    }
+    switchTo(Kind.BYTES);
+    ensureCapacity();
+    byte[] valueBytes = value.getBytes(UTF_8);
+    if (byteCount + valueBytes.length > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + valueBytes.length));
+    }
+    System.arraycopy(valueBytes, 0, bytes, byteCount, valueBytes.length);
+    byteCount += valueBytes.length;
+    offsets[size++] = byteCount;
+    return true;
+  }
+
+  @Override
+  public String get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    if (nulls.get(index)) {
+      return null;
+    }
+    switch (kind) {
+      case LONG:
+        return String.valueOf(longs[index]);
+      case DOUBLE:
+        return String.valueOf(doubles[index]);
+      default:
+        int start = index == 0 ? 0 : offsets[index - 1];
+        return new String(bytes, start, offsets[index] - start, UTF_8);
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Make the column store values of the given kind, if it can.
+   *
+   * @param newKind kind of the value to add
+   * @return true if the column stores values of the kind, false if the value must be added as UTF-8
+   *     bytes
+   */
+  private boolean switchTo(Kind newKind) {
+    if (kind == newKind) {
+      return true;
+    }
+    if (kind == Kind.NONE) {
+      kind = newKind;
+      allocate(Math.max(INITIAL_CAPACITY, size));
+      return true;
+    }
+    if (kind != Kind.BYTES) {
+      convertToBytes();
+    }
+    return newKind == Kind.BYTES;
+  }
+
+  private void allocate(int capacity) {
+    switch (kind) {
+      case LONG:
+        longs = new long[capacity];
+        break;
+      case DOUBLE:
+        doubles = new double[capacity];
+        break;
+      default:
+        offsets = new int[capacity];
+        bytes = new byte[capacity * 8];
+        break;
+    }
+  }
+
+  private void convertToBytes() {
+    Kind previousKind = kind;
+    long[] previousLongs = longs;
+    double[] previousDoubles = doubles;
+    int previousSize = size;
+    kind = Kind.BYTES;
+    longs = null;
+    doubles = null;
+    allocate(Math.max(INITIAL_CAPACITY, previousSize));
+    size = 0;
+    for (int i = 0; i < previousSize; i++) {
+      if (nulls.get(i)) {
+        add((String) null);
+      } else if (previousKind == Kind.LONG) {
+        add(String.valueOf(previousLongs[i]));
+      } else {
+        add(String.valueOf(previousDoubles[i]));
+      }
+    }
+  }
+
+  private void ensureCapacity() {
+    int capacity;
+    switch (kind) {
+      case NONE:
+        // only the null bitmap is used
+        return;
+      case LONG:
+        capacity = longs.length;
+        break;
+      case DOUBLE:
+        capacity = doubles.length;
+        break;
+      default:
+        capacity = offsets.length;
+        break;
+    }
+    if (size < capacity) {
+      return;
+    }
+    int newCapacity = capacity + (capacity >> 1);
+    switch (kind) {
+      case LONG:
+        longs = Arrays.copyOf(longs, newCapacity);
+        break;
+      case DOUBLE:
+        doubles = Arrays.copyOf(doubles, newCapacity);
+        break;
+      default:
+        offsets = Arrays.copyOf(offsets, newCapacity);
+        break;
+    }
+  }
+}
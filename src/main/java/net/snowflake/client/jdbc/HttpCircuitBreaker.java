@@ -0,0 +1,229 @@
+package net.snowflake.client.jdbc;
+
+import static net.snowflake.client.jdbc.SnowflakeUtil.systemGetProperty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Driver wide circuit breakers of the hosts called by {@link RestRequest}.
+ *
+ * <p>After {@value #FAILURE_THRESHOLD_PROPERTY} consecutive failed attempts to a host, the circuit
+ * of the host opens and the requests to it fail right away. Once {@value #OPEN_TIME_PROPERTY}
+ * milliseconds have passed, the circuit is half open: a single request is let through as a probe.
+ * The circuit closes again if it succeeds, or stays open for another period if it fails. A failed
+ * attempt is an I/O error, an HTTP 5xx or an HTTP 429 response.
+ *
+ * <p>The circuit breakers are disabled unless the {@value #FAILURE_THRESHOLD_PROPERTY} system
+ * property is set.
+ */
+@SnowflakeJdbcInternalApi
+public class HttpCircuitBreaker {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(HttpCircuitBreaker.class);
+
+  /** Number of consecutive failures opening the circuit of a host */
+  public static final String FAILURE_THRESHOLD_PROPERTY =
+      "net.snowflake.jdbc.circuit_breaker_failure_threshold";
+
+  /** Time in milliseconds the circuit stays open before a probe is let through */
+  public static final String OPEN_TIME_PROPERTY =
+      "net.snowflake.jdbc.circuit_breaker_open_time_in_millis";
+
+  private static final long DEFAULT_OPEN_TIME_IN_MILLIS = 30000;
+
+  private static final HttpCircuitBreaker singleton = new HttpCircuitBreaker();
+
+  /** State of the circuit of a host */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private volatile int failureThreshold;
+  private volatile long openTimeInMillis;
+
+  private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+  private final AtomicLong openedCount = new AtomicLong();
+  private final AtomicLong rejectedRequestCount = new AtomicLong();
+
+  // Method to get the circuit breaker instance
+  public static HttpCircuitBreaker getInstance() {
+    return singleton;
+  }
+
+  /** private constructor so that no one can try to create one */
+  private HttpCircuitBreaker() {
+    configure(
+        (int) parseProperty(FAILURE_THRESHOLD_PROPERTY, 0),
+        parseProperty(OPEN_TIME_PROPERTY, DEFAULT_OPEN_TIME_IN_MILLIS));
+  }
+
+  /**
+   * Change the settings of the circuit breakers and close all the circuits.
+   *
+   * @param failureThreshold number of consecutive failures opening a circuit, 0 disables the
+   *     circuit breakers
+   * @param openTimeInMillis time the circuit stays open before a probe is let through
+   */
+  public void configure(int failureThreshold, long openTimeInMillis) {
+    this.failureThreshold = Math.max(0, failureThreshold);
+    this.openTimeInMillis = Math.max(0, openTimeInMillis);
+    circuits.clear();
+    logger.debug(
+        "Circuit breaker failure threshold: {}, open time: {} ms",
+        this.failureThreshold,
+        this.openTimeInMillis);
+  }
+
+  /**
+   * @return true if the circuit breakers are enabled
+   */
+  public boolean isEnabled() {
+    return failureThreshold > 0;
+  }
+
+  /**
+   * Check whether a request can be sent to a host.
+   *
+   * @param host host of the request, may be null
+   * @return false if the circuit of the host is open and the request must fail right away
+   */
+  boolean allowRequest(String host) {
+    if (!isEnabled() || host == null) {
+      return true;
+    }
+    HostCircuit circuit = circuits.get(host);
+    if (circuit == null || circuit.allowRequest(openTimeInMillis)) {
+      return true;
+    }
+    rejectedRequestCount.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Record the success of an attempt to a host, which closes its circuit.
+   *
+   * @param host host of the request, may be null
+   */
+  void recordSuccess(String host) {
+    if (!isEnabled() || host == null) {
+      return;
+    }
+    HostCircuit circuit = circuits.get(host);
+    if (circuit != null) {
+      circuit.recordSuccess();
+    }
+  }
+
+  /**
+   * Record the failure of an attempt to a host.
+   *
+   * @param host host of the request, may be null
+   */
+  void recordFailure(String host) {
+    if (!isEnabled() || host == null) {
+      return;
+    }
+    if (circuits.computeIfAbsent(host, h -> new HostCircuit()).recordFailure(failureThreshold)) {
+      openedCount.incrementAndGet();
+      logger.warn(
+          "Circuit breaker opened for host {}, requests will fail for {} ms",
+          host,
+          openTimeInMillis);
+    }
+  }
+
+  /**
+   * @param host host name
+   * @return state of the circuit of the host
+   */
+  public State getState(String host) {
+    HostCircuit circuit = circuits.get(host);
+    return circuit == null ? State.CLOSED : circuit.getState();
+  }
+
+  /**
+   * @return total number of times a circuit opened
+   */
+  public long getOpenedCount() {
+    return openedCount.get();
+  }
+
+  /**
+   * @return total number of requests failed right away because their circuit was open
+   */
+  public long getRejectedRequestCount() {
+    return rejectedRequestCount.get();
+  }
+
+  /** Circuit of one host */
+  private static class HostCircuit {
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private long probeStartedAt = 0;
+
+    private synchronized State getState() {
+      return state;
+    }
+
+    private synchronized boolean allowRequest(long openTimeInMillis) {
+      long now = System.currentTimeMillis();
+      switch (state) {
+        case OPEN:
+          if (now - openedAt < openTimeInMillis) {
+            return false;
+          }
+          state = State.HALF_OPEN;
+          probeStartedAt = now;
+          return true;
+        case HALF_OPEN:
+          // a single probe at a time, a new one is allowed if the last one never completed
+          if (now - probeStartedAt < openTimeInMillis) {
+            return false;
+          }
+          probeStartedAt = now;
+          return true;
+        default:
+          return true;
+      }
+    }
+
+    private synchronized void recordSuccess() {
+      state = State.CLOSED;
+      consecutiveFailures = 0;
+    }
+
+    /**
+     * @return true if the circuit opened
+     */
+    private synchronized boolean recordFailure(int failureThreshold) {
+      consecutiveFailures++;
+      if (state == State.HALF_OPEN
+          || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static long parseProperty(String name, long defaultValue) {
+    String value = systemGetProperty(name);
+    if (value != null) {
+      try {
+        return Long.parseLong(value);
+      } catch (NumberFormatException ex) {
+        logger.warn("Failed to parse the system parameter {} with value {}", name, value);
+      }
+    }
+    return defaultValue;
+  }
+}
@@ -0,0 +1,163 @@
+package net.snowflake.client.jdbc;
+
+import static net.snowflake.client.jdbc.SnowflakeUtil.systemGetProperty;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Driver wide budget limiting the number of HTTP retries made by {@link RestRequest}.
+ *
+ * <p>The budget is a token bucket: every request adds a fraction of a token, every retry takes a
+ * whole one, so that retries are at most about {@value #RETRY_BUDGET_RATIO_PROPERTY} of the
+ * requests. The bucket is also refilled over time so that a driver sending few requests can still
+ * retry a few of them, and holds at most {@value #RETRY_BUDGET_MAX_RETRIES_PROPERTY} retries. When
+ * the bucket is empty, requests fail with their last error instead of being retried, which avoids
+ * amplifying the load on a service which is already failing.
+ *
+ * <p>The budget is disabled unless the {@value #RETRY_BUDGET_RATIO_PROPERTY} system property is
+ * set.
+ */
+@SnowflakeJdbcInternalApi
+public class HttpRetryBudget {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(HttpRetryBudget.class);
+
+  /** Maximum ratio of retries to requests, for instance 0.1 for 10% */
+  public static final String RETRY_BUDGET_RATIO_PROPERTY = "net.snowflake.jdbc.retry_budget_ratio";
+
+  /** Number of retries always allowed per second, whatever the number of requests */
+  public static final String RETRY_BUDGET_MIN_RETRIES_PER_SECOND_PROPERTY =
+      "net.snowflake.jdbc.retry_budget_min_retries_per_second";
+
+  /** Maximum number of retries made in a burst after a quiet period */
+  public static final String RETRY_BUDGET_MAX_RETRIES_PROPERTY =
+      "net.snowflake.jdbc.retry_budget_max_retries";
+
+  private static final double DEFAULT_MIN_RETRIES_PER_SECOND = 1;
+
+  private static final double DEFAULT_MAX_RETRIES = 100;
+
+  private static final HttpRetryBudget singleton = new HttpRetryBudget();
+
+  private double ratio;
+  private double minRetriesPerSecond;
+  private double maxBalance;
+  private double balance;
+  private long lastRefillNanos;
+
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong retryCount = new AtomicLong();
+  private final AtomicLong rejectedRetryCount = new AtomicLong();
+
+  // Method to get the budget instance
+  public static HttpRetryBudget getInstance() {
+    return singleton;
+  }
+
+  /** private constructor so that no one can try to create one */
+  private HttpRetryBudget() {
+    configure(
+        parseProperty(RETRY_BUDGET_RATIO_PROPERTY, 0),
+        parseProperty(RETRY_BUDGET_MIN_RETRIES_PER_SECOND_PROPERTY, DEFAULT_MIN_RETRIES_PER_SECOND),
+        parseProperty(RETRY_BUDGET_MAX_RETRIES_PROPERTY, DEFAULT_MAX_RETRIES));
+  }
+
+  /**
+   * Change the settings of the budget and refill it.
+   *
+   * @param ratio maximum ratio of retries to requests, 0 disables the budget
+   * @param minRetriesPerSecond number of retries always allowed per second
+   * @param maxRetries maximum number of retries made in a burst
+   */
+  public synchronized void configure(double ratio, double minRetriesPerSecond, double maxRetries) {
+    this.ratio = Math.max(0, ratio);
+    this.minRetriesPerSecond = Math.max(0, minRetriesPerSecond);
+    this.maxBalance = Math.max(1, maxRetries);
+    this.balance = this.maxBalance;
+    this.lastRefillNanos = System.nanoTime();
+    logger.debug(
+        "Retry budget ratio: {}, min retries per second: {}, max retries: {}",
+        this.ratio,
+        this.minRetriesPerSecond,
+        this.maxBalance);
+  }
+
+  /**
+   * @return true if retries are limited by the budget
+   */
+  public synchronized boolean isEnabled() {
+    return ratio > 0;
+  }
+
+  /** Record a new request, which adds to the budget. */
+  synchronized void onRequest() {
+    requestCount.incrementAndGet();
+    if (ratio > 0) {
+      balance = Math.min(maxBalance, balance + ratio);
+    }
+  }
+
+  /**
+   * Take a retry from the budget.
+   *
+   * @return true if the request can be retried, false if the budget is exhausted
+   */
+  synchronized boolean tryAcquireRetry() {
+    if (ratio > 0) {
+      long now = System.nanoTime();
+      double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+      balance = Math.min(maxBalance, balance + elapsedSeconds * minRetriesPerSecond);
+      lastRefillNanos = now;
+      if (balance < 1) {
+        rejectedRetryCount.incrementAndGet();
+        return false;
+      }
+      balance -= 1;
+    }
+    retryCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * @return number of retries currently available
+   */
+  public synchronized double getBalance() {
+    return balance;
+  }
+
+  /**
+   * @return total number of requests
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * @return total number of retries
+   */
+  public long getRetryCount() {
+    return retryCount.get();
+  }
+
+  /**
+   * @return total number of retries not made because the budget was exhausted
+   */
+  public long getRejectedRetryCount() {
+    return rejectedRetryCount.get();
+  }
+
+  private static double parseProperty(String name, double defaultValue) {
+    String value = systemGetProperty(name);
+    if (value != null) {
+      try {
+        return Double.parseDouble(value);
+      } catch (NumberFormatException ex) {
+        logger.warn("Failed to parse the system parameter {} with value {}", name, value);
+      }
+    }
+    return defaultValue;
+  }
+}
@@ -0,0 +1,216 @@
+package net.snowflake.client.jdbc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.snowflake.client.core.ParameterBindingDTO;
+
+/**
+ * Rewriter of a single-row INSERT statement with positional binds, e.g. {@code INSERT INTO t(a, b)
+ * VALUES (?, ?)}, into a multi-row INSERT statement executing several rows of a batch at once, e.g.
+ * {@code INSERT INTO t(a, b) VALUES (?, ?), (?, ?)}.
+ *
+ * <p>Only statements whose row of values is the last clause and holds all the binds of the
+ * statement are rewritten, so that the binds of the rows can simply be numbered one after the
+ * other.
+ */
+final class MultiRowInsertRewriter {
+  // maximum number of rows of a VALUES clause
+  static final int MAX_ROWS = 16384;
+
+  // statement up to the row of values
+  private final String prefix;
+
+  // row of values, e.g. "(?, ?)"
+  private final String row;
+
+  private final int numParams;
+
+  private MultiRowInsertRewriter(String prefix, String row, int numParams) {
+    this.prefix = prefix;
+    this.row = row;
+    this.numParams = numParams;
+  }
+
+  /**
+   * Parse a statement.
+   *
+   * @param sql the statement
+   * @return rewriter of the statement, or null if it isn't a single-row INSERT statement that can
+   *     be rewritten
+   */
+  static MultiRowInsertRewriter parse(String sql) {
+    // dollar-quoted strings aren't worth parsing
+    if (sql == null || sql.contains("$$")) {
+      return null;
+    }
+    String statement = sql.trim();
+    if (statement.endsWith(";")) {
+      statement = statement.substring(0, statement.length() - 1).trim();
+    }
+    if (!statement.toUpperCase(Locale.ROOT).matches("INSERT\\s+INTO\\s[\\s\\S]*")) {
+      return null;
+    }
+
+    int valuesIdx = -1;
+    int depth = 0;
+    int idx = 0;
+    while (idx < statement.length() && valuesIdx < 0) {
+      char c = statement.charAt(idx);
+      if (c == '\'' || c == '"') {
+        idx = skipQuoted(statement, idx);
+        if (idx < 0) {
+          return null;
+        }
+        continue;
+      }
+      if (c == '?' || isCommentStart(statement, idx)) {
+        // binds must all be in the row of values, comments aren't worth parsing
+        return null;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if (depth == 0 && isKeyword(statement, idx, "VALUES")) {
+        valuesIdx = idx;
+      }
+      idx++;
+    }
+    if (valuesIdx < 0) {
+      return null;
+    }
+
+    int rowStart = valuesIdx + "VALUES".length();
+    while (rowStart < statement.length() && Character.isWhitespace(statement.charAt(rowStart))) {
+      rowStart++;
+    }
+    if (rowStart >= statement.length() || statement.charAt(rowStart) != '(') {
+      return null;
+    }
+
+    int numParams = 0;
+    depth = 0;
+    idx = rowStart;
+    while (idx < statement.length()) {
+      char c = statement.charAt(idx);
+      if (c == '\'' || c == '"') {
+        idx = skipQuoted(statement, idx);
+        if (idx < 0) {
+          return null;
+        }
+        continue;
+      }
+      if (isCommentStart(statement, idx)) {
+        return null;
+      } else if (c == '?') {
+        numParams++;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        break;
+      }
+      idx++;
+    }
+    // the row of values must end the statement
+    if (depth != 0 || idx != statement.length() - 1 || numParams == 0) {
+      return null;
+    }
+    return new MultiRowInsertRewriter(
+        statement.substring(0, rowStart), statement.substring(rowStart), numParams);
+  }
+
+  /**
+   * @param sql statement
+   * @param idx index of an opening quote in the statement
+   * @return index following the closing quote, or -1 if the quote isn't closed
+   */
+  private static int skipQuoted(String sql, int idx) {
+    char quote = sql.charAt(idx);
+    idx++;
+    while (idx < sql.length()) {
+      char c = sql.charAt(idx);
+      if (c == '\\' && quote == '\'') {
+        idx += 2;
+        continue;
+      }
+      if (c == quote) {
+        // a doubled quote is an escaped quote
+        if (idx + 1 < sql.length() && sql.charAt(idx + 1) == quote) {
+          idx += 2;
+          continue;
+        }
+        return idx + 1;
+      }
+      idx++;
+    }
+    return -1;
+  }
+
+  private static boolean isCommentStart(String sql, int idx) {
+    return sql.startsWith("--", idx) || sql.startsWith("/*", idx) || sql.startsWith("//", idx);
+  }
+
+  private static boolean isKeyword(String sql, int idx, String keyword) {
+    int end = idx + keyword.length();
+    return sql.regionMatches(true, idx, keyword, 0, keyword.length())
+        && (idx == 0 || !isIdentifierChar(sql.charAt(idx - 1)))
+        && (end == sql.length() || !isIdentifierChar(sql.charAt(end)));
+  }
+
+  private static boolean isIdentifierChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  }
+
+  /**
+   * Check whether the binds of a row of the batch can be rewritten.
+   *
+   * @param parameterBindings binds of the row
+   * @return true if the row has one bind of a single value per bind of the statement
+   */
+  boolean accepts(Map<String, ParameterBindingDTO> parameterBindings) {
+    if (parameterBindings == null || parameterBindings.size() != numParams) {
+      return false;
+    }
+    for (int i = 1; i <= numParams; i++) {
+      ParameterBindingDTO binding = parameterBindings.get(Integer.toString(i));
+      if (binding == null || binding.getValue() instanceof List) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param numRows number of rows
+   * @return statement inserting the given number of rows
+   */
+  String getSql(int numRows) {
+    StringBuilder sql =
+        new StringBuilder(prefix.length() + numRows * (row.length() + 2)).append(prefix);
+    for (int i = 0; i < numRows; i++) {
+      if (i > 0) {
+        sql.append(", ");
+      }
+      sql.append(row);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * @param rows binds of the rows, each accepted by {@link #accepts(Map)}
+   * @return binds of the statement inserting the rows
+   */
+  Map<String, ParameterBindingDTO> getParameterBindings(
+      List<Map<String, ParameterBindingDTO>> rows) {
+    Map<String, ParameterBindingDTO> parameterBindings = new HashMap<>(rows.size() * numParams * 2);
+    for (int rowIdx = 0; rowIdx < rows.size(); rowIdx++) {
+      Map<String, ParameterBindingDTO> row = rows.get(rowIdx);
+      for (int i = 1; i <= numParams; i++) {
+        parameterBindings.put(
+            Integer.toString(rowIdx * numParams + i), row.get(Integer.toString(i)));
+      }
+    }
+    return parameterBindings;
+  }
+}
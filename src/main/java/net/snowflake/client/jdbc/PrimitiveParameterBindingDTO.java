@@ -0,0 +1,56 @@
+package net.snowflake.client.jdbc;
+
+import net.snowflake.client.core.ParameterBindingDTO;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+
+/**
+ * Binding of an integral or double precision value. The value is kept as a primitive and only
+ * converted to the String sent to the server when it is read, so that the value can be added to a
+ * batch without creating a String.
+ *
+ * <p>The class is public so that the binding can be serialized in the query request.
+ */
+@SnowflakeJdbcInternalApi
+public class PrimitiveParameterBindingDTO extends ParameterBindingDTO {
+  private final boolean isDouble;
+  private final long longValue;
+  private final double doubleValue;
+
+  private PrimitiveParameterBindingDTO(
+      String type, boolean isDouble, long longValue, double doubleValue) {
+    super(type, null);
+    this.isDouble = isDouble;
+    this.longValue = longValue;
+    this.doubleValue = doubleValue;
+  }
+
+  static PrimitiveParameterBindingDTO ofLong(String type, long value) {
+    return new PrimitiveParameterBindingDTO(type, false, value, 0);
+  }
+
+  static PrimitiveParameterBindingDTO ofDouble(String type, double value) {
+    return new PrimitiveParameterBindingDTO(type, true, 0, value);
+  }
+
+  boolean isDouble() {
+    return isDouble;
+  }
+
+  long getLongValue() {
+    return longValue;
+  }
+
+  double getDoubleValue() {
+    return doubleValue;
+  }
+
+  @Override
+  public Object getValue() {
+    Object value = super.getValue();
+    if (value == null) {
+      value = isDouble ? String.valueOf(doubleValue) : String.valueOf(longValue);
+      super.setValue(value);
+    }
+    return value;
+  }
+}
@@ -15,12 +15,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLKeyException;
 import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLProtocolException;
+import net.snowflake.client.core.AsyncHttpTransport;
 import net.snowflake.client.core.Event;
 import net.snowflake.client.core.EventUtil;
 import net.snowflake.client.core.ExecTimeTelemetryData;
@@ -31,6 +33,7 @@ import net.snowflake.client.core.HttpUtil;
 import net.snowflake.client.core.ObjectMapperFactory;
 import net.snowflake.client.core.SFBaseSession;
 import net.snowflake.client.core.SFOCSPException;
+import net.snowflake.client.core.SFSession;
 import net.snowflake.client.core.SessionUtil;
 import net.snowflake.client.core.SnowflakeJdbcInternalApi;
 import net.snowflake.client.core.URLUtil;
@@ -842,10 +845,132 @@ public class RestRequest {
       ExecTimeTelemetryData execTimeData,
       RetryContextManager retryManager)
       throws SnowflakeSQLException {
-    Stopwatch networkComunnicationStapwatch = null;
-    Stopwatch requestReponseStopWatch = null;
     HttpResponseContextDto responseDto = new HttpResponseContextDto();
+    Stopwatch networkComunnicationStapwatch = startExecution(httpRequest, httpExecutingContext);
+
+    // try request till we get a good response or retry timeout
+    while (!executeAttempt(
+        httpClient, httpRequest, httpExecutingContext, execTimeData, responseDto)) {
+      prepareRetry(httpRequest, httpExecutingContext, retryManager, responseDto);
+    }
+    return completeExecution(
+        httpRequest, httpExecutingContext, responseDto, networkComunnicationStapwatch);
+  }
+
+  /**
+   * Execute an HTTP request with retry logic without blocking the calling thread. Each attempt runs
+   * on the shared {@link AsyncHttpTransport} I/O threads and the backoff between attempts is
+   * scheduled instead of slept, so no thread is held while waiting to retry. The retry, backoff and
+   * retry hook semantics are the same as {@link #executeWithRetries(CloseableHttpClient,
+   * HttpRequestBase, HttpExecutingContext, ExecTimeTelemetryData, RetryContextManager)}.
+   *
+   * <p>Cancelling the returned future aborts the request.
+   *
+   * @param httpClient client object used to communicate with other machine
+   * @param httpRequest request object contains all the request information
+   * @param httpExecutingContext context of the request
+   * @param execTimeData ExecTimeTelemetryData should be executed before and/or after the retry
+   * @param retryManager RetryManager containing extra actions used during retries
+   * @return future completed with the HttpResponseContextDto, or completed exceptionally with a
+   *     SnowflakeSQLException
+   */
+  @SnowflakeJdbcInternalApi
+  public static CompletableFuture<HttpResponseContextDto> executeWithRetriesAsync(
+      CloseableHttpClient httpClient,
+      HttpRequestBase httpRequest,
+      HttpExecutingContext httpExecutingContext,
+      ExecTimeTelemetryData execTimeData,
+      RetryContextManager retryManager) {
+    AsyncExecution execution =
+        new AsyncExecution(
+            httpClient, httpRequest, httpExecutingContext, execTimeData, retryManager);
+    execution.result.whenComplete(
+        (response, ex) -> {
+          if (execution.result.isCancelled()) {
+            httpRequest.abort();
+          }
+        });
+    AsyncHttpTransport.getInstance()
+        .execute(execution::start, ex -> execution.result.completeExceptionally(ex));
+    return execution.result;
+  }
+
+  /** State of a request executed by {@link #executeWithRetriesAsync} */
+  private static class AsyncExecution {
+    private final CloseableHttpClient httpClient;
+    private final HttpRequestBase httpRequest;
+    private final HttpExecutingContext httpExecutingContext;
+    private final ExecTimeTelemetryData execTimeData;
+    private final RetryContextManager retryManager;
+    private final HttpResponseContextDto responseDto = new HttpResponseContextDto();
+    private final CompletableFuture<HttpResponseContextDto> result = new CompletableFuture<>();
+    private Stopwatch stopwatch;
+
+    private AsyncExecution(
+        CloseableHttpClient httpClient,
+        HttpRequestBase httpRequest,
+        HttpExecutingContext httpExecutingContext,
+        ExecTimeTelemetryData execTimeData,
+        RetryContextManager retryManager) {
+      this.httpClient = httpClient;
+      this.httpRequest = httpRequest;
+      this.httpExecutingContext = httpExecutingContext;
+      this.execTimeData = execTimeData;
+      this.retryManager = retryManager;
+    }
+
+    private void start() {
+      try {
+        stopwatch = startExecution(httpRequest, httpExecutingContext);
+      } catch (RuntimeException ex) {
+        result.completeExceptionally(ex);
+        return;
+      }
+      attempt();
+    }
+
+    private void attempt() {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        if (executeAttempt(
+            httpClient, httpRequest, httpExecutingContext, execTimeData, responseDto)) {
+          result.complete(
+              completeExecution(httpRequest, httpExecutingContext, responseDto, stopwatch));
+          return;
+        }
+        long backoffInMillis = prepareBackoff(httpRequest, httpExecutingContext, responseDto);
+        Runnable retry =
+            () -> {
+              try {
+                completeRetry(
+                    httpRequest, httpExecutingContext, retryManager, responseDto, backoffInMillis);
+                attempt();
+              } catch (SnowflakeSQLException | RuntimeException ex) {
+                result.completeExceptionally(ex);
+              }
+            };
+        if (backoffInMillis > 0) {
+          logger.debug(
+              "{}Retry request {}: scheduled in {} ms",
+              httpExecutingContext.getRequestId(),
+              httpExecutingContext.getRequestInfoScrubbed(),
+              backoffInMillis);
+          AsyncHttpTransport.getInstance()
+              .schedule(retry, backoffInMillis, result::completeExceptionally);
+        } else {
+          AsyncHttpTransport.getInstance().execute(retry, result::completeExceptionally);
+        }
+      } catch (SnowflakeSQLException | RuntimeException ex) {
+        result.completeExceptionally(ex);
+      }
+    }
+  }
 
+  private static Stopwatch startExecution(
+      HttpRequestBase httpRequest, HttpExecutingContext httpExecutingContext) {
+    Stopwatch networkComunnicationStapwatch = null;
     if (logger.isDebugEnabled()) {
       networkComunnicationStapwatch = new Stopwatch();
       networkComunnicationStapwatch.start();
@@ -879,101 +1004,155 @@ public class RestRequest {
         httpExecutingContext.getRequestId(),
         httpExecutingContext.getAuthTimeoutInMilliseconds());
 
-    // try request till we get a good response or retry timeout
-    while (true) {
-      logger.debug(
-          "{}Retry count: {}, max retries: {}, retry timeout: {} s, backoff: {} ms. Attempting request: {}",
+    return networkComunnicationStapwatch;
+  }
+
+  /**
+   * Execute one attempt of the request.
+   *
+   * @return true if no more attempts should be made
+   */
+  private static boolean executeAttempt(
+      CloseableHttpClient httpClient,
+      HttpRequestBase httpRequest,
+      HttpExecutingContext httpExecutingContext,
+      ExecTimeTelemetryData execTimeData,
+      HttpResponseContextDto responseDto)
+      throws SnowflakeSQLException {
+    logger.debug(
+        "{}Retry count: {}, max retries: {}, retry timeout: {} s, backoff: {} ms. Attempting request: {}",
+        httpExecutingContext.getRequestId(),
+        httpExecutingContext.getRetryCount(),
+        httpExecutingContext.getMaxRetries(),
+        httpExecutingContext.getRetryTimeout(),
+        httpExecutingContext.getMinBackoffInMillis(),
+        httpExecutingContext.getRequestInfoScrubbed());
+    if (httpExecutingContext.getRetryCount() == 0) {
+      HttpRetryBudget.getInstance().onRequest();
+    }
+    String host = httpRequest.getURI().getHost();
+    if (!HttpCircuitBreaker.getInstance().allowRequest(host)) {
+      logger.error(
+          "{}Circuit breaker is open for host {}, failing request: {}",
           httpExecutingContext.getRequestId(),
-          httpExecutingContext.getRetryCount(),
-          httpExecutingContext.getMaxRetries(),
-          httpExecutingContext.getRetryTimeout(),
-          httpExecutingContext.getMinBackoffInMillis(),
+          host,
           httpExecutingContext.getRequestInfoScrubbed());
-      try {
-        // update start time
-        httpExecutingContext.setStartTimePerRequest(System.currentTimeMillis());
+      httpExecutingContext.setBreakRetryReason("circuit breaker open");
+      httpExecutingContext.setShouldRetry(false);
+      responseDto.setSavedEx(
+          new SnowflakeSQLException(
+              SqlState.IO_ERROR,
+              ErrorCode.NETWORK_ERROR.getMessageCode(),
+              "Circuit breaker is open for host " + host));
+      return true;
+    }
+    SFBaseSession session = httpExecutingContext.getSfSession();
+    if (session instanceof SFSession) {
+      // the session token may have been renewed since the request was signed
+      ((SFSession) session).resignRequest(httpRequest);
+    }
+    try {
+      // update start time
+      httpExecutingContext.setStartTimePerRequest(System.currentTimeMillis());
 
-        RestRequest.setRequestURI(
-            httpRequest,
-            httpExecutingContext.getRequestId(),
-            httpExecutingContext.isIncludeRetryParameters(),
-            httpExecutingContext.isIncludeRequestGuid(),
-            httpExecutingContext.getRetryCount(),
-            httpExecutingContext.getLastStatusCodeForRetry(),
-            httpExecutingContext.getStartTime(),
-            httpExecutingContext.getRequestInfoScrubbed());
+      RestRequest.setRequestURI(
+          httpRequest,
+          httpExecutingContext.getRequestId(),
+          httpExecutingContext.isIncludeRetryParameters(),
+          httpExecutingContext.isIncludeRequestGuid(),
+          httpExecutingContext.getRetryCount(),
+          httpExecutingContext.getLastStatusCodeForRetry(),
+          httpExecutingContext.getStartTime(),
+          httpExecutingContext.getRequestInfoScrubbed());
 
-        execTimeData.setHttpClientStart();
-        CloseableHttpResponse response = httpClient.execute(httpRequest);
-        responseDto.setHttpResponse(response);
-        execTimeData.setHttpClientEnd();
-      } catch (Exception ex) {
-        responseDto.setSavedEx(handlingNotRetryableException(ex, httpExecutingContext));
-      } finally {
-        // Reset the socket timeout to its original value if it is not the
-        // very first iteration.
-        if (httpExecutingContext.getInjectSocketTimeout() != 0
-            && httpExecutingContext.getRetryCount() == 0) {
-          // test code path
-          httpRequest.setConfig(
-              HttpUtil.getDefaultRequestConfigWithSocketTimeout(
-                  httpExecutingContext.getOrigSocketTimeout(),
-                  httpExecutingContext.isWithoutCookies()));
-        }
-      }
-      boolean shouldSkipRetry =
-          shouldSkipRetryWithLoggedReason(httpRequest, responseDto, httpExecutingContext);
-      httpExecutingContext.setShouldRetry(!shouldSkipRetry);
-
-      if (httpExecutingContext.isUnpackResponse()
-          && responseDto.getHttpResponse() != null
-          && responseDto.getHttpResponse().getStatusLine().getStatusCode()
-              == 200) { // todo extract getter for statusCode
-        processHttpResponse(httpExecutingContext, execTimeData, responseDto);
+      execTimeData.setHttpClientStart();
+      CloseableHttpResponse response = httpClient.execute(httpRequest);
+      responseDto.setHttpResponse(response);
+      execTimeData.setHttpClientEnd();
+    } catch (Exception ex) {
+      responseDto.setSavedEx(handlingNotRetryableException(ex, httpExecutingContext));
+    } finally {
+      // Reset the socket timeout to its original value if it is not the
+      // very first iteration.
+      if (httpExecutingContext.getInjectSocketTimeout() != 0
+          && httpExecutingContext.getRetryCount() == 0) {
+        // test code path
+        httpRequest.setConfig(
+            HttpUtil.getDefaultRequestConfigWithSocketTimeout(
+                httpExecutingContext.getOrigSocketTimeout(),
+                httpExecutingContext.isWithoutCookies()));
       }
+    }
+    recordAttemptOutcome(host, responseDto);
+    boolean shouldSkipRetry =
+        shouldSkipRetryWithLoggedReason(httpRequest, responseDto, httpExecutingContext);
+    httpExecutingContext.setShouldRetry(!shouldSkipRetry);
+
+    if (httpExecutingContext.isUnpackResponse()
+        && responseDto.getHttpResponse() != null
+        && responseDto.getHttpResponse().getStatusLine().getStatusCode()
+            == 200) { // todo extract getter for statusCode
+      processHttpResponse(httpExecutingContext, execTimeData, responseDto);
+    }
 
-      if (!httpExecutingContext.isShouldRetry()) {
-        if (responseDto.getHttpResponse() == null) {
-          if (responseDto.getSavedEx() != null) {
-            logger.error(
-                "{}Returning null response. Cause: {}, request: {}",
-                httpExecutingContext.getRequestId(),
-                getRootCause(responseDto.getSavedEx()),
-                httpExecutingContext.getRequestInfoScrubbed());
-          } else {
-            logger.error(
-                "{}Returning null response for request: {}",
-                httpExecutingContext.getRequestId(),
-                httpExecutingContext.getRequestInfoScrubbed());
-          }
-        } else if (responseDto.getHttpResponse().getStatusLine().getStatusCode() != 200) {
+    if (!httpExecutingContext.isShouldRetry()) {
+      if (responseDto.getHttpResponse() == null) {
+        if (responseDto.getSavedEx() != null) {
           logger.error(
-              "{}Error response: HTTP Response code: {}, request: {}",
+              "{}Returning null response. Cause: {}, request: {}",
+              httpExecutingContext.getRequestId(),
+              getRootCause(responseDto.getSavedEx()),
+              httpExecutingContext.getRequestInfoScrubbed());
+        } else {
+          logger.error(
+              "{}Returning null response for request: {}",
               httpExecutingContext.getRequestId(),
-              responseDto.getHttpResponse().getStatusLine().getStatusCode(),
               httpExecutingContext.getRequestInfoScrubbed());
-          responseDto.setSavedEx(
-              new SnowflakeSQLException(
-                  SqlState.IO_ERROR,
-                  ErrorCode.NETWORK_ERROR.getMessageCode(),
-                  "HTTP status="
-                      + ((responseDto.getHttpResponse() != null)
-                          ? responseDto.getHttpResponse().getStatusLine().getStatusCode()
-                          : "null response")));
-        } else if ((responseDto.getHttpResponse() == null
-            || responseDto.getHttpResponse().getStatusLine().getStatusCode() != 200)) {
-          sendTelemetryEvent(
-              httpRequest,
-              httpExecutingContext,
-              responseDto.getHttpResponse(),
-              responseDto.getSavedEx());
         }
-        break;
-      } else {
-        prepareRetry(httpRequest, httpExecutingContext, retryManager, responseDto);
+      } else if (responseDto.getHttpResponse().getStatusLine().getStatusCode() != 200) {
+        logger.error(
+            "{}Error response: HTTP Response code: {}, request: {}",
+            httpExecutingContext.getRequestId(),
+            responseDto.getHttpResponse().getStatusLine().getStatusCode(),
+            httpExecutingContext.getRequestInfoScrubbed());
+        responseDto.setSavedEx(
+            new SnowflakeSQLException(
+                SqlState.IO_ERROR,
+                ErrorCode.NETWORK_ERROR.getMessageCode(),
+                "HTTP status="
+                    + ((responseDto.getHttpResponse() != null)
+                        ? responseDto.getHttpResponse().getStatusLine().getStatusCode()
+                        : "null response")));
+      } else if ((responseDto.getHttpResponse() == null
+          || responseDto.getHttpResponse().getStatusLine().getStatusCode() != 200)) {
+        sendTelemetryEvent(
+            httpRequest,
+            httpExecutingContext,
+            responseDto.getHttpResponse(),
+            responseDto.getSavedEx());
       }
+      return true;
     }
+    return false;
+  }
 
+  /** Report the outcome of an attempt to the circuit breaker of the host. */
+  private static void recordAttemptOutcome(String host, HttpResponseContextDto responseDto) {
+    CloseableHttpResponse response = responseDto.getHttpResponse();
+    int statusCode = response == null ? 0 : response.getStatusLine().getStatusCode();
+    if (response == null || statusCode >= 500 || statusCode == 429) {
+      HttpCircuitBreaker.getInstance().recordFailure(host);
+    } else {
+      HttpCircuitBreaker.getInstance().recordSuccess(host);
+    }
+  }
+
+  private static HttpResponseContextDto completeExecution(
+      HttpRequestBase httpRequest,
+      HttpExecutingContext httpExecutingContext,
+      HttpResponseContextDto responseDto,
+      Stopwatch networkComunnicationStapwatch)
+      throws SnowflakeSQLException {
     logger.debug(
         "{}Execution of request {} took {} ms with total of {} retries",
         httpExecutingContext.getRequestId(),
@@ -1034,6 +1213,23 @@ public class RestRequest {
       RetryContextManager retryManager,
       HttpResponseContextDto dto)
       throws SnowflakeSQLException {
+    long backoffInMillis = prepareBackoff(httpRequest, httpExecutingContext, dto);
+    // sleep for backoff - elapsed amount of time
+    sleepForBackoff(backoffInMillis, httpExecutingContext);
+    completeRetry(httpRequest, httpExecutingContext, retryManager, dto, backoffInMillis);
+  }
+
+  /**
+   * First part of the preparation of a retry, before waiting for the backoff.
+   *
+   * @return backoff to wait in milliseconds, or -1 if the last call took longer than the minimum
+   *     backoff and the next attempt can be made right away
+   */
+  private static long prepareBackoff(
+      HttpRequestBase httpRequest,
+      HttpExecutingContext httpExecutingContext,
+      HttpResponseContextDto dto)
+      throws SnowflakeSQLException {
     //        Potentially retryable error
     logRequestResult(
         dto.getHttpResponse(),
@@ -1061,8 +1257,26 @@ public class RestRequest {
       }
     }
 
-    // sleep for backoff - elapsed amount of time
-    sleepForBackoffAndPrepareNext(elapsedMilliForLastCall, httpExecutingContext);
+    if (httpExecutingContext.getMinBackoffInMillis() > elapsedMilliForLastCall) {
+      return httpExecutingContext.getBackoffInMillis();
+    }
+    return -1;
+  }
+
+  /**
+   * Second part of the preparation of a retry, once the backoff returned by {@link #prepareBackoff}
+   * has elapsed.
+   */
+  private static void completeRetry(
+      HttpRequestBase httpRequest,
+      HttpExecutingContext httpExecutingContext,
+      RetryContextManager retryManager,
+      HttpResponseContextDto dto,
+      long backoffInMillis)
+      throws SnowflakeSQLException {
+    if (backoffInMillis >= 0) {
+      prepareNextBackoff(backoffInMillis, httpExecutingContext);
+    }
 
     httpExecutingContext.incrementRetryCount();
     httpExecutingContext.setLastStatusCodeForRetry(
@@ -1160,32 +1374,34 @@ public class RestRequest {
             0);
   }
 
-  private static void sleepForBackoffAndPrepareNext(
-      long elapsedMilliForLastCall, HttpExecutingContext context) {
-    if (context.getMinBackoffInMillis() > elapsedMilliForLastCall) {
+  private static void sleepForBackoff(long backoffInMillis, HttpExecutingContext context) {
+    if (backoffInMillis >= 0) {
       try {
         logger.debug(
             "{}Retry request {}: sleeping for {} ms",
             context.getRequestId(),
             context.getRequestInfoScrubbed(),
-            context.getBackoffInMillis());
-        Thread.sleep(context.getBackoffInMillis());
+            backoffInMillis);
+        Thread.sleep(backoffInMillis);
       } catch (InterruptedException ex1) {
         logger.debug(
             "{}Backoff sleep before retrying login got interrupted", context.getRequestId());
       }
-      context.increaseElapsedMilliForTransientIssues(context.getBackoffInMillis());
-      context.setBackoffInMillis(
-          getNewBackoffInMilli(
-              context.getBackoffInMillis(),
-              context.isLoginRequest(),
-              context.getBackoff(),
-              context.getRetryCount(),
-              context.getRetryTimeoutInMilliseconds(),
-              context.getElapsedMilliForTransientIssues()));
     }
   }
 
+  private static void prepareNextBackoff(long backoffInMillis, HttpExecutingContext context) {
+    context.increaseElapsedMilliForTransientIssues(backoffInMillis);
+    context.setBackoffInMillis(
+        getNewBackoffInMilli(
+            context.getBackoffInMillis(),
+            context.isLoginRequest(),
+            context.getBackoff(),
+            context.getRetryCount(),
+            context.getRetryTimeoutInMilliseconds(),
+            context.getElapsedMilliForTransientIssues()));
+  }
+
   private static void logRequestResult(
       CloseableHttpResponse response,
       String requestIdStr,
@@ -1544,6 +1760,21 @@ public class RestRequest {
     return skipRetrying;
   }
 
+  private static boolean handleRetryBudgetExhausted(
+      HttpExecutingContext httpExecutingContext, boolean skipRetrying) {
+    if (!skipRetrying && !HttpRetryBudget.getInstance().tryAcquireRetry()) {
+      logger.error(
+          "{}Stop retrying as the driver retry budget is exhausted for request: {}",
+          httpExecutingContext.getRequestId(),
+          httpExecutingContext.getRequestInfoScrubbed());
+      httpExecutingContext.setBreakRetryReason("retry budget exhausted");
+      httpExecutingContext.setBreakRetryEventName("HttpRequestRetryBudgetExhausted");
+      httpExecutingContext.setShouldRetry(false);
+      return true;
+    }
+    return skipRetrying;
+  }
+
   private static boolean shouldSkipRetryWithLoggedReason(
       HttpRequestBase request,
       HttpResponseContextDto responseDto,
@@ -1558,7 +1789,8 @@ public class RestRequest {
             skipRetrying -> handleMaxRetriesExceeded(httpExecutingContext, skipRetrying),
             skipRetrying -> handleCertificateRevoked(savedEx, httpExecutingContext, skipRetrying),
             skipRetrying ->
-                handleNonRetryableHttpCode(responseDto, httpExecutingContext, skipRetrying));
+                handleNonRetryableHttpCode(responseDto, httpExecutingContext, skipRetrying),
+            skipRetrying -> handleRetryBudgetExhausted(httpExecutingContext, skipRetrying));
 
     // Process each condition using Stream
     boolean skipRetrying =
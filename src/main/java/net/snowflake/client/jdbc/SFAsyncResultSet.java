@@ -13,6 +13,8 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import net.snowflake.client.core.AsyncQueryPoller;
 import net.snowflake.client.core.QueryStatus;
 import net.snowflake.client.core.SFBaseResultSet;
 import net.snowflake.client.core.SFBaseSession;
@@ -130,6 +132,46 @@ public class SFAsyncResultSet extends SnowflakeBaseResultSet
     return this.lastQueriedStatusV2;
   }
 
+  /**
+   * Record a status obtained outside of this result set, e.g. by the {@link
+   * net.snowflake.client.core.AsyncQueryPoller}, so that a successful query is not polled again.
+   *
+   * @param status latest status of the query
+   */
+  void setStatusV2(QueryStatusV2 status) {
+    this.lastQueriedStatusV2 = status;
+    if (status.isSuccess()) {
+      this.lastQueriedStatus = QueryStatus.SUCCESS;
+    }
+  }
+
+  /**
+   * Wait for the query to finish. The status checks are made by the shared {@link AsyncQueryPoller}
+   * together with the checks of the other asynchronous queries of the session.
+   *
+   * @return final status of the query
+   * @throws SQLException if the status can't be retrieved or the wait is interrupted
+   */
+  private QueryStatusV2 waitForQuery() throws SQLException {
+    if (session == null) {
+      throw new SQLException("Session not set");
+    }
+    if (this.queryID == null) {
+      throw new SQLException("QueryID unknown");
+    }
+    try {
+      return AsyncQueryPoller.getInstance().watch(session, this.queryID).get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for query " + this.queryID, e);
+    }
+  }
+
   /**
    * helper function for next() and getMetaData(). Calls result_scan to get resultSet after
    * asynchronous query call
@@ -140,48 +182,22 @@ public class SFAsyncResultSet extends SnowflakeBaseResultSet
     if (!resultSetForNextInitialized) {
       // If query has already succeeded, go straight to result scan to get results
       if (this.lastQueriedStatus != QueryStatus.SUCCESS) {
-        QueryStatus qs = this.getStatus();
-        int noDataRetry = 0;
-        final int noDataMaxRetries = 30;
-        final int[] retryPattern = {1, 1, 2, 3, 4, 8, 10};
-        final int maxIndex = retryPattern.length - 1;
-        int retry = 0;
-        while (qs != QueryStatus.SUCCESS) {
-          // if query is not running due to a failure (Aborted, failed with error, etc), generate
-          // exception
-          if (!QueryStatus.isStillRunning(qs) && qs.getValue() != QueryStatus.SUCCESS.getValue()) {
-            String errorMessage = qs.getErrorMessage();
-            if (isNullOrEmpty(errorMessage)) {
-              errorMessage = "No error message available";
-            }
-            throw new SQLException(
-                "Status of query associated with resultSet is "
-                    + qs.getDescription()
-                    + ". "
-                    + errorMessage
-                    + " Results not generated.");
-          }
-          // if no data about the query is returned after about 2 minutes, give up
-          if (qs == NO_DATA) {
-            noDataRetry++;
-            if (noDataRetry >= noDataMaxRetries) {
-              throw new SQLException(
-                  "Cannot retrieve data on the status of this query. No information returned from server for queryID={}.",
-                  this.queryID);
-            }
-          }
-          try {
-            // Sleep for an amount before trying again. Exponential backoff up to 5 seconds
-            // implemented.
-            Thread.sleep(500 * retryPattern[retry]);
-          } catch (InterruptedException e) {
-            e.printStackTrace();
-          }
-          if (retry < maxIndex) {
-            retry++;
+        QueryStatusV2 qs = waitForQuery();
+        // if query is not running due to a failure (Aborted, failed with error, etc), generate
+        // exception
+        if (!qs.isSuccess()) {
+          String errorMessage = qs.getErrorMessage();
+          if (isNullOrEmpty(errorMessage)) {
+            errorMessage = "No error message available";
           }
-          qs = this.getStatus();
+          throw new SQLException(
+              "Status of query associated with resultSet is "
+                  + qs.getDescription()
+                  + ". "
+                  + errorMessage
+                  + " Results not generated.");
         }
+        setStatusV2(qs);
       }
 
       resultSetForNext =
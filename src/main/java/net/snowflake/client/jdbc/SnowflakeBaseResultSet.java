@@ -28,6 +28,7 @@ import java.sql.SQLXML;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
@@ -63,6 +64,9 @@ public abstract class SnowflakeBaseResultSet implements ResultSet {
   protected SFBaseSession session;
   private final SnowflakeResultSetSerializableV1 serializable;
   private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getObjectMapper();
+  // semi-structured values already requested for the current row, indexed by column
+  private SnowflakeVariant[] variantCache;
+  private int variantCacheRow = -1;
 
   SnowflakeBaseResultSet(Statement statement) throws SQLException {
     this.statement = statement;
@@ -1425,7 +1429,19 @@ public abstract class SnowflakeBaseResultSet implements ResultSet {
         }
       }
     }
-    if (String.class.isAssignableFrom(type)) {
+    if (SnowflakeVariant.class.isAssignableFrom(type)) {
+      return (T) getVariant(columnIndex);
+    } else if (JsonNode.class.isAssignableFrom(type)) {
+      SnowflakeVariant variant = getVariant(columnIndex);
+      if (variant == null) {
+        return null;
+      }
+      JsonNode jsonNode = variant.getJsonNode();
+      if (!type.isInstance(jsonNode)) {
+        throw new SQLException("Value couldn't be converted to " + type.getName());
+      }
+      return (T) jsonNode;
+    } else if (String.class.isAssignableFrom(type)) {
       return (T) getString(columnIndex);
     } else if (Boolean.class.isAssignableFrom(type)) {
       return (T) (Boolean) getBoolean(columnIndex);
@@ -1458,6 +1474,43 @@ public abstract class SnowflakeBaseResultSet implements ResultSet {
     }
   }
 
+  /**
+   * Get the value of a column as a lazily parsed JSON value. The value is kept for the current row,
+   * so repeated calls for the same cell parse the JSON text at most once.
+   *
+   * @param columnIndex column index
+   * @return the value or null if the column is SQL NULL
+   * @throws SQLException if the value can't be read
+   */
+  private SnowflakeVariant getVariant(int columnIndex) throws SQLException {
+    int row = getRow();
+    int columnCount = resultSetMetaData.getColumnCount();
+    if (variantCache == null || variantCache.length != columnCount) {
+      variantCache = new SnowflakeVariant[columnCount];
+      variantCacheRow = row;
+    } else if (variantCacheRow != row) {
+      Arrays.fill(variantCache, null);
+      variantCacheRow = row;
+    }
+    if (columnIndex < 1 || columnIndex > columnCount) {
+      throw new SnowflakeSQLException(ErrorCode.COLUMN_DOES_NOT_EXIST, columnIndex);
+    }
+    SnowflakeVariant variant = variantCache[columnIndex - 1];
+    if (variant == null) {
+      // text columns are read as UTF-8 bytes, which Arrow results return without decoding a String
+      if (resultSetMetaData.getColumnType(columnIndex) == Types.VARCHAR
+          && !resultSetMetaData.isStructuredTypeColumn(columnIndex)) {
+        byte[] bytes = getBytes(columnIndex);
+        variant = bytes == null ? null : new SnowflakeVariant(bytes);
+      } else {
+        String json = getString(columnIndex);
+        variant = json == null ? null : new SnowflakeVariant(json);
+      }
+      variantCache[columnIndex - 1] = variant;
+    }
+    return variant;
+  }
+
   public <T> List<T> getList(int columnIndex, Class<T> type) throws SQLException {
     logger.trace("<T> List<T> getList(int columnIndex, Class<T> type)", false);
     if (!resultSetMetaData.isStructuredTypeColumn(columnIndex)) {
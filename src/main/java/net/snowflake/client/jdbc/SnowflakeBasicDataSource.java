@@ -93,6 +93,23 @@ public class SnowflakeBasicDataSource implements DataSource, Serializable {
 
   @Override
   public Connection getConnection(String username, String password) throws SQLException {
+    return getConnection(username, password, null);
+  }
+
+  /**
+   * Create a connection with default values for the properties not set on the data source. The
+   * properties of the data source are not changed.
+   *
+   * @param defaultProperties values of the properties not set on the data source
+   * @return connection
+   * @throws SQLException if the connection cannot be created
+   */
+  protected Connection getConnection(Properties defaultProperties) throws SQLException {
+    return getConnection(user, password, defaultProperties);
+  }
+
+  private Connection getConnection(String username, String password, Properties defaultProperties)
+      throws SQLException {
     if (!AUTHENTICATOR_OAUTH.equalsIgnoreCase(
         authenticator)) { // For OAuth, no username is required
       if (username == null) {
@@ -112,8 +129,15 @@ public class SnowflakeBasicDataSource implements DataSource, Serializable {
       properties.put(SFSessionProperty.PASSWORD.getPropertyKey(), password);
     }
 
+    Properties connectionProperties = properties;
+    if (defaultProperties != null) {
+      connectionProperties = new Properties();
+      connectionProperties.putAll(defaultProperties);
+      connectionProperties.putAll(properties);
+    }
+
     try {
-      Connection con = SnowflakeDriver.INSTANCE.connect(getUrl(), properties);
+      Connection con = SnowflakeDriver.INSTANCE.connect(getUrl(), connectionProperties);
       logger.trace("Created a connection for {} at {}", user, (ArgSupplier) this::getUrl);
       return con;
     } catch (SQLException e) {
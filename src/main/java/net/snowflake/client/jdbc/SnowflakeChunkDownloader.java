@@ -1,6 +1,7 @@
 package net.snowflake.client.jdbc;
 
 import static net.snowflake.client.core.Constants.MB;
+import static net.snowflake.client.jdbc.SnowflakeUtil.systemGetProperty;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
@@ -35,6 +36,7 @@ import net.snowflake.client.core.ObjectMapperFactory;
 import net.snowflake.client.core.QueryResultFormat;
 import net.snowflake.client.core.SFArrowResultSet;
 import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFSession;
 import net.snowflake.client.core.SessionUtil;
 import net.snowflake.client.jdbc.SnowflakeResultChunk.DownloadState;
 import net.snowflake.client.jdbc.telemetryOOB.TelemetryService;
@@ -43,6 +45,7 @@ import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.common.core.SqlState;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.http.impl.client.CloseableHttpClient;
 
 /** Class for managing async download of offline result chunks */
 public class SnowflakeChunkDownloader implements ChunkDownloader {
@@ -143,6 +146,13 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
 
   private static final int MAX_RETRY_JITTER = 1000; // milliseconds
 
+  /**
+   * System property to disable opening the connections to the result storage before the first
+   * chunks are downloaded, enabled by default
+   */
+  public static final String CONNECTION_WARM_UP_PROPERTY =
+      "net.snowflake.jdbc.chunk_connection_warm_up";
+
   // Only controls the max retry number when prefetch runs out of memory
   // Will wait a while then retry to see if we can allocate the required memory
   // Default value is 1
@@ -219,6 +229,9 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
     this.socketTimeout = resultSetSerializable.getSocketTimeout();
     this.maxHttpRetries = resultSetSerializable.getMaxHttpRetries();
     this.prefetchSlots = resultSetSerializable.getResultPrefetchThreads() * 2;
+    // each prefetch thread holds a connection to the storage host while downloading a chunk
+    HttpUtil.ensureMaxConnectionsPerRoute(
+        this.ocspModeAndProxyKey, resultSetSerializable.getResultPrefetchThreads());
     this.queryResultFormat = resultSetSerializable.getQueryResultFormat();
     logger.debug("qrmk: {}", this.qrmk);
     this.chunkHeadersMap = resultSetSerializable.getChunkHeadersMap();
@@ -312,6 +325,8 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
     // create thread pool
     executor = createChunkDownloaderExecutorService("result-chunk-downloader-", effectiveThreads);
 
+    warmUpConnections(effectiveThreads);
+
     try {
       startNextDownloaders();
     } catch (OutOfMemoryError outOfMemoryError) {
@@ -323,6 +338,35 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
     }
   }
 
+  /**
+   * Open the connections to the result storage used by the download threads in the background, so
+   * that they don't all do the TLS handshake and the OCSP checks at the same time.
+   *
+   * @param connections number of download threads
+   */
+  private void warmUpConnections(int connections) {
+    if (ocspModeAndProxyKey == null
+        || !(resultStreamProvider instanceof DefaultResultStreamProvider)
+        || "false".equalsIgnoreCase(systemGetProperty(CONNECTION_WARM_UP_PROPERTY))) {
+      return;
+    }
+    List<HttpHeadersCustomizer> headersCustomizers =
+        session instanceof SFSession ? ((SFSession) session).getHttpHeadersCustomizers() : null;
+    CloseableHttpClient httpClient =
+        HttpUtil.getHttpClient(ocspModeAndProxyKey, headersCustomizers);
+    // best-effort, the downloads don't wait for it
+    HttpUtil.warmUpConnections(httpClient, ocspModeAndProxyKey, chunks.get(0).getUrl(), connections)
+        .whenComplete(
+            (ignored, ex) -> {
+              if (ex != null) {
+                logger.debug(
+                    "Connection warm up for query {} did not complete: {}",
+                    queryId,
+                    ex.getMessage());
+              }
+            });
+  }
+
   /** Submit download chunk tasks to executor. Number depends on thread and memory limit */
   private void startNextDownloaders() throws SnowflakeSQLException {
     long waitingTime = BASE_WAITING_MS;
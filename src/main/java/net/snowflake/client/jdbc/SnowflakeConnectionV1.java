@@ -382,9 +382,7 @@ public class SnowflakeConnectionV1 implements Connection, SnowflakeConnection {
     boolean currentAutoCommit = this.getAutoCommit();
     if (isAutoCommit != currentAutoCommit) {
       sfSession.setAutoCommit(isAutoCommit);
-      this.executeImmediate(
-          "alter session /* JDBC:SnowflakeConnectionV1.setAutoCommit*/ set autocommit="
-              + isAutoCommit);
+      this.executeImmediate(SFBaseSession.SET_AUTO_COMMIT_STATEMENT + isAutoCommit);
     }
   }
 
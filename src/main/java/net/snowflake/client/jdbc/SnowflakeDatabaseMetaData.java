@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.RowIdLifetime;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -34,8 +35,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import net.snowflake.client.core.MetadataCache;
 import net.snowflake.client.core.ObjectMapperFactory;
 import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFSession;
 import net.snowflake.client.jdbc.telemetry.Telemetry;
 import net.snowflake.client.jdbc.telemetry.TelemetryData;
 import net.snowflake.client.jdbc.telemetry.TelemetryField;
@@ -136,6 +139,9 @@ public class SnowflakeDatabaseMetaData implements DatabaseMetaData {
           "VECTOR",
           "VIEW");
 
+  // maximum number of rows returned by show columns, a result this large may be truncated
+  private static final int MAX_SHOW_COLUMNS_ROWS = 10000;
+
   private static final String MAX_VARCHAR_BINARY_SIZE_PARAM_NAME =
       "VARCHAR_AND_BINARY_MAX_SIZE_IN_RESULT";
 
@@ -1725,6 +1731,7 @@ public class SnowflakeDatabaseMetaData implements DatabaseMetaData {
     final Pattern compiledColumnPattern = Wildcard.toRegexPattern(columnNamePattern, true);
 
     String showColumnsCommand = "show /* JDBC:DatabaseMetaData.getColumns() */ columns";
+    ResultSet prefetchedColumns = null;
 
     if (columnNamePattern != null
         && !columnNamePattern.isEmpty()
@@ -1756,6 +1763,11 @@ public class SnowflakeDatabaseMetaData implements DatabaseMetaData {
               extendedSet ? GET_COLUMNS_EXTENDED_SET : GET_COLUMNS, statement);
         } else {
           String tableNameUnescaped = unescapeChars(tableNamePattern);
+          if (!showColumnsCommand.contains(" like ")) {
+            prefetchedColumns =
+                getPrefetchedColumns(
+                    statement, catalogEscaped, schemaUnescaped, tableNameUnescaped);
+          }
           showColumnsCommand +=
               " in table \""
                   + catalogEscaped
@@ -1771,8 +1783,12 @@ public class SnowflakeDatabaseMetaData implements DatabaseMetaData {
     logger.debug("Sql command to get column metadata: {}", showColumnsCommand);
 
     ResultSet resultSet =
-        executeAndReturnEmptyResultIfNotFound(
-            statement, showColumnsCommand, extendedSet ? GET_COLUMNS_EXTENDED_SET : GET_COLUMNS);
+        prefetchedColumns != null
+            ? prefetchedColumns
+            : executeAndReturnEmptyResultIfNotFound(
+                statement,
+                showColumnsCommand,
+                extendedSet ? GET_COLUMNS_EXTENDED_SET : GET_COLUMNS);
     sendInBandTelemetryMetadataMetrics(
         resultSet,
         "getColumns",
@@ -3689,8 +3705,26 @@ public class SnowflakeDatabaseMetaData implements DatabaseMetaData {
     if (isNullOrEmpty(sql)) {
       return SnowflakeDatabaseMetaDataResultSet.getEmptyResultSet(metadataType, statement);
     }
+    MetadataCache metadataCache =
+        session instanceof SFSession ? ((SFSession) session).getMetadataCache() : null;
+    if (metadataCache != null) {
+      MetadataCache.Entry entry = metadataCache.get(sql, session);
+      if (entry != null) {
+        logger.debug("Metadata found in cache for command: {}", sql);
+        return new SnowflakeDatabaseMetaDataResultSet(
+            entry.getColumnNames(),
+            entry.getColumnTypeNames(),
+            entry.getColumnTypes(),
+            entry.getRows(),
+            statement,
+            entry.getQueryId());
+      }
+    }
     try {
       resultSet = statement.executeQuery(sql);
+      if (metadataCache != null) {
+        resultSet = cacheResultSet(metadataCache, sql, resultSet, statement);
+      }
     } catch (SnowflakeSQLException e) {
       if (e.getSQLState().equals(SqlState.NO_DATA)
           || e.getSQLState().equals(SqlState.BASE_TABLE_OR_VIEW_NOT_FOUND)
@@ -3713,6 +3747,107 @@ public class SnowflakeDatabaseMetaData implements DatabaseMetaData {
     return resultSet;
   }
 
+  /**
+   * Read the whole result of a show command into the metadata cache of the session.
+   *
+   * @return result set replaying the cached result
+   */
+  private ResultSet cacheResultSet(
+      MetadataCache metadataCache, String sql, ResultSet resultSet, Statement statement)
+      throws SQLException {
+    MetadataCache.Entry entry = readResultSet(resultSet);
+    metadataCache.put(sql, session, entry);
+    return new SnowflakeDatabaseMetaDataResultSet(
+        entry.getColumnNames(),
+        entry.getColumnTypeNames(),
+        entry.getColumnTypes(),
+        entry.getRows(),
+        statement,
+        entry.getQueryId());
+  }
+
+  /** Read and close the whole result of a show command. */
+  private static MetadataCache.Entry readResultSet(ResultSet resultSet) throws SQLException {
+    ResultSetMetaData metaData = resultSet.getMetaData();
+    int columnCount = metaData.getColumnCount();
+    List<String> columnNames = new ArrayList<>(columnCount);
+    List<String> columnTypeNames = new ArrayList<>(columnCount);
+    List<Integer> columnTypes = new ArrayList<>(columnCount);
+    for (int i = 1; i <= columnCount; i++) {
+      columnNames.add(metaData.getColumnLabel(i));
+      columnTypeNames.add(metaData.getColumnTypeName(i));
+      columnTypes.add(metaData.getColumnType(i));
+    }
+    List<Object[]> rows = new ArrayList<>();
+    while (resultSet.next()) {
+      Object[] row = new Object[columnCount];
+      for (int i = 1; i <= columnCount; i++) {
+        int columnType = columnTypes.get(i - 1);
+        // text is kept as returned, the metadata result set converts it for the other getters
+        row[i - 1] =
+            columnType == Types.VARCHAR || columnType == Types.CHAR
+                ? resultSet.getString(i)
+                : resultSet.getObject(i);
+      }
+      rows.add(row);
+    }
+    String queryId =
+        resultSet.isWrapperFor(SnowflakeResultSet.class)
+            ? resultSet.unwrap(SnowflakeResultSet.class).getQueryID()
+            : null;
+    resultSet.close();
+
+    return new MetadataCache.Entry(
+        columnNames, columnTypeNames, columnTypes, rows.toArray(new Object[0][]), queryId);
+  }
+
+  /**
+   * Get the columns of a table from the columns of its whole schema, fetched with a single show
+   * command and kept for the columnMetadataPrefetchTtlInSeconds of the session. Schema crawlers
+   * calling getColumns for each table then need a single round trip per schema.
+   *
+   * @return columns of the table, or null if they must be fetched for the table alone
+   */
+  private ResultSet getPrefetchedColumns(
+      Statement statement, String catalog, String schema, String tableName) throws SQLException {
+    MetadataCache prefetchCache =
+        session instanceof SFSession
+            ? ((SFSession) session).getColumnMetadataPrefetchCache()
+            : null;
+    if (prefetchCache == null) {
+      return null;
+    }
+    String showSchemaColumnsCommand =
+        "show /* JDBC:DatabaseMetaData.getColumns() */ columns in schema \""
+            + catalog
+            + "\".\""
+            + schema
+            + "\"";
+    MetadataCache.Entry entry = prefetchCache.get(showSchemaColumnsCommand, session);
+    if (entry == null) {
+      logger.debug("Sql command to prefetch column metadata: {}", showSchemaColumnsCommand);
+      try {
+        entry = readResultSet(statement.executeQuery(showSchemaColumnsCommand));
+      } catch (SnowflakeSQLException e) {
+        logger.debug(
+            "Failed to prefetch column metadata, fetching table columns: {}", e.getMessage());
+        return null;
+      }
+      prefetchCache.put(showSchemaColumnsCommand, session, entry);
+    }
+    if (entry.getRows().length >= MAX_SHOW_COLUMNS_ROWS) {
+      // the result may be truncated, the table columns must be fetched on their own
+      return null;
+    }
+    return new SnowflakeDatabaseMetaDataResultSet(
+        entry.getColumnNames(),
+        entry.getColumnTypeNames(),
+        entry.getColumnTypes(),
+        entry.getRowsWithFirstColumn(tableName),
+        statement,
+        entry.getQueryId());
+  }
+
   private static class ContextAwareMetadataSearch {
     private final String database;
     private final String schema;
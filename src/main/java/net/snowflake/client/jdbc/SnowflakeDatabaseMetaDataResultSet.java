@@ -94,6 +94,18 @@ class SnowflakeDatabaseMetaDataResultSet extends SnowflakeBaseResultSet {
     this.nextRow = new Object[columnNames.size()];
   }
 
+  SnowflakeDatabaseMetaDataResultSet(
+      final List<String> columnNames,
+      final List<String> columnTypeNames,
+      final List<Integer> columnTypes,
+      final Object[][] rows,
+      final Statement statement,
+      final String queryId)
+      throws SQLException {
+    this(columnNames, columnTypeNames, columnTypes, rows, statement);
+    this.queryId = queryId;
+  }
+
   protected SnowflakeDatabaseMetaDataResultSet(
       DBMetadataResultSetMetadata metadataType, Object[][] rows, Statement statement)
       throws SQLException {
@@ -0,0 +1,335 @@
+package net.snowflake.client.jdbc;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Inserter coalescing the single-row inserts of concurrent threads into batches.
+ *
+ * <p>The rows submitted for the same SQL text are queued for up to {@code maxDelayInMillis} after
+ * the first of them, or until {@code maxRows} rows are queued, and are then executed together as a
+ * batch of a prepared statement of a connection borrowed from the data source, which uses array
+ * binds when the statement supports them. Each submitter gets the update count of its own row, or
+ * {@link Statement#SUCCESS_NO_INFO} if the server only returned the count of the whole batch.
+ *
+ * <p>A row may be committed or fail together with the rows of other submitters of the same batch,
+ * so the values of a column must be of the same Java type for all the submitters of the same SQL
+ * text. Up to {@code maxConcurrentFlushes} batches are executed at the same time.
+ *
+ * <p>The settings must be changed before the first row is submitted.
+ */
+public class SnowflakeGroupInserter implements AutoCloseable {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(SnowflakeGroupInserter.class);
+
+  private static final AtomicInteger inserterCount = new AtomicInteger(1);
+
+  private final DataSource dataSource;
+
+  private int maxRows = 1000;
+  private long maxDelayInMillis = 5;
+  private int maxConcurrentFlushes = 4;
+
+  // rows queued per SQL text, a group being removed once its rows are taken for execution
+  private final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>();
+
+  private volatile boolean closed = false;
+
+  // executor flushing the batches, created on the first submitted row
+  private ScheduledThreadPoolExecutor executor;
+
+  /**
+   * @param dataSource data source of the connections executing the batches
+   */
+  public SnowflakeGroupInserter(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Queue a row to insert.
+   *
+   * @param sql INSERT statement with a bind per value
+   * @param values values of the binds, set with {@link PreparedStatement#setObject(int, Object)}
+   * @return future completed with the update count of the row once its batch is executed, or
+   *     completed exceptionally with the failure of the row
+   * @throws SQLException if the inserter is closed
+   */
+  public CompletableFuture<Long> submit(String sql, Object... values) throws SQLException {
+    throwExceptionIfClosed();
+    Row row = new Row(values.clone());
+    ScheduledThreadPoolExecutor executor = getExecutor();
+    while (!groups.computeIfAbsent(sql, Group::new).add(row, executor)) {
+      // the rows of the group were taken concurrently, the row is queued in a new group
+    }
+    return row.result;
+  }
+
+  /**
+   * Insert a row with the rows submitted concurrently for the same SQL text.
+   *
+   * @param sql INSERT statement with a bind per value
+   * @param values values of the binds, set with {@link PreparedStatement#setObject(int, Object)}
+   * @return update count of the row
+   * @throws SQLException if the inserter is closed, the thread is interrupted or the row fails
+   */
+  public long executeUpdate(String sql, Object... values) throws SQLException {
+    CompletableFuture<Long> result = submit(sql, values);
+    try {
+      return result.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SnowflakeSQLException(ex, ErrorCode.INTERRUPTED);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof SQLException) {
+        throw (SQLException) ex.getCause();
+      }
+      throw new SnowflakeSQLException(
+          ex.getCause(), ErrorCode.INTERNAL_ERROR, String.valueOf(ex.getCause()));
+    }
+  }
+
+  /** Execute the rows queued so far without waiting for their delay. */
+  public void flush() {
+    ScheduledThreadPoolExecutor executor;
+    synchronized (this) {
+      executor = this.executor;
+    }
+    if (executor == null) {
+      return;
+    }
+    for (Group group : groups.values()) {
+      group.flushAsync(executor);
+    }
+  }
+
+  /** Execute the rows queued so far and stop accepting new rows. */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    flush();
+    synchronized (this) {
+      if (executor != null) {
+        executor.shutdown();
+      }
+    }
+    logger.debug("Closed group inserter", false);
+  }
+
+  @VisibleForTesting
+  int getQueuedSqlCount() {
+    return groups.size();
+  }
+
+  /**
+   * @return true if the inserter is closed
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  private void throwExceptionIfClosed() throws SQLException {
+    if (closed) {
+      throw new SnowflakeSQLException("The group inserter is closed");
+    }
+  }
+
+  private synchronized ScheduledThreadPoolExecutor getExecutor() throws SQLException {
+    throwExceptionIfClosed();
+    if (executor == null) {
+      int inserterId = inserterCount.getAndIncrement();
+      executor =
+          new ScheduledThreadPoolExecutor(
+              Math.max(1, maxConcurrentFlushes),
+              SnowflakeUtil.createDaemonThreadFactory(
+                  "snowflake-group-insert-" + inserterId + "-"));
+      executor.setRemoveOnCancelPolicy(true);
+    }
+    return executor;
+  }
+
+  /**
+   * Execute rows as a batch and complete their futures.
+   *
+   * @param sql INSERT statement
+   * @param rows rows to insert
+   */
+  private void execute(String sql, List<Row> rows) {
+    logger.debug("Executing group insert of {} rows", rows.size());
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (Row row : rows) {
+        for (int i = 0; i < row.values.length; i++) {
+          statement.setObject(i + 1, row.values[i]);
+        }
+        statement.addBatch();
+      }
+      complete(rows, statement.executeLargeBatch(), null);
+    } catch (BatchUpdateException ex) {
+      complete(rows, ex.getLargeUpdateCounts(), ex);
+    } catch (SQLException | RuntimeException ex) {
+      for (Row row : rows) {
+        row.result.completeExceptionally(ex);
+      }
+    }
+  }
+
+  private static void complete(List<Row> rows, long[] updateCounts, SQLException failure) {
+    boolean hasRowCounts = updateCounts != null && updateCounts.length == rows.size();
+    for (int i = 0; i < rows.size(); i++) {
+      CompletableFuture<Long> result = rows.get(i).result;
+      if (hasRowCounts && updateCounts[i] != Statement.EXECUTE_FAILED) {
+        result.complete(updateCounts[i]);
+      } else if (failure != null) {
+        result.completeExceptionally(failure);
+      } else {
+        // the update count of the whole batch
+        result.complete((long) Statement.SUCCESS_NO_INFO);
+      }
+    }
+  }
+
+  /** Row queued for insertion */
+  private static class Row {
+    private final Object[] values;
+
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+    private Row(Object[] values) {
+      this.values = values;
+    }
+  }
+
+  /** Rows queued for the same SQL text, which are taken once */
+  private class Group {
+    private final String sql;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    // whether the rows were taken, after which no row is added to the group
+    private boolean taken = false;
+
+    // flush of the rows once their delay is over
+    private ScheduledFuture<?> delayedFlush;
+
+    private Group(String sql) {
+      this.sql = sql;
+    }
+
+    /**
+     * @return false if the rows of the group were already taken
+     */
+    private synchronized boolean add(Row row, ScheduledThreadPoolExecutor executor) {
+      if (taken) {
+        return false;
+      }
+      rows.add(row);
+      if (rows.size() >= maxRows) {
+        executeAsync(takeRows(), executor);
+      } else if (delayedFlush == null) {
+        try {
+          delayedFlush = executor.schedule(this::flushNow, maxDelayInMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+          failClosed(takeRows());
+        }
+      }
+      return true;
+    }
+
+    private void executeAsync(List<Row> batch, ScheduledThreadPoolExecutor executor) {
+      try {
+        executor.execute(() -> execute(sql, batch));
+      } catch (RejectedExecutionException ex) {
+        // the inserter was closed concurrently
+        failClosed(batch);
+      }
+    }
+
+    private void failClosed(List<Row> batch) {
+      for (Row row : batch) {
+        row.result.completeExceptionally(new SnowflakeSQLException("The group inserter is closed"));
+      }
+    }
+
+    private synchronized List<Row> takeRows() {
+      if (delayedFlush != null) {
+        delayedFlush.cancel(false);
+        delayedFlush = null;
+      }
+      if (taken) {
+        return Collections.emptyList();
+      }
+      taken = true;
+      groups.remove(sql, this);
+      return rows;
+    }
+
+    private void flushNow() {
+      List<Row> batch = takeRows();
+      if (!batch.isEmpty()) {
+        execute(sql, batch);
+      }
+    }
+
+    private void flushAsync(ScheduledThreadPoolExecutor executor) {
+      List<Row> batch = takeRows();
+      if (!batch.isEmpty()) {
+        executeAsync(batch, executor);
+      }
+    }
+  }
+
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  /**
+   * @param maxRows number of rows queued for the same SQL text which are executed right away
+   */
+  public void setMaxRows(int maxRows) {
+    this.maxRows = maxRows;
+  }
+
+  public long getMaxDelayInMillis() {
+    return maxDelayInMillis;
+  }
+
+  /**
+   * @param maxDelayInMillis time the first row queued for a SQL text waits for other rows
+   */
+  public void setMaxDelayInMillis(long maxDelayInMillis) {
+    this.maxDelayInMillis = maxDelayInMillis;
+  }
+
+  public int getMaxConcurrentFlushes() {
+    return maxConcurrentFlushes;
+  }
+
+  /**
+   * @param maxConcurrentFlushes number of batches executed at the same time
+   */
+  public void setMaxConcurrentFlushes(int maxConcurrentFlushes) {
+    this.maxConcurrentFlushes = maxConcurrentFlushes;
+  }
+}
@@ -4,6 +4,8 @@ import java.math.BigInteger;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface SnowflakePreparedStatement {
   /**
@@ -20,6 +22,16 @@ public interface SnowflakePreparedStatement {
    */
   ResultSet executeAsyncQuery() throws SQLException;
 
+  /**
+   * Execute a query asynchronously and get notified when its results are available. Unlike {@link
+   * #executeAsyncQuery()}, the returned future only completes once the results are available.
+   *
+   * @param executor executor used to submit the query and to fetch its results
+   * @return future completed with the ResultSet once the query has finished successfully, or
+   *     completed exceptionally with an SQLException if it failed
+   */
+  CompletableFuture<ResultSet> executeQueryFuture(Executor executor);
+
   /**
    * Sets the designated parameter to the given BigInteger value.
    *
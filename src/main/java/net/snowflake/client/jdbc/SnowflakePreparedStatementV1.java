@@ -1,12 +1,16 @@
 package net.snowflake.client.jdbc;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -23,16 +27,19 @@ import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import net.snowflake.client.core.ExecTimeTelemetryData;
 import net.snowflake.client.core.FieldSchemaCreator;
 import net.snowflake.client.core.JsonSqlOutput;
@@ -41,9 +48,12 @@ import net.snowflake.client.core.ResultUtil;
 import net.snowflake.client.core.SFBaseResultSet;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.core.SFPreparedStatementMetaData;
+import net.snowflake.client.core.SFStatement;
 import net.snowflake.client.core.SfSqlArray;
 import net.snowflake.client.core.SfTimestampUtil;
 import net.snowflake.client.core.StmtUtil;
+import net.snowflake.client.core.StreamBindValue;
+import net.snowflake.client.core.bind.BindUploader;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.client.util.VariableTypeArray;
@@ -164,6 +174,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     } else {
       logger.trace("executeQuery()", false);
     }
+    resolveStreamBinds();
     ResultSet rs = executeQueryInternal(sql, false, parameterBindings, execTimeData);
     execTimeData.setQueryEnd();
     execTimeData.generateTelemetry();
@@ -186,6 +197,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     } else {
       logger.trace("executeAsyncQuery()", false);
     }
+    resolveStreamBinds();
     ResultSet rs = executeQueryInternal(sql, true, parameterBindings, execTimeData);
     execTimeData.setQueryEnd();
     execTimeData.generateTelemetry();
@@ -193,11 +205,17 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     return rs;
   }
 
+  @Override
+  public CompletableFuture<ResultSet> executeQueryFuture(Executor executor) {
+    return executeQueryFuture(this::executeAsyncQuery, executor);
+  }
+
   @Override
   public long executeLargeUpdate() throws SQLException {
     ExecTimeTelemetryData execTimeTelemetryData =
         new ExecTimeTelemetryData("long PreparedStatement.executeLargeUpdate()", this.batchID);
     logger.trace("executeLargeUpdate()", false);
+    resolveStreamBinds();
     long updates = executeUpdateInternal(sql, parameterBindings, true, execTimeTelemetryData);
     return updates;
   }
@@ -234,9 +252,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
   public void setByte(int parameterIndex, byte x) throws SQLException {
     logger.trace("setByte(parameterIndex: {}, byte x)", parameterIndex);
     ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.TINYINT, connection.getSFBaseSession()),
-            String.valueOf(x));
+        PrimitiveParameterBindingDTO.ofLong(
+            SnowflakeUtil.javaTypeToSFTypeString(Types.TINYINT, connection.getSFBaseSession()), x);
     parameterBindings.put(String.valueOf(parameterIndex), binding);
   }
 
@@ -245,9 +262,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     logger.trace("setShort(parameterIndex: {}, short x)", parameterIndex);
 
     ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.SMALLINT, connection.getSFBaseSession()),
-            String.valueOf(x));
+        PrimitiveParameterBindingDTO.ofLong(
+            SnowflakeUtil.javaTypeToSFTypeString(Types.SMALLINT, connection.getSFBaseSession()), x);
     parameterBindings.put(String.valueOf(parameterIndex), binding);
   }
 
@@ -256,9 +272,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     logger.trace("setInt(parameterIndex: {}, int x)", parameterIndex);
 
     ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.INTEGER, connection.getSFBaseSession()),
-            String.valueOf(x));
+        PrimitiveParameterBindingDTO.ofLong(
+            SnowflakeUtil.javaTypeToSFTypeString(Types.INTEGER, connection.getSFBaseSession()), x);
     parameterBindings.put(String.valueOf(parameterIndex), binding);
   }
 
@@ -267,9 +282,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     logger.trace("setLong(parameterIndex: {}, long x)", parameterIndex);
 
     ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.BIGINT, connection.getSFBaseSession()),
-            String.valueOf(x));
+        PrimitiveParameterBindingDTO.ofLong(
+            SnowflakeUtil.javaTypeToSFTypeString(Types.BIGINT, connection.getSFBaseSession()), x);
     parameterBindings.put(String.valueOf(parameterIndex), binding);
   }
 
@@ -300,9 +314,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     logger.trace("setDouble(parameterIndex: {}, double x)", parameterIndex);
 
     ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.DOUBLE, connection.getSFBaseSession()),
-            String.valueOf(x));
+        PrimitiveParameterBindingDTO.ofDouble(
+            SnowflakeUtil.javaTypeToSFTypeString(Types.DOUBLE, connection.getSFBaseSession()), x);
     parameterBindings.put(String.valueOf(parameterIndex), binding);
   }
 
@@ -434,7 +447,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   @Override
   public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setAsciiStream(parameterIndex, x, (long) length);
   }
 
   @Override
@@ -445,11 +458,12 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   @Override
   public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setBinaryStream(parameterIndex, x, (long) length);
   }
 
   @Override
   public void clearParameters() throws SQLException {
+    releaseStreamBinds();
     parameterBindings.clear();
   }
 
@@ -526,6 +540,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     ExecTimeTelemetryData execTimeData =
         new ExecTimeTelemetryData("boolean PreparedStatement.execute(String)", this.batchID);
     logger.debug("Execute: {}", sql);
+    resolveStreamBinds();
     boolean success = executeInternal(sql, parameterBindings, execTimeData);
 
     execTimeData.setQueryEnd();
@@ -540,52 +555,50 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
     raiseSQLExceptionIfStatementIsClosed();
 
+    // the rows of a batch are bound to a single array bind, so stream values are read right away
+    readStreamBinds();
+
     describeSqlIfNotTried();
     if (preparedStatementMetaData.isArrayBindSupported()) {
       for (Map.Entry<String, ParameterBindingDTO> binding : parameterBindings.entrySet()) {
         // get the entry for the bind variable in the batch binding map
         ParameterBindingDTO bindingValueAndType = batchParameterBindings.get(binding.getKey());
 
-        List<String> values;
+        BatchBindColumn values;
 
-        Object newValue = binding.getValue().getValue();
+        boolean isNewValueNull = isNullValue(binding.getValue());
         // create binding value and type for the first time
         if (bindingValueAndType == null) {
-          // create the value list
-          values = new ArrayList<>();
+          // create the value column
+          values = new BatchBindColumn();
 
           bindingValueAndType = new ParameterBindingDTO(binding.getValue().getType(), values);
 
           // put the new map into the batch
           batchParameterBindings.put(binding.getKey(), bindingValueAndType);
 
-          wasPrevValueNull.put(binding.getKey(), binding.getValue().getValue() == null);
+          wasPrevValueNull.put(binding.getKey(), isNewValueNull);
         } else {
           // make sure type matches except for null values
           String prevType = bindingValueAndType.getType();
           String newType = binding.getValue().getType();
 
-          if (wasPrevValueNull.get(binding.getKey()) && newValue != null) {
+          if (wasPrevValueNull.get(binding.getKey()) && !isNewValueNull) {
             // if previous value is null and the current value is not null
             // override the data type.
-            bindingValueAndType = batchParameterBindings.remove(binding.getKey());
             bindingValueAndType.setType(newType);
-            batchParameterBindings.put(binding.getKey(), bindingValueAndType);
             prevType = newType;
             wasPrevValueNull.put(binding.getKey(), false);
           }
 
+          // found the existing map so just get the value column
+          values = (BatchBindColumn) bindingValueAndType.getValue();
+
           // if previous type is null, replace it with new type
           if (SnowflakeType.ANY.name().equalsIgnoreCase(prevType)
               && !SnowflakeType.ANY.name().equalsIgnoreCase(newType)) {
             bindingValueAndType.setType(newType);
-          } else if (binding.getValue().getValue() != null && !prevType.equalsIgnoreCase(newType)) {
-            String row = "Unknown";
-            if (bindingValueAndType.getValue() instanceof Collection) {
-              final List<String> typeCheckedList = (List<String>) bindingValueAndType.getValue();
-              values = typeCheckedList;
-              row = Integer.toString(values.size() + 1);
-            }
+          } else if (!isNewValueNull && !prevType.equalsIgnoreCase(newType)) {
             throw new SnowflakeSQLLoggedException(
                 connection.getSFBaseSession(),
                 ErrorCode.ARRAY_BIND_MIXED_TYPES_NOT_SUPPORTED.getMessageCode(),
@@ -593,17 +606,12 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
                 SnowflakeType.getJavaType(SnowflakeType.fromString(prevType), false).name(),
                 SnowflakeType.getJavaType(SnowflakeType.fromString(newType), false).name(),
                 binding.getKey(),
-                row);
+                Integer.toString(values.size() + 1));
           }
-
-          // found the existing map so just get the value list
-          final List<String> typeCheckedList = (List<String>) bindingValueAndType.getValue();
-          values = typeCheckedList;
         }
 
-        // add the value to the list of values in batch binding map
-        values.add((String) newValue);
-        bindingValueAndType.setValue(values);
+        // add the value to the value column in batch binding map
+        values.add(binding.getValue());
       }
       batchSize++;
     } else {
@@ -612,10 +620,77 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     }
   }
 
+  /**
+   * Prepare the values set from streams for the execution. They are written to the bind file
+   * uploaded to the stage while the statement is executed if the statement accepts stage binds, and
+   * read into strings bound in the query request otherwise.
+   *
+   * @throws SQLException if the statement cannot be described or a stream cannot be read
+   */
+  private void resolveStreamBinds() throws SQLException {
+    if (!BindUploader.hasStreamBinds(parameterBindings)) {
+      return;
+    }
+    describeSqlIfNotTried();
+    if (!preparedStatementMetaData.isArrayBindSupported()
+        || connection.getSFBaseSession().getArrayBindStageThreshold() <= 0
+        || !(sfBaseStatement instanceof SFStatement)) {
+      readStreamBinds();
+    }
+  }
+
+  /**
+   * Replace the values set from streams by the strings read from the streams.
+   *
+   * @throws SQLException if a stream cannot be read
+   */
+  private void readStreamBinds() throws SQLException {
+    for (Map.Entry<String, ParameterBindingDTO> binding : parameterBindings.entrySet()) {
+      ParameterBindingDTO value = binding.getValue();
+      if (value.getValue() instanceof StreamBindValue) {
+        StreamBindValue streamValue = (StreamBindValue) value.getValue();
+        try {
+          binding.setValue(new ParameterBindingDTO(value.getType(), streamValue.readFully()));
+          streamValue.release();
+        } catch (IOException ex) {
+          throw new SnowflakeSQLLoggedException(
+              connection.getSFBaseSession(),
+              ErrorCode.IO_ERROR.getMessageCode(),
+              SqlState.IO_ERROR,
+              ex.getMessage());
+        }
+      }
+    }
+  }
+
+  /** Delete the spools of the values set from streams, which are no longer read. */
+  private void releaseStreamBinds() {
+    for (ParameterBindingDTO binding : parameterBindings.values()) {
+      if (binding.getValue() instanceof StreamBindValue) {
+        try {
+          ((StreamBindValue) binding.getValue()).release();
+        } catch (IOException ex) {
+          logger.debug("Failed to delete the spool of a stream bind: {}", ex.getMessage());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close(boolean removeClosedStatementFromConnection) throws SQLException {
+    releaseStreamBinds();
+    super.close(removeClosedStatementFromConnection);
+  }
+
+  private static boolean isNullValue(ParameterBindingDTO binding) {
+    // a primitive value is never null, don't convert it to a String to check it
+    return !(binding instanceof PrimitiveParameterBindingDTO) && binding.getValue() == null;
+  }
+
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader, int length)
       throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setCharacterStream(parameterIndex, reader, (long) length);
   }
 
   @Override
@@ -812,13 +887,13 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   @Override
   public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setCharacterStream(parameterIndex, reader, length);
   }
 
   @Override
   public void setBlob(int parameterIndex, InputStream inputStream, long length)
       throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setBinaryStream(parameterIndex, inputStream, length);
   }
 
   @Override
@@ -851,33 +926,58 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   @Override
   public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setCharacterStream(
+        parameterIndex,
+        x == null ? null : new InputStreamReader(x, StandardCharsets.US_ASCII),
+        length);
   }
 
   @Override
   public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    logger.trace("setBinaryStream(parameterIndex: {}, InputStream x)", parameterIndex);
+    raiseSQLExceptionIfStatementIsClosed();
+
+    if (x == null) {
+      setNull(parameterIndex, Types.BINARY);
+    } else {
+      ParameterBindingDTO binding =
+          new ParameterBindingDTO(
+              SnowflakeUtil.javaTypeToSFTypeString(Types.BINARY, connection.getSFBaseSession()),
+              StreamBindValue.ofBytes(x, length));
+      parameterBindings.put(String.valueOf(parameterIndex), binding);
+    }
   }
 
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader, long length)
       throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    logger.trace("setCharacterStream(parameterIndex: {}, Reader reader)", parameterIndex);
+    raiseSQLExceptionIfStatementIsClosed();
+
+    if (reader == null) {
+      setNull(parameterIndex, Types.VARCHAR);
+    } else {
+      ParameterBindingDTO binding =
+          new ParameterBindingDTO(
+              SnowflakeUtil.javaTypeToSFTypeString(Types.VARCHAR, connection.getSFBaseSession()),
+              StreamBindValue.ofCharacters(reader, length));
+      parameterBindings.put(String.valueOf(parameterIndex), binding);
+    }
   }
 
   @Override
   public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setAsciiStream(parameterIndex, x, -1L);
   }
 
   @Override
   public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setBinaryStream(parameterIndex, x, -1L);
   }
 
   @Override
   public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setCharacterStream(parameterIndex, reader, -1L);
   }
 
   @Override
@@ -887,12 +987,12 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   @Override
   public void setClob(int parameterIndex, Reader reader) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setCharacterStream(parameterIndex, reader, -1L);
   }
 
   @Override
   public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
-    throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
+    setBinaryStream(parameterIndex, inputStream, -1L);
   }
 
   @Override
@@ -979,31 +1079,38 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
           }
         }
 
-        int updateCount =
-            (int)
-                executeUpdateInternal(
-                    this.sql, batchParameterBindings, false, new ExecTimeTelemetryData());
-
-        // when update count is the same as the number of bindings in the batch,
-        // expand the update count into an array (SNOW-14034)
-        if (updateCount == batchSize) {
-          if (isLong) {
-            updateCounts = new VariableTypeArray(null, new long[updateCount]);
-            for (int idx = 0; idx < updateCount; idx++) {
-              updateCounts.longArr[idx] = 1;
+        int chunkSize = this.getSFBaseStatement().getSFBaseSession().getArrayBindBatchChunkSize();
+        if (isChunkedArrayBindBatch(chunkSize)) {
+          updateCounts =
+              executeArrayBindBatchInChunks(
+                  (SFStatement) this.getSFBaseStatement(), chunkSize, isLong);
+        } else {
+          int updateCount =
+              (int)
+                  executeUpdateInternal(
+                      this.sql, batchParameterBindings, false, new ExecTimeTelemetryData());
+
+          // when update count is the same as the number of bindings in the batch,
+          // expand the update count into an array (SNOW-14034)
+          if (updateCount == batchSize) {
+            if (isLong) {
+              updateCounts = new VariableTypeArray(null, new long[updateCount]);
+              for (int idx = 0; idx < updateCount; idx++) {
+                updateCounts.longArr[idx] = 1;
+              }
+            } else {
+              updateCounts = new VariableTypeArray(new int[updateCount], null);
+              for (int idx = 0; idx < updateCount; idx++) {
+                updateCounts.intArr[idx] = 1;
+              }
             }
           } else {
-            updateCounts = new VariableTypeArray(new int[updateCount], null);
-            for (int idx = 0; idx < updateCount; idx++) {
-              updateCounts.intArr[idx] = 1;
+            if (isLong) {
+              updateCounts.longArr = new long[] {updateCount};
+            } else {
+              updateCounts.intArr = new int[] {updateCount};
             }
           }
-        } else {
-          if (isLong) {
-            updateCounts.longArr = new long[] {updateCount};
-          } else {
-            updateCounts.intArr = new int[] {updateCount};
-          }
         }
       } else {
         // Array binding is not supported
@@ -1029,6 +1136,131 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     return updateCounts;
   }
 
+  /**
+   * Whether the array bind batch is executed in sub-batches. Sub-batches are only worth their extra
+   * round trips when their binds are uploaded to the stage, which can then overlap with the
+   * execution of the previous sub-batch.
+   *
+   * @param chunkSize number of rows of a sub-batch, 0 if disabled
+   * @return true if the batch is executed in sub-batches
+   * @throws SQLException if the statement is closed
+   */
+  private boolean isChunkedArrayBindBatch(int chunkSize) throws SQLException {
+    if (chunkSize <= 0
+        || chunkSize >= batchSize
+        || !(this.getSFBaseStatement() instanceof SFStatement)) {
+      return false;
+    }
+    int stageThreshold = this.getSFBaseStatement().getSFBaseSession().getArrayBindStageThreshold();
+    return stageThreshold > 0 && (long) chunkSize * batchParameterBindings.size() >= stageThreshold;
+  }
+
+  /**
+   * Execute the array bind batch in sub-batches of the given number of rows. The binds of the next
+   * sub-batch are uploaded to the stage while the current one is executed, so that the upload and
+   * the execution of a large batch overlap.
+   *
+   * <p>Unlike a single array bind execution, the batch is not atomic: each sub-batch is a separate
+   * statement, so with auto-commit enabled the sub-batches executed before a failing one stay
+   * committed. The sub-batches after a failing one are not executed, and the update counts of the
+   * thrown BatchUpdateException are EXECUTE_FAILED for the rows of the failing and skipped
+   * sub-batches.
+   *
+   * @param statement statement executing the sub-batches
+   * @param chunkSize number of rows of a sub-batch
+   * @param isLong true if the update counts are returned as long
+   * @return update counts of the rows of the batch
+   * @throws SQLException if a sub-batch fails to execute
+   */
+  private VariableTypeArray executeArrayBindBatchInChunks(
+      SFStatement statement, int chunkSize, boolean isLong) throws SQLException {
+    int numChunks = (batchSize + chunkSize - 1) / chunkSize;
+    logger.debug("Executing array bind batch of {} rows in {} sub-batches", batchSize, numChunks);
+    VariableTypeArray updateCounts =
+        isLong
+            ? new VariableTypeArray(null, new long[batchSize])
+            : new VariableTypeArray(new int[batchSize], null);
+    ExecutorService uploadExecutor =
+        SnowflakeUtil.createDefaultExecutorService("bind-chunk-upload-worker-", 1);
+    try {
+      Future<String> upload = null;
+      for (int chunkIdx = 0; chunkIdx < numChunks; chunkIdx++) {
+        int fromRow = chunkIdx * chunkSize;
+        int numRows = Math.min(chunkSize, batchSize - fromRow);
+        Map<String, ParameterBindingDTO> chunk = getBatchChunk(chunkIdx, chunkSize);
+        String bindStagePath = upload == null ? null : getPreUploadedBindStage(upload);
+        if (chunkIdx + 1 < numChunks) {
+          Map<String, ParameterBindingDTO> nextChunk = getBatchChunk(chunkIdx + 1, chunkSize);
+          upload = uploadExecutor.submit(() -> statement.uploadArrayBinds(nextChunk));
+        }
+        statement.setPreUploadedBindStage(bindStagePath);
+        try {
+          long cnt = executeUpdateInternal(this.sql, chunk, false, new ExecTimeTelemetryData());
+          // each row inserts a single row, unless the count of the rows isn't known
+          setUpdateCounts(updateCounts, fromRow, numRows, cnt == numRows ? 1 : SUCCESS_NO_INFO);
+        } catch (SQLException ex) {
+          setUpdateCounts(updateCounts, fromRow, batchSize - fromRow, EXECUTE_FAILED);
+          if (isLong) {
+            throw new BatchUpdateException(
+                ex.getLocalizedMessage(),
+                ex.getSQLState(),
+                ex.getErrorCode(),
+                updateCounts.longArr,
+                ex);
+          }
+          throw new BatchUpdateException(
+              ex.getLocalizedMessage(),
+              ex.getSQLState(),
+              ex.getErrorCode(),
+              updateCounts.intArr,
+              ex);
+        } finally {
+          statement.setPreUploadedBindStage(null);
+        }
+      }
+      return updateCounts;
+    } finally {
+      uploadExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Get the rows of a sub-batch of the array bind batch.
+   *
+   * @param chunkIdx index of the sub-batch
+   * @param chunkSize number of rows of a sub-batch
+   * @return bind map of the rows of the sub-batch
+   */
+  Map<String, ParameterBindingDTO> getBatchChunk(int chunkIdx, int chunkSize) {
+    int fromRow = chunkIdx * chunkSize;
+    int toRow = Math.min(batchSize, fromRow + chunkSize);
+    Map<String, ParameterBindingDTO> chunk = new HashMap<>();
+    for (Map.Entry<String, ParameterBindingDTO> binding : batchParameterBindings.entrySet()) {
+      ParameterBindingDTO column = binding.getValue();
+      chunk.put(
+          binding.getKey(),
+          new ParameterBindingDTO(
+              column.getFmt(),
+              column.getType(),
+              ((List<?>) column.getValue()).subList(fromRow, toRow),
+              column.getSchema()));
+    }
+    return chunk;
+  }
+
+  private static String getPreUploadedBindStage(Future<String> upload) {
+    try {
+      return upload.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException ex) {
+      // the binds are uploaded or attached to the payload when the sub-batch is executed instead
+      logger.debug("Failed to upload the binds of a sub-batch ahead of its execution", ex);
+      return null;
+    }
+  }
+
   @Override
   public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
     throw new SnowflakeLoggedFeatureNotSupportedException(connection.getSFBaseSession());
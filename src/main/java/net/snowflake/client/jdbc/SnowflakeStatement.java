@@ -3,6 +3,8 @@ package net.snowflake.client.jdbc;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import net.snowflake.client.core.SFBaseResultSet;
 
 /** This interface defines Snowflake specific APIs for Statement */
@@ -45,6 +47,19 @@ public interface SnowflakeStatement {
    */
   ResultSet executeAsyncQuery(String sql) throws SQLException;
 
+  /**
+   * Execute SQL query asynchronously and get notified when its results are available. The query is
+   * submitted and its results are fetched on the given executor, while waiting for the query to
+   * finish is done by the driver without holding a thread. Unlike {@link
+   * #executeAsyncQuery(String)}, the returned future only completes once the results are available.
+   *
+   * @param sql sql statement
+   * @param executor executor used to submit the query and to fetch its results
+   * @return future completed with the ResultSet once the query has finished successfully, or
+   *     completed exceptionally with an SQLException if it failed
+   */
+  CompletableFuture<ResultSet> executeQueryFuture(String sql, Executor executor);
+
   /**
    * This method exposes SFBaseResultSet to the sub-classes of SnowflakeStatementV1.java. This is
    * required as SnowflakeStatementV1 doesn't directly expose ResultSet to the sub-classes making it
@@ -1,6 +1,7 @@
 package net.snowflake.client.jdbc;
 
 import static net.snowflake.client.jdbc.ErrorCode.FEATURE_UNSUPPORTED;
+import static net.snowflake.client.jdbc.SnowflakeUtil.isNullOrEmpty;
 
 import java.sql.BatchUpdateException;
 import java.sql.Connection;
@@ -15,7 +16,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import net.snowflake.client.core.AsyncQueryPoller;
 import net.snowflake.client.core.CancellationReason;
 import net.snowflake.client.core.ExecTimeTelemetryData;
 import net.snowflake.client.core.ParameterBindingDTO;
@@ -27,6 +32,7 @@ import net.snowflake.client.core.SFStatement;
 import net.snowflake.client.core.StmtUtil;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
+import net.snowflake.client.util.ThrowingCallable;
 import net.snowflake.client.util.VariableTypeArray;
 import net.snowflake.common.core.SqlState;
 
@@ -171,6 +177,71 @@ class SnowflakeStatementV1 implements Statement, SnowflakeStatement {
     return rs;
   }
 
+  @Override
+  public CompletableFuture<ResultSet> executeQueryFuture(String sql, Executor executor) {
+    return executeQueryFuture(() -> executeAsyncQuery(sql), executor);
+  }
+
+  /**
+   * Submit an asynchronous query on the executor and wait for it to finish with the shared {@link
+   * AsyncQueryPoller}. Once the query has succeeded its results are fetched on the executor, so the
+   * returned ResultSet can be read without further waiting.
+   *
+   * <p>The submission request is sent with the blocking HTTP client by a thread of the executor,
+   * which is held until the server has accepted the query. Only the status polling runs on the
+   * shared {@link net.snowflake.client.core.AsyncHttpTransport} threads.
+   *
+   * @param submit action submitting the asynchronous query
+   * @param executor executor used to submit the query and to fetch its results
+   * @return future completed with the ResultSet
+   */
+  CompletableFuture<ResultSet> executeQueryFuture(
+      ThrowingCallable<ResultSet, SQLException> submit, Executor executor) {
+    return CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return submit.call();
+              } catch (SQLException ex) {
+                throw new CompletionException(ex);
+              }
+            },
+            executor)
+        .thenCompose(
+            rs -> {
+              if (!(rs instanceof SFAsyncResultSet)) {
+                // custom connection handlers may return results synchronously
+                return CompletableFuture.completedFuture(rs);
+              }
+              SFAsyncResultSet asyncResultSet = (SFAsyncResultSet) rs;
+              return AsyncQueryPoller.getInstance()
+                  .watch(connection.getSFBaseSession(), asyncResultSet.getQueryID())
+                  .thenApplyAsync(
+                      status -> {
+                        try {
+                          if (!status.isSuccess()) {
+                            String errorMessage = status.getErrorMessage();
+                            if (isNullOrEmpty(errorMessage)) {
+                              errorMessage = "No error message available";
+                            }
+                            throw new SQLException(
+                                "Status of query associated with resultSet is "
+                                    + status.getDescription()
+                                    + ". "
+                                    + errorMessage
+                                    + " Results not generated.");
+                          }
+                          asyncResultSet.setStatusV2(status);
+                          // runs result_scan now so that reading the results does not block
+                          asyncResultSet.getMetaData();
+                          return rs;
+                        } catch (SQLException ex) {
+                          throw new CompletionException(ex);
+                        }
+                      },
+                      executor);
+            });
+  }
+
   @Override
   public void resultSetMetadataHandler(SFBaseResultSet resultSet) throws SQLException {
     // No-Op.
@@ -504,37 +575,36 @@ class SnowflakeStatementV1 implements Statement, SnowflakeStatement {
       updateCounts = new VariableTypeArray(arr, null);
     }
     batchQueryIDs.clear();
-    for (int i = 0; i < batch.size(); i++) {
-      BatchEntry b = batch.get(i);
-      try {
-        long cnt =
-            this.executeUpdateInternal(
-                b.getSql(), b.getParameterBindings(), false, new ExecTimeTelemetryData());
-        if (cnt == NO_UPDATES) {
-          // in executeBatch we set updateCount to SUCCESS_NO_INFO
-          // for successful query with no updates
-          cnt = SUCCESS_NO_INFO;
-        }
-        if (isLong) {
-          updateCounts.longArr[i] = cnt;
-        } else if (cnt <= Integer.MAX_VALUE) {
-          updateCounts.intArr[i] = (int) cnt;
-        } else {
-          throw new SnowflakeSQLLoggedException(
-              connection.getSFBaseSession(),
-              ErrorCode.EXECUTE_BATCH_INTEGER_OVERFLOW.getMessageCode(),
-              SqlState.NUMERIC_VALUE_OUT_OF_RANGE,
-              i);
-        }
-        batchQueryIDs.add(queryID);
-      } catch (SQLException e) {
-        exceptionReturned = exceptionReturned == null ? e : exceptionReturned;
-        if (isLong) {
-          updateCounts.longArr[i] = (long) EXECUTE_FAILED;
-        } else {
-          updateCounts.intArr[i] = EXECUTE_FAILED;
+    MultiRowInsertRewriter rewriter = getMultiRowInsertRewriter();
+    int rewriteSize =
+        rewriter == null
+            ? 1
+            : Math.min(
+                connection.getSFBaseSession().getBatchInsertRewriteSize(),
+                MultiRowInsertRewriter.MAX_ROWS);
+    for (int i = 0; i < batch.size(); i += rewriteSize) {
+      int numRows = Math.min(rewriteSize, batch.size() - i);
+      SQLException e;
+      if (numRows == 1) {
+        e = executeBatchRow(i, updateCounts);
+      } else {
+        e = executeRewrittenBatchRows(rewriter, i, numRows, updateCounts);
+        if (e != null) {
+          // none of the rows of the failed statement were inserted, so run them again one at a
+          // time to report which of them failed
+          logger.debug(
+              "Multi-row INSERT of rows {} to {} failed, executing them one at a time: {}",
+              i,
+              i + numRows - 1,
+              e.getMessage());
+          e = null;
+          for (int row = i; row < i + numRows; row++) {
+            SQLException rowException = executeBatchRow(row, updateCounts);
+            e = e == null ? rowException : e;
+          }
         }
       }
+      exceptionReturned = exceptionReturned == null ? e : exceptionReturned;
     }
 
     if (exceptionReturned != null && isLong) {
@@ -558,6 +628,108 @@ class SnowflakeStatementV1 implements Statement, SnowflakeStatement {
     return updateCounts;
   }
 
+  /**
+   * Execute one row of the batch and set its update count.
+   *
+   * @return the exception if the row failed, null otherwise
+   */
+  private SQLException executeBatchRow(int row, VariableTypeArray updateCounts) {
+    BatchEntry b = batch.get(row);
+    try {
+      long cnt =
+          this.executeUpdateInternal(
+              b.getSql(), b.getParameterBindings(), false, new ExecTimeTelemetryData());
+      if (cnt == NO_UPDATES) {
+        // in executeBatch we set updateCount to SUCCESS_NO_INFO
+        // for successful query with no updates
+        cnt = SUCCESS_NO_INFO;
+      }
+      if (updateCounts.longArr == null && cnt > Integer.MAX_VALUE) {
+        throw new SnowflakeSQLLoggedException(
+            connection.getSFBaseSession(),
+            ErrorCode.EXECUTE_BATCH_INTEGER_OVERFLOW.getMessageCode(),
+            SqlState.NUMERIC_VALUE_OUT_OF_RANGE,
+            row);
+      }
+      setUpdateCounts(updateCounts, row, 1, cnt);
+      batchQueryIDs.add(queryID);
+      return null;
+    } catch (SQLException e) {
+      setUpdateCounts(updateCounts, row, 1, EXECUTE_FAILED);
+      return e;
+    }
+  }
+
+  /**
+   * Execute rows of the batch in one multi-row INSERT statement and set their update counts. The
+   * update counts are left unset if the statement fails.
+   *
+   * @return the exception if the statement failed, null otherwise
+   */
+  private SQLException executeRewrittenBatchRows(
+      MultiRowInsertRewriter rewriter, int fromRow, int numRows, VariableTypeArray updateCounts) {
+    try {
+      long cnt =
+          this.executeUpdateInternal(
+              rewriter.getSql(numRows),
+              rewriter.getParameterBindings(getBatchParameterBindings(fromRow, numRows)),
+              false,
+              new ExecTimeTelemetryData());
+      // each row inserts a single row, unless the count of the rows isn't known
+      setUpdateCounts(updateCounts, fromRow, numRows, cnt == numRows ? 1 : SUCCESS_NO_INFO);
+      batchQueryIDs.add(queryID);
+      return null;
+    } catch (SQLException e) {
+      return e;
+    }
+  }
+
+  /**
+   * Get the rewriter of the batch into multi-row INSERT statements.
+   *
+   * @return rewriter if rewriting is enabled and all the rows of the batch are binds of the same
+   *     single-row INSERT statement, null otherwise
+   */
+  private MultiRowInsertRewriter getMultiRowInsertRewriter() {
+    if (batch.size() < 2 || connection.getSFBaseSession().getBatchInsertRewriteSize() < 2) {
+      return null;
+    }
+    String sql = batch.get(0).getSql();
+    MultiRowInsertRewriter rewriter = MultiRowInsertRewriter.parse(sql);
+    if (rewriter == null) {
+      return null;
+    }
+    for (BatchEntry b : batch) {
+      if (!sql.equals(b.getSql()) || !rewriter.accepts(b.getParameterBindings())) {
+        return null;
+      }
+    }
+    logger.debug(
+        "Executing batch of {} rows in multi-row INSERT statements of up to {} rows",
+        batch.size(),
+        connection.getSFBaseSession().getBatchInsertRewriteSize());
+    return rewriter;
+  }
+
+  private List<Map<String, ParameterBindingDTO>> getBatchParameterBindings(
+      int fromRow, int numRows) {
+    List<Map<String, ParameterBindingDTO>> rows = new ArrayList<>(numRows);
+    for (int i = fromRow; i < fromRow + numRows; i++) {
+      rows.add(batch.get(i).getParameterBindings());
+    }
+    return rows;
+  }
+
+  static void setUpdateCounts(VariableTypeArray updateCounts, int fromRow, int numRows, long cnt) {
+    for (int i = fromRow; i < fromRow + numRows; i++) {
+      if (updateCounts.longArr != null) {
+        updateCounts.longArr[i] = cnt;
+      } else {
+        updateCounts.intArr[i] = (int) cnt;
+      }
+    }
+  }
+
   @Override
   public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
     logger.trace("executeUpdate(String sql, int autoGeneratedKeys)", false);
@@ -41,6 +41,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import net.snowflake.client.core.Constants;
 import net.snowflake.client.core.HttpClientSettingsKey;
@@ -606,6 +607,23 @@ public class SnowflakeUtil {
     return (ThreadPoolExecutor) Executors.newFixedThreadPool(parallel, threadFactory);
   }
 
+  /**
+   * Returns a thread factory creating daemon threads, which don't keep the JVM from exiting.
+   *
+   * @param threadNamePrefix prefix of the thread name, followed by the number of the thread
+   * @return thread factory creating daemon threads
+   */
+  @SnowflakeJdbcInternalApi
+  public static ThreadFactory createDaemonThreadFactory(final String threadNamePrefix) {
+    final AtomicInteger threadCount = new AtomicInteger(1);
+    return runnable -> {
+      Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+      thread.setName(threadNamePrefix + threadCount.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
   public static Throwable getRootCause(Exception ex) {
     Throwable cause = ex;
     while (cause.getCause() != null) {
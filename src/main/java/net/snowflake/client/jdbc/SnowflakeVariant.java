@@ -0,0 +1,85 @@
+package net.snowflake.client.jdbc;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import net.snowflake.client.core.ObjectMapperFactory;
+
+/**
+ * Lazily parsed value of a semi-structured (VARIANT, OBJECT or ARRAY) column.
+ *
+ * <p>The value keeps the UTF-8 encoded JSON text as returned by the server. It is parsed into a
+ * Jackson tree only on the first call to {@link #getJsonNode()} and the tree is kept for later
+ * calls. {@link #createParser()} gives streaming access to the same bytes without building a tree
+ * or decoding them into a String.
+ *
+ * <p>Instances are obtained with {@code resultSet.getObject(columnIndex, SnowflakeVariant.class)}
+ * and are cached by the result set for the current row.
+ */
+public class SnowflakeVariant {
+  private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getObjectMapper();
+
+  private final byte[] bytes;
+  private JsonNode jsonNode;
+
+  public SnowflakeVariant(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  public SnowflakeVariant(String json) {
+    this(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the parsed JSON tree, parsed on the first call
+   * @throws SQLException if the value is not valid JSON
+   */
+  public JsonNode getJsonNode() throws SQLException {
+    if (jsonNode == null) {
+      try {
+        jsonNode = OBJECT_MAPPER.readTree(bytes);
+      } catch (IOException e) {
+        throw new SnowflakeSQLException(
+            e, ErrorCode.INVALID_VALUE_CONVERT, "VARIANT", JsonNode.class.getName(), this);
+      }
+    }
+    return jsonNode;
+  }
+
+  /**
+   * Create a streaming parser over the UTF-8 JSON text. The caller is responsible for closing it.
+   *
+   * @return new parser positioned before the first token
+   * @throws SQLException if the parser can't be created
+   */
+  public JsonParser createParser() throws SQLException {
+    try {
+      return OBJECT_MAPPER.getFactory().createParser(bytes);
+    } catch (IOException e) {
+      throw new SnowflakeSQLException(
+          e, ErrorCode.INVALID_VALUE_CONVERT, "VARIANT", JsonParser.class.getName(), this);
+    }
+  }
+
+  /**
+   * @return the UTF-8 encoded JSON text
+   */
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  /**
+   * @return whether the JSON text has already been parsed into a tree
+   */
+  public boolean isParsed() {
+    return jsonNode != null;
+  }
+
+  @Override
+  public String toString() {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
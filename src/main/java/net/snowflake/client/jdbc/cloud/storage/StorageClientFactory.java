@@ -72,6 +72,10 @@ public class StorageClientFactory {
         return createAzureClient(stage, encMat, session);
 
       case GCS:
+        if (session != null) {
+          // the GCS client transfers the files with the HTTP client of the session
+          HttpUtil.ensureMaxConnectionsPerRoute(session.getHttpClientKey(), parallel);
+        }
         return createGCSClient(stage, encMat, session);
 
       default:
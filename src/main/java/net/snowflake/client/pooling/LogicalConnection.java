@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.NClob;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -16,6 +17,8 @@ import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Struct;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SnowflakeConnectionV1;
@@ -42,6 +45,9 @@ class LogicalConnection implements Connection {
    */
   private boolean isClosed;
 
+  /** statements from the statement cache of the pooled connection not closed yet */
+  private final Set<LogicalPreparedStatement> openStatements = ConcurrentHashMap.newKeySet();
+
   LogicalConnection(SnowflakePooledConnection pooledConnection) throws SQLException {
     this.physicalConnection = pooledConnection.getPhysicalConnection();
     this.pooledConnection = pooledConnection;
@@ -65,6 +71,13 @@ class LogicalConnection implements Connection {
     throwExceptionIfClosed();
 
     try {
+      if (pooledConnection.isStatementPoolingEnabled()) {
+        return prepareCachedStatement(
+            sql,
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.CLOSE_CURSORS_AT_COMMIT);
+      }
       return physicalConnection.prepareStatement(sql);
     } catch (SQLException e) {
       pooledConnection.fireConnectionErrorEvent(e);
@@ -152,8 +165,12 @@ class LogicalConnection implements Connection {
     }
     SnowflakeConnectionV1 sfConnection = physicalConnection.unwrap(SnowflakeConnectionV1.class);
     logger.debug("Closing logical connection with session id: {}", sfConnection.getSessionID());
-    pooledConnection.fireConnectionCloseEvent();
+    // closed first, the physical connection may be handed out again by the close event listeners
     isClosed = true;
+    for (LogicalPreparedStatement statement : openStatements) {
+      statement.close();
+    }
+    pooledConnection.fireConnectionCloseEvent();
   }
 
   @Override
@@ -288,6 +305,10 @@ class LogicalConnection implements Connection {
     throwExceptionIfClosed();
 
     try {
+      if (pooledConnection.isStatementPoolingEnabled()) {
+        return prepareCachedStatement(
+            sql, resultSetType, resultSetConcurrency, ResultSet.CLOSE_CURSORS_AT_COMMIT);
+      }
       return physicalConnection.prepareStatement(sql, resultSetType, resultSetConcurrency);
     } catch (SQLException e) {
       pooledConnection.fireConnectionErrorEvent(e);
@@ -425,6 +446,10 @@ class LogicalConnection implements Connection {
     throwExceptionIfClosed();
 
     try {
+      if (pooledConnection.isStatementPoolingEnabled()) {
+        return prepareCachedStatement(
+            sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+      }
       return physicalConnection.prepareStatement(
           sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     } catch (SQLException e) {
@@ -686,6 +711,21 @@ class LogicalConnection implements Connection {
     }
   }
 
+  private PreparedStatement prepareCachedStatement(
+      String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+      throws SQLException {
+    LogicalPreparedStatement statement =
+        pooledConnection.prepareStatement(
+            this, sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    openStatements.add(statement);
+    return statement;
+  }
+
+  /** Called by a statement from the statement cache when it is closed */
+  void statementClosed(LogicalPreparedStatement statement) {
+    openStatements.remove(statement);
+  }
+
   private void throwExceptionIfClosed() throws SQLException {
     if (isClosed) {
       throw new SnowflakeSQLException(ErrorCode.CONNECTION_CLOSED);
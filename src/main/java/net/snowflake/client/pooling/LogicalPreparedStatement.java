@@ -0,0 +1,780 @@
+package net.snowflake.client.pooling;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import net.snowflake.client.jdbc.ErrorCode;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+import net.snowflake.client.util.ThrowingCallable;
+
+/**
+ * Logical prepared statement is wrapper class on top of a prepared statement cached by the pooled
+ * connection. Every method call will be delegated to the cached statement except for close method,
+ * which returns the statement to the cache of the pooled connection.
+ */
+class LogicalPreparedStatement implements PreparedStatement {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(LogicalPreparedStatement.class);
+
+  /** cached statement, instance of SnowflakePreparedStatementV1 */
+  private final PreparedStatement physicalStatement;
+
+  /** key of the statement in the statement cache */
+  private final StatementCache.Key key;
+
+  /** Logical connection which created this statement */
+  private final LogicalConnection logicalConnection;
+
+  /** Pooled connection caching the statement */
+  private final SnowflakePooledConnection pooledConnection;
+
+  /** statement metadata generation of the session when the statement was checked out */
+  private final long generation;
+
+  // settings of the cached statement, restored when the statement is closed
+  private final int queryTimeout;
+  private final int maxRows;
+  private final int fetchSize;
+  private final int maxFieldSize;
+
+  private boolean settingsChanged = false;
+
+  private boolean poolable = true;
+
+  /** whether the cached statement was handed out by unwrap, so the caller may have closed it */
+  private boolean unwrapped = false;
+
+  private boolean isClosed = false;
+
+  LogicalPreparedStatement(
+      LogicalConnection logicalConnection,
+      SnowflakePooledConnection pooledConnection,
+      StatementCache.Key key,
+      PreparedStatement physicalStatement,
+      long generation)
+      throws SQLException {
+    this.logicalConnection = logicalConnection;
+    this.pooledConnection = pooledConnection;
+    this.key = key;
+    this.physicalStatement = physicalStatement;
+    this.generation = generation;
+    this.queryTimeout = physicalStatement.getQueryTimeout();
+    this.maxRows = physicalStatement.getMaxRows();
+    this.fetchSize = physicalStatement.getFetchSize();
+    this.maxFieldSize = physicalStatement.getMaxFieldSize();
+  }
+
+  /** Logical statement will not close the cached statement, but return it to the cache */
+  @Override
+  public void close() throws SQLException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    logicalConnection.statementClosed(this);
+    pooledConnection.releaseStatement(
+        key, physicalStatement, generation, poolable && !unwrapped && resetStatement());
+    pooledConnection.fireStatementClosedEvent(this);
+  }
+
+  /**
+   * Reset the cached statement to the state it was taken out of the cache in, so that the next
+   * borrower doesn't see the parameters, batch or settings of this one.
+   *
+   * @return true if the statement can be cached again
+   */
+  private boolean resetStatement() {
+    try {
+      if (physicalStatement.isClosed()) {
+        return false;
+      }
+      ResultSet resultSet = physicalStatement.getResultSet();
+      if (resultSet != null) {
+        resultSet.close();
+      }
+      physicalStatement.clearParameters();
+      physicalStatement.clearBatch();
+      physicalStatement.clearWarnings();
+      if (settingsChanged) {
+        physicalStatement.setQueryTimeout(queryTimeout);
+        physicalStatement.setMaxRows(maxRows);
+        physicalStatement.setFetchSize(fetchSize);
+        physicalStatement.setMaxFieldSize(maxFieldSize);
+      }
+      return true;
+    } catch (SQLException e) {
+      logger.debug("Failed to reset cached statement, closing it: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  public boolean isClosed() throws SQLException {
+    return isClosed;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    throwExceptionIfClosed();
+    return logicalConnection;
+  }
+
+  @Override
+  public void setPoolable(boolean poolable) throws SQLException {
+    throwExceptionIfClosed();
+    this.poolable = poolable;
+  }
+
+  @Override
+  public boolean isPoolable() throws SQLException {
+    throwExceptionIfClosed();
+    return poolable;
+  }
+
+  @Override
+  public ResultSet executeQuery(String sql) throws SQLException {
+    return call(() -> physicalStatement.executeQuery(sql));
+  }
+
+  @Override
+  public ResultSet executeQuery() throws SQLException {
+    return call(() -> physicalStatement.executeQuery());
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+    return call(() -> physicalStatement.executeLargeUpdate(sql, columnIndexes));
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    return call(() -> physicalStatement.executeLargeUpdate(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+    return call(() -> physicalStatement.executeLargeUpdate(sql, columnNames));
+  }
+
+  @Override
+  public long executeLargeUpdate(String sql) throws SQLException {
+    return call(() -> physicalStatement.executeLargeUpdate(sql));
+  }
+
+  @Override
+  public long executeLargeUpdate() throws SQLException {
+    return call(() -> physicalStatement.executeLargeUpdate());
+  }
+
+  @Override
+  public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+    return call(() -> physicalStatement.executeUpdate(sql, columnIndexes));
+  }
+
+  @Override
+  public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+    return call(() -> physicalStatement.executeUpdate(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+    return call(() -> physicalStatement.executeUpdate(sql, columnNames));
+  }
+
+  @Override
+  public int executeUpdate(String sql) throws SQLException {
+    return call(() -> physicalStatement.executeUpdate(sql));
+  }
+
+  @Override
+  public int executeUpdate() throws SQLException {
+    return call(() -> physicalStatement.executeUpdate());
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+    run(() -> physicalStatement.setNull(parameterIndex, sqlType, typeName));
+  }
+
+  @Override
+  public void setNull(int parameterIndex, int sqlType) throws SQLException {
+    run(() -> physicalStatement.setNull(parameterIndex, sqlType));
+  }
+
+  @Override
+  public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+    run(() -> physicalStatement.setBoolean(parameterIndex, x));
+  }
+
+  @Override
+  public void setByte(int parameterIndex, byte x) throws SQLException {
+    run(() -> physicalStatement.setByte(parameterIndex, x));
+  }
+
+  @Override
+  public void setShort(int parameterIndex, short x) throws SQLException {
+    run(() -> physicalStatement.setShort(parameterIndex, x));
+  }
+
+  @Override
+  public void setInt(int parameterIndex, int x) throws SQLException {
+    run(() -> physicalStatement.setInt(parameterIndex, x));
+  }
+
+  @Override
+  public void setLong(int parameterIndex, long x) throws SQLException {
+    run(() -> physicalStatement.setLong(parameterIndex, x));
+  }
+
+  @Override
+  public void setFloat(int parameterIndex, float x) throws SQLException {
+    run(() -> physicalStatement.setFloat(parameterIndex, x));
+  }
+
+  @Override
+  public void setDouble(int parameterIndex, double x) throws SQLException {
+    run(() -> physicalStatement.setDouble(parameterIndex, x));
+  }
+
+  @Override
+  public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+    run(() -> physicalStatement.setBigDecimal(parameterIndex, x));
+  }
+
+  @Override
+  public void setString(int parameterIndex, String x) throws SQLException {
+    run(() -> physicalStatement.setString(parameterIndex, x));
+  }
+
+  @Override
+  public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+    run(() -> physicalStatement.setBytes(parameterIndex, x));
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+    run(() -> physicalStatement.setDate(parameterIndex, x, cal));
+  }
+
+  @Override
+  public void setDate(int parameterIndex, Date x) throws SQLException {
+    run(() -> physicalStatement.setDate(parameterIndex, x));
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+    run(() -> physicalStatement.setTime(parameterIndex, x, cal));
+  }
+
+  @Override
+  public void setTime(int parameterIndex, Time x) throws SQLException {
+    run(() -> physicalStatement.setTime(parameterIndex, x));
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+    run(() -> physicalStatement.setTimestamp(parameterIndex, x, cal));
+  }
+
+  @Override
+  public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+    run(() -> physicalStatement.setTimestamp(parameterIndex, x));
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+    run(() -> physicalStatement.setAsciiStream(parameterIndex, x, length));
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+    run(() -> physicalStatement.setAsciiStream(parameterIndex, x, length));
+  }
+
+  @Override
+  public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+    run(() -> physicalStatement.setAsciiStream(parameterIndex, x));
+  }
+
+  @Override
+  public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+    run(() -> physicalStatement.setUnicodeStream(parameterIndex, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+    run(() -> physicalStatement.setBinaryStream(parameterIndex, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+    run(() -> physicalStatement.setBinaryStream(parameterIndex, x, length));
+  }
+
+  @Override
+  public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+    run(() -> physicalStatement.setBinaryStream(parameterIndex, x));
+  }
+
+  @Override
+  public void clearParameters() throws SQLException {
+    run(() -> physicalStatement.clearParameters());
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x) throws SQLException {
+    run(() -> physicalStatement.setObject(parameterIndex, x));
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+    run(() -> physicalStatement.setObject(parameterIndex, x, targetSqlType));
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+    run(() -> physicalStatement.setObject(parameterIndex, x, targetSqlType));
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength)
+      throws SQLException {
+    throwExceptionIfClosed();
+
+    try {
+      physicalStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength)
+      throws SQLException {
+    throwExceptionIfClosed();
+
+    try {
+      physicalStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+    return call(() -> physicalStatement.execute(sql, columnIndexes));
+  }
+
+  @Override
+  public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+    return call(() -> physicalStatement.execute(sql, autoGeneratedKeys));
+  }
+
+  @Override
+  public boolean execute(String sql, String[] columnNames) throws SQLException {
+    return call(() -> physicalStatement.execute(sql, columnNames));
+  }
+
+  @Override
+  public boolean execute(String sql) throws SQLException {
+    return call(() -> physicalStatement.execute(sql));
+  }
+
+  @Override
+  public boolean execute() throws SQLException {
+    return call(() -> physicalStatement.execute());
+  }
+
+  @Override
+  public void addBatch(String sql) throws SQLException {
+    run(() -> physicalStatement.addBatch(sql));
+  }
+
+  @Override
+  public void addBatch() throws SQLException {
+    run(() -> physicalStatement.addBatch());
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader, int length)
+      throws SQLException {
+    throwExceptionIfClosed();
+
+    try {
+      physicalStatement.setCharacterStream(parameterIndex, reader, length);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader, long length)
+      throws SQLException {
+    throwExceptionIfClosed();
+
+    try {
+      physicalStatement.setCharacterStream(parameterIndex, reader, length);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+    run(() -> physicalStatement.setCharacterStream(parameterIndex, reader));
+  }
+
+  @Override
+  public void setRef(int parameterIndex, Ref x) throws SQLException {
+    run(() -> physicalStatement.setRef(parameterIndex, x));
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream, long length)
+      throws SQLException {
+    throwExceptionIfClosed();
+
+    try {
+      physicalStatement.setBlob(parameterIndex, inputStream, length);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+    run(() -> physicalStatement.setBlob(parameterIndex, inputStream));
+  }
+
+  @Override
+  public void setBlob(int parameterIndex, Blob x) throws SQLException {
+    run(() -> physicalStatement.setBlob(parameterIndex, x));
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+    run(() -> physicalStatement.setClob(parameterIndex, reader, length));
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Reader reader) throws SQLException {
+    run(() -> physicalStatement.setClob(parameterIndex, reader));
+  }
+
+  @Override
+  public void setClob(int parameterIndex, Clob x) throws SQLException {
+    run(() -> physicalStatement.setClob(parameterIndex, x));
+  }
+
+  @Override
+  public void setArray(int parameterIndex, Array array) throws SQLException {
+    run(() -> physicalStatement.setArray(parameterIndex, array));
+  }
+
+  @Override
+  public ResultSetMetaData getMetaData() throws SQLException {
+    return call(() -> physicalStatement.getMetaData());
+  }
+
+  @Override
+  public void setURL(int parameterIndex, URL x) throws SQLException {
+    run(() -> physicalStatement.setURL(parameterIndex, x));
+  }
+
+  @Override
+  public ParameterMetaData getParameterMetaData() throws SQLException {
+    return call(() -> physicalStatement.getParameterMetaData());
+  }
+
+  @Override
+  public void setRowId(int parameterIndex, RowId x) throws SQLException {
+    run(() -> physicalStatement.setRowId(parameterIndex, x));
+  }
+
+  @Override
+  public void setNString(int parameterIndex, String value) throws SQLException {
+    run(() -> physicalStatement.setNString(parameterIndex, value));
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader value, long length)
+      throws SQLException {
+    throwExceptionIfClosed();
+
+    try {
+      physicalStatement.setNCharacterStream(parameterIndex, value, length);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+    run(() -> physicalStatement.setNCharacterStream(parameterIndex, value));
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+    run(() -> physicalStatement.setNClob(parameterIndex, reader, length));
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+    run(() -> physicalStatement.setNClob(parameterIndex, reader));
+  }
+
+  @Override
+  public void setNClob(int parameterIndex, NClob value) throws SQLException {
+    run(() -> physicalStatement.setNClob(parameterIndex, value));
+  }
+
+  @Override
+  public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+    run(() -> physicalStatement.setSQLXML(parameterIndex, xmlObject));
+  }
+
+  @Override
+  public void clearBatch() throws SQLException {
+    run(() -> physicalStatement.clearBatch());
+  }
+
+  @Override
+  public int[] executeBatch() throws SQLException {
+    return call(() -> physicalStatement.executeBatch());
+  }
+
+  @Override
+  public long[] executeLargeBatch() throws SQLException {
+    return call(() -> physicalStatement.executeLargeBatch());
+  }
+
+  @Override
+  public int getFetchDirection() throws SQLException {
+    return call(() -> physicalStatement.getFetchDirection());
+  }
+
+  @Override
+  public int getFetchSize() throws SQLException {
+    return call(() -> physicalStatement.getFetchSize());
+  }
+
+  @Override
+  public ResultSet getGeneratedKeys() throws SQLException {
+    return call(() -> physicalStatement.getGeneratedKeys());
+  }
+
+  @Override
+  public int getMaxFieldSize() throws SQLException {
+    return call(() -> physicalStatement.getMaxFieldSize());
+  }
+
+  @Override
+  public int getMaxRows() throws SQLException {
+    return call(() -> physicalStatement.getMaxRows());
+  }
+
+  @Override
+  public boolean getMoreResults(int current) throws SQLException {
+    return call(() -> physicalStatement.getMoreResults(current));
+  }
+
+  @Override
+  public boolean getMoreResults() throws SQLException {
+    return call(() -> physicalStatement.getMoreResults());
+  }
+
+  @Override
+  public int getQueryTimeout() throws SQLException {
+    return call(() -> physicalStatement.getQueryTimeout());
+  }
+
+  @Override
+  public ResultSet getResultSet() throws SQLException {
+    return call(() -> physicalStatement.getResultSet());
+  }
+
+  @Override
+  public int getResultSetConcurrency() throws SQLException {
+    return call(() -> physicalStatement.getResultSetConcurrency());
+  }
+
+  @Override
+  public int getResultSetHoldability() throws SQLException {
+    return call(() -> physicalStatement.getResultSetHoldability());
+  }
+
+  @Override
+  public int getResultSetType() throws SQLException {
+    return call(() -> physicalStatement.getResultSetType());
+  }
+
+  @Override
+  public int getUpdateCount() throws SQLException {
+    return call(() -> physicalStatement.getUpdateCount());
+  }
+
+  @Override
+  public long getLargeUpdateCount() throws SQLException {
+    return call(() -> physicalStatement.getLargeUpdateCount());
+  }
+
+  @Override
+  public SQLWarning getWarnings() throws SQLException {
+    return call(() -> physicalStatement.getWarnings());
+  }
+
+  @Override
+  public void setCursorName(String name) throws SQLException {
+    run(() -> physicalStatement.setCursorName(name));
+  }
+
+  @Override
+  public void setEscapeProcessing(boolean enable) throws SQLException {
+    run(() -> physicalStatement.setEscapeProcessing(enable));
+  }
+
+  @Override
+  public void setFetchDirection(int direction) throws SQLException {
+    run(() -> physicalStatement.setFetchDirection(direction));
+  }
+
+  @Override
+  public void setFetchSize(int rows) throws SQLException {
+    settingsChanged = true;
+    run(() -> physicalStatement.setFetchSize(rows));
+  }
+
+  @Override
+  public void setMaxFieldSize(int max) throws SQLException {
+    settingsChanged = true;
+    run(() -> physicalStatement.setMaxFieldSize(max));
+  }
+
+  @Override
+  public void setMaxRows(int max) throws SQLException {
+    settingsChanged = true;
+    run(() -> physicalStatement.setMaxRows(max));
+  }
+
+  @Override
+  public void setQueryTimeout(int seconds) throws SQLException {
+    settingsChanged = true;
+    run(() -> physicalStatement.setQueryTimeout(seconds));
+  }
+
+  @Override
+  public void closeOnCompletion() throws SQLException {
+    run(() -> physicalStatement.closeOnCompletion());
+  }
+
+  @Override
+  public boolean isCloseOnCompletion() throws SQLException {
+    return call(() -> physicalStatement.isCloseOnCompletion());
+  }
+
+  @Override
+  public void cancel() throws SQLException {
+    run(() -> physicalStatement.cancel());
+  }
+
+  @Override
+  public void clearWarnings() throws SQLException {
+    run(() -> physicalStatement.clearWarnings());
+  }
+
+  @Override
+  public long getLargeMaxRows() throws SQLException {
+    return call(() -> physicalStatement.getLargeMaxRows());
+  }
+
+  @Override
+  public void setLargeMaxRows(long max) throws SQLException {
+    settingsChanged = true;
+    run(() -> physicalStatement.setLargeMaxRows(max));
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    try {
+      return physicalStatement.isWrapperFor(iface);
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    try {
+      T statement = physicalStatement.unwrap(iface);
+      // the caller may keep using or close the cached statement, so it isn't cached again
+      unwrapped = true;
+      return statement;
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Call the cached statement, firing a statement error event if the call fails.
+   *
+   * @param action call of the cached statement
+   * @return result of the call
+   * @throws SQLException if the statement is closed or the call fails
+   */
+  private <T> T call(ThrowingCallable<T, SQLException> action) throws SQLException {
+    throwExceptionIfClosed();
+    try {
+      return action.call();
+    } catch (SQLException e) {
+      pooledConnection.fireStatementErrorEvent(this, e);
+      throw e;
+    }
+  }
+
+  private void run(StatementAction action) throws SQLException {
+    call(
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  private interface StatementAction {
+    void run() throws SQLException;
+  }
+
+  private void throwExceptionIfClosed() throws SQLException {
+    if (isClosed) {
+      throw new SnowflakeSQLException(ErrorCode.STATEMENT_CLOSED);
+    }
+  }
+}
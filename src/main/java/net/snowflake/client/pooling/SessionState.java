@@ -0,0 +1,123 @@
+package net.snowflake.client.pooling;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFSession;
+import net.snowflake.client.jdbc.SnowflakeConnectionV1;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * State of a session when it was added to a pool, restored when a logical connection is closed so
+ * that the next borrower does not see the changes made by the previous one.
+ *
+ * <p>Parameters and variables of the session can't be listed, so they are not restored: a session
+ * in which a statement may have changed them, e.g. ALTER SESSION or SET, is not reused.
+ */
+class SessionState {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(SessionState.class);
+
+  private final boolean autoCommit;
+  private final String role;
+  private final String warehouse;
+  private final String database;
+  private final String schema;
+  private final long settingsChangeCount;
+
+  private SessionState(
+      boolean autoCommit,
+      String role,
+      String warehouse,
+      String database,
+      String schema,
+      long settingsChangeCount) {
+    this.autoCommit = autoCommit;
+    this.role = role;
+    this.warehouse = warehouse;
+    this.database = database;
+    this.schema = schema;
+    this.settingsChangeCount = settingsChangeCount;
+  }
+
+  /**
+   * @param connection physical connection
+   * @return current state of the session of the connection
+   * @throws SQLException if the connection is closed
+   */
+  static SessionState capture(SnowflakeConnectionV1 connection) throws SQLException {
+    SFBaseSession session = connection.getSFBaseSession();
+    return new SessionState(
+        connection.getAutoCommit(),
+        session.getRole(),
+        session.getWarehouse(),
+        session.getDatabase(),
+        session.getSchema(),
+        getSettingsChangeCount(session));
+  }
+
+  private static long getSettingsChangeCount(SFBaseSession session) {
+    return session instanceof SFSession ? ((SFSession) session).getSessionSettingsChangeCount() : 0;
+  }
+
+  /**
+   * Restore the state of the session of a connection. Changes are only sent to the server for the
+   * parts of the state which differ, which in most cases means no round trip at all.
+   *
+   * @param connection physical connection
+   * @return false if the state can't be restored and the connection must not be reused
+   * @throws SQLException if restoring the state failed
+   */
+  boolean restore(SnowflakeConnectionV1 connection) throws SQLException {
+    SFBaseSession session = connection.getSFBaseSession();
+    if (getSettingsChangeCount(session) != settingsChangeCount) {
+      logger.debug("Parameters or variables of a pooled session may have changed", false);
+      return false;
+    }
+    if (!connection.getAutoCommit()) {
+      // roll back whatever the previous borrower left uncommitted
+      connection.rollback();
+    }
+    if (connection.getAutoCommit() != autoCommit) {
+      connection.setAutoCommit(autoCommit);
+    }
+
+    if (!restore(connection, "role", role, session.getRole())
+        || !restore(connection, "warehouse", warehouse, session.getWarehouse())) {
+      return false;
+    }
+    if (!Objects.equals(database, session.getDatabase())) {
+      if (database == null) {
+        logger.debug("Cannot unset the database {} of a pooled session", session.getDatabase());
+        return false;
+      }
+      connection.setCatalog(database);
+    }
+    if (!Objects.equals(schema, session.getSchema())) {
+      if (schema == null) {
+        logger.debug("Cannot unset the schema {} of a pooled session", session.getSchema());
+        return false;
+      }
+      connection.setSchema(schema);
+    }
+    connection.clearWarnings();
+    return true;
+  }
+
+  private static boolean restore(
+      SnowflakeConnectionV1 connection, String objectType, String initial, String current)
+      throws SQLException {
+    if (Objects.equals(initial, current)) {
+      return true;
+    }
+    if (initial == null) {
+      logger.debug("Cannot unset the {} {} of a pooled session", objectType, current);
+      return false;
+    }
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("use " + objectType + " \"" + initial.replace("\"", "\"\"") + "\"");
+    }
+    return true;
+  }
+}
@@ -2,21 +2,52 @@ package net.snowflake.client.pooling;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Properties;
 import javax.sql.ConnectionPoolDataSource;
 import javax.sql.PooledConnection;
 import net.snowflake.client.jdbc.SnowflakeBasicDataSource;
 
 public class SnowflakeConnectionPoolDataSource extends SnowflakeBasicDataSource
     implements ConnectionPoolDataSource {
+  /** Maximum number of idle prepared statements cached per pooled connection, 0 to disable */
+  private int maxStatements = 0;
+
+  public int getMaxStatements() {
+    return maxStatements;
+  }
+
+  /**
+   * @param maxStatements maximum number of idle prepared statements cached per pooled connection,
+   *     default 0 which disables statement pooling
+   */
+  public void setMaxStatements(int maxStatements) {
+    this.maxStatements = Math.max(0, maxStatements);
+  }
+
+  /**
+   * Create a pooled connection whose session is kept alive with heartbeats unless the
+   * CLIENT_SESSION_KEEP_ALIVE parameter is set explicitly, so that idle pooled sessions don't
+   * expire. The properties of the data source are not changed.
+   *
+   * @return pooled connection
+   * @throws SQLException if the connection cannot be created
+   */
+  SnowflakePooledConnection getKeepAlivePooledConnection() throws SQLException {
+    Properties defaultProperties = new Properties();
+    defaultProperties.put("CLIENT_SESSION_KEEP_ALIVE", "true");
+    Connection connection = getConnection(defaultProperties);
+    return new SnowflakePooledConnection(connection, maxStatements);
+  }
+
   @Override
   public PooledConnection getPooledConnection() throws SQLException {
     Connection connection = super.getConnection();
-    return new SnowflakePooledConnection(connection);
+    return new SnowflakePooledConnection(connection, maxStatements);
   }
 
   @Override
   public PooledConnection getPooledConnection(String user, String password) throws SQLException {
     Connection connection = super.getConnection(user, password);
-    return new SnowflakePooledConnection(connection);
+    return new SnowflakePooledConnection(connection, maxStatements);
   }
 }
@@ -1,13 +1,18 @@
 package net.snowflake.client.pooling;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import javax.sql.ConnectionEvent;
 import javax.sql.ConnectionEventListener;
 import javax.sql.PooledConnection;
+import javax.sql.StatementEvent;
 import javax.sql.StatementEventListener;
+import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFSession;
 import net.snowflake.client.jdbc.SnowflakeConnectionV1;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
@@ -22,13 +27,31 @@ public class SnowflakePooledConnection implements PooledConnection {
   /** list of event listener registered to listen for connection event */
   private final Set<ConnectionEventListener> eventListeners;
 
+  /** list of event listener registered to listen for statement event */
+  private final Set<StatementEventListener> statementEventListeners;
+
+  /** cache of the idle prepared statements, null if statement pooling is disabled */
+  private final StatementCache statementCache;
+
+  /**
+   * statement metadata generation of the session when the statements were cached, volatile as
+   * statements are returned to the cache by the threads closing them
+   */
+  private volatile long cachedStatementGeneration = 0;
+
   SnowflakePooledConnection(Connection physicalConnection) throws SQLException {
+    this(physicalConnection, 0);
+  }
+
+  SnowflakePooledConnection(Connection physicalConnection, int maxStatements) throws SQLException {
     this.physicalConnection = physicalConnection;
 
     SnowflakeConnectionV1 sfConnection = physicalConnection.unwrap(SnowflakeConnectionV1.class);
     logger.debug("Creating new pooled connection with session id: {}", sfConnection.getSessionID());
 
     this.eventListeners = new HashSet<>();
+    this.statementEventListeners = new HashSet<>();
+    this.statementCache = maxStatements > 0 ? new StatementCache(maxStatements) : null;
   }
 
   @Override
@@ -44,6 +67,153 @@ public class SnowflakePooledConnection implements PooledConnection {
     return physicalConnection;
   }
 
+  boolean isStatementPoolingEnabled() {
+    return statementCache != null;
+  }
+
+  /**
+   * Prepare a statement, reusing an idle statement with the same SQL text and result set options if
+   * one is cached.
+   *
+   * @param logicalConnection logical connection preparing the statement
+   * @param sql sql statement
+   * @param resultSetType result set type
+   * @param resultSetConcurrency result set concurrency
+   * @param resultSetHoldability result set holdability
+   * @return statement returned to the cache when it is closed
+   * @throws SQLException if the statement can't be created
+   */
+  LogicalPreparedStatement prepareStatement(
+      LogicalConnection logicalConnection,
+      String sql,
+      int resultSetType,
+      int resultSetConcurrency,
+      int resultSetHoldability)
+      throws SQLException {
+    SFBaseSession session =
+        physicalConnection.unwrap(SnowflakeConnectionV1.class).getSFBaseSession();
+    long generation = getStatementMetadataGeneration(session);
+    syncStatementCache(generation);
+    StatementCache.Key key =
+        new StatementCache.Key(
+            sql,
+            resultSetType,
+            resultSetConcurrency,
+            resultSetHoldability,
+            Arrays.asList(
+                session.getDatabase(),
+                session.getSchema(),
+                session.getRole(),
+                session.getWarehouse()));
+    PreparedStatement physicalStatement = statementCache.take(key);
+    if (physicalStatement == null) {
+      physicalStatement =
+          physicalConnection.prepareStatement(
+              sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+    return new LogicalPreparedStatement(
+        logicalConnection, this, key, physicalStatement, generation);
+  }
+
+  private static long getStatementMetadataGeneration(SFBaseSession session) {
+    return session instanceof SFSession
+        ? ((SFSession) session).getStatementMetadataGeneration()
+        : 0;
+  }
+
+  /**
+   * Drop the cached statements if statements executed in the session since they were cached may
+   * have changed their metadata.
+   *
+   * @param generation current statement metadata generation of the session
+   */
+  private void syncStatementCache(long generation) {
+    if (generation != cachedStatementGeneration) {
+      cachedStatementGeneration = generation;
+      statementCache.clear();
+    }
+  }
+
+  /**
+   * Return a statement to the cache or close it. The statement is closed if statements executed in
+   * the session while it was checked out may have changed its metadata.
+   *
+   * @param key key of the statement in the cache
+   * @param physicalStatement statement which is not used anymore
+   * @param generation statement metadata generation of the session when the statement was checked
+   *     out
+   * @param reusable false if the statement must be closed
+   * @throws SQLException if the session of the physical connection can't be read
+   */
+  void releaseStatement(
+      StatementCache.Key key,
+      PreparedStatement physicalStatement,
+      long generation,
+      boolean reusable)
+      throws SQLException {
+    if (reusable && physicalConnection != null) {
+      long currentGeneration =
+          getStatementMetadataGeneration(
+              physicalConnection.unwrap(SnowflakeConnectionV1.class).getSFBaseSession());
+      if (generation == currentGeneration) {
+        syncStatementCache(currentGeneration);
+        statementCache.offer(key, physicalStatement);
+        return;
+      }
+    }
+    StatementCache.closeStatement(physicalStatement);
+  }
+
+  /** Fire a statement has been closed event to event listener */
+  void fireStatementClosedEvent(PreparedStatement statement) {
+    for (StatementEventListener statementEventListener : statementEventListeners) {
+      statementEventListener.statementClosed(new StatementEvent(this, statement));
+    }
+  }
+
+  void fireStatementErrorEvent(PreparedStatement statement, SQLException e) {
+    for (StatementEventListener statementEventListener : statementEventListeners) {
+      statementEventListener.statementErrorOccurred(new StatementEvent(this, statement, e));
+    }
+  }
+
+  /**
+   * @return maximum number of idle prepared statements cached, 0 if statement pooling is disabled
+   */
+  public int getMaxStatements() {
+    return statementCache == null ? 0 : statementCache.getMaxStatements();
+  }
+
+  /**
+   * @return number of idle prepared statements cached
+   */
+  public int getCachedStatementCount() {
+    return statementCache == null ? 0 : statementCache.getSize();
+  }
+
+  /**
+   * @return number of prepared statements taken from the cache
+   */
+  public long getStatementCacheHitCount() {
+    return statementCache == null ? 0 : statementCache.getHitCount();
+  }
+
+  /**
+   * @return number of prepared statements created because none was cached
+   */
+  public long getStatementCacheMissCount() {
+    return statementCache == null ? 0 : statementCache.getMissCount();
+  }
+
+  /**
+   * @return ratio of the prepared statements taken from the cache, 0 if none was prepared
+   */
+  public double getStatementCacheHitRatio() {
+    long hitCount = getStatementCacheHitCount();
+    long total = hitCount + getStatementCacheMissCount();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
   /** Fire a connection has been closed event to event listener */
   void fireConnectionCloseEvent() {
     for (ConnectionEventListener connectionEventListener : eventListeners) {
@@ -64,6 +234,9 @@ public class SnowflakePooledConnection implements PooledConnection {
 
   @Override
   public void close() throws SQLException {
+    if (statementCache != null) {
+      statementCache.close();
+    }
     if (this.physicalConnection != null) {
       SnowflakeConnectionV1 sfConnection = physicalConnection.unwrap(SnowflakeConnectionV1.class);
       logger.debug("Closing pooled connection with session id: {}", sfConnection.getSessionID());
@@ -72,6 +245,7 @@ public class SnowflakePooledConnection implements PooledConnection {
     }
 
     eventListeners.clear();
+    statementEventListeners.clear();
   }
 
   @Override
@@ -81,11 +255,11 @@ public class SnowflakePooledConnection implements PooledConnection {
 
   @Override
   public void addStatementEventListener(StatementEventListener eventListener) {
-    // do nothing for now
+    this.statementEventListeners.add(eventListener);
   }
 
   @Override
   public void removeStatementEventListener(StatementEventListener eventListener) {
-    // do nothing for now
+    this.statementEventListeners.remove(eventListener);
   }
 }
@@ -0,0 +1,621 @@
+package net.snowflake.client.pooling;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.DataSource;
+import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFSession;
+import net.snowflake.client.jdbc.ErrorCode;
+import net.snowflake.client.jdbc.SnowflakeConnectionV1;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import net.snowflake.client.jdbc.SnowflakeUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+import net.snowflake.common.core.SqlState;
+
+/**
+ * Data source keeping a pool of Snowflake sessions created by a {@link
+ * SnowflakeConnectionPoolDataSource}.
+ *
+ * <p>Idle sessions are kept in a lock-free deque and reused most recently returned first, so that
+ * borrowing and returning a session does not block other threads. At least {@code minIdle} sessions
+ * are kept open in the background, which avoids paying for a login when a connection is requested.
+ * Sessions idle for longer than {@code idleTimeoutInMillis} are closed, down to {@code minIdle}.
+ *
+ * <p>Unless the CLIENT_SESSION_KEEP_ALIVE parameter is set on the underlying data source, the
+ * pooled sessions are kept alive by the heartbeats of {@link
+ * net.snowflake.client.core.HeartbeatBackground}. A session is only checked with a heartbeat of its
+ * own when it is borrowed if it was not known to be valid in the last {@code
+ * validationIntervalInMillis}, or if the last borrower got an error.
+ *
+ * <p>When a connection is closed, the transaction left open is rolled back and the auto-commit
+ * mode, role, warehouse, database and schema of the session are restored before it goes back to the
+ * pool. A session whose parameters or variables may have been changed, e.g. by ALTER SESSION or
+ * SET, is closed instead. With {@code maxStatements} set, each session also keeps its closed
+ * prepared statements for the next borrowers preparing the same SQL text.
+ *
+ * <p>The settings must be changed before the pool is started by {@link #start()} or the first
+ * {@link #getConnection()}. Starting the pool takes a lock, borrowing and returning sessions don't.
+ */
+public class SnowflakePoolingDataSource implements DataSource, AutoCloseable {
+  private static final SFLogger logger =
+      SFLoggerFactory.getLogger(SnowflakePoolingDataSource.class);
+
+  private static final AtomicInteger poolCount = new AtomicInteger(1);
+
+  private static final int MAX_POOL_THREADS = 4;
+
+  // pause between attempts of a borrower waiting for a session to be created by another thread
+  private static final long BORROW_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final SnowflakeConnectionPoolDataSource dataSource;
+
+  private int minIdle = 0;
+  private int maxPoolSize = 10;
+  private long maxWaitInMillis = 30000;
+  private long idleTimeoutInMillis = 600000;
+  private long validationIntervalInMillis = 30000;
+  private int validationTimeoutInSeconds = 5;
+  private long maintenanceIntervalInMillis = 30000;
+
+  private final Deque<PoolEntry> idleEntries = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final AtomicInteger totalCount = new AtomicInteger();
+  private final AtomicInteger pendingCount = new AtomicInteger();
+
+  private final AtomicLong createdCount = new AtomicLong();
+  private final AtomicLong closedCount = new AtomicLong();
+  private final AtomicLong borrowCount = new AtomicLong();
+
+  private volatile boolean started = false;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  // permits of the connections which can be borrowed, created on start
+  private Semaphore permits;
+
+  // executor creating, validating and closing sessions in the background, created on start
+  private volatile ScheduledThreadPoolExecutor executor;
+
+  /**
+   * @param dataSource data source creating the sessions of the pool
+   */
+  public SnowflakePoolingDataSource(SnowflakeConnectionPoolDataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Start the pool, opening {@code minIdle} sessions in the background. Called by the first {@link
+   * #getConnection()} if it was not called before.
+   *
+   * @throws SQLException if the pool is closed
+   */
+  public synchronized void start() throws SQLException {
+    throwExceptionIfClosed();
+    if (started) {
+      return;
+    }
+    permits = new Semaphore(maxPoolSize);
+    int poolId = poolCount.getAndIncrement();
+    executor =
+        new ScheduledThreadPoolExecutor(
+            Math.max(1, Math.min(MAX_POOL_THREADS, minIdle)),
+            SnowflakeUtil.createDaemonThreadFactory("snowflake-pool-" + poolId + "-"));
+    executor.scheduleWithFixedDelay(
+        this::maintain,
+        maintenanceIntervalInMillis,
+        maintenanceIntervalInMillis,
+        TimeUnit.MILLISECONDS);
+    started = true;
+    if (closed.get()) {
+      // closed while starting
+      executor.shutdown();
+      return;
+    }
+    logger.debug(
+        "Started connection pool {} with min idle: {}, max size: {}", poolId, minIdle, maxPoolSize);
+    fillIdle();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!started) {
+      start();
+    }
+    throwExceptionIfClosed();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitInMillis);
+    try {
+      if (!permits.tryAcquire(maxWaitInMillis, TimeUnit.MILLISECONDS)) {
+        throw poolTimeoutException();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SnowflakeSQLException(ex, ErrorCode.INTERRUPTED);
+    }
+
+    boolean borrowed = false;
+    try {
+      while (true) {
+        throwExceptionIfClosed();
+        PoolEntry entry = pollIdle();
+        if (entry == null && reserveSlot()) {
+          entry = createEntry();
+        } else if (entry != null && !validate(entry)) {
+          discard(entry);
+          continue;
+        }
+        if (entry != null) {
+          Connection connection = entry.borrow();
+          borrowed = true;
+          borrowCount.incrementAndGet();
+          fillIdle();
+          return connection;
+        }
+        // the pool is full of sessions being created or evicted by other threads
+        if (System.nanoTime() - deadline > 0) {
+          throw poolTimeoutException();
+        }
+        LockSupport.parkNanos(BORROW_RETRY_NANOS);
+      }
+    } finally {
+      if (!borrowed) {
+        permits.release();
+      }
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException(
+        "The sessions of a pool all use the credentials of its underlying data source");
+  }
+
+  /** Close the idle sessions and the sessions in use once they are returned. */
+  @Override
+  public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    PoolEntry entry;
+    while ((entry = pollIdle()) != null) {
+      discard(entry);
+    }
+    if (executor != null) {
+      executor.shutdown();
+    }
+    logger.debug("Closed connection pool, {} sessions still in use", getActiveConnectionCount());
+  }
+
+  /**
+   * @return true if the pool is closed
+   */
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  private PoolEntry pollIdle() {
+    PoolEntry entry = idleEntries.pollFirst();
+    if (entry != null) {
+      idleCount.decrementAndGet();
+    }
+    return entry;
+  }
+
+  private void pushIdle(PoolEntry entry) {
+    idleEntries.offerFirst(entry);
+    idleCount.incrementAndGet();
+    // the pool may have been closed while the entry was added
+    if (closed.get() && idleEntries.removeFirstOccurrence(entry)) {
+      idleCount.decrementAndGet();
+      discard(entry);
+    }
+  }
+
+  /**
+   * Reserve room in the pool for a new session.
+   *
+   * @return false if the pool is full
+   */
+  private boolean reserveSlot() {
+    int count;
+    do {
+      count = totalCount.get();
+      if (count >= maxPoolSize) {
+        return false;
+      }
+    } while (!totalCount.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /** Create a session for a reserved slot, freeing the slot on failure */
+  private PoolEntry createEntry() throws SQLException {
+    try {
+      PoolEntry entry = new PoolEntry(dataSource.getKeepAlivePooledConnection());
+      createdCount.incrementAndGet();
+      return entry;
+    } catch (SQLException | RuntimeException ex) {
+      totalCount.decrementAndGet();
+      throw ex;
+    }
+  }
+
+  /** Open sessions in the background until there are at least minIdle idle ones */
+  private void fillIdle() {
+    while (!closed.get() && idleCount.get() + pendingCount.get() < minIdle && reserveSlot()) {
+      pendingCount.incrementAndGet();
+      try {
+        executor.execute(this::createIdleEntry);
+      } catch (RejectedExecutionException ex) {
+        pendingCount.decrementAndGet();
+        totalCount.decrementAndGet();
+        return;
+      }
+    }
+  }
+
+  private void createIdleEntry() {
+    try {
+      pushIdle(createEntry());
+    } catch (SQLException | RuntimeException ex) {
+      logger.warn("Failed to open a session for the connection pool: {}", ex.getMessage());
+    } finally {
+      pendingCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * Check whether an idle session can be borrowed. The session is only checked with a heartbeat if
+   * it was not known to be valid recently.
+   */
+  private boolean validate(PoolEntry entry) {
+    try {
+      if (entry.connection.isClosed()) {
+        return false;
+      }
+      long now = System.currentTimeMillis();
+      if (!entry.needsValidation
+          && now - entry.getLastValidTimeInMillis() < validationIntervalInMillis) {
+        return true;
+      }
+      if (!entry.connection.isValid(validationTimeoutInSeconds)) {
+        logger.debug("Discarding invalid pooled session {}", entry.connection.getSessionID());
+        return false;
+      }
+      entry.lastValidatedAt = now;
+      entry.needsValidation = false;
+      return true;
+    } catch (SQLException ex) {
+      return false;
+    }
+  }
+
+  /** Close a session and free its slot, in the background if possible */
+  private void discard(PoolEntry entry) {
+    totalCount.decrementAndGet();
+    closedCount.incrementAndGet();
+    if (!executor.isShutdown()) {
+      try {
+        executor.execute(entry::close);
+        return;
+      } catch (RejectedExecutionException ex) {
+        // closed below
+      }
+    }
+    entry.close();
+  }
+
+  /** Return a borrowed session to the pool, called when its logical connection is closed */
+  private void release(PoolEntry entry) {
+    try {
+      boolean reusable = false;
+      if (!closed.get()) {
+        try {
+          reusable = !entry.connection.isClosed() && entry.initialState.restore(entry.connection);
+        } catch (SQLException ex) {
+          logger.debug("Failed to reset the state of a pooled session: {}", ex.getMessage());
+        }
+      }
+      long now = System.currentTimeMillis();
+      entry.lastUsedAt = now;
+      if (!entry.needsValidation) {
+        // the session was used without error
+        entry.lastValidatedAt = now;
+      }
+      if (reusable) {
+        pushIdle(entry);
+      } else {
+        discard(entry);
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** Close the sessions idle for too long and open new ones up to minIdle */
+  private void maintain() {
+    try {
+      long now = System.currentTimeMillis();
+      // the least recently used sessions are at the end of the deque
+      Iterator<PoolEntry> iterator = idleEntries.descendingIterator();
+      while (iterator.hasNext()) {
+        PoolEntry entry = iterator.next();
+        boolean expired = idleCount.get() > minIdle && now - entry.lastUsedAt > idleTimeoutInMillis;
+        if ((expired || entry.connection.isClosed()) && idleEntries.removeFirstOccurrence(entry)) {
+          idleCount.decrementAndGet();
+          logger.debug("Evicting idle pooled session {}", entry.connection.getSessionID());
+          discard(entry);
+        }
+      }
+      fillIdle();
+    } catch (RuntimeException | SQLException ex) {
+      logger.warn("Connection pool maintenance failed: {}", ex.getMessage());
+    }
+  }
+
+  private SQLException poolTimeoutException() {
+    return new SnowflakeSQLException(
+        "Timed out after "
+            + maxWaitInMillis
+            + " ms waiting for a connection from the pool, "
+            + maxPoolSize
+            + " connections are in use",
+        SqlState.SQLCLIENT_UNABLE_TO_ESTABLISH_SQLCONNECTION);
+  }
+
+  private void throwExceptionIfClosed() throws SQLException {
+    if (closed.get()) {
+      throw new SnowflakeSQLException("The connection pool is closed");
+    }
+  }
+
+  /** Pooled session, also listening to the events of its logical connections */
+  private class PoolEntry implements ConnectionEventListener {
+    private final SnowflakePooledConnection pooledConnection;
+    private final SnowflakeConnectionV1 connection;
+    private final SessionState initialState;
+    private volatile long lastUsedAt;
+    private volatile long lastValidatedAt;
+    private volatile boolean needsValidation = false;
+
+    private PoolEntry(SnowflakePooledConnection pooledConnection) throws SQLException {
+      this.pooledConnection = pooledConnection;
+      try {
+        this.connection =
+            pooledConnection.getPhysicalConnection().unwrap(SnowflakeConnectionV1.class);
+        this.initialState = SessionState.capture(connection);
+      } catch (SQLException ex) {
+        pooledConnection.close();
+        throw ex;
+      }
+      this.lastUsedAt = System.currentTimeMillis();
+      this.lastValidatedAt = lastUsedAt;
+      pooledConnection.addConnectionEventListener(this);
+    }
+
+    private Connection borrow() throws SQLException {
+      try {
+        return pooledConnection.getConnection();
+      } catch (SQLException ex) {
+        discard(this);
+        throw ex;
+      }
+    }
+
+    /** Last time the session was known to be valid, including by its background heartbeats */
+    private long getLastValidTimeInMillis() {
+      SFBaseSession session = connection.getSFBaseSession();
+      long lastHeartbeat =
+          session instanceof SFSession ? ((SFSession) session).getLastHeartbeatTimeInMillis() : 0;
+      return Math.max(lastValidatedAt, lastHeartbeat);
+    }
+
+    private void close() {
+      try {
+        pooledConnection.close();
+      } catch (SQLException ex) {
+        logger.debug("Failed to close a pooled session: {}", ex.getMessage());
+      }
+    }
+
+    @Override
+    public void connectionClosed(ConnectionEvent event) {
+      release(this);
+    }
+
+    @Override
+    public void connectionErrorOccurred(ConnectionEvent event) {
+      // most errors come from the queries, the session is checked before it is borrowed again
+      needsValidation = true;
+    }
+  }
+
+  /**
+   * @return number of sessions, idle or in use
+   */
+  public int getTotalConnectionCount() {
+    return totalCount.get();
+  }
+
+  /**
+   * @return number of idle sessions
+   */
+  public int getIdleConnectionCount() {
+    return idleCount.get();
+  }
+
+  /**
+   * @return number of borrowed connections not closed yet
+   */
+  public int getActiveConnectionCount() {
+    Semaphore semaphore = permits;
+    return semaphore == null ? 0 : maxPoolSize - semaphore.availablePermits();
+  }
+
+  /**
+   * @return total number of sessions opened by the pool
+   */
+  public long getCreatedConnectionCount() {
+    return createdCount.get();
+  }
+
+  /**
+   * @return total number of sessions closed by the pool
+   */
+  public long getClosedConnectionCount() {
+    return closedCount.get();
+  }
+
+  /**
+   * @return total number of connections borrowed from the pool
+   */
+  public long getBorrowCount() {
+    return borrowCount.get();
+  }
+
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  /**
+   * @param minIdle number of idle sessions kept open, default 0
+   */
+  public void setMinIdle(int minIdle) {
+    this.minIdle = Math.max(0, minIdle);
+  }
+
+  public int getMaxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /**
+   * @param maxPoolSize maximum number of sessions, idle or in use, default 10
+   */
+  public void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = Math.max(1, maxPoolSize);
+  }
+
+  public long getMaxWaitInMillis() {
+    return maxWaitInMillis;
+  }
+
+  /**
+   * @param maxWaitInMillis time to wait for a connection when all of them are in use, default 30 s
+   */
+  public void setMaxWaitInMillis(long maxWaitInMillis) {
+    this.maxWaitInMillis = Math.max(0, maxWaitInMillis);
+  }
+
+  public long getIdleTimeoutInMillis() {
+    return idleTimeoutInMillis;
+  }
+
+  /**
+   * @param idleTimeoutInMillis time after which the sessions above minIdle are closed, default 10
+   *     min
+   */
+  public void setIdleTimeoutInMillis(long idleTimeoutInMillis) {
+    this.idleTimeoutInMillis = Math.max(0, idleTimeoutInMillis);
+  }
+
+  public long getValidationIntervalInMillis() {
+    return validationIntervalInMillis;
+  }
+
+  /**
+   * @param validationIntervalInMillis time after which a session is checked with a heartbeat before
+   *     it is borrowed, default 30 s
+   */
+  public void setValidationIntervalInMillis(long validationIntervalInMillis) {
+    this.validationIntervalInMillis = Math.max(0, validationIntervalInMillis);
+  }
+
+  public int getValidationTimeoutInSeconds() {
+    return validationTimeoutInSeconds;
+  }
+
+  /**
+   * @param validationTimeoutInSeconds timeout of the heartbeat checking a session, default 5 s
+   */
+  public void setValidationTimeoutInSeconds(int validationTimeoutInSeconds) {
+    this.validationTimeoutInSeconds = Math.max(0, validationTimeoutInSeconds);
+  }
+
+  public long getMaintenanceIntervalInMillis() {
+    return maintenanceIntervalInMillis;
+  }
+
+  /**
+   * @param maintenanceIntervalInMillis interval between the evictions of idle sessions, default 30
+   *     s
+   */
+  public void setMaintenanceIntervalInMillis(long maintenanceIntervalInMillis) {
+    this.maintenanceIntervalInMillis = Math.max(1, maintenanceIntervalInMillis);
+  }
+
+  public int getMaxStatements() {
+    return dataSource.getMaxStatements();
+  }
+
+  /**
+   * @param maxStatements maximum number of idle prepared statements cached per session, default 0
+   *     which disables statement pooling
+   */
+  public void setMaxStatements(int maxStatements) {
+    dataSource.setMaxStatements(maxStatements);
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return dataSource.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    dataSource.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    dataSource.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return dataSource.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return dataSource.getParentLogger();
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) {
+    return iface.isInstance(this);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (!iface.isInstance(this)) {
+      throw new SQLException(
+          this.getClass().getName() + " not unwrappable from " + iface.getName());
+    }
+    return (T) this;
+  }
+}
@@ -0,0 +1,173 @@
+package net.snowflake.client.pooling;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Cache of the idle prepared statements of a pooled connection. A statement taken from the cache
+ * keeps the metadata and bind information returned by describe, so that preparing the same SQL text
+ * again doesn't need to create and describe a new statement.
+ *
+ * <p>A statement is removed from the cache while it is in use, so that it is never shared. When the
+ * cache is full, the least recently returned statement is closed.
+ */
+class StatementCache {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(StatementCache.class);
+
+  /**
+   * Key of a cached statement, the SQL text, the result set options and the session context the
+   * statement was described in.
+   */
+  static final class Key {
+    private final String sql;
+    private final int resultSetType;
+    private final int resultSetConcurrency;
+    private final int resultSetHoldability;
+    private final List<String> context;
+
+    Key(
+        String sql,
+        int resultSetType,
+        int resultSetConcurrency,
+        int resultSetHoldability,
+        List<String> context) {
+      this.sql = sql;
+      this.resultSetType = resultSetType;
+      this.resultSetConcurrency = resultSetConcurrency;
+      this.resultSetHoldability = resultSetHoldability;
+      this.context = context;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return resultSetType == key.resultSetType
+          && resultSetConcurrency == key.resultSetConcurrency
+          && resultSetHoldability == key.resultSetHoldability
+          && sql.equals(key.sql)
+          && context.equals(key.context);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, resultSetType, resultSetConcurrency, resultSetHoldability, context);
+    }
+  }
+
+  private final int maxStatements;
+
+  // idle statements, least recently returned first
+  private final Map<Key, PreparedStatement> statements = new LinkedHashMap<>();
+
+  private long hitCount = 0;
+
+  private long missCount = 0;
+
+  private boolean closed = false;
+
+  /**
+   * @param maxStatements maximum number of idle statements kept open
+   */
+  StatementCache(int maxStatements) {
+    this.maxStatements = maxStatements;
+  }
+
+  /**
+   * Take an idle statement out of the cache.
+   *
+   * @param key key of the statement
+   * @return cached statement or null if there is none
+   */
+  synchronized PreparedStatement take(Key key) {
+    PreparedStatement statement = statements.remove(key);
+    if (statement != null) {
+      hitCount++;
+    } else {
+      missCount++;
+    }
+    return statement;
+  }
+
+  /**
+   * Return a statement to the cache. The statement is closed if there is already an idle statement
+   * with the same key, or if the cache is closed.
+   *
+   * @param key key of the statement
+   * @param statement statement which is not used anymore
+   */
+  void offer(Key key, PreparedStatement statement) {
+    PreparedStatement evicted = statement;
+    synchronized (this) {
+      if (!closed && !statements.containsKey(key)) {
+        statements.put(key, statement);
+        evicted = null;
+        if (statements.size() > maxStatements) {
+          Iterator<PreparedStatement> iterator = statements.values().iterator();
+          evicted = iterator.next();
+          iterator.remove();
+        }
+      }
+    }
+    closeStatement(evicted);
+  }
+
+  /** Close all the idle statements, the statements returned afterwards are closed as well. */
+  void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    clear();
+  }
+
+  /** Close all the idle statements, e.g. when the metadata of the statements may be stale. */
+  void clear() {
+    List<PreparedStatement> idleStatements;
+    synchronized (this) {
+      idleStatements = new ArrayList<>(statements.values());
+      statements.clear();
+    }
+    for (PreparedStatement statement : idleStatements) {
+      closeStatement(statement);
+    }
+  }
+
+  static void closeStatement(PreparedStatement statement) {
+    if (statement != null) {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        logger.debug("Failed to close cached statement: {}", e.getMessage());
+      }
+    }
+  }
+
+  int getMaxStatements() {
+    return maxStatements;
+  }
+
+  synchronized int getSize() {
+    return statements.size();
+  }
+
+  synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  synchronized long getMissCount() {
+    return missCount;
+  }
+}
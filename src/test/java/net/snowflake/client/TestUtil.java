@@ -7,6 +7,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
@@ -159,4 +162,21 @@ public class TestUtil {
         .mapToObj(i -> Math.abs(i) % modulo)
         .collect(Collectors.toList());
   }
+
+  /**
+   * Read a stream until its end
+   *
+   * @param stream stream to read, which is not closed
+   * @return bytes of the stream
+   * @throws IOException if the stream cannot be read
+   */
+  public static byte[] readAllBytes(InputStream stream) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = stream.read(buffer)) != -1) {
+      output.write(buffer, 0, read);
+    }
+    return output.toByteArray();
+  }
 }
@@ -0,0 +1,182 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.snowflake.client.category.TestTags;
+import net.snowflake.client.jdbc.QueryStatusV2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CORE)
+public class AsyncQueryPollerTest {
+  private static final String QUERY_ID = "01b2c3d4-0000-0000-0000-000000000001";
+
+  private static QueryStatusV2 status(String name, String errorMessage) {
+    return new QueryStatusV2(
+        0, 0, errorMessage, QUERY_ID, name, 0, "select 1", 0, "", 0, "", 0, "", "");
+  }
+
+  private static SFBaseSession mockSession() throws SQLException {
+    SFBaseSession session = mock(SFBaseSession.class);
+    when(session.getQueryStatusesV2(any())).thenCallRealMethod();
+    when(session.getQueryStatusesV2Async(any())).thenCallRealMethod();
+    return session;
+  }
+
+  @Test
+  public void testCompletesWhenQueryIsNoLongerRunning() throws Exception {
+    SFBaseSession session = mockSession();
+    QueryStatusV2 success = status("SUCCESS", "");
+    when(session.getQueryStatusV2(QUERY_ID))
+        .thenReturn(status("RUNNING", ""), status("QUEUED", ""), success);
+
+    QueryStatusV2 result =
+        AsyncQueryPoller.getInstance().watch(session, QUERY_ID).get(10, TimeUnit.SECONDS);
+
+    assertSame(success, result);
+    verify(session, times(3)).getQueryStatusV2(QUERY_ID);
+  }
+
+  @Test
+  public void testCompletesWithFailedStatus() throws Exception {
+    SFBaseSession session = mockSession();
+    when(session.getQueryStatusV2(QUERY_ID)).thenReturn(status("FAILED_WITH_ERROR", "error"));
+
+    QueryStatusV2 result =
+        AsyncQueryPoller.getInstance().watch(session, QUERY_ID).get(10, TimeUnit.SECONDS);
+
+    assertEquals(QueryStatus.FAILED_WITH_ERROR, result.getStatus());
+    assertEquals("error", result.getErrorMessage());
+  }
+
+  @Test
+  public void testCompletesExceptionallyWhenStatusCannotBeRetrieved() throws Exception {
+    SFBaseSession session = mockSession();
+    SQLException error = new SQLException("session expired");
+    when(session.getQueryStatusV2(QUERY_ID)).thenThrow(error);
+
+    ExecutionException ex =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                AsyncQueryPoller.getInstance().watch(session, QUERY_ID).get(10, TimeUnit.SECONDS));
+    assertSame(error, ex.getCause());
+  }
+
+  @Test
+  public void testQueriesOfSessionAreCheckedTogether() throws Exception {
+    SFBaseSession session = mock(SFBaseSession.class);
+    when(session.getQueryStatusesV2Async(any())).thenCallRealMethod();
+    List<String> queryIDs = Arrays.asList("q1", "q2", "q3");
+    AtomicInteger rounds = new AtomicInteger();
+    CountDownLatch watched = new CountDownLatch(1);
+    when(session.getQueryStatusesV2(any()))
+        .thenAnswer(
+            invocation -> {
+              // the first round waits for all the queries, so that they don't drift apart
+              watched.await(10, TimeUnit.SECONDS);
+              // queries are still running during the first rounds
+              String name = rounds.incrementAndGet() <= 2 ? "RUNNING" : "SUCCESS";
+              Map<String, QueryStatusV2> statuses = new HashMap<>();
+              for (String queryID : invocation.<List<String>>getArgument(0)) {
+                statuses.put(queryID, status(name, ""));
+              }
+              return statuses;
+            });
+
+    CompletableFuture<?>[] futures =
+        queryIDs.stream()
+            .map(id -> AsyncQueryPoller.getInstance().watch(session, id))
+            .toArray(CompletableFuture[]::new);
+    watched.countDown();
+    CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+
+    // once they are all running, the queries are checked in the same round
+    verify(session, atLeastOnce()).getQueryStatusesV2(argThat(ids -> ids.containsAll(queryIDs)));
+    for (CompletableFuture<?> future : futures) {
+      assertEquals(QueryStatus.SUCCESS, ((QueryStatusV2) future.get()).getStatus());
+    }
+  }
+
+  @Test
+  public void testListenerIsNotifiedOfStatusChanges() throws Exception {
+    SFBaseSession session = mockSession();
+    when(session.getQueryStatusV2(QUERY_ID))
+        .thenReturn(
+            status("QUEUED", ""),
+            status("RUNNING", ""),
+            status("RUNNING", ""),
+            status("SUCCESS", ""));
+    List<QueryStatus> observed = new CopyOnWriteArrayList<>();
+
+    AsyncQueryPoller.getInstance()
+        .addListener(session, QUERY_ID, (queryID, status) -> observed.add(status.getStatus()));
+    QueryStatusV2 result =
+        AsyncQueryPoller.getInstance().watch(session, QUERY_ID).get(10, TimeUnit.SECONDS);
+
+    assertEquals(QueryStatus.SUCCESS, result.getStatus());
+    assertEquals(
+        Arrays.asList(QueryStatus.QUEUED, QueryStatus.RUNNING, QueryStatus.SUCCESS), observed);
+    assertTrue(AsyncQueryPoller.getInstance().getCheckCount() >= 4);
+  }
+
+  @Test
+  public void testTransientErrorIsRetried() throws Exception {
+    SFBaseSession session = mockSession();
+    QueryStatusV2 success = status("SUCCESS", "");
+    when(session.getQueryStatusV2(QUERY_ID))
+        .thenThrow(new SQLException("connection reset"))
+        .thenReturn(success);
+
+    QueryStatusV2 result =
+        AsyncQueryPoller.getInstance().watch(session, QUERY_ID).get(10, TimeUnit.SECONDS);
+
+    assertSame(success, result);
+    verify(session, times(2)).getQueryStatusV2(QUERY_ID);
+  }
+
+  @Test
+  public void testListenerIsNotifiedOfError() throws Exception {
+    SFBaseSession session = mockSession();
+    SQLException error = new SQLException("session expired");
+    when(session.getQueryStatusV2(QUERY_ID)).thenThrow(error);
+    CompletableFuture<Throwable> notified = new CompletableFuture<>();
+
+    AsyncQueryPoller.getInstance()
+        .addListener(
+            session,
+            QUERY_ID,
+            new QueryStatusListener() {
+              @Override
+              public void onStatusChange(String queryID, QueryStatusV2 status) {}
+
+              @Override
+              public void onError(String queryID, Throwable ex) {
+                notified.complete(ex);
+              }
+            });
+
+    assertSame(error, notified.get(10, TimeUnit.SECONDS));
+  }
+}
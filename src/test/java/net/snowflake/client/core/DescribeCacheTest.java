@@ -0,0 +1,105 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import net.snowflake.client.category.TestTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CORE)
+public class DescribeCacheTest {
+  private static final String SQL = "select * from t where id = ?";
+  private static final String QUERY_ID = "01b2c3d4-0000-0001-0000-000100020003";
+
+  private SFBaseSession session;
+  private SFPreparedStatementMetaData metaData;
+
+  @BeforeEach
+  public void setUp() {
+    session = mock(SFBaseSession.class);
+    when(session.getDatabase()).thenReturn("DB");
+    when(session.getSchema()).thenReturn("PUBLIC");
+    when(session.getRole()).thenReturn("SYSADMIN");
+    when(session.getWarehouse()).thenReturn("WH");
+    metaData =
+        new SFPreparedStatementMetaData(
+            null, SFStatementType.SELECT, 1, false, Collections.emptyList(), true);
+  }
+
+  @Test
+  public void testMetaDataIsCachedPerContext() {
+    DescribeCache cache = new DescribeCache(10);
+    assertNull(cache.get(SQL, session));
+    cache.put(SQL, session, metaData, QUERY_ID);
+
+    assertNotNull(cache.get(SQL, session));
+    when(session.getSchema()).thenReturn("OTHER");
+    assertNull(cache.get(SQL, session));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testHitReturnsCopyAndDescribeQueryId() {
+    DescribeCache cache = new DescribeCache(10);
+    cache.put(SQL, session, metaData, QUERY_ID);
+
+    DescribeCache.Entry entry = cache.get(SQL, session);
+    assertEquals(QUERY_ID, entry.getQueryId());
+    SFPreparedStatementMetaData cachedMetaData = entry.getMetaData();
+    assertNotSame(metaData, cachedMetaData);
+    assertEquals(SFStatementType.SELECT, cachedMetaData.getStatementType());
+    cachedMetaData.setNumberOfBinds(5);
+    metaData.setNumberOfBinds(6);
+    assertEquals(1, cache.get(SQL, session).getMetaData().getNumberOfBinds());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedStatementIsEvicted() {
+    DescribeCache cache = new DescribeCache(2);
+    cache.put("select 1", session, metaData, QUERY_ID);
+    cache.put("select 2", session, metaData, QUERY_ID);
+    cache.get("select 1", session);
+    cache.put("select 3", session, metaData, QUERY_ID);
+
+    assertEquals(2, cache.getSize());
+    assertNotNull(cache.get("select 1", session));
+    assertNull(cache.get("select 2", session));
+    assertNotNull(cache.get("select 3", session));
+  }
+
+  @Test
+  public void testInvalidMetaDataIsNotCached() {
+    DescribeCache cache = new DescribeCache(10);
+    cache.put(SQL, session, SFPreparedStatementMetaData.emptyMetaData(), QUERY_ID);
+
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testContextChangingStatementsClearCache() {
+    DescribeCache cache = new DescribeCache(10);
+    cache.put(SQL, session, metaData, QUERY_ID);
+
+    cache.invalidate(SFStatementType.SELECT);
+    cache.invalidate(SFStatementType.INSERT);
+    cache.invalidate(SFStatementType.SHOW);
+    assertEquals(1, cache.getSize());
+
+    cache.invalidate(SFStatementType.DDL);
+    assertEquals(0, cache.getSize());
+    cache.put(SQL, session, metaData, QUERY_ID);
+    cache.invalidate(SFStatementType.ALTER_SESSION);
+    assertEquals(0, cache.getSize());
+    cache.put(SQL, session, metaData, QUERY_ID);
+    cache.invalidate(SFStatementType.USE_SCHEMA);
+    assertEquals(0, cache.getSize());
+  }
+}
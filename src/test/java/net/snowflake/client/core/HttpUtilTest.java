@@ -1,16 +1,28 @@
 package net.snowflake.client.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Field;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.util.AbstractMap;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.ssl.SSLContext;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.Configurable;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matcher;
@@ -54,6 +66,126 @@ public class HttpUtilTest {
     }
   }
 
+  @Test
+  public void eachKeyHasItsOwnConnectionPool() throws Exception {
+    HttpClientSettingsKey key1 =
+        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS, "pool-test-1", false);
+    HttpClientSettingsKey key2 =
+        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS, "pool-test-2", false);
+    System.setProperty(HttpUtil.JDBC_MAX_CONNECTIONS_PER_ROUTE_PROPERTY, "2");
+    try (CloseableHttpClient client1 = HttpUtil.buildHttpClient(key1, null, false);
+        CloseableHttpClient client2 = HttpUtil.buildHttpClient(key2, null, false)) {
+      List<SFPoolingConnectionManager> pools1 = HttpUtil.getConnectionManagers(key1);
+      List<SFPoolingConnectionManager> pools2 = HttpUtil.getConnectionManagers(key2);
+      assertEquals(1, pools1.size());
+      assertEquals(1, pools2.size());
+      assertNotSame(pools1.get(0), pools2.get(0));
+
+      // the limit per route is raised for the key needing more parallel connections only
+      HttpUtil.ensureMaxConnectionsPerRoute(key1, 8);
+      assertEquals(8, pools1.get(0).getDefaultMaxPerRoute());
+      assertEquals(2, pools2.get(0).getDefaultMaxPerRoute());
+
+      // and it is never lowered
+      HttpUtil.ensureMaxConnectionsPerRoute(key1, 4);
+      assertEquals(8, pools1.get(0).getDefaultMaxPerRoute());
+
+      // pools built later for the key get the raised limit too
+      try (CloseableHttpClient client3 = HttpUtil.buildHttpClient(key1, null, true)) {
+        List<SFPoolingConnectionManager> pools = HttpUtil.getConnectionManagers(key1);
+        pools.remove(pools1.get(0));
+        assertEquals(1, pools.size());
+        assertEquals(8, pools.get(0).getDefaultMaxPerRoute());
+      }
+    } finally {
+      System.clearProperty(HttpUtil.JDBC_MAX_CONNECTIONS_PER_ROUTE_PROPERTY);
+    }
+  }
+
+  @Test
+  public void connectionPoolMeasuresLeaseWaitTime() throws Exception {
+    HttpClientSettingsKey key =
+        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS, "pool-test-lease", false);
+    try (CloseableHttpClient client = HttpUtil.buildHttpClient(key, null, false)) {
+      SFPoolingConnectionManager pool = HttpUtil.getConnectionManagers(key).get(0);
+      HttpRoute route = new HttpRoute(new HttpHost("localhost", 443, "https"));
+      HttpClientConnection connection =
+          pool.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+      pool.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+      assertEquals(1, pool.getLeaseCount());
+      assertEquals(0, pool.getLeaseTimeoutCount());
+      assertTrue(pool.getMaxLeaseWaitTimeInMillis() <= pool.getTotalLeaseWaitTimeInMillis());
+      assertTrue(pool.toString().contains("leases: 1"));
+    }
+  }
+
+  @Test
+  public void warmUpConnectionsOpensDistinctPooledConnections() throws Exception {
+    HttpClientSettingsKey key =
+        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS, "pool-test-warm-up", false);
+    Queue<Socket> accepted = new ConcurrentLinkedQueue<>();
+    AtomicInteger acceptedCount = new AtomicInteger();
+    try (ServerSocket server = new ServerSocket(0);
+        CloseableHttpClient client = HttpUtil.buildHttpClient(key, null, false)) {
+      Thread acceptor =
+          new Thread(
+              () -> {
+                try {
+                  while (!server.isClosed()) {
+                    accepted.add(server.accept());
+                    acceptedCount.incrementAndGet();
+                  }
+                } catch (Exception e) {
+                  // server closed
+                }
+              });
+      acceptor.setDaemon(true);
+      acceptor.start();
+
+      HttpUtil.warmUpConnections(
+              client, key, "http://localhost:" + server.getLocalPort() + "/chunk", 3)
+          .get(10, TimeUnit.SECONDS);
+
+      SFPoolingConnectionManager pool = HttpUtil.getConnectionManagers(key).get(0);
+      assertEquals(3, acceptedCount.get());
+      assertEquals(3, pool.getTotalStats().getAvailable());
+      assertEquals(0, pool.getTotalStats().getLeased());
+    } finally {
+      for (Socket socket : accepted) {
+        socket.close();
+      }
+    }
+  }
+
+  @Test
+  public void clientsOfSameKeyShareSslContext() throws Exception {
+    HttpClientSettingsKey key =
+        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS, "ssl-context-test", false);
+    AtomicInteger created = new AtomicInteger();
+    SSLContext first =
+        SFSSLConnectionSocketFactory.getSharedSSLContext(
+            key,
+            () -> {
+              created.incrementAndGet();
+              return null;
+            });
+    SSLContext second =
+        SFSSLConnectionSocketFactory.getSharedSSLContext(
+            new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS, "ssl-context-test", false),
+            () -> {
+              created.incrementAndGet();
+              return null;
+            });
+    SSLContext otherKey =
+        SFSSLConnectionSocketFactory.getSharedSSLContext(
+            new HttpClientSettingsKey(OCSPMode.FAIL_OPEN, "ssl-context-test", false), () -> null);
+
+    assertSame(first, second);
+    assertEquals(1, created.get());
+    assertNotSame(first, otherKey);
+  }
+
   private static void verifyProxyUsage(
       HttpClientSettingsKey key,
       Queue<AbstractMap.SimpleEntry<Thread, Throwable>> failures,
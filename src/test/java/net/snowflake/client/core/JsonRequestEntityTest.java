@@ -0,0 +1,58 @@
+package net.snowflake.client.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.snowflake.client.TestUtil.readAllBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+public class JsonRequestEntityTest {
+  private static QueryExecDTO newQuery() {
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < 100000; i++) {
+      values.add(i % 7 == 0 ? null : "value " + i);
+    }
+    Map<String, ParameterBindingDTO> bindings =
+        Collections.singletonMap("1", new ParameterBindingDTO("TEXT", values));
+    return new QueryExecDTO(
+        "insert into t values (?)", false, 1, bindings, null, null, null, 0, false, false);
+  }
+
+  @Test
+  public void testCompressedJsonIsWrittenOnEachRequest() throws Exception {
+    QueryExecDTO query = newQuery();
+    String json = StmtUtil.mapper.writeValueAsString(query);
+    ExecTimeTelemetryData execTimeData = new ExecTimeTelemetryData();
+    JsonRequestEntity entity = new JsonRequestEntity(StmtUtil.mapper, query, true, execTimeData);
+
+    assertTrue(entity.isRepeatable());
+    assertTrue(entity.isChunked());
+    assertEquals("application/json", entity.getContentType().getValue());
+    for (int i = 0; i < 2; i++) {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      entity.writeTo(body);
+      assertEquals(
+          json,
+          new String(
+              readAllBytes(new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))),
+              UTF_8));
+    }
+  }
+
+  @Test
+  public void testUncompressedJsonIsWritten() throws Exception {
+    QueryExecDTO query = newQuery();
+    JsonRequestEntity entity = new JsonRequestEntity(StmtUtil.mapper, query, false, null);
+    assertEquals(
+        StmtUtil.mapper.writeValueAsString(query),
+        new String(readAllBytes(entity.getContent()), UTF_8));
+  }
+}
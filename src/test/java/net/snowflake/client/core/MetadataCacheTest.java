@@ -0,0 +1,106 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import net.snowflake.client.category.TestTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CORE)
+public class MetadataCacheTest {
+  private static final String SHOW_TABLES =
+      "show /* JDBC:DatabaseMetaData.getTables() */ tables like 'T%' in schema \"DB\".\"PUBLIC\"";
+
+  private SFBaseSession session;
+  private MetadataCache.Entry entry;
+
+  @BeforeEach
+  public void setUp() {
+    session = mock(SFBaseSession.class);
+    when(session.getDatabase()).thenReturn("DB");
+    when(session.getSchema()).thenReturn("PUBLIC");
+    when(session.getRole()).thenReturn("SYSADMIN");
+    entry =
+        new MetadataCache.Entry(
+            Collections.singletonList("name"),
+            Collections.singletonList("TEXT"),
+            Collections.singletonList(Types.VARCHAR),
+            new Object[][] {{"T1"}},
+            "query-id");
+  }
+
+  @Test
+  public void testResultIsCachedPerContext() {
+    MetadataCache cache = new MetadataCache(10, 60000);
+    assertNull(cache.get(SHOW_TABLES, session));
+    cache.put(SHOW_TABLES, session, entry);
+
+    assertSame(entry, cache.get(SHOW_TABLES, session));
+    when(session.getRole()).thenReturn("PUBLIC");
+    assertNull(cache.get(SHOW_TABLES, session));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  @Test
+  public void testExpiredResultIsNotReturned() throws InterruptedException {
+    MetadataCache cache = new MetadataCache(10, 50);
+    cache.put(SHOW_TABLES, session, entry);
+    Thread.sleep(100);
+
+    assertNull(cache.get(SHOW_TABLES, session));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedResultIsEvicted() {
+    MetadataCache cache = new MetadataCache(2, 60000);
+    cache.put("show tables", session, entry);
+    cache.put("show views", session, entry);
+    cache.get("show tables", session);
+    cache.put("show objects", session, entry);
+
+    assertSame(entry, cache.get("show tables", session));
+    assertNull(cache.get("show views", session));
+  }
+
+  @Test
+  public void testDdlClearsCache() {
+    MetadataCache cache = new MetadataCache(10, 60000);
+    cache.put(SHOW_TABLES, session, entry);
+
+    cache.invalidate(SFStatementType.SELECT);
+    cache.invalidate(SFStatementType.SHOW);
+    cache.invalidate(SFStatementType.INSERT);
+    assertEquals(1, cache.getSize());
+
+    cache.invalidate(SFStatementType.DDL);
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testRowsAreIndexedByFirstColumn() {
+    MetadataCache.Entry columns =
+        new MetadataCache.Entry(
+            Arrays.asList("table_name", "column_name"),
+            Arrays.asList("TEXT", "TEXT"),
+            Arrays.asList(Types.VARCHAR, Types.VARCHAR),
+            new Object[][] {{"T1", "A"}, {"T2", "A"}, {"T1", "B"}},
+            "query-id");
+
+    Object[][] rows = columns.getRowsWithFirstColumn("T1");
+    assertEquals(2, rows.length);
+    assertEquals("A", rows[0][1]);
+    assertEquals("B", rows[1][1]);
+    assertEquals(1, columns.getRowsWithFirstColumn("T2").length);
+    assertEquals(0, columns.getRowsWithFirstColumn("T3").length);
+  }
+}
@@ -0,0 +1,62 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.snowflake.client.jdbc.BindingParameterMetadata;
+import org.junit.jupiter.api.Test;
+
+public class QueryExecDTOSerializerTest {
+  private static QueryExecDTO newQuery(Map<String, ParameterBindingDTO> bindings) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("TIMESTAMP_INPUT_FORMAT", "AUTO");
+    parameters.put("CLIENT_RESULT_CHUNK_SIZE", 48);
+    QueryContextDTO queryContext = new QueryContextDTO();
+    QueryExecDTO query =
+        new QueryExecDTO(
+            "insert into t values (?, ?, ?)",
+            false,
+            3,
+            bindings,
+            null,
+            parameters,
+            queryContext,
+            1700000000000L,
+            false,
+            true);
+    query.setDescribedJobId("01b2c3d4-0000-0001-0000-000100020003");
+    return query;
+  }
+
+  @Test
+  public void testSerializationMatchesBeanSerialization() throws Exception {
+    Map<String, ParameterBindingDTO> bindings = new LinkedHashMap<>();
+    bindings.put("1", new ParameterBindingDTO("TEXT", "a \"quoted\"\né value"));
+    bindings.put("2", new ParameterBindingDTO("FIXED", Arrays.asList("1", null, "3")));
+    bindings.put(
+        "3",
+        new ParameterBindingDTO(
+            "json",
+            "OBJECT",
+            "{\"a\":1}",
+            BindingParameterMetadata.BindingParameterMetadataBuilder.bindingParameterMetadata()
+                .withType("object")
+                .withNullable(true)
+                .build()));
+    bindings.put("4", new ParameterBindingDTO("ANY", null));
+
+    ObjectMapper beanMapper = ObjectMapperFactory.getObjectMapper();
+    for (QueryExecDTO query : Arrays.asList(newQuery(bindings), newQuery(null))) {
+      assertEquals(beanMapper.writeValueAsString(query), StmtUtil.mapper.writeValueAsString(query));
+    }
+
+    QueryExecDTO describe =
+        new QueryExecDTO("select 1", true, null, null, "@stage", null, null, 0, true, false);
+    assertEquals(
+        beanMapper.writeValueAsString(describe), StmtUtil.mapper.writeValueAsString(describe));
+  }
+}
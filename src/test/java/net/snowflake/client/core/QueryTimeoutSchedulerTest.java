@@ -0,0 +1,86 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import net.snowflake.client.category.TestTags;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CORE)
+public class QueryTimeoutSchedulerTest {
+  private final QueryTimeoutScheduler scheduler = QueryTimeoutScheduler.getInstance();
+
+  @Test
+  public void testTimeoutCancelsStatement() throws Throwable {
+    SFStatement statement = mock(SFStatement.class);
+    long fired = scheduler.getFiredTimeoutCount();
+
+    scheduler.schedule(statement, 1);
+
+    verify(statement, timeout(5000)).cancel(CancellationReason.TIMEOUT);
+    assertEquals(fired + 1, scheduler.getFiredTimeoutCount());
+  }
+
+  @Test
+  public void testCancelledTimeoutIsRemoved() throws Throwable {
+    SFStatement statement = mock(SFStatement.class);
+    long cancelled = scheduler.getCancelledTimeoutCount();
+
+    QueryTimeoutScheduler.Timeout timeBomb = scheduler.schedule(statement, 3600);
+    assertTrue(scheduler.getPendingTimeoutCount() >= 1);
+    int pending = scheduler.getPendingTimeoutCount();
+
+    scheduler.cancel(timeBomb);
+    scheduler.cancel(null);
+
+    assertTrue(timeBomb.isCancelled());
+    assertEquals(pending - 1, scheduler.getPendingTimeoutCount());
+    assertEquals(cancelled + 1, scheduler.getCancelledTimeoutCount());
+    verify(statement, never()).cancel(CancellationReason.TIMEOUT);
+  }
+
+  @Test
+  public void testQueuedCancelIsDroppedWhenQueryCompletes() throws Throwable {
+    CountDownLatch release = new CountDownLatch(1);
+    long fired = scheduler.getFiredTimeoutCount();
+    try {
+      // keep all the cancel workers busy, so that the next cancel request waits in the queue
+      for (int i = 0; i < QueryTimeoutScheduler.MAX_CANCEL_WORKERS; i++) {
+        SFStatement busyStatement = mock(SFStatement.class);
+        doAnswer(
+                invocation -> {
+                  release.await();
+                  return null;
+                })
+            .when(busyStatement)
+            .cancel(CancellationReason.TIMEOUT);
+        scheduler.schedule(busyStatement, 1);
+      }
+      SFStatement statement = mock(SFStatement.class);
+      QueryTimeoutScheduler.Timeout timeBomb = scheduler.schedule(statement, 1);
+      long deadline = System.currentTimeMillis() + 5000;
+      while (scheduler.getFiredTimeoutCount() < fired + QueryTimeoutScheduler.MAX_CANCEL_WORKERS + 1
+          && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(
+          fired + QueryTimeoutScheduler.MAX_CANCEL_WORKERS + 1, scheduler.getFiredTimeoutCount());
+
+      // the query completed after the timeout fired, but before its cancel request was sent
+      scheduler.cancel(timeBomb);
+      release.countDown();
+
+      Thread.sleep(500);
+      verify(statement, never()).cancel(CancellationReason.TIMEOUT);
+    } finally {
+      release.countDown();
+    }
+  }
+}
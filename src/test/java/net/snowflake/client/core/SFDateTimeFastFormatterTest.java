@@ -0,0 +1,107 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Random;
+import java.util.TimeZone;
+import net.snowflake.client.category.TestTags;
+import net.snowflake.common.core.SFTime;
+import net.snowflake.common.core.SnowflakeDateTimeFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@Tag(TestTags.CORE)
+public class SFDateTimeFastFormatterTest {
+  private static final String[] TIME_ZONES = {
+    "UTC", "America/Los_Angeles", "Asia/Kolkata", "Australia/Lord_Howe", "Europe/Warsaw"
+  };
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "YYYY-MM-DD",
+        "HH24:MI:SS",
+        "HH24:MI:SS.FF3",
+        "HH24:MI:SS.FF",
+        "DY, DD MON YYYY HH24:MI:SS TZHTZM",
+        "YYYY-MM-DD HH24:MI:SS.FF3 TZHTZM",
+        "YYYY-MM-DD HH24:MI:SS.FF9",
+        "YYYY-MM-DD\"T\"HH24:MI:SS.FF TZH:TZM",
+        "YYYY-MM-DD HH24:MI:SS.FF",
+        "MM/DD/YYYY"
+      })
+  public void testTimestampMatchesSnowflakeDateTimeFormat(String sqlFormat) {
+    assertNotNull(SFDateTimeFastFormatter.forFormat(sqlFormat));
+    SnowflakeDateTimeFormat formatter = SnowflakeDateTimeFormat.fromSqlFormat(sqlFormat);
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      // roughly 1000-01-01 to 3000-01-01, including values handled by the slow path
+      long millis = -30610224000000L + (long) (random.nextDouble() * 63113904000000L);
+      Timestamp ts = new Timestamp(millis);
+      ts.setNanos((int) Math.floorMod(millis, 1000L) * 1000000 + random.nextInt(1000000));
+      TimeZone tz = TimeZone.getTimeZone(TIME_ZONES[i % TIME_ZONES.length]);
+      int scale = i % 10;
+      assertEquals(
+          formatter.format(ts, tz, scale),
+          SFDateTimeFastFormatter.format(formatter, ts, tz, scale),
+          "format " + sqlFormat + " millis " + millis + " tz " + tz.getID());
+    }
+  }
+
+  @Test
+  public void testDateAndTimeMatchSnowflakeDateTimeFormat() {
+    SnowflakeDateTimeFormat dateFormatter = SnowflakeDateTimeFormat.fromSqlFormat("YYYY-MM-DD");
+    SnowflakeDateTimeFormat timeFormatter = SnowflakeDateTimeFormat.fromSqlFormat("HH24:MI:SS.FF");
+    Random random = new Random(7);
+    for (int i = 0; i < 1000; i++) {
+      Date date = new Date(random.nextLong() % 253402300799999L);
+      assertEquals(
+          dateFormatter.format(date, TimeZone.getDefault()),
+          SFDateTimeFastFormatter.format(dateFormatter, date, TimeZone.getDefault()));
+
+      SFTime time = SFTime.fromNanoseconds(Math.floorMod(random.nextLong(), 86400000000000L));
+      int scale = i % 10;
+      assertEquals(
+          timeFormatter.format(time, scale),
+          SFDateTimeFastFormatter.format(timeFormatter, time, scale));
+    }
+  }
+
+  @Test
+  public void testUnsupportedFormatsUseSlowPath() {
+    assertNull(SFDateTimeFastFormatter.forFormat("AUTO"));
+    assertNull(SFDateTimeFastFormatter.forFormat("HH12:MI AM"));
+    assertNull(SFDateTimeFastFormatter.forFormat(null));
+
+    SnowflakeDateTimeFormat formatter = SnowflakeDateTimeFormat.fromSqlFormat("HH12:MI AM");
+    Timestamp ts = new Timestamp(1700000000123L);
+    TimeZone tz = TimeZone.getTimeZone("UTC");
+    assertEquals(formatter.format(ts, tz, 3), SFDateTimeFastFormatter.format(formatter, ts, tz, 3));
+  }
+
+  @Test
+  public void testFormatCacheIsBounded() {
+    String format = "YYYY/MM/DD";
+    SFDateTimeFastFormatter compiled = SFDateTimeFastFormatter.forFormat(format);
+    assertNotNull(compiled);
+    assertSame(compiled, SFDateTimeFastFormatter.forFormat(format));
+    for (int i = 0; i < 1000; i++) {
+      // a distinct format for each number, written in binary with separators
+      SFDateTimeFastFormatter.forFormat(
+          "YYYY" + Integer.toBinaryString(i).replace('0', '-').replace('1', '/'));
+    }
+    SFDateTimeFastFormatter recompiled = SFDateTimeFastFormatter.forFormat(format);
+    assertNotSame(compiled, recompiled);
+    assertEquals(
+        compiled.format(0L, 0, TimeZone.getTimeZone("UTC"), 0),
+        recompiled.format(0L, 0, TimeZone.getTimeZone("UTC"), 0));
+  }
+}
@@ -0,0 +1,120 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.snowflake.client.category.TestTags;
+import net.snowflake.client.jdbc.ErrorCode;
+import org.apache.http.client.methods.HttpPost;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CORE)
+public class SFSessionRenewalTest {
+  private static final int THREADS = 8;
+
+  /** Session renewing its token without calling the server */
+  private static class RenewingSession extends SFSession {
+    private final AtomicInteger renewals = new AtomicInteger();
+    private volatile SFException error = null;
+
+    @Override
+    SFLoginOutput requestSessionRenewal(SFLoginInput loginInput) throws SFException {
+      int renewal = renewals.incrementAndGet();
+      try {
+        Thread.sleep(200);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      if (error != null) {
+        throw error;
+      }
+      return new SFLoginOutput().setSessionToken("token-" + renewal).setMasterToken("master");
+    }
+  }
+
+  private static List<Future<?>> renewConcurrently(SFSession session, String prevSessionToken)
+      throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                try {
+                  session.renewSession(prevSessionToken);
+                } catch (SFException ex) {
+                  throw new Exception(ex);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    return futures;
+  }
+
+  @Test
+  public void testConcurrentCallersShareOneRenewal() throws Exception {
+    RenewingSession session = new RenewingSession();
+
+    for (Future<?> future : renewConcurrently(session, null)) {
+      future.get();
+    }
+
+    assertEquals(1, session.renewals.get());
+    assertEquals("token-1", session.getSessionToken());
+  }
+
+  @Test
+  public void testConcurrentCallersGetRenewalError() throws Throwable {
+    RenewingSession session = new RenewingSession();
+    session.error = new SFException((String) null, ErrorCode.NETWORK_ERROR, "renewal failed");
+
+    for (Future<?> future : renewConcurrently(session, null)) {
+      ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+      assertSame(session.error, ex.getCause().getCause());
+    }
+    assertEquals(1, session.renewals.get());
+
+    // the next caller renews the session again
+    session.error = null;
+    session.renewSession(null);
+    assertEquals("token-2", session.getSessionToken());
+  }
+
+  @Test
+  public void testRequestSignedWithReplacedTokenIsSignedAgain() throws Throwable {
+    RenewingSession session = new RenewingSession();
+    session.renewSession(null);
+    HttpPost request = new HttpPost("https://test.snowflakecomputing.com/queries/v1/query-request");
+    request.setHeader(SFSession.SF_HEADER_AUTHORIZATION, "Snowflake Token=\"token-1\"");
+    HttpPost otherRequest =
+        new HttpPost("https://test.snowflakecomputing.com/session/token-request");
+    otherRequest.setHeader(SFSession.SF_HEADER_AUTHORIZATION, "Snowflake Token=\"master\"");
+
+    session.renewSession("token-1");
+    session.resignRequest(request);
+    session.resignRequest(otherRequest);
+
+    assertEquals(
+        "Snowflake Token=\"token-2\"",
+        request.getFirstHeader(SFSession.SF_HEADER_AUTHORIZATION).getValue());
+    assertEquals(
+        "Snowflake Token=\"master\"",
+        otherRequest.getFirstHeader(SFSession.SF_HEADER_AUTHORIZATION).getValue());
+  }
+}
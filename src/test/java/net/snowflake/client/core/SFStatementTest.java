@@ -0,0 +1,75 @@
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import net.snowflake.client.jdbc.SFBaseFileTransferAgent;
+import net.snowflake.client.jdbc.SFConnectionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SFStatementTest {
+  private final List<String> putCommands = new CopyOnWriteArrayList<>();
+  private SFConnectionHandler connectionHandler;
+  private SFSession session;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    session = mock(SFSession.class);
+    connectionHandler = mock(SFConnectionHandler.class);
+    when(session.getSfConnectionHandler()).thenReturn(connectionHandler);
+    when(session.getArrayBindStage()).thenReturn("DB.PUBLIC.SYSTEM$BIND");
+    when(session.getArrayBindStageThreshold()).thenReturn(4);
+    when(connectionHandler.getBindStageName()).thenReturn("SYSTEM$BIND");
+    when(connectionHandler.getSFStatement()).thenAnswer(invocation -> mock(SFBaseStatement.class));
+    when(connectionHandler.getFileTransferAgent(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              putCommands.add(invocation.getArgument(0));
+              SFBaseFileTransferAgent transferAgent = mock(SFBaseFileTransferAgent.class);
+              when(transferAgent.execute()).thenReturn(true);
+              return transferAgent;
+            });
+  }
+
+  private static Map<String, ParameterBindingDTO> arrayBinds(int numRows) {
+    Map<String, ParameterBindingDTO> bindValues = new HashMap<>();
+    String[] values = new String[numRows];
+    Arrays.fill(values, "1");
+    bindValues.put("1", new ParameterBindingDTO("FIXED", Arrays.asList(values)));
+    bindValues.put("2", new ParameterBindingDTO("TEXT", Arrays.asList(values)));
+    return bindValues;
+  }
+
+  @Test
+  public void testArrayBindsBelowStageThresholdAreNotUploadedAhead() throws Exception {
+    SFStatement statement = new SFStatement(session);
+    assertNull(statement.uploadArrayBinds(arrayBinds(1)));
+    verify(connectionHandler, never()).getFileTransferAgent(anyString(), any());
+  }
+
+  @Test
+  public void testArrayBindsAreUploadedAheadToSeparateDirectories() throws Exception {
+    SFStatement statement = new SFStatement(session);
+    String firstStagePath = statement.uploadArrayBinds(arrayBinds(3));
+    String secondStagePath = statement.uploadArrayBinds(arrayBinds(3));
+
+    assertNotNull(firstStagePath);
+    assertNotNull(secondStagePath);
+    assertNotEquals(firstStagePath, secondStagePath);
+    assertEquals(2, putCommands.size());
+  }
+}
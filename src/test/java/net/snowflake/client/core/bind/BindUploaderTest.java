@@ -0,0 +1,161 @@
+package net.snowflake.client.core.bind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.snowflake.client.TestUtil.readAllBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import net.snowflake.client.core.ParameterBindingDTO;
+import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFBaseStatement;
+import net.snowflake.client.jdbc.SFBaseFileTransferAgent;
+import net.snowflake.client.jdbc.SFConnectionHandler;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BindUploaderTest {
+  private final Map<String, byte[]> uploadedFiles = new ConcurrentSkipListMap<>();
+  private final List<String> putCommands = new CopyOnWriteArrayList<>();
+  private SFConnectionHandler connectionHandler;
+  private SFBaseSession session;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    session = mock(SFBaseSession.class);
+    connectionHandler = mock(SFConnectionHandler.class);
+    when(session.getSfConnectionHandler()).thenReturn(connectionHandler);
+    when(session.getArrayBindStage()).thenReturn("DB.PUBLIC.SYSTEM$BIND");
+    when(connectionHandler.getBindStageName()).thenReturn("SYSTEM$BIND");
+    when(connectionHandler.getSFStatement()).thenAnswer(invocation -> mock(SFBaseStatement.class));
+    when(connectionHandler.getFileTransferAgent(anyString(), any()))
+        .thenAnswer(
+            invocation -> {
+              putCommands.add(invocation.getArgument(0));
+              return newTransferAgent();
+            });
+  }
+
+  private SFBaseFileTransferAgent newTransferAgent() throws Exception {
+    SFBaseFileTransferAgent transferAgent = mock(SFBaseFileTransferAgent.class);
+    InputStream[] source = new InputStream[1];
+    String[] fileName = new String[1];
+    doAnswer(invocation -> source[0] = invocation.getArgument(0))
+        .when(transferAgent)
+        .setSourceStream(any());
+    doAnswer(invocation -> fileName[0] = invocation.getArgument(0))
+        .when(transferAgent)
+        .setDestFileNameForStreamSource(anyString());
+    doAnswer(
+            invocation -> {
+              uploadedFiles.put(fileName[0], readAllBytes(source[0]));
+              return true;
+            })
+        .when(transferAgent)
+        .execute();
+    return transferAgent;
+  }
+
+  private static Map<String, ParameterBindingDTO> bindValues(int numRows) {
+    List<String> numbers = new ArrayList<>();
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < numRows; i++) {
+      numbers.add(Integer.toString(i));
+      texts.add(i % 2 == 0 ? "a,b" : null);
+    }
+    Map<String, ParameterBindingDTO> bindValues = new HashMap<>();
+    bindValues.put("1", new ParameterBindingDTO("FIXED", numbers));
+    bindValues.put("2", new ParameterBindingDTO("TEXT", texts));
+    return bindValues;
+  }
+
+  private String uploadedContent(boolean compressed) throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int i = 1; i <= uploadedFiles.size(); i++) {
+      byte[] file = uploadedFiles.get(compressed ? i + ".gz" : Integer.toString(i));
+      if (compressed) {
+        file = readAllBytes(new GZIPInputStream(new ByteArrayInputStream(file)));
+      }
+      content.append(new String(file, UTF_8));
+    }
+    return content.toString();
+  }
+
+  private static String expectedContent(int numRows) {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < numRows; i++) {
+      content.append(i).append(i % 2 == 0 ? ",\"a,b\"\n" : ",\n");
+    }
+    return content.toString();
+  }
+
+  @Test
+  public void testRowsAreUploadedAsCompressedFiles() throws Exception {
+    try (BindUploader uploader = BindUploader.newInstance(session, "stage-dir")) {
+      uploader.setInputStreamBufferSize(1000);
+      uploader.setMaxConcurrentUploads(2);
+      uploader.upload(bindValues(1000));
+
+      assertTrue(uploader.getFileCount() > 1);
+      assertEquals(uploader.getFileCount(), uploadedFiles.size());
+    }
+    assertEquals(expectedContent(1000), uploadedContent(true));
+    for (String putCommand : putCommands) {
+      assertTrue(putCommand.endsWith(" overwrite=true source_compression=gzip"), putCommand);
+    }
+  }
+
+  @Test
+  public void testRowsAreUploadedUncompressed() throws Exception {
+    try (BindUploader uploader = BindUploader.newInstance(session, "stage-dir")) {
+      uploader.upload(bindValues(10), false);
+      assertEquals(1, uploader.getFileCount());
+    }
+    assertEquals(expectedContent(10), uploadedContent(false));
+    assertEquals(
+        Arrays.asList("put file:///tmp/placeholder '@SYSTEM$BIND/stage-dir' overwrite=true"),
+        putCommands);
+  }
+
+  @Test
+  public void testUploadFailureIsPropagated() throws Exception {
+    SFBaseFileTransferAgent failingAgent = mock(SFBaseFileTransferAgent.class);
+    doThrow(new SnowflakeSQLException("upload failed")).when(failingAgent).execute();
+    when(connectionHandler.getFileTransferAgent(anyString(), any())).thenReturn(failingAgent);
+
+    try (BindUploader uploader = BindUploader.newInstance(session, "stage-dir")) {
+      uploader.setInputStreamBufferSize(100);
+      SnowflakeSQLException ex =
+          assertThrows(SnowflakeSQLException.class, () -> uploader.upload(bindValues(1000)));
+      assertEquals("upload failed", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testColumnsWithDifferentNumberOfBindsAreRejected() {
+    Map<String, ParameterBindingDTO> bindValues = bindValues(10);
+    bindValues.put("2", new ParameterBindingDTO("TEXT", Arrays.asList("a")));
+    try (BindUploader uploader = BindUploader.newInstance(session, "stage-dir")) {
+      assertThrows(BindException.class, () -> uploader.upload(bindValues));
+    }
+    assertTrue(uploadedFiles.isEmpty());
+  }
+}
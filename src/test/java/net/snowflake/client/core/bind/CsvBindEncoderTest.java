@@ -0,0 +1,208 @@
+package net.snowflake.client.core.bind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.snowflake.client.TestUtil.readAllBytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.zip.GZIPInputStream;
+import net.snowflake.client.core.StreamBindValue;
+import net.snowflake.client.core.bind.BindUploader.ColumnTypeDataPair;
+import net.snowflake.common.core.SFBinary;
+import org.junit.jupiter.api.Test;
+
+public class CsvBindEncoderTest {
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+      new DateTimeFormatterBuilder()
+          .append(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS "))
+          .appendOffset("+HH:MM", "Z")
+          .toFormatter();
+
+  private static String expectedTimestamp(long sec, int nano, ZoneId zone) {
+    return ZonedDateTime.ofInstant(Instant.ofEpochSecond(sec, nano), zone)
+        .format(TIMESTAMP_FORMATTER);
+  }
+
+  private static String toBindValue(long sec, int nano) {
+    // the bind value is the number of nanoseconds since the epoch
+    return BigDecimal.valueOf(sec)
+        .scaleByPowerOfTen(9)
+        .add(BigDecimal.valueOf(nano))
+        .toPlainString();
+  }
+
+  @Test
+  public void testTimestampsAreFormattedAsWithFormatter() {
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+    try {
+      // a time zone with an offset in minutes and daylight saving time
+      TimeZone.setDefault(TimeZone.getTimeZone("America/St_Johns"));
+      Random random = new Random(42);
+      long[] seconds = {0, -1, 1, 253402300799L, 253402300800L, -62135596800L, -62135596801L};
+      List<Long> values = new ArrayList<>();
+      for (long sec : seconds) {
+        values.add(sec);
+      }
+      for (int i = 0; i < 1000; i++) {
+        values.add(random.nextLong() % 300000000000L);
+      }
+      for (long sec : values) {
+        int nano = Math.floorMod(random.nextInt(), 1000000000);
+        String value = toBindValue(sec, nano);
+        assertEquals(
+            expectedTimestamp(sec, nano, ZoneOffset.UTC),
+            CsvBindEncoder.formatTimestamp(value, "TIMESTAMP_NTZ"),
+            value);
+        assertEquals(
+            expectedTimestamp(sec, nano, ZoneId.systemDefault()),
+            CsvBindEncoder.formatTimestamp(value, "TIMESTAMP_LTZ"),
+            value);
+      }
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
+
+  @Test
+  public void testDatesAndTimesAreFormatted() {
+    assertEquals("1970-01-01", CsvBindEncoder.formatDate("0"));
+    assertEquals("1969-12-31", CsvBindEncoder.formatDate("-1"));
+    assertEquals("9999-12-31", CsvBindEncoder.formatDate("253402214400000"));
+    assertEquals("+10000-01-01", CsvBindEncoder.formatDate("253402300800000"));
+    assertEquals("0001-01-01", CsvBindEncoder.formatDate("-62135596800000"));
+
+    assertEquals("00:00:00.000000005", CsvBindEncoder.formatTime("5"));
+    assertEquals("23:59:59.999999995", CsvBindEncoder.formatTime("-5"));
+    assertEquals("13:45:30.123456789", CsvBindEncoder.formatTime("49530123456789"));
+    assertEquals(null, CsvBindEncoder.formatTime(null));
+  }
+
+  @Test
+  public void testRowsEncodedInParallelAreWrittenInOrder() throws Exception {
+    int numRows = 20 * CsvBindEncoder.CHUNK_ROWS + 7;
+    List<String> numbers = new ArrayList<>();
+    List<String> dates = new ArrayList<>();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < numRows; i++) {
+      numbers.add(i % 10 == 0 ? null : "ü" + i);
+      dates.add(Long.toString(i * 86400000L));
+      expected
+          .append(i % 10 == 0 ? "" : "ü" + i)
+          .append(',')
+          .append(CsvBindEncoder.formatDate(Long.toString(i * 86400000L)))
+          .append('\n');
+    }
+    List<ColumnTypeDataPair> columns =
+        Arrays.asList(
+            new ColumnTypeDataPair("TEXT", numbers), new ColumnTypeDataPair("DATE", dates));
+
+    CsvBindEncoder encoder = new CsvBindEncoder(columns, numRows);
+    StringBuilder content = new StringBuilder();
+    int rowIdx = 0;
+    while (rowIdx < numRows) {
+      BindFileBuffer file = new BindFileBuffer(false);
+      while (rowIdx < numRows && file.size() < 100000) {
+        encoder.writeRow(file, rowIdx++);
+      }
+      content.append(new String(readAllBytes(file.toInputStream()), UTF_8));
+    }
+    assertEquals(expected.toString(), content.toString());
+  }
+
+  @Test
+  public void testStreamValuesAreWrittenToTheFile() throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      text.append("\"ü").append(i).append(",\n");
+    }
+    byte[] bytes = new byte[20000];
+    new Random(42).nextBytes(bytes);
+    List<ColumnTypeDataPair> columns =
+        Arrays.asList(
+            new ColumnTypeDataPair("FIXED", Arrays.asList("1")),
+            new ColumnTypeDataPair(
+                "TEXT",
+                Arrays.asList(
+                    StreamBindValue.ofCharacters(
+                        new StringReader(text + "ignored"), text.length()))),
+            new ColumnTypeDataPair(
+                "BINARY",
+                Arrays.asList(StreamBindValue.ofBytes(new ByteArrayInputStream(bytes), -1))),
+            new ColumnTypeDataPair(
+                "TEXT", Arrays.asList(StreamBindValue.ofCharacters(new StringReader(""), -1))));
+
+    BindFileBuffer file = new BindFileBuffer(true);
+    new CsvBindEncoder(columns, 1).writeRow(file, 0);
+    String content = new String(readAllBytes(new GZIPInputStream(file.toInputStream())), UTF_8);
+    assertEquals(
+        "1,\""
+            + text.toString().replace("\"", "\"\"")
+            + "\",\""
+            + new SFBinary(bytes).toHex()
+            + "\",\"\"\n",
+        content);
+
+    // a stream is read only once
+    StreamBindValue value = StreamBindValue.ofCharacters(new StringReader("a"), -1);
+    assertEquals("a", value.readFully());
+    assertThrows(IOException.class, value::readFully);
+  }
+
+  @Test
+  public void testNonStringValueIsRejected() {
+    List<ColumnTypeDataPair> columns =
+        Arrays.asList(
+            new ColumnTypeDataPair("TEXT", Arrays.asList("a", "b")),
+            new ColumnTypeDataPair("FIXED", Arrays.asList("1", 2)));
+    BindException ex =
+        assertThrows(BindException.class, () -> CsvBindEncoder.encodeRows(columns, 0, 2));
+    assertEquals(
+        "Value of bind 2 in row 2 is not a String but a java.lang.Integer", ex.getMessage());
+  }
+
+  @Test
+  public void testStreamValueIsSpooledForTheNextExecution() throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 200000; i++) {
+      text.append("\"ü").append(i);
+    }
+    StreamBindValue value = StreamBindValue.ofCharacters(new StringReader(text.toString()), -1);
+    List<ColumnTypeDataPair> columns =
+        Arrays.asList(new ColumnTypeDataPair("TEXT", Arrays.asList(value)));
+    String expected = "\"" + text.toString().replace("\"", "\"\"") + "\"\n";
+    for (int i = 0; i < 2; i++) {
+      BindFileBuffer file = new BindFileBuffer(false);
+      new CsvBindEncoder(columns, 1).writeRow(file, 0);
+      assertEquals(expected, new String(readAllBytes(file.toInputStream()), UTF_8));
+    }
+    value.release();
+    assertThrows(
+        BindException.class,
+        () -> new CsvBindEncoder(columns, 1).writeRow(new BindFileBuffer(false), 0));
+  }
+
+  @Test
+  public void testStreamShorterThanItsLengthIsRejected() {
+    StreamBindValue text = StreamBindValue.ofCharacters(new StringReader("abc"), 4);
+    IOException ex = assertThrows(IOException.class, text::readFully);
+    assertEquals("The stream of the bind value ended after 3 of its 4 characters", ex.getMessage());
+    StreamBindValue bytes = StreamBindValue.ofBytes(new ByteArrayInputStream(new byte[2]), 3);
+    assertThrows(IOException.class, () -> bytes.writeCsvField(new ByteArrayOutputStream()));
+  }
+}
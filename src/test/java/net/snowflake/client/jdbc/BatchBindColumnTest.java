@@ -0,0 +1,76 @@
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
+import net.snowflake.client.core.ObjectMapperFactory;
+import net.snowflake.client.core.ParameterBindingDTO;
+import org.junit.jupiter.api.Test;
+
+public class BatchBindColumnTest {
+
+  @Test
+  public void testLongValues() {
+    BatchBindColumn column = new BatchBindColumn();
+    column.add((String) null);
+    for (long i = 0; i < 100; i++) {
+      column.add(PrimitiveParameterBindingDTO.ofLong("FIXED", i * 1000));
+    }
+    column.add(new ParameterBindingDTO("ANY", null));
+
+    assertEquals(102, column.size());
+    assertEquals(null, column.get(0));
+    assertEquals("0", column.get(1));
+    assertEquals("99000", column.get(100));
+    assertEquals(null, column.get(101));
+  }
+
+  @Test
+  public void testDoubleValues() {
+    BatchBindColumn column = new BatchBindColumn();
+    column.add(PrimitiveParameterBindingDTO.ofDouble("REAL", 1.5));
+    column.add(PrimitiveParameterBindingDTO.ofDouble("REAL", -2.0E-10));
+
+    assertEquals(Arrays.asList("1.5", "-2.0E-10"), column);
+  }
+
+  @Test
+  public void testStringValuesWithNulls() {
+    BatchBindColumn column = new BatchBindColumn();
+    for (int i = 0; i < 50; i++) {
+      column.add(i % 3 == 0 ? null : "värde " + i);
+    }
+
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i % 3 == 0 ? null : "värde " + i, column.get(i));
+    }
+  }
+
+  @Test
+  public void testMixedValuesAreConvertedToStrings() {
+    BatchBindColumn column = new BatchBindColumn();
+    column.add(PrimitiveParameterBindingDTO.ofLong("FIXED", 1));
+    column.add((String) null);
+    column.add(new ParameterBindingDTO("FIXED", "12345678901234567890"));
+    column.add(PrimitiveParameterBindingDTO.ofLong("FIXED", 3));
+    column.add(PrimitiveParameterBindingDTO.ofDouble("REAL", 4.5));
+
+    assertEquals(Arrays.asList("1", null, "12345678901234567890", "3", "4.5"), column);
+  }
+
+  @Test
+  public void testColumnIsSerializedAsArray() throws Exception {
+    ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+    BatchBindColumn column = new BatchBindColumn();
+    column.add(PrimitiveParameterBindingDTO.ofLong("FIXED", 1));
+    column.add((String) null);
+
+    assertEquals(
+        "{\"type\":\"FIXED\",\"fmt\":null,\"schema\":null,\"value\":[\"1\",null]}",
+        mapper.writeValueAsString(new ParameterBindingDTO("FIXED", column)));
+    assertEquals(
+        "{\"type\":\"FIXED\",\"fmt\":null,\"schema\":null,\"value\":\"7\"}",
+        mapper.writeValueAsString(PrimitiveParameterBindingDTO.ofLong("FIXED", 7)));
+  }
+}
@@ -0,0 +1,109 @@
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import net.snowflake.client.core.ParameterBindingDTO;
+import net.snowflake.client.core.SFBaseResultSet;
+import net.snowflake.client.core.SFPreparedStatementMetaData;
+import net.snowflake.client.core.SFResultSetMetaData;
+import net.snowflake.client.core.SFSession;
+import net.snowflake.client.core.SFStatement;
+import net.snowflake.client.core.SFStatementType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MultiRowInsertBatchTest {
+  private static final String INSERT_SQL = "INSERT INTO T VALUES (?)";
+
+  // number of rows of each executed statement
+  private final List<Integer> executedRows = new ArrayList<>();
+  private SnowflakeConnectionV1 connection;
+  private String failingValue = null;
+
+  @BeforeEach
+  public void setUp() throws Throwable {
+    SFSession session = mock(SFSession.class);
+    when(session.checkProperties()).thenReturn(Collections.emptyList());
+    when(session.getBatchInsertRewriteSize()).thenReturn(3);
+
+    SFStatement sfStatement = mock(SFStatement.class);
+    when(sfStatement.getSFBaseSession()).thenReturn(session);
+    when(sfStatement.describe(anyString()))
+        .thenReturn(
+            new SFPreparedStatementMetaData(
+                null, SFStatementType.INSERT, 1, false, Collections.emptyList(), true));
+    when(sfStatement.execute(anyString(), anyMap(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Map<String, ParameterBindingDTO> binds = invocation.getArgument(1);
+              for (ParameterBindingDTO bind : binds.values()) {
+                if (bind.getValue().equals(failingValue)) {
+                  throw new SnowflakeSQLException(
+                      null, "NULL result in a non-nullable column", "22000", 100072);
+                }
+              }
+              executedRows.add(binds.size());
+              return insertResult(binds.size());
+            });
+
+    SFConnectionHandler connectionHandler = mock(SFConnectionHandler.class);
+    when(connectionHandler.getSFSession()).thenReturn(session);
+    when(connectionHandler.getSFStatement()).thenReturn(sfStatement);
+    connection = new SnowflakeConnectionV1(connectionHandler);
+  }
+
+  private static SFBaseResultSet insertResult(int numRows) throws Throwable {
+    SFResultSetMetaData metaData = mock(SFResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(1);
+    SFBaseResultSet resultSet = mock(SFBaseResultSet.class);
+    when(resultSet.getStatementType()).thenReturn(SFStatementType.INSERT);
+    when(resultSet.getMetaData()).thenReturn(metaData);
+    when(resultSet.next()).thenReturn(true, false);
+    when(resultSet.getLong(1)).thenReturn((long) numRows);
+    return resultSet;
+  }
+
+  private PreparedStatement prepareBatch(int numRows) throws Exception {
+    PreparedStatement statement = connection.prepareStatement(INSERT_SQL);
+    for (int i = 0; i < numRows; i++) {
+      statement.setInt(1, i);
+      statement.addBatch();
+    }
+    return statement;
+  }
+
+  @Test
+  public void testBatchIsExecutedInMultiRowInserts() throws Exception {
+    try (PreparedStatement statement = prepareBatch(5)) {
+      assertArrayEquals(new int[] {1, 1, 1, 1, 1}, statement.executeBatch());
+    }
+    assertEquals(Arrays.asList(3, 2), executedRows);
+  }
+
+  @Test
+  public void testFailedMultiRowInsertIsRetriedRowByRow() throws Exception {
+    failingValue = "1";
+    try (PreparedStatement statement = prepareBatch(5)) {
+      BatchUpdateException ex = assertThrows(BatchUpdateException.class, statement::executeBatch);
+      assertArrayEquals(new int[] {1, Statement.EXECUTE_FAILED, 1, 1, 1}, ex.getUpdateCounts());
+      assertEquals("22000", ex.getSQLState());
+      assertEquals(100072, ex.getErrorCode());
+    }
+    assertEquals(Arrays.asList(1, 1, 2), executedRows);
+  }
+}
@@ -0,0 +1,73 @@
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import net.snowflake.client.core.ParameterBindingDTO;
+import org.junit.jupiter.api.Test;
+
+public class MultiRowInsertRewriterTest {
+  @Test
+  public void testSingleRowInsertIsRewritten() {
+    MultiRowInsertRewriter rewriter =
+        MultiRowInsertRewriter.parse(
+            " insert into \"VALUES\"(a, b, c) values (?, 'x?)''', to_date(?));\n");
+    assertNotNull(rewriter);
+    assertEquals(
+        "insert into \"VALUES\"(a, b, c) values (?, 'x?)''', to_date(?))", rewriter.getSql(1));
+    assertEquals(
+        "insert into \"VALUES\"(a, b, c) values (?, 'x?)''', to_date(?)),"
+            + " (?, 'x?)''', to_date(?)), (?, 'x?)''', to_date(?))",
+        rewriter.getSql(3));
+  }
+
+  @Test
+  public void testIncompatibleStatementsAreNotRewritten() {
+    assertNull(MultiRowInsertRewriter.parse("select ? from t"));
+    assertNull(MultiRowInsertRewriter.parse("insert overwrite into t values (?)"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t values (?), (?)"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t select ? from s"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t values (1)"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t values (?) -- comment"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t values ($$?$$, ?)"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t values ('?)"));
+    assertNull(MultiRowInsertRewriter.parse("insert into t(a) select * from s where b = ?"));
+  }
+
+  private static Map<String, ParameterBindingDTO> row(String... values) {
+    Map<String, ParameterBindingDTO> row = new HashMap<>();
+    for (int i = 0; i < values.length; i++) {
+      row.put(Integer.toString(i + 1), new ParameterBindingDTO("TEXT", values[i]));
+    }
+    return row;
+  }
+
+  @Test
+  public void testBindsOfRowsAreNumberedInOrder() {
+    MultiRowInsertRewriter rewriter = MultiRowInsertRewriter.parse("insert into t values (?, ?)");
+    Map<String, ParameterBindingDTO> first = row("a", "b");
+    Map<String, ParameterBindingDTO> second = row("c", "d");
+    assertTrue(rewriter.accepts(first));
+    assertFalse(rewriter.accepts(row("a")));
+    assertFalse(rewriter.accepts(null));
+    Map<String, ParameterBindingDTO> arrayBind = row("a", "b");
+    arrayBind.put("2", new ParameterBindingDTO("TEXT", Collections.singletonList("b")));
+    assertFalse(rewriter.accepts(arrayBind));
+
+    Map<String, ParameterBindingDTO> bindings =
+        rewriter.getParameterBindings(Arrays.asList(first, second));
+    assertEquals(4, bindings.size());
+    assertSame(first.get("1"), bindings.get("1"));
+    assertSame(first.get("2"), bindings.get("2"));
+    assertSame(second.get("1"), bindings.get("3"));
+    assertSame(second.get("2"), bindings.get("4"));
+  }
+}
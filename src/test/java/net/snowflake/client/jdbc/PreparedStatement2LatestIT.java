@@ -3,17 +3,21 @@ package net.snowflake.client.jdbc;
 import static net.snowflake.client.jdbc.PreparedStatement1IT.bindOneParamSet;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Random;
 import net.snowflake.client.annotations.DontRunOnGithubActions;
 import net.snowflake.client.category.TestTags;
 import net.snowflake.client.providers.SimpleResultFormatProvider;
@@ -399,4 +403,47 @@ public class PreparedStatement2LatestIT extends PreparedStatement0IT {
                   "select current_version\\(\\) --testing toString\\(\\) - Query ID: (\\d|\\w)+(-(\\d|\\w)+)+$"));
     }
   }
+
+  @ParameterizedTest
+  @ArgumentsSource(SimpleResultFormatProvider.class)
+  public void testStreamBindsRoundTrip(String queryResultFormat) throws SQLException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      text.append("\"ü").append(i).append(",\n");
+    }
+    byte[] bytes = new byte[100000];
+    new Random(42).nextBytes(bytes);
+    try (Connection con = getConn(queryResultFormat);
+        Statement statement = con.createStatement()) {
+      try {
+        statement.execute("create or replace table stream_binds(id int, t text, b binary)");
+        try (PreparedStatement pstatement =
+            con.prepareStatement("insert into stream_binds(id, t, b) values (?, ?, ?)")) {
+          pstatement.setInt(1, 1);
+          pstatement.setCharacterStream(2, new StringReader(text + "ignored"), text.length());
+          pstatement.setBinaryStream(3, new ByteArrayInputStream(bytes));
+          assertEquals(1, pstatement.executeUpdate());
+          // the values read from the streams are sent again
+          pstatement.setInt(1, 2);
+          assertEquals(1, pstatement.executeUpdate());
+
+          // a stream shorter than its length is rejected
+          pstatement.setCharacterStream(2, new StringReader("abc"), 4);
+          assertThrows(SQLException.class, pstatement::executeUpdate);
+        }
+        try (ResultSet resultSet =
+            statement.executeQuery("select id, t, b from stream_binds order by id")) {
+          for (int id = 1; id <= 2; id++) {
+            assertTrue(resultSet.next());
+            assertEquals(id, resultSet.getInt(1));
+            assertEquals(text.toString(), resultSet.getString(2));
+            assertArrayEquals(bytes, resultSet.getBytes(3));
+          }
+          assertFalse(resultSet.next());
+        }
+      } finally {
+        statement.execute("drop table if exists stream_binds");
+      }
+    }
+  }
 }
@@ -13,18 +13,6 @@ public class PreparedStatementFeatureNotSupportedIT extends BaseJDBCTest {
   public void testFeatureNotSupportedException() throws Throwable {
     try (Connection connection = getConnection();
         PreparedStatement preparedStatement = connection.prepareStatement("select ?")) {
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setAsciiStream(1, new BaseJDBCTest.FakeInputStream()));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setAsciiStream(1, new BaseJDBCTest.FakeInputStream(), 1));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setBinaryStream(1, new BaseJDBCTest.FakeInputStream()));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setBinaryStream(1, new BaseJDBCTest.FakeInputStream(), 1));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setCharacterStream(1, new BaseJDBCTest.FakeReader()));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setCharacterStream(1, new BaseJDBCTest.FakeReader(), 1));
       expectFeatureNotSupportedException(
           () -> preparedStatement.setRef(1, new BaseJDBCTest.FakeRef()));
       expectFeatureNotSupportedException(
@@ -45,14 +33,6 @@ public class PreparedStatementFeatureNotSupportedIT extends BaseJDBCTest {
       expectFeatureNotSupportedException(
           () -> preparedStatement.setNClob(1, new BaseJDBCTest.FakeReader(), 1));
 
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setClob(1, new BaseJDBCTest.FakeReader()));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setClob(1, new BaseJDBCTest.FakeReader(), 1));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setBlob(1, new BaseJDBCTest.FakeInputStream()));
-      expectFeatureNotSupportedException(
-          () -> preparedStatement.setBlob(1, new BaseJDBCTest.FakeInputStream(), 1));
       expectFeatureNotSupportedException(
           () -> preparedStatement.setSQLXML(1, new BaseJDBCTest.FakeSQLXML()));
 
@@ -13,6 +13,8 @@ import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -24,6 +26,9 @@ import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLKeyException;
@@ -33,10 +38,12 @@ import net.snowflake.client.core.ExecTimeTelemetryData;
 import net.snowflake.client.core.HttpClientSettingsKey;
 import net.snowflake.client.core.HttpExecutingContext;
 import net.snowflake.client.core.HttpExecutingContextBuilder;
+import net.snowflake.client.core.HttpResponseContextDto;
 import net.snowflake.client.core.HttpUtil;
 import net.snowflake.client.core.OCSPMode;
 import net.snowflake.client.core.SFBaseSession;
 import net.snowflake.client.core.SFTrustManager;
+import net.snowflake.client.core.SessionUtil;
 import net.snowflake.client.jdbc.telemetry.Telemetry;
 import net.snowflake.client.jdbc.telemetry.TelemetryClient;
 import net.snowflake.client.jdbc.telemetry.TelemetryData;
@@ -234,6 +241,82 @@ public class RestRequestTest {
     execute(client, "fakeurl.com/?requestId=abcd-1234", 0, 0, 0, false, false);
   }
 
+  private CompletableFuture<HttpResponseContextDto> executeAsync(
+      CloseableHttpClient client, String uri, int retryTimeout, int authTimeout) {
+    HttpUtil.setRequestConfig(
+        RequestConfig.custom()
+            .setConnectTimeout(DEFAULT_CONNECTION_TIMEOUT)
+            .setConnectionRequestTimeout(DEFAULT_CONNECTION_TIMEOUT)
+            .setSocketTimeout(DEFAULT_HTTP_CLIENT_SOCKET_TIMEOUT)
+            .build());
+    HttpGet request = new HttpGet(uri);
+    HttpExecutingContext context =
+        HttpExecutingContextBuilder.withRequest("", uri)
+            .retryTimeout(retryTimeout)
+            .authTimeout(authTimeout)
+            .origSocketTimeout(0)
+            .maxRetries(0)
+            .injectSocketTimeout(0)
+            .canceling(new AtomicBoolean(false))
+            .withoutCookies(false)
+            .includeRetryParameters(true)
+            .includeRequestGuid(true)
+            .retryHTTP403(true)
+            .noRetry(false)
+            .unpackResponse(true)
+            .loginRequest(SessionUtil.isNewRetryStrategyRequest(request))
+            .build();
+    return RestRequest.executeWithRetriesAsync(
+        client, request, context, new ExecTimeTelemetryData(), null);
+  }
+
+  @Test
+  public void testAsyncExecutionRetriesOnTransportThreads() throws Exception {
+    CloseableHttpClient client = mock(CloseableHttpClient.class);
+    List<String> threadNames = new ArrayList<>();
+    when(client.execute(any(HttpUriRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              HttpUriRequest arg = (HttpUriRequest) invocation.getArguments()[0];
+              String params = arg.getURI().getQuery();
+              synchronized (threadNames) {
+                if (!threadNames.isEmpty()) {
+                  assertTrue(params.contains("retryCount=" + threadNames.size()));
+                  assertTrue(params.contains("retryReason=503"));
+                }
+                threadNames.add(Thread.currentThread().getName());
+                return threadNames.size() >= 3 ? successResponse() : retryResponse();
+              }
+            });
+
+    HttpResponseContextDto response =
+        executeAsync(client, "fakeurl.com/?requestId=abcd-1234", 0, 0).get(60, TimeUnit.SECONDS);
+
+    assertEquals("response body", response.getUnpackedCloseableHttpResponse());
+    assertEquals(3, threadNames.size());
+    for (String threadName : threadNames) {
+      assertTrue(threadName.startsWith("async-http-"), threadName);
+    }
+  }
+
+  @Test
+  public void testAsyncExecutionAuthBasedTimeout() throws IOException {
+    CloseableHttpClient client = mock(CloseableHttpClient.class);
+    when(client.execute(any(HttpUriRequest.class)))
+        .thenAnswer((Answer<CloseableHttpResponse>) invocation -> retryResponse());
+
+    ExecutionException ex =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                executeAsync(client, "login-request.com/?requestId=abcd-1234", 2, 1)
+                    .get(60, TimeUnit.SECONDS));
+    assertTrue(ex.getCause() instanceof SnowflakeSQLException);
+    assertThat(
+        ((SnowflakeSQLException) ex.getCause()).getErrorCode(),
+        equalTo(ErrorCode.AUTHENTICATOR_REQUEST_TIMEOUT.getMessageCode()));
+  }
+
   private CloseableHttpResponse anyStatusCodeResponse(int statusCode) {
     StatusLine successStatusLine = mock(StatusLine.class);
     when(successStatusLine.getStatusCode()).thenReturn(statusCode);
@@ -531,6 +614,92 @@ public class RestRequestTest {
     }
   }
 
+  @Test
+  public void testRetryBudgetStopsRetries() throws IOException {
+    CloseableHttpClient client = mock(CloseableHttpClient.class);
+    when(client.execute(any(HttpUriRequest.class))).thenAnswer(invocation -> retryResponse());
+    HttpRetryBudget budget = HttpRetryBudget.getInstance();
+    long rejectedRetries = budget.getRejectedRetryCount();
+    // a single retry is available and the request adds a tenth of a retry
+    budget.configure(0.1, 0, 1);
+    try {
+      assertThrows(
+          SnowflakeSQLException.class,
+          () ->
+              execute(
+                  client,
+                  "https://budget.fakeurl.com/?requestId=abcd-1234",
+                  0,
+                  0,
+                  0,
+                  true,
+                  false,
+                  5));
+      verify(client, times(2)).execute(any(HttpUriRequest.class));
+      assertEquals(rejectedRetries + 1, budget.getRejectedRetryCount());
+      assertTrue(budget.getBalance() < 1);
+    } finally {
+      budget.configure(0, 1, 100);
+    }
+  }
+
+  @Test
+  public void testCircuitBreakerFailsFastAndProbes() throws Exception {
+    String host = "breaker.fakeurl.com";
+    String uri = "https://" + host + "/?requestId=abcd-1234";
+    AtomicBoolean hostDown = new AtomicBoolean(true);
+    CloseableHttpClient client = mock(CloseableHttpClient.class);
+    when(client.execute(any(HttpUriRequest.class)))
+        .thenAnswer(invocation -> hostDown.get() ? retryResponse() : successResponse());
+    HttpCircuitBreaker breaker = HttpCircuitBreaker.getInstance();
+    breaker.configure(2, 200);
+    try {
+      for (int i = 0; i < 2; i++) {
+        assertThrows(SnowflakeSQLException.class, () -> execute(client, uri, 0, 0, 0, true, true));
+      }
+      assertEquals(HttpCircuitBreaker.State.OPEN, breaker.getState(host));
+
+      // the host is not called while the circuit is open
+      SnowflakeSQLException ex =
+          assertThrows(
+              SnowflakeSQLException.class, () -> execute(client, uri, 0, 0, 0, true, true));
+      assertTrue(ex.getMessage().contains("Circuit breaker is open for host " + host));
+      verify(client, times(2)).execute(any(HttpUriRequest.class));
+
+      // once the open time has passed, a single probe closes the circuit again
+      Thread.sleep(300);
+      hostDown.set(false);
+      execute(client, uri, 0, 0, 0, true, true);
+      assertEquals(HttpCircuitBreaker.State.CLOSED, breaker.getState(host));
+      verify(client, times(3)).execute(any(HttpUriRequest.class));
+    } finally {
+      breaker.configure(0, 30000);
+    }
+  }
+
+  @Test
+  public void testCircuitBreakerLetsOneProbeThroughWhenHalfOpen() throws Exception {
+    String host = "probe.fakeurl.com";
+    HttpCircuitBreaker breaker = HttpCircuitBreaker.getInstance();
+    breaker.configure(1, 100);
+    try {
+      breaker.recordFailure(host);
+      assertFalse(breaker.allowRequest(host));
+
+      Thread.sleep(150);
+      assertTrue(breaker.allowRequest(host));
+      assertEquals(HttpCircuitBreaker.State.HALF_OPEN, breaker.getState(host));
+      assertFalse(breaker.allowRequest(host));
+
+      // a failed probe opens the circuit for another period
+      breaker.recordFailure(host);
+      assertEquals(HttpCircuitBreaker.State.OPEN, breaker.getState(host));
+      assertFalse(breaker.allowRequest(host));
+    } finally {
+      breaker.configure(0, 30000);
+    }
+  }
+
   @Test
   public void testConnectionClosedRetriesSuccessful() throws IOException, SnowflakeSQLException {
     CloseableHttpClient client = mock(CloseableHttpClient.class);
@@ -45,6 +45,21 @@ public class RestRequestTestRetriesWiremockIT extends BaseWiremockTest {
             .contains("JDBC driver encountered communication error. Message: HTTP status=503."));
   }
 
+  @Test
+  public void testRetryBudgetStopsRetries() {
+    importMappingFromResources(SCENARIOS_BASE_DIR + "/response503.json");
+    Properties props = getWiremockProps();
+    props.setProperty("maxHttpRetries", "5");
+    // a single retry is available and each request adds a tenth of a retry
+    HttpRetryBudget.getInstance().configure(0.1, 0, 1);
+    try {
+      assertThrows(SnowflakeSQLException.class, () -> executeServerRequest(props));
+      verifyRequestCount(2, "/queries/v1/query-request.*");
+    } finally {
+      HttpRetryBudget.getInstance().configure(0, 1, 100);
+    }
+  }
+
   private static Properties getWiremockProps() {
     Properties props = new Properties();
     props.put("protocol", "http://");
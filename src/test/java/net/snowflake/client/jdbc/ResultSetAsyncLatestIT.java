@@ -1,12 +1,21 @@
 package net.snowflake.client.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import net.snowflake.client.category.TestTags;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -45,4 +54,44 @@ public class ResultSetAsyncLatestIT extends BaseJDBCTest {
           secretMetaData.getQueryID(), resultSet.unwrap(SnowflakeResultSet.class).getQueryID());
     }
   }
+
+  @Test
+  public void testExecuteQueryAsync() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement();
+        PreparedStatement preparedStatement = connection.prepareStatement("select ?")) {
+      try (ResultSet rs =
+          statement
+              .unwrap(SnowflakeStatement.class)
+              .executeQueryFuture("select system$wait(2), 'done'", executor)
+              .get(60, TimeUnit.SECONDS)) {
+        assertTrue(rs.next());
+        assertEquals("done", rs.getString(2));
+        assertFalse(rs.next());
+      }
+
+      preparedStatement.setInt(1, 42);
+      try (ResultSet rs =
+          preparedStatement
+              .unwrap(SnowflakePreparedStatement.class)
+              .executeQueryFuture(executor)
+              .get(60, TimeUnit.SECONDS)) {
+        assertTrue(rs.next());
+        assertEquals(42, rs.getInt(1));
+      }
+
+      ExecutionException ex =
+          assertThrows(
+              ExecutionException.class,
+              () ->
+                  statement
+                      .unwrap(SnowflakeStatement.class)
+                      .executeQueryFuture("select * from table_that_does_not_exist", executor)
+                      .get(60, TimeUnit.SECONDS));
+      assertInstanceOf(SQLException.class, ex.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
@@ -10,6 +10,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
@@ -1198,6 +1200,34 @@ public class ResultSetLatestIT extends ResultSet0IT {
     }
   }
 
+  @ParameterizedTest
+  @ArgumentsSource(SimpleResultFormatProvider.class)
+  public void testGetObjectAsJsonNode(String queryResultFormat) throws Exception {
+    try (Statement statement = createStatement(queryResultFormat);
+        ResultSet resultSet =
+            statement.executeQuery(
+                "select parse_json('{\"a\": 1, \"b\": [true, null]}'), "
+                    + "array_construct(1, 2), null::variant")) {
+      assertTrue(resultSet.next());
+      JsonNode object = resultSet.getObject(1, JsonNode.class);
+      assertEquals(1, object.get("a").asInt());
+      assertTrue(object.get("b").get(0).asBoolean());
+      // the parsed tree is kept for the current row
+      assertTrue(object == resultSet.getObject(1, JsonNode.class));
+      assertTrue(resultSet.getObject(1, SnowflakeVariant.class).isParsed());
+
+      SnowflakeVariant array = resultSet.getObject(2, SnowflakeVariant.class);
+      assertFalse(array.isParsed());
+      try (JsonParser parser = array.createParser()) {
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(1, parser.getIntValue());
+      }
+      assertNull(resultSet.getObject(3, JsonNode.class));
+      assertNull(resultSet.getObject(3, SnowflakeVariant.class));
+    }
+  }
+
   private void assertResultValueAndType(
       Statement statement, Object expected, String columnName, Class<?> type) throws SQLException {
     try (ResultSet resultSetString =
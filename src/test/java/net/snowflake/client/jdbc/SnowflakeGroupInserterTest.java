@@ -0,0 +1,170 @@
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SnowflakeGroupInserterTest {
+  // rows of the batches executed per SQL text
+  private final Map<String, List<List<List<Object>>>> batches = new ConcurrentHashMap<>();
+  private DataSource dataSource;
+  private SnowflakeGroupInserter inserter;
+
+  @BeforeEach
+  public void setUp() throws SQLException {
+    Connection connection = mock(Connection.class);
+    when(connection.prepareStatement(anyString()))
+        .thenAnswer(invocation -> newStatement(invocation.getArgument(0)));
+    dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    inserter = new SnowflakeGroupInserter(dataSource);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    inserter.close();
+  }
+
+  private PreparedStatement newStatement(String sql) throws SQLException {
+    PreparedStatement statement = mock(PreparedStatement.class);
+    List<Object> row = new ArrayList<>();
+    List<List<Object>> rows = new ArrayList<>();
+    doAnswer(invocation -> row.add(invocation.getArgument(1)))
+        .when(statement)
+        .setObject(anyInt(), any());
+    doAnswer(
+            invocation -> {
+              rows.add(new ArrayList<>(row));
+              row.clear();
+              return null;
+            })
+        .when(statement)
+        .addBatch();
+    when(statement.executeLargeBatch())
+        .thenAnswer(
+            invocation -> {
+              batches.computeIfAbsent(sql, k -> new ArrayList<>()).add(rows);
+              if (rows.stream().anyMatch(values -> values.contains("bad"))) {
+                long[] counts = new long[rows.size()];
+                for (int i = 0; i < counts.length; i++) {
+                  counts[i] = rows.get(i).contains("bad") ? Statement.EXECUTE_FAILED : 1;
+                }
+                throw new BatchUpdateException("bad value", "22000", 100038, counts, null);
+              }
+              long[] counts = new long[rows.size()];
+              Arrays.fill(counts, 1);
+              return counts;
+            });
+    return statement;
+  }
+
+  @Test
+  public void testRowsAreExecutedTogetherOnceMaxRowsAreQueued() throws Exception {
+    inserter.setMaxRows(3);
+    inserter.setMaxDelayInMillis(TimeUnit.MINUTES.toMillis(1));
+    List<CompletableFuture<Long>> results = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      results.add(inserter.submit("insert into t values (?, ?)", i, "v" + i));
+    }
+    for (CompletableFuture<Long> result : results) {
+      assertEquals(1L, result.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList(Arrays.asList(0, "v0"), Arrays.asList(1, "v1"), Arrays.asList(2, "v2"))),
+        batches.get("insert into t values (?, ?)"));
+  }
+
+  @Test
+  public void testRowsOfConcurrentThreadsAreExecutedAfterTheDelay() throws Exception {
+    inserter.setMaxDelayInMillis(200);
+    List<Thread> threads = new ArrayList<>();
+    List<Long> counts = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      int value = i;
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  long count = inserter.executeUpdate("insert into t values (?)", value);
+                  synchronized (counts) {
+                    counts.add(count);
+                  }
+                } catch (SQLException ex) {
+                  throw new RuntimeException(ex);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join(10000);
+    }
+    assertEquals(Arrays.asList(1L, 1L, 1L, 1L), counts);
+    List<List<Object>> rows = new ArrayList<>();
+    batches.get("insert into t values (?)").forEach(rows::addAll);
+    assertEquals(4, rows.size());
+    assertTrue(batches.get("insert into t values (?)").size() < 4);
+  }
+
+  @Test
+  public void testOnlyFailedRowsFail() throws Exception {
+    inserter.setMaxRows(2);
+    CompletableFuture<Long> good = inserter.submit("insert into t values (?)", "good");
+    CompletableFuture<Long> bad = inserter.submit("insert into t values (?)", "bad");
+    assertEquals(1L, good.get(10, TimeUnit.SECONDS));
+    ExecutionException ex =
+        assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+    assertTrue(ex.getCause() instanceof BatchUpdateException);
+  }
+
+  @Test
+  public void testQueuedRowsAreExecutedOnClose() throws Exception {
+    inserter.setMaxDelayInMillis(TimeUnit.MINUTES.toMillis(1));
+    CompletableFuture<Long> result = inserter.submit("insert into t values (?)", 1);
+    inserter.close();
+    assertEquals(1L, result.get(10, TimeUnit.SECONDS));
+    SQLException ex =
+        assertThrows(SQLException.class, () -> inserter.submit("insert into t values (?)", 2));
+    assertSame(SnowflakeSQLException.class, ex.getClass());
+  }
+
+  @Test
+  public void testGroupsAreRemovedOnceExecuted() throws Exception {
+    inserter.setMaxRows(2);
+    inserter.setMaxDelayInMillis(TimeUnit.MINUTES.toMillis(1));
+    for (int i = 0; i < 10; i++) {
+      inserter.submit("insert into t" + i + " values (?)", i);
+    }
+    CompletableFuture<Long> full = inserter.submit("insert into t0 values (?)", 10);
+    assertEquals(1L, full.get(10, TimeUnit.SECONDS));
+    assertEquals(9, inserter.getQueuedSqlCount());
+    inserter.flush();
+    assertEquals(0, inserter.getQueuedSqlCount());
+  }
+}
@@ -0,0 +1,50 @@
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+public class SnowflakeVariantTest {
+
+  @Test
+  public void testParsesOnceOnFirstAccess() throws SQLException {
+    SnowflakeVariant variant = new SnowflakeVariant("{\"k\": [1, \"zażółć\"]}");
+    assertFalse(variant.isParsed());
+
+    JsonNode node = variant.getJsonNode();
+    assertTrue(variant.isParsed());
+    assertEquals(1, node.get("k").get(0).asInt());
+    assertEquals("zażółć", node.get("k").get(1).asText());
+    assertSame(node, variant.getJsonNode());
+  }
+
+  @Test
+  public void testStreamingParserOverBytes() throws Exception {
+    byte[] bytes = "[10, 20]".getBytes(StandardCharsets.UTF_8);
+    SnowflakeVariant variant = new SnowflakeVariant(bytes);
+    try (JsonParser parser = variant.createParser()) {
+      assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+      assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+      assertEquals(10, parser.getIntValue());
+    }
+    assertFalse(variant.isParsed());
+    assertSame(bytes, variant.getBytes());
+    assertEquals("[10, 20]", variant.toString());
+  }
+
+  @Test
+  public void testInvalidJsonThrowsSQLException() {
+    SnowflakeVariant variant = new SnowflakeVariant("{not json");
+    SQLException e = assertThrows(SQLException.class, variant::getJsonNode);
+    assertEquals(ErrorCode.INVALID_VALUE_CONVERT.getMessageCode(), e.getErrorCode());
+  }
+}
@@ -0,0 +1,184 @@
+package net.snowflake.client.pooling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import net.snowflake.client.category.TestTags;
+import net.snowflake.client.core.SFSession;
+import net.snowflake.client.jdbc.SnowflakeConnectionV1;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CONNECTION)
+public class SnowflakePoolingDataSourceTest {
+  private final List<SnowflakeConnectionV1> physicalConnections = new CopyOnWriteArrayList<>();
+  private SnowflakePoolingDataSource pool;
+
+  @BeforeEach
+  public void setUp() throws SQLException {
+    SnowflakeConnectionPoolDataSource dataSource = mock(SnowflakeConnectionPoolDataSource.class);
+    when(dataSource.getKeepAlivePooledConnection())
+        .thenAnswer(invocation -> new SnowflakePooledConnection(newPhysicalConnection()));
+    pool = new SnowflakePoolingDataSource(dataSource);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    pool.close();
+  }
+
+  private SnowflakeConnectionV1 newPhysicalConnection() throws SQLException {
+    SnowflakeConnectionV1 connection = mock(SnowflakeConnectionV1.class);
+    when(connection.unwrap(SnowflakeConnectionV1.class)).thenReturn(connection);
+    SFSession session = mock(SFSession.class);
+    when(session.getRole()).thenReturn("INITIAL_ROLE");
+    when(connection.getSFBaseSession()).thenReturn(session);
+    when(connection.getAutoCommit()).thenReturn(true);
+    when(connection.isValid(anyInt())).thenReturn(true);
+    physicalConnections.add(connection);
+    return connection;
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+
+  @Test
+  public void testSessionIsReused() throws SQLException {
+    Connection first = pool.getConnection();
+    SnowflakeConnectionV1 physical = first.unwrap(SnowflakeConnectionV1.class);
+    first.close();
+    assertTrue(first.isClosed());
+
+    Connection second = pool.getConnection();
+    assertSame(physical, second.unwrap(SnowflakeConnectionV1.class));
+    assertEquals(1, pool.getCreatedConnectionCount());
+    assertEquals(1, pool.getActiveConnectionCount());
+    second.close();
+    assertEquals(0, pool.getActiveConnectionCount());
+    assertEquals(1, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testMinIdleSessionsAreOpenedOnStart() throws Exception {
+    pool.setMinIdle(3);
+    pool.start();
+    waitFor(() -> pool.getIdleConnectionCount() == 3);
+
+    Connection connection = pool.getConnection();
+    // a new session replaces the borrowed one
+    waitFor(() -> pool.getIdleConnectionCount() == 3);
+    assertEquals(4, pool.getTotalConnectionCount());
+    connection.close();
+  }
+
+  @Test
+  public void testSessionStateIsResetOnReturn() throws SQLException {
+    Connection connection = pool.getConnection();
+    SnowflakeConnectionV1 physical = physicalConnections.get(0);
+    // the borrower left a transaction open
+    when(physical.getAutoCommit()).thenReturn(false);
+    connection.close();
+
+    verify(physical).rollback();
+    verify(physical).setAutoCommit(true);
+    assertEquals(1, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testBorrowTimesOutWhenPoolIsFull() throws SQLException {
+    pool.setMaxPoolSize(1);
+    pool.setMaxWaitInMillis(50);
+    Connection connection = pool.getConnection();
+
+    assertThrows(SQLException.class, () -> pool.getConnection());
+    connection.close();
+    pool.getConnection().close();
+    assertEquals(1, pool.getCreatedConnectionCount());
+  }
+
+  @Test
+  public void testInvalidSessionIsReplaced() throws SQLException {
+    pool.setValidationIntervalInMillis(0);
+    Connection first = pool.getConnection();
+    SnowflakeConnectionV1 physical = first.unwrap(SnowflakeConnectionV1.class);
+    first.close();
+    when(physical.isValid(anyInt())).thenReturn(false);
+
+    Connection second = pool.getConnection();
+    assertNotSame(physical, second.unwrap(SnowflakeConnectionV1.class));
+    assertEquals(2, pool.getCreatedConnectionCount());
+    assertEquals(1, pool.getClosedConnectionCount());
+    second.close();
+  }
+
+  @Test
+  public void testIdleSessionsAreEvicted() throws Exception {
+    pool.setIdleTimeoutInMillis(0);
+    pool.setMaintenanceIntervalInMillis(10);
+    pool.getConnection().close();
+
+    waitFor(() -> pool.getTotalConnectionCount() == 0);
+    verify(physicalConnections.get(0), timeout(5000)).close();
+    assertEquals(0, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testClosedPoolRejectsBorrowers() throws SQLException {
+    Connection connection = pool.getConnection();
+    pool.close();
+
+    assertThrows(SQLException.class, () -> pool.getConnection());
+    connection.close();
+    assertEquals(0, pool.getTotalConnectionCount());
+  }
+
+  @Test
+  public void testRoleIsRestoredOnReturn() throws SQLException {
+    Connection connection = pool.getConnection();
+    SnowflakeConnectionV1 physical = physicalConnections.get(0);
+    SFSession session = (SFSession) physical.getSFBaseSession();
+    Statement statement = mock(Statement.class);
+    when(physical.createStatement()).thenReturn(statement);
+    // the borrower switched to another role
+    when(session.getRole()).thenReturn("OTHER_ROLE");
+    connection.close();
+
+    verify(statement).execute("use role \"INITIAL_ROLE\"");
+    assertEquals(1, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testSessionWithChangedParametersIsNotReused() throws Exception {
+    Connection first = pool.getConnection();
+    SnowflakeConnectionV1 physical = first.unwrap(SnowflakeConnectionV1.class);
+    // the borrower ran ALTER SESSION
+    when(((SFSession) physical.getSFBaseSession()).getSessionSettingsChangeCount()).thenReturn(1L);
+    first.close();
+
+    verify(physical, timeout(5000)).close();
+    assertEquals(0, pool.getIdleConnectionCount());
+    Connection second = pool.getConnection();
+    assertNotSame(physical, second.unwrap(SnowflakeConnectionV1.class));
+    second.close();
+  }
+}
@@ -0,0 +1,196 @@
+package net.snowflake.client.pooling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.StatementEventListener;
+import net.snowflake.client.category.TestTags;
+import net.snowflake.client.core.SFSession;
+import net.snowflake.client.jdbc.SnowflakeConnectionV1;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(TestTags.CONNECTION)
+public class StatementPoolingTest {
+  private static final String SQL = "insert into t values (?)";
+
+  private final List<PreparedStatement> physicalStatements = new CopyOnWriteArrayList<>();
+  private SnowflakeConnectionV1 physicalConnection;
+  private SFSession session;
+
+  @BeforeEach
+  public void setUp() throws SQLException {
+    session = mock(SFSession.class);
+    when(session.getSchema()).thenReturn("PUBLIC");
+    physicalConnection = mock(SnowflakeConnectionV1.class);
+    when(physicalConnection.unwrap(SnowflakeConnectionV1.class)).thenReturn(physicalConnection);
+    when(physicalConnection.getSFBaseSession()).thenReturn(session);
+    when(physicalConnection.prepareStatement(anyString(), anyInt(), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              PreparedStatement statement = mock(PreparedStatement.class);
+              physicalStatements.add(statement);
+              return statement;
+            });
+  }
+
+  @Test
+  public void testStatementIsReused() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 10);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement first = connection.prepareStatement(SQL);
+    first.setInt(1, 1);
+    first.close();
+    assertTrue(first.isClosed());
+    assertThrows(SQLException.class, () -> first.setInt(1, 2));
+    PreparedStatement second = connection.prepareStatement(SQL);
+    second.setInt(1, 2);
+
+    assertEquals(1, physicalStatements.size());
+    PreparedStatement physicalStatement = physicalStatements.get(0);
+    verify(physicalStatement).clearParameters();
+    verify(physicalStatement).setInt(1, 2);
+    verify(physicalStatement, never()).close();
+    assertSame(connection, second.getConnection());
+    assertEquals(1, pooledConnection.getStatementCacheHitCount());
+    assertEquals(1, pooledConnection.getStatementCacheMissCount());
+    assertEquals(0.5, pooledConnection.getStatementCacheHitRatio());
+  }
+
+  @Test
+  public void testStatementIsNotSharedAndCacheIsBounded() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 1);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement first = connection.prepareStatement(SQL);
+    PreparedStatement second = connection.prepareStatement(SQL);
+    assertEquals(2, physicalStatements.size());
+    first.close();
+    second.close();
+    // one idle statement is kept for the same SQL text
+    verify(physicalStatements.get(1)).close();
+
+    connection.prepareStatement("select 1").close();
+    verify(physicalStatements.get(0)).close();
+    assertEquals(1, pooledConnection.getCachedStatementCount());
+  }
+
+  @Test
+  public void testSettingsAreRestoredOnClose() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 10);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement statement = connection.prepareStatement(SQL);
+    statement.setQueryTimeout(30);
+    statement.close();
+
+    PreparedStatement physicalStatement = physicalStatements.get(0);
+    verify(physicalStatement).setQueryTimeout(30);
+    verify(physicalStatement).setQueryTimeout(0);
+    verify(physicalStatement).clearBatch();
+  }
+
+  @Test
+  public void testOpenStatementsAreReturnedWhenConnectionIsClosed() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 10);
+    StatementEventListener listener = mock(StatementEventListener.class);
+    pooledConnection.addStatementEventListener(listener);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement statement = connection.prepareStatement(SQL);
+    connection.close();
+
+    assertTrue(statement.isClosed());
+    verify(listener).statementClosed(any());
+    assertEquals(1, pooledConnection.getCachedStatementCount());
+    pooledConnection.getConnection().prepareStatement(SQL);
+    assertEquals(1, physicalStatements.size());
+  }
+
+  @Test
+  public void testStatementsAreNotReusedAfterContextChange() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 10);
+    Connection connection = pooledConnection.getConnection();
+
+    connection.prepareStatement(SQL).close();
+    when(session.getSchema()).thenReturn("OTHER");
+    connection.prepareStatement(SQL).close();
+    assertEquals(2, physicalStatements.size());
+
+    // the describe cache may be disabled, so the session's metadata generation is tracked instead
+    when(session.getStatementMetadataGeneration()).thenReturn(1L);
+    connection.prepareStatement(SQL).close();
+    assertEquals(3, physicalStatements.size());
+    verify(physicalStatements.get(0)).close();
+    verify(physicalStatements.get(1)).close();
+  }
+
+  @Test
+  public void testStatementCheckedOutAcrossDdlIsNotCached() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 10);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement statement = connection.prepareStatement(SQL);
+    when(session.getStatementMetadataGeneration()).thenReturn(1L);
+    // another prepare picks up the new generation before the statement is returned
+    connection.prepareStatement("select 1").close();
+    statement.close();
+
+    verify(physicalStatements.get(0)).close();
+    assertEquals(1, pooledConnection.getCachedStatementCount());
+  }
+
+  @Test
+  public void testUnwrappedStatementIsNotCached() throws SQLException {
+    SnowflakePooledConnection pooledConnection =
+        new SnowflakePooledConnection(physicalConnection, 10);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement statement = connection.prepareStatement(SQL);
+    PreparedStatement physicalStatement = physicalStatements.get(0);
+    when(physicalStatement.unwrap(PreparedStatement.class)).thenReturn(physicalStatement);
+    assertSame(physicalStatement, statement.unwrap(PreparedStatement.class));
+    statement.close();
+
+    verify(physicalStatement).close();
+    assertEquals(0, pooledConnection.getCachedStatementCount());
+  }
+
+  @Test
+  public void testStatementPoolingIsDisabledByDefault() throws SQLException {
+    PreparedStatement physicalStatement = mock(PreparedStatement.class);
+    when(physicalConnection.prepareStatement(SQL)).thenReturn(physicalStatement);
+    SnowflakePooledConnection pooledConnection = new SnowflakePooledConnection(physicalConnection);
+    Connection connection = pooledConnection.getConnection();
+
+    PreparedStatement statement = connection.prepareStatement(SQL);
+    assertSame(physicalStatement, statement);
+    statement.close();
+
+    verify(physicalStatement, times(1)).close();
+    assertEquals(0, pooledConnection.getMaxStatements());
+  }
+}